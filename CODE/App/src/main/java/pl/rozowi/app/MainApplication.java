@@ -1,15 +1,17 @@
 package pl.rozowi.app;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.User;
-import pl.rozowi.app.models.Settings;
-import pl.rozowi.app.dao.SettingsDAO;
+import pl.rozowi.app.reports.ReportScheduler;
+import pl.rozowi.app.util.FxmlViews;
 import pl.rozowi.app.util.ThemeManager;
+import pl.rozowi.app.util.ViewPrefetcher;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 import java.sql.Connection;
@@ -24,6 +26,7 @@ public class MainApplication extends Application {
 
     private static Stage primaryStage;
     private static User currentUser;
+    private static final ReportScheduler reportScheduler = new ReportScheduler();
 
     /**
      * Główna metoda startowa aplikacji JavaFX.
@@ -48,9 +51,9 @@ public class MainApplication extends Application {
             System.err.println("Failed to initialize database: " + ex.getMessage());
             ex.printStackTrace();
         }
+        reportScheduler.start();
 
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/SplashScreen.fxml"));
-        Parent root = loader.load();
+        Parent root = FxmlViews.load("/fxml/SplashScreen.fxml").getRoot();
         Scene scene = new Scene(root, 1440, 900);
 
         ThemeManager.applyTheme(scene, null);
@@ -65,50 +68,57 @@ public class MainApplication extends Application {
     }
 
     /**
-     * Przełącza aktualną scenę na nową scenę załadowaną z pliku FXML.
+     * Przełącza widok na zawartość załadowaną z pliku FXML (przez {@link FxmlViews}).
+     * Istniejąca scena jest zachowywana, a podmieniany jest tylko jej korzeń,
+     * więc arkusz stylów nie jest ponownie parsowany, a okno zachowuje swój rozmiar.
      *
      * @param fxmlPath ścieżka do pliku FXML nowej sceny
      * @param title tytuł okna po przełączeniu sceny
      * @throws IOException jeśli wystąpi błąd podczas ładowania pliku FXML
      */
     public static void switchScene(String fxmlPath, String title) throws IOException {
-        FXMLLoader loader = new FXMLLoader(MainApplication.class.getResource(fxmlPath));
-        Parent root = loader.load();
-        Object controller = loader.getController();
+        ViewRegistry.LoadedView view = FxmlViews.load(fxmlPath);
+        Parent root = view.getRoot();
+        Object controller = view.getController();
         if (controller instanceof pl.rozowi.app.controllers.UserDashboardController) {
             ((pl.rozowi.app.controllers.UserDashboardController) controller).setUser(currentUser);
         } else if (controller instanceof pl.rozowi.app.controllers.AdminDashboardController) {
             ((pl.rozowi.app.controllers.AdminDashboardController) controller).setUser(currentUser);
         } else if (controller instanceof pl.rozowi.app.controllers.ManagerDashboardController) {
             ((pl.rozowi.app.controllers.ManagerDashboardController) controller).setUser(currentUser);
+        } else if (controller instanceof pl.rozowi.app.controllers.TeamLeaderDashboardController) {
+            ((pl.rozowi.app.controllers.TeamLeaderDashboardController) controller).setUser(currentUser);
         }
 
-        Scene currentScene = primaryStage.getScene();
-        Scene newScene;
-
-        if (currentScene != null) {
-            newScene = new Scene(root, currentScene.getWidth(), currentScene.getHeight());
+        Scene scene = primaryStage.getScene();
+        if (scene != null) {
+            scene.setRoot(root);
         } else {
-            newScene = new Scene(root, 1440, 900);
+            scene = new Scene(root, 1440, 900);
+            primaryStage.setScene(scene);
         }
 
-        ThemeManager.applyTheme(newScene, currentUser);
-
-        primaryStage.setScene(newScene);
+        ThemeManager.applyTheme(scene, currentUser);
         primaryStage.setTitle(title);
     }
 
     /**
-     * Ustawia aktualnie zalogowanego użytkownika i ładuje jego ustawienia.
-     * Automatycznie aktualizuje motyw interfejsu użytkownika.
+     * Ustawia aktualnie zalogowanego użytkownika.
+     * Ustawienia (motyw i widok domyślny) są pobierane razem z użytkownikiem w zapytaniu logowania.
+     * Automatycznie aktualizuje motyw interfejsu użytkownika, otwiera lub zamyka zbiór roboczy sesji
+     * i wskazuje harmonogramowi raportów, czyje wpisy ma uruchamiać.
      *
      * @param user obiekt User reprezentujący zalogowanego użytkownika
      */
     public static void setCurrentUser(User user) {
         currentUser = user;
+        reportScheduler.setLocalUser(user != null ? user.getId() : 0);
 
         if (user != null) {
-            loadUserSettings(user);
+            WorkingSet.open(user.getId());
+        } else {
+            ViewPrefetcher.cancel();
+            WorkingSet.close();
         }
 
         if (primaryStage != null && primaryStage.getScene() != null) {
@@ -117,23 +127,20 @@ public class MainApplication extends Application {
     }
 
     /**
-     * Ładuje ustawienia użytkownika z bazy danych i aplikuje je do obiektu User.
-     *
-     * @param user obiekt User, dla którego mają zostać załadowane ustawienia
+     * Zatrzymuje harmonogram raportów przy zamknięciu aplikacji.
      */
-    private static void loadUserSettings(User user) {
-        SettingsDAO settingsDAO = new SettingsDAO();
-        Settings userSettings = settingsDAO.getSettingsByUserId(user.getId());
-
-        if (userSettings != null) {
-            if (userSettings.getTheme() != null) {
-                user.setTheme(userSettings.getTheme());
-            }
+    @Override
+    public void stop() {
+        reportScheduler.stop();
+    }
 
-            if (userSettings.getDefaultView() != null) {
-                user.setDefaultView(userSettings.getDefaultView());
-            }
-        }
+    /**
+     * Zwraca harmonogram raportów działający w tle aplikacji.
+     *
+     * @return harmonogram raportów
+     */
+    public static ReportScheduler getReportScheduler() {
+        return reportScheduler;
     }
 
     /**
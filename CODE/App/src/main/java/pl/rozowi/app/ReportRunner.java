@@ -0,0 +1,236 @@
+package pl.rozowi.app;
+
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.database.DatabaseManager;
+import pl.rozowi.app.models.User;
+import pl.rozowi.app.reports.ReportCache;
+import pl.rozowi.app.reports.ReportOptions;
+import pl.rozowi.app.reports.ReportPdfWriter;
+import pl.rozowi.app.reports.ReportScheduler;
+import pl.rozowi.app.reports.SystemReportGenerator;
+import pl.rozowi.app.reports.TeamLeaderReportGenerator;
+import pl.rozowi.app.reports.TextReportRenderer;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generowanie raportów z wiersza poleceń, bez uruchamiania interfejsu JavaFX, np. z crona na serwerze.
+ * Korzysta z tych samych generatorów raportów, DAO, pamięci podręcznej raportów i {@link ReportService}
+ * co aplikacja. Zapisane pliki PDF są odnotowywane w tabeli reports.
+ *
+ * <p>Przykład (z katalogu dystrybucji):</p>
+ * <pre>
+ * java -cp App-1.0-SNAPSHOT-with-dependencies.jar pl.rozowi.app.ReportRunner \
+ *     --type projects --user admin@example.com --output raporty/projekty.pdf --from 2025-01-01
+ * </pre>
+ */
+public final class ReportRunner {
+
+    static final String USAGE = """
+            Użycie: ReportRunner --type TYP --user ID|EMAIL [opcje]
+                    ReportRunner --run-schedules [--db-url URL]
+
+            Typy raportów:
+              teams          Struktura Zespołów
+              users          Użytkownicy Systemu
+              projects       Przegląd Projektów
+              team-members   Członkowie Zespołu (raport lidera)
+              team-tasks     Zadania Zespołu (raport lidera)
+
+            Opcje:
+              --output PLIK       plik .pdf lub .txt; bez tej opcji podgląd tekstowy trafia na standardowe wyjście
+              --teams 1,2         ID wybranych zespołów (domyślnie wszystkie)
+              --projects 3,4      ID wybranych projektów (domyślnie wszystkie)
+              --from RRRR-MM-DD   data początkowa projektów
+              --to RRRR-MM-DD     data końcowa projektów
+              --group NAZWA       grupa użytkowników
+              --roles LISTA       typy użytkowników: admin,manager,leader,user (domyślnie wszystkie)
+              --member ID         pracownik, do którego zawęzić raport lidera
+              --no-tasks          bez list zadań
+              --no-members        bez członków zespołów
+              --no-stats          bez statystyk
+              --no-cache          bez pamięci podręcznej raportów
+              --run-schedules     zapisuje raporty z harmonogramu, których termin minął, i kończy działanie
+              --db-url URL        adres JDBC bazy, np. jdbc:h2:file:/srv/rozowi/it_task_management;USER=sa
+                                  (domyślnie MariaDB na localhost, a gdy jest niedostępna - plik H2 w ~/RozowiApp)
+            """;
+
+    private static final Map<String, String> TYPES = Map.of(
+            "teams", SystemReportGenerator.TEAMS_STRUCTURE,
+            "users", SystemReportGenerator.USERS,
+            "projects", SystemReportGenerator.PROJECTS_OVERVIEW,
+            "team-members", TeamLeaderReportGenerator.TEAM_MEMBERS,
+            "team-tasks", TeamLeaderReportGenerator.TEAM_TASKS);
+
+    private ReportRunner() {
+    }
+
+    /**
+     * Argumenty wywołania.
+     *
+     * @param reportType typ raportu, np. {@link SystemReportGenerator#USERS}
+     * @param user       ID lub adres e-mail użytkownika, w którego imieniu generowany jest raport
+     * @param output     plik wynikowy lub null dla standardowego wyjścia
+     * @param options    pozostałe opcje wraz z wartościami; flagi mają wartość "true"
+     */
+    record Arguments(String reportType, String user, Path output, Map<String, String> options) {
+
+        boolean isTeamLeaderReport() {
+            return ReportOptions.isTeamLeaderReport(reportType);
+        }
+
+        boolean isPdf() {
+            return output != null && output.getFileName().toString().toLowerCase().endsWith(".pdf");
+        }
+
+        boolean flag(String name) {
+            return options.containsKey(name);
+        }
+    }
+
+    /**
+     * Uruchamia generowanie raportu.
+     *
+     * @param args argumenty wywołania, opisane w {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Generuje raport i zwraca kod wyjścia: 0 po zapisaniu raportu, 1 w przypadku błędu,
+     * 2 przy nieprawidłowych argumentach.
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Arguments arguments;
+        try {
+            arguments = parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println();
+            err.print(USAGE);
+            return 2;
+        }
+
+        if (arguments.options().containsKey("db-url")) {
+            DatabaseManager.setUrl(arguments.options().get("db-url"));
+        }
+        DatabaseManager.initializeDatabase();
+        try (Connection ignored = DatabaseManager.getConnection()) {
+        } catch (SQLException e) {
+            err.println("Nie udało się połączyć z bazą danych: " + e.getMessage());
+            return 1;
+        }
+
+        if (arguments.flag("run-schedules")) {
+            out.println("Zapisano raporty z harmonogramu: " + new ReportScheduler().runDue());
+            return 0;
+        }
+
+        try {
+            User user = findUser(new UserDAO(), arguments.user());
+            Map<String, Object> filterOptions = filterOptions(arguments);
+            Path output = arguments.output();
+            ReportCache cache = arguments.flag("no-cache") ? null : ReportCache.getDefault();
+
+            if (arguments.isPdf()) {
+                new ReportPdfWriter().write(arguments.reportType(), user, filterOptions, output, cache);
+                out.println("Zapisano raport: " + output.toAbsolutePath());
+            } else {
+                ReportCache.Key key = cache != null ? cache.key(arguments.reportType(),
+                        ReportPdfWriter.cacheScope(arguments.reportType(), user), filterOptions) : null;
+                String text = key != null ? cache.getText(key) : null;
+                if (text == null) {
+                    text = TextReportRenderer.render(new ReportPdfWriter().generate(arguments.reportType(), user, filterOptions));
+                    if (key != null) {
+                        cache.putText(key, text, user.getId());
+                    }
+                }
+                if (output != null) {
+                    Files.writeString(output, text, StandardCharsets.UTF_8);
+                    out.println("Zapisano raport: " + output.toAbsolutePath());
+                } else {
+                    out.print(text);
+                }
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return 2;
+        } catch (SQLException | IOException e) {
+            err.println("Błąd generowania raportu: " + e.getMessage());
+            e.printStackTrace(err);
+            return 1;
+        }
+    }
+
+    /**
+     * Odczytuje argumenty wywołania.
+     *
+     * @throws IllegalArgumentException jeśli brakuje wymaganej opcji lub opcja jest nieznana
+     */
+    static Arguments parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--no-tasks", "--no-members", "--no-stats", "--no-cache", "--run-schedules" ->
+                        options.put(arg.substring(2), "true");
+                case "--type", "--user", "--output", "--teams", "--projects", "--from", "--to", "--group", "--roles",
+                     "--member", "--db-url" -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Brak wartości opcji " + arg);
+                    }
+                    options.put(arg.substring(2), args[++i]);
+                }
+                default -> throw new IllegalArgumentException("Nieznana opcja: " + arg);
+            }
+        }
+
+        if (options.containsKey("run-schedules")) {
+            return new Arguments(null, null, null, options);
+        }
+        String type = options.remove("type");
+        if (type == null) {
+            throw new IllegalArgumentException("Podaj typ raportu (--type)");
+        }
+        String reportType = TYPES.getOrDefault(type, type);
+        if (!TYPES.containsValue(reportType)) {
+            throw new IllegalArgumentException("Nieznany typ raportu: " + type);
+        }
+        String user = options.remove("user");
+        if (user == null) {
+            throw new IllegalArgumentException("Podaj użytkownika (--user)");
+        }
+        String output = options.remove("output");
+        return new Arguments(reportType, user, output != null ? Path.of(output) : null, options);
+    }
+
+    /**
+     * Buduje mapę opcji filtrowania w postaci, jakiej oczekują generatory raportów.
+     *
+     * @throws IllegalArgumentException jeśli wskazany zespół, projekt lub pracownik nie istnieje
+     */
+    static Map<String, Object> filterOptions(Arguments arguments) {
+        return ReportOptions.toFilterOptions(arguments.reportType(), arguments.options(), arguments.isPdf());
+    }
+
+    private static User findUser(UserDAO userDAO, String idOrEmail) {
+        User user = idOrEmail.contains("@")
+                ? userDAO.getUserByEmail(idOrEmail)
+                : userDAO.getUserById(ReportOptions.ids(idOrEmail).get(0));
+        if (user == null) {
+            throw new IllegalArgumentException("Nie znaleziono użytkownika: " + idOrEmail);
+        }
+        return user;
+    }
+}
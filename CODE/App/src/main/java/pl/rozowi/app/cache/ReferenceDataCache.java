@@ -0,0 +1,341 @@
+package pl.rozowi.app.cache;
+
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.RoleDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.models.Permission;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Role;
+import pl.rozowi.app.models.Team;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pamięć podręczna danych słownikowych: ról (wraz z maskami uprawnień), zespołów i projektów.
+ * Dane te są niewielkie i rzadko się zmieniają, a odczytywane są na niemal każdym ekranie,
+ * dlatego każda tabela jest ładowana jednym zapytaniem przy pierwszym użyciu
+ * i przechowywana w mapie umożliwiającej wyszukiwanie po ID w czasie O(1).
+ * Metody zapisu w warstwie DAO unieważniają odpowiednią część pamięci podręcznej.
+ * Grupy nie są tu przechowywane: aplikacja ich nie modyfikuje, więc zmiany wprowadzone
+ * bezpośrednio w bazie nie byłyby nigdy zauważone, a ich lista jest czytana tylko przy otwieraniu ekranów.
+ */
+public final class ReferenceDataCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ReferenceDataCache.class.getName());
+
+    private static final Slot<Role> ROLES = new Slot<>("roles", ReferenceDataCache::loadRoles);
+    private static final Slot<Long> PERMISSIONS = new Slot<>("perms", ReferenceDataCache::loadPermissionMasks);
+    private static final Slot<Team> TEAMS = new Slot<>("teams", ReferenceDataCache::loadTeams);
+    private static final Slot<Project> PROJECTS = new Slot<>("projects", ReferenceDataCache::loadProjects);
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * Zwraca nazwę roli o podanym ID.
+     *
+     * @param roleId ID roli
+     * @return nazwa roli lub null jeśli rola nie istnieje
+     */
+    public static String getRoleName(int roleId) {
+        Role role = ROLES.get().get(roleId);
+        return role != null ? role.getRoleName() : null;
+    }
+
+    /**
+     * Zwraca mapę nazw wszystkich ról.
+     *
+     * @return niemodyfikowalna mapa: ID roli → nazwa roli
+     */
+    public static Map<Integer, String> getRoleNames() {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        ROLES.get().forEach((id, role) -> names.put(id, role.getRoleName()));
+        return Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Zwraca listę wszystkich ról wraz z uprawnieniami.
+     *
+     * @return lista kopii obiektów ról
+     */
+    public static List<Role> getRoles() {
+        List<Role> roles = new ArrayList<>();
+        for (Role role : ROLES.get().values()) {
+            roles.add(copyOf(role));
+        }
+        return roles;
+    }
+
+    /**
+     * Zwraca maskę uprawnień roli. Lista kodów z kolumny roles.permissions
+     * jest zamieniana na maskę jednorazowo, przy ładowaniu ról.
+     *
+     * @param roleId ID roli
+     * @return maska bitowa uprawnień lub 0 jeśli rola nie istnieje
+     * @see Permission
+     */
+    public static long getPermissionMask(int roleId) {
+        Long mask = PERMISSIONS.get().get(roleId);
+        return mask != null ? mask : 0L;
+    }
+
+    /**
+     * Zwraca nazwę zespołu o podanym ID.
+     *
+     * @param teamId ID zespołu
+     * @return nazwa zespołu lub "–" jeśli zespół nie istnieje
+     */
+    public static String getTeamName(int teamId) {
+        Team team = TEAMS.get().get(teamId);
+        return team != null ? team.getTeamName() : "–";
+    }
+
+    /**
+     * Zwraca zespół o podanym ID.
+     *
+     * @param teamId ID zespołu
+     * @return kopia obiektu zespołu lub null jeśli zespół nie istnieje
+     */
+    public static Team getTeam(int teamId) {
+        Team team = TEAMS.get().get(teamId);
+        return team != null ? copyOf(team) : null;
+    }
+
+    /**
+     * Zwraca listę wszystkich zespołów.
+     *
+     * @return lista kopii obiektów zespołów
+     */
+    public static List<Team> getTeams() {
+        List<Team> teams = new ArrayList<>();
+        for (Team team : TEAMS.get().values()) {
+            teams.add(copyOf(team));
+        }
+        return teams;
+    }
+
+    /**
+     * Zwraca nazwę projektu o podanym ID.
+     *
+     * @param projectId ID projektu
+     * @return nazwa projektu lub null jeśli projekt nie istnieje
+     */
+    public static String getProjectName(int projectId) {
+        Project project = PROJECTS.get().get(projectId);
+        return project != null ? project.getName() : null;
+    }
+
+    /**
+     * Zwraca projekt o podanym ID.
+     *
+     * @param projectId ID projektu
+     * @return kopia obiektu projektu lub null jeśli projekt nie istnieje
+     */
+    public static Project getProject(int projectId) {
+        Project project = PROJECTS.get().get(projectId);
+        return project != null ? copyOf(project) : null;
+    }
+
+    /**
+     * Zwraca listę wszystkich projektów.
+     *
+     * @return lista kopii obiektów projektów
+     */
+    public static List<Project> getProjects() {
+        List<Project> projects = new ArrayList<>();
+        for (Project project : PROJECTS.get().values()) {
+            projects.add(copyOf(project));
+        }
+        return projects;
+    }
+
+    /**
+     * Unieważnia dane ról. Wywoływane po każdym zapisie w tabeli roles.
+     */
+    public static void invalidateRoles() {
+        ROLES.invalidate();
+        PERMISSIONS.invalidate();
+    }
+
+    /**
+     * Unieważnia dane zespołów. Wywoływane po każdym zapisie w tabeli teams.
+     */
+    public static void invalidateTeams() {
+        TEAMS.invalidate();
+    }
+
+    /**
+     * Unieważnia dane projektów. Wywoływane po każdym zapisie w tabeli projects.
+     */
+    public static void invalidateProjects() {
+        PROJECTS.invalidate();
+    }
+
+    /**
+     * Unieważnia całą pamięć podręczną i zeruje liczniki trafień.
+     */
+    public static void clear() {
+        for (Slot<?> slot : slots()) {
+            slot.invalidate();
+            slot.hits.set(0);
+            slot.misses.set(0);
+        }
+    }
+
+    /**
+     * Zwraca łączną liczbę trafień w pamięci podręcznej.
+     *
+     * @return liczba odczytów obsłużonych bez zapytania do bazy
+     */
+    public static long getHits() {
+        long hits = 0;
+        for (Slot<?> slot : slots()) {
+            hits += slot.hits.get();
+        }
+        return hits;
+    }
+
+    /**
+     * Zwraca łączną liczbę chybień w pamięci podręcznej.
+     *
+     * @return liczba odczytów wymagających załadowania danych z bazy
+     */
+    public static long getMisses() {
+        long misses = 0;
+        for (Slot<?> slot : slots()) {
+            misses += slot.misses.get();
+        }
+        return misses;
+    }
+
+    /**
+     * Zwraca opis statystyk trafień i chybień dla poszczególnych tabel.
+     *
+     * @return tekst ze statystykami, po jednej tabeli w wierszu
+     */
+    public static String getStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (Slot<?> slot : slots()) {
+            sb.append(String.format("%-9s trafienia: %d, chybienia: %d%n",
+                    slot.name, slot.hits.get(), slot.misses.get()));
+        }
+        return sb.toString();
+    }
+
+    private static List<Slot<?>> slots() {
+        return List.of(ROLES, PERMISSIONS, TEAMS, PROJECTS);
+    }
+
+    private static Map<Integer, Role> loadRoles() {
+        Map<Integer, Role> roles = new LinkedHashMap<>();
+        for (Role role : new RoleDAO().getAllRoles()) {
+            roles.put(role.getId(), role);
+        }
+        return roles;
+    }
+
+    private static Map<Integer, Long> loadPermissionMasks() {
+        Map<Integer, Long> masks = new LinkedHashMap<>();
+        ROLES.get().forEach((id, role) -> masks.put(id, Permission.parseMask(role.getPermissions())));
+        return masks;
+    }
+
+    private static Map<Integer, Team> loadTeams() {
+        Map<Integer, Team> teams = new LinkedHashMap<>();
+        try {
+            for (Team team : new TeamDAO().getAllTeams()) {
+                teams.put(team.getId(), team);
+            }
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error loading teams into cache", ex);
+            return null;
+        }
+        return teams;
+    }
+
+    private static Map<Integer, Project> loadProjects() {
+        Map<Integer, Project> projects = new LinkedHashMap<>();
+        for (Project project : new ProjectDAO().getAllProjects()) {
+            projects.put(project.getId(), project);
+        }
+        return projects;
+    }
+
+    private static Role copyOf(Role role) {
+        Role copy = new Role();
+        copy.setId(role.getId());
+        copy.setRoleName(role.getRoleName());
+        copy.setPermissions(role.getPermissions());
+        return copy;
+    }
+
+    private static Team copyOf(Team team) {
+        Team copy = new Team();
+        copy.setId(team.getId());
+        copy.setTeamName(team.getTeamName());
+        copy.setProjectId(team.getProjectId());
+        return copy;
+    }
+
+    private static Project copyOf(Project project) {
+        Project copy = new Project();
+        copy.setId(project.getId());
+        copy.setProjectName(project.getProjectName());
+        copy.setDescription(project.getDescription());
+        copy.setStartDate(project.getStartDate());
+        copy.setEndDate(project.getEndDate());
+        copy.setManagerId(project.getManagerId());
+        return copy;
+    }
+
+    /**
+     * Pojedyncza tabela w pamięci podręcznej, ładowana leniwie w całości.
+     * Loader zwracający null oznacza błąd – wynik nie jest wtedy zapamiętywany.
+     */
+    private static final class Slot<V> {
+        private final String name;
+        private final Supplier<Map<Integer, V>> loader;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private volatile Map<Integer, V> data;
+
+        Slot(String name, Supplier<Map<Integer, V>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        Map<Integer, V> get() {
+            Map<Integer, V> current = data;
+            if (current != null) {
+                hits.incrementAndGet();
+                return current;
+            }
+            synchronized (this) {
+                if (data != null) {
+                    hits.incrementAndGet();
+                    return data;
+                }
+                misses.incrementAndGet();
+                Map<Integer, V> loaded = loader.get();
+                if (loaded == null) {
+                    return Collections.emptyMap();
+                }
+                data = Collections.unmodifiableMap(loaded);
+                return data;
+            }
+        }
+
+        synchronized void invalidate() {
+            data = null;
+        }
+    }
+}
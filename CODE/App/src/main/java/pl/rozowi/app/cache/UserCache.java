@@ -0,0 +1,298 @@
+package pl.rozowi.app.cache;
+
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ograniczona pamięć podręczna użytkowników wyszukiwanych po ID lub adresie email.
+ * Każde wywołanie UserDAO.getUserById i getUserByEmail wykonuje złączenie tabel users i settings,
+ * a ekrany aktywności, raportów i zadań pytają o tego samego użytkownika wielokrotnie.
+ * Wpisy wygasają po upływie czasu życia, a po przekroczeniu limitu rozmiaru usuwane są
+ * najdawniej używane wpisy. Metody zapisu w UserDAO i SettingsDAO unieważniają wpis danego użytkownika.
+ * Struktury są współbieżne, więc z pamięci mogą korzystać również wątki ładujące dane w tle;
+ * odczyt z bazy, który zakończy się po unieważnieniu, nie jest zapamiętywany.
+ * Hasła nie są przechowywane – zwracani użytkownicy mają puste pole hasła,
+ * a logowanie i zmiana hasła korzystają bezpośrednio z UserDAO.
+ */
+public final class UserCache {
+
+    /**
+     * Domyślna maksymalna liczba przechowywanych użytkowników.
+     */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    /**
+     * Domyślny czas życia wpisu w milisekundach.
+     */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60_000L;
+
+    private static final Map<Integer, Entry> BY_ID = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> ID_BY_EMAIL = new ConcurrentHashMap<>();
+    private static final AtomicLong TICK = new AtomicLong();
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private static volatile int maxSize = Integer.getInteger("taskapp.userCache.maxSize", DEFAULT_MAX_SIZE);
+    private static volatile long ttlMillis = Long.getLong("taskapp.userCache.ttlMillis", DEFAULT_TTL_MILLIS);
+    private static volatile LongSupplier clock = System::currentTimeMillis;
+
+    private UserCache() {
+    }
+
+    /**
+     * Zwraca użytkownika o podanym ID, ładując go z bazy przy braku ważnego wpisu.
+     *
+     * @param userId ID użytkownika
+     * @return kopia obiektu użytkownika bez hasła lub null jeśli użytkownik nie istnieje
+     */
+    public static User getUserById(int userId) {
+        Entry entry = lookup(userId);
+        if (entry != null) {
+            HITS.incrementAndGet();
+            return copyOf(entry.user);
+        }
+        MISSES.incrementAndGet();
+        long version = INVALIDATIONS.get();
+        return store(new UserDAO().getUserById(userId), version);
+    }
+
+    /**
+     * Zwraca użytkownika o podanym adresie email, ładując go z bazy przy braku ważnego wpisu.
+     *
+     * @param email adres email użytkownika
+     * @return kopia obiektu użytkownika bez hasła lub null jeśli użytkownik nie istnieje
+     */
+    public static User getUserByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        Integer userId = ID_BY_EMAIL.get(normalize(email));
+        Entry entry = userId != null ? lookup(userId) : null;
+        if (entry != null && email.equalsIgnoreCase(entry.user.getEmail())) {
+            HITS.incrementAndGet();
+            return copyOf(entry.user);
+        }
+        MISSES.incrementAndGet();
+        long version = INVALIDATIONS.get();
+        return store(new UserDAO().getUserByEmail(email), version);
+    }
+
+    /**
+     * Zwraca imię i nazwisko użytkownika.
+     *
+     * @param userId ID użytkownika
+     * @return "Imię Nazwisko" lub null jeśli użytkownik nie istnieje
+     */
+    public static String getFullName(int userId) {
+        User user = getUserById(userId);
+        return user != null ? user.getName() + " " + user.getLastName() : null;
+    }
+
+    /**
+     * Usuwa wpis użytkownika. Wywoływane po każdym zapisie w tabelach users i settings.
+     *
+     * @param userId ID użytkownika
+     */
+    public static void invalidate(int userId) {
+        INVALIDATIONS.incrementAndGet();
+        remove(userId);
+    }
+
+    /**
+     * Czyści pamięć podręczną i zeruje liczniki.
+     */
+    public static void clear() {
+        INVALIDATIONS.incrementAndGet();
+        BY_ID.clear();
+        ID_BY_EMAIL.clear();
+        HITS.set(0);
+        MISSES.set(0);
+        EVICTIONS.set(0);
+    }
+
+    /**
+     * Zwraca liczbę trafień w pamięci podręcznej.
+     *
+     * @return liczba odczytów obsłużonych bez zapytania do bazy
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Zwraca liczbę chybień w pamięci podręcznej.
+     *
+     * @return liczba odczytów wymagających zapytania do bazy
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Zwraca współczynnik trafień.
+     *
+     * @return udział trafień we wszystkich odczytach, od 0.0 do 1.0
+     */
+    public static double getHitRatio() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    /**
+     * Zwraca liczbę przechowywanych użytkowników.
+     *
+     * @return liczba wpisów
+     */
+    public static int size() {
+        return BY_ID.size();
+    }
+
+    /**
+     * Zwraca opis statystyk pamięci podręcznej użytkowników.
+     *
+     * @return tekst ze statystykami
+     */
+    public static String getStatistics() {
+        return String.format("%-9s trafienia: %d, chybienia: %d, wpisy: %d/%d, usunięte: %d%n",
+                "users", HITS.get(), MISSES.get(), BY_ID.size(), maxSize, EVICTIONS.get());
+    }
+
+    /**
+     * Zmienia limit rozmiaru, czas życia wpisów i źródło czasu. Czyści pamięć podręczną.
+     *
+     * @param newMaxSize maksymalna liczba wpisów
+     * @param newTtlMillis czas życia wpisu w milisekundach
+     * @param newClock źródło bieżącego czasu w milisekundach
+     */
+    static void configure(int newMaxSize, long newTtlMillis, LongSupplier newClock) {
+        maxSize = Math.max(1, newMaxSize);
+        ttlMillis = Math.max(0, newTtlMillis);
+        clock = newClock;
+        clear();
+    }
+
+    /**
+     * Zwraca ważny wpis o podanym ID i oznacza go jako ostatnio użyty. Wygasły wpis jest usuwany.
+     */
+    private static Entry lookup(int userId) {
+        Entry entry = BY_ID.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.loadedAt >= ttlMillis) {
+            remove(userId);
+            return null;
+        }
+        entry.lastAccess = TICK.incrementAndGet();
+        return entry;
+    }
+
+    private static void remove(int userId) {
+        Entry removed = BY_ID.remove(userId);
+        if (removed != null) {
+            ID_BY_EMAIL.remove(normalize(removed.user.getEmail()), userId);
+        }
+    }
+
+    /**
+     * Zapamiętuje użytkownika odczytanego z bazy, o ile od rozpoczęcia odczytu nie było unieważnienia.
+     * Licznik jest sprawdzany wewnątrz {@code compute}, a unieważnienie zwiększa go przed usunięciem
+     * wpisu, więc spóźniony zapis nie może nadpisać unieważnienia.
+     *
+     * @param user użytkownik odczytany z bazy lub null
+     * @param version wartość licznika unieważnień sprzed odczytu
+     * @return kopia użytkownika bez hasła lub null
+     */
+    private static User store(User user, long version) {
+        if (user == null) {
+            return null;
+        }
+        User copy = copyOf(user);
+        Entry[] previous = new Entry[1];
+        Entry stored = BY_ID.compute(user.getId(), (id, current) -> {
+            if (INVALIDATIONS.get() != version) {
+                return current;
+            }
+            previous[0] = current;
+            return new Entry(copy, clock.getAsLong(), TICK.incrementAndGet());
+        });
+        if (stored == null || stored.user != copy) {
+            return copyOf(copy);
+        }
+        if (previous[0] != null && previous[0].user.getEmail() != null
+                && !previous[0].user.getEmail().equalsIgnoreCase(user.getEmail())) {
+            ID_BY_EMAIL.remove(normalize(previous[0].user.getEmail()), user.getId());
+        }
+        if (user.getEmail() != null) {
+            ID_BY_EMAIL.put(normalize(user.getEmail()), user.getId());
+        }
+        if (BY_ID.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+        return copyOf(copy);
+    }
+
+    /**
+     * Usuwa najdawniej używane wpisy, zostawiając zapas 10% limitu,
+     * aby kolejne wstawienia nie wymuszały przeglądania mapy za każdym razem.
+     */
+    private static synchronized void evictLeastRecentlyUsed() {
+        int target = maxSize - Math.max(1, maxSize / 10);
+        int excess = BY_ID.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<Integer, Entry>> entries = new ArrayList<>(BY_ID.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (int i = 0; i < excess && i < entries.size(); i++) {
+            remove(entries.get(i).getKey());
+            EVICTIONS.incrementAndGet();
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setLastName(user.getLastName());
+        copy.setEmail(user.getEmail());
+        copy.setRoleId(user.getRoleId());
+        copy.setGroupId(user.getGroupId());
+        copy.setPasswordHint(user.getPasswordHint());
+        copy.setTheme(user.getTheme());
+        copy.setDefaultView(user.getDefaultView());
+        copy.setTeamName(user.getTeamName());
+        return copy;
+    }
+
+    /**
+     * Wpis pamięci podręcznej: kopia użytkownika, czas załadowania i znacznik ostatniego użycia.
+     */
+    private static final class Entry {
+        private final User user;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        Entry(User user, long loadedAt, long lastAccess) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package pl.rozowi.app.cache;
+
+import pl.rozowi.app.dao.ChangeLogDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.dao.TeamMemberDAO;
+import pl.rozowi.app.models.ChangeLogEntry;
+import pl.rozowi.app.models.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Zbiór roboczy zadań zalogowanego użytkownika, przechowywany przez czas trwania sesji.
+ * Pulpity ładowały zadania od nowa przy każdym przejściu między ekranami, choć zwykle nic się nie zmieniło.
+ * Każdy widok (zadania własne, zadania współpracowników, zespołu, lidera, projektu) jest ładowany
+ * pełnym zapytaniem tylko raz. Przed każdym odczytem pobierane są nowe wpisy z dziennika zmian (change_log),
+ * a z bazy ponownie odczytywane są wyłącznie zadania, których te wpisy dotyczą.
+ * Zmiany zespołów, członkostwa, projektów lub użytkowników unieważniają wszystkie widoki,
+ * ponieważ wpływają na to, które zadania do nich należą.
+ * Jeśli dziennik zmian jest niedostępny, każdy odczyt trafia bezpośrednio do bazy.
+ * <p>
+ * Transakcje mogą zostać zatwierdzone w innej kolejności niż ID ich wpisów, więc pozycja w dzienniku
+ * przesuwa się tylko przez ciągły zakres przetworzonych ID. Wpisy powyżej luki są przetwarzane od razu
+ * i zapamiętywane, aby nie zastosować ich ponownie, a luka jest pomijana dopiero po {@link #GAP_TIMEOUT_MILLIS}
+ * (ID wycofanej transakcji nigdy się nie pojawi).
+ * <p>
+ * Widoki mogą być ładowane z wyprzedzeniem ({@link #prefetch(Runnable)}), zanim użytkownik otworzy ekran.
+ * Widok załadowany z wyprzedzeniem, którego nikt nie odczytał w ciągu {@link #PREFETCH_TTL_MILLIS}, jest usuwany.
+ * <p>
+ * Pełne ładowanie widoku odbywa się poza blokadą klasy, więc ładowanie z wyprzedzeniem w wątku tła
+ * nie wstrzymuje odczytów z wątku JavaFX. Wynik jest publikowany pod blokadą tylko wtedy, gdy w trakcie
+ * ładowania nie przetworzono żadnego wpisu dziennika ani nie unieważniono widoków; w przeciwnym razie
+ * wywołujący otrzymuje wynik bez jego zapamiętania.
+ */
+public final class WorkingSet {
+
+    /**
+     * Maksymalna liczba wpisów dziennika przetwarzanych przyrostowo. Przy większej liczbie zmian
+     * taniej jest przeładować widoki w całości.
+     */
+    static final int MAX_DELTA = 500;
+
+    /**
+     * Czas, po którym nieodczytany widok załadowany z wyprzedzeniem jest usuwany.
+     */
+    static final long PREFETCH_TTL_MILLIS = 5 * 60 * 1000;
+
+    /**
+     * Czas oczekiwania na brakujące ID dziennika, po którym luka jest uznawana za wycofaną transakcję.
+     */
+    static final long GAP_TIMEOUT_MILLIS = 30 * 1000;
+
+    private static final Set<String> TASK_TABLES = Set.of("tasks", "task_assignments");
+
+    /**
+     * Tabele zapisywane w dzienniku zmian, dla których przechowywane są wersje.
+     */
+    static final Set<String> TRACKED_TABLES =
+            Set.of("tasks", "task_assignments", "teams", "team_members", "projects", "users", "roles");
+
+    private static final Map<String, View> VIEWS = new HashMap<>();
+    private static final Map<String, Long> PREFETCHED = new HashMap<>();
+    private static final Map<String, Long> TABLE_VERSIONS = new HashMap<>();
+    private static final TreeSet<Long> APPLIED = new TreeSet<>();
+    private static final ThreadLocal<Boolean> PREFETCHING = ThreadLocal.withInitial(() -> false);
+
+    static long prefetchTtlMillis = PREFETCH_TTL_MILLIS;
+    static long gapTimeoutMillis = GAP_TIMEOUT_MILLIS;
+
+    private static volatile int userId;
+    private static long cursor = -1;
+    private static long version;
+    private static long epoch;
+    private static long gapSince;
+    private static long hits;
+    private static long misses;
+    private static long deltaRows;
+    private static long prefetches;
+    private static long prefetchesDropped;
+
+    private WorkingSet() {
+    }
+
+    /**
+     * Otwiera zbiór roboczy dla zalogowanego użytkownika. Ponowne otwarcie dla tego samego
+     * użytkownika zachowuje załadowane widoki.
+     *
+     * @param newUserId ID zalogowanego użytkownika
+     */
+    public static synchronized void open(int newUserId) {
+        if (userId == newUserId && cursor >= 0) {
+            return;
+        }
+        close();
+        userId = newUserId;
+        cursor = new ChangeLogDAO().getLatestChangeId();
+        version = cursor;
+        if (cursor >= 0) {
+            loadTableVersions();
+        }
+    }
+
+    /**
+     * Zamyka zbiór roboczy i usuwa wszystkie widoki. Wywoływane przy wylogowaniu.
+     */
+    public static synchronized void close() {
+        epoch++;
+        VIEWS.clear();
+        PREFETCHED.clear();
+        TABLE_VERSIONS.clear();
+        APPLIED.clear();
+        userId = 0;
+        cursor = -1;
+        version = 0;
+        gapSince = 0;
+        hits = 0;
+        misses = 0;
+        deltaRows = 0;
+        prefetches = 0;
+        prefetchesDropped = 0;
+    }
+
+    /**
+     * Unieważnia wszystkie widoki; kolejny odczyt załaduje je w całości.
+     */
+    public static synchronized void invalidate() {
+        epoch++;
+        VIEWS.clear();
+        PREFETCHED.clear();
+    }
+
+    /**
+     * Wykonuje odczyty widoków z wyprzedzeniem. Widoki, których jeszcze nie ma, są ładowane
+     * i oznaczane jako wstępnie załadowane; odczyty nie zmieniają statystyk trafień i nie tworzą kopii zadań.
+     * Bez dziennika zmian widoki nie są ładowane, ponieważ żaden z nich nie byłby przechowywany.
+     *
+     * @param reads odczyty widoków (np. {@code WorkingSet::getMyTasks})
+     */
+    public static void prefetch(Runnable reads) {
+        PREFETCHING.set(true);
+        try {
+            reads.run();
+        } finally {
+            PREFETCHING.set(false);
+        }
+    }
+
+    /**
+     * Przetwarza nowe wpisy dziennika zmian i zwraca numer wersji zbioru roboczego.
+     * Wersja rośnie przy każdym przetworzonym wpisie, także zatwierdzonym po wpisie o wyższym ID,
+     * więc porównanie numerów pozwala sprawdzić jednym małym zapytaniem, czy od ostatniego odczytu coś się zmieniło.
+     *
+     * @return numer wersji lub -1 jeśli dziennik jest niedostępny
+     */
+    public static synchronized long getVersion() {
+        if (cursor < 0) {
+            return -1;
+        }
+        sync();
+        return version;
+    }
+
+    /**
+     * Przetwarza nowe wpisy dziennika zmian i zwraca sumę wersji podanych tabel.
+     * Wersja tabeli rośnie przy każdej jej modyfikacji, więc widok zależny tylko od wybranych tabel
+     * może sprawdzić, czy wymaga odświeżenia, niezależnie od zmian w pozostałych tabelach.
+     *
+     * @param tables nazwy tabel; pusty zbiór oznacza wszystkie tabele (jak {@link #getVersion()})
+     * @return wersja lub -1 jeśli dziennik jest niedostępny
+     */
+    public static synchronized long getVersion(Set<String> tables) {
+        if (cursor < 0) {
+            return -1;
+        }
+        sync();
+        if (tables.isEmpty()) {
+            return version;
+        }
+        long sum = 0;
+        for (String table : tables) {
+            sum += TABLE_VERSIONS.getOrDefault(table, TRACKED_TABLES.contains(table) ? 0L : version);
+        }
+        return sum;
+    }
+
+    /**
+     * Zwraca zadania przypisane do zalogowanego użytkownika.
+     *
+     * @return lista kopii zadań
+     */
+    public static List<Task> getMyTasks() {
+        int owner = userId;
+        return view("my", () -> new TaskDAO().getTasksForUser(owner), t -> t.getAssignedTo() == owner);
+    }
+
+    /**
+     * Zwraca zadania przypisane do pozostałych członków zespołu.
+     *
+     * @param teamId ID zespołu
+     * @return lista kopii zadań
+     */
+    public static List<Task> getColleagueTasks(int teamId) {
+        int owner = userId;
+        return view("colleague:" + teamId, () -> new TaskDAO().getColleagueTasks(owner, teamId),
+                t -> t.getTeamId() == teamId && t.getAssignedTo() != 0 && t.getAssignedTo() != owner);
+    }
+
+    /**
+     * Zwraca zadania zespołów, których liderem jest zalogowany użytkownik.
+     *
+     * @return lista kopii zadań
+     */
+    public static List<Task> getLeaderTasks() {
+        int owner = userId;
+        Set<Integer> teamIds = new HashSet<>();
+        return view("leader", () -> {
+            teamIds.addAll(new TeamMemberDAO().getTeamIdsForTeamLeader(owner));
+            return new TaskDAO().getTasksForLeader(owner);
+        }, t -> teamIds.contains(t.getTeamId()));
+    }
+
+    /**
+     * Zwraca zadania zespołu.
+     *
+     * @param teamId ID zespołu
+     * @return lista kopii zadań
+     */
+    public static List<Task> getTeamTasks(int teamId) {
+        return view("team:" + teamId, () -> new TaskDAO().getTasksByTeamId(teamId), t -> t.getTeamId() == teamId);
+    }
+
+    /**
+     * Zwraca zadania projektu.
+     *
+     * @param projectId ID projektu
+     * @return lista kopii zadań
+     */
+    public static List<Task> getProjectTasks(int projectId) {
+        return view("project:" + projectId, () -> new TaskDAO().getTasksByProjectId(projectId),
+                t -> t.getProjectId() == projectId);
+    }
+
+    /**
+     * Zwraca opis statystyk zbioru roboczego.
+     *
+     * @return tekst ze statystykami
+     */
+    public static synchronized String getStatistics() {
+        return String.format("%-9s trafienia: %d, chybienia: %d, widoki: %d, zmiany przyrostowe: %d, "
+                        + "z wyprzedzeniem: %d (nieużyte usunięte: %d)%n",
+                "session", hits, misses, VIEWS.size(), deltaRows, prefetches, prefetchesDropped);
+    }
+
+    /**
+     * Zwraca widok o podanym kluczu, ładując go przy pierwszym odczycie
+     * i odświeżając przyrostowo na podstawie dziennika zmian. Zapytanie ładujące widok
+     * jest wykonywane poza blokadą klasy.
+     */
+    private static List<Task> view(String key, Supplier<List<Task>> loader, Predicate<Task> member) {
+        boolean prefetching = PREFETCHING.get();
+        long loadVersion;
+        long loadEpoch;
+        synchronized (WorkingSet.class) {
+            if (cursor < 0) {
+                loadVersion = -1;
+            } else {
+                sync();
+                dropUnusedPrefetched();
+                View view = VIEWS.get(key);
+                if (view != null) {
+                    if (prefetching) {
+                        return List.of();
+                    }
+                    hits++;
+                    PREFETCHED.remove(key);
+                    return copiesOf(view);
+                }
+                loadVersion = version;
+            }
+            loadEpoch = epoch;
+        }
+        if (loadVersion < 0) {
+            return prefetching ? List.of() : loader.get();
+        }
+
+        List<Task> loaded = loader.get();
+
+        synchronized (WorkingSet.class) {
+            if (cursor >= 0) {
+                sync();
+            }
+            View view = VIEWS.get(key);
+            if (view == null && cursor >= 0 && version == loadVersion && epoch == loadEpoch) {
+                view = new View(member);
+                for (Task task : loaded) {
+                    view.tasks.put(task.getId(), task);
+                }
+                VIEWS.put(key, view);
+                if (prefetching) {
+                    prefetches++;
+                    PREFETCHED.put(key, System.currentTimeMillis());
+                    return List.of();
+                }
+            }
+            if (prefetching) {
+                return List.of();
+            }
+            misses++;
+            if (view == null) {
+                return loaded;
+            }
+            PREFETCHED.remove(key);
+            return copiesOf(view);
+        }
+    }
+
+    private static List<Task> copiesOf(View view) {
+        List<Task> copies = new ArrayList<>(view.tasks.size());
+        for (Task task : view.tasks.values()) {
+            copies.add(copyOf(task));
+        }
+        return copies;
+    }
+
+    /**
+     * Odczytuje wersje śledzonych tabel jednym zapytaniem. Jeśli się nie powiedzie, wersja każdej tabeli
+     * jest zwiększana, więc widoki zostaną odświeżone.
+     */
+    private static void loadTableVersions() {
+        Map<String, Long> versions = new ChangeLogDAO().getTableVersions(TRACKED_TABLES);
+        if (versions != null) {
+            TABLE_VERSIONS.clear();
+            TABLE_VERSIONS.putAll(versions);
+        } else {
+            for (String table : TRACKED_TABLES) {
+                TABLE_VERSIONS.merge(table, 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Usuwa widoki załadowane z wyprzedzeniem, których nikt nie odczytał w wyznaczonym czasie.
+     */
+    private static void dropUnusedPrefetched() {
+        if (PREFETCHED.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Long>> it = PREFETCHED.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            if (now - entry.getValue() >= prefetchTtlMillis) {
+                VIEWS.remove(entry.getKey());
+                prefetchesDropped++;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Przetwarza wpisy dziennika zapisane od ostatniej synchronizacji. Odczyt zaczyna się od ciągłej
+     * pozycji w dzienniku, więc obejmuje też wpisy zatwierdzone po wpisach o wyższych ID;
+     * wpisy przetworzone już wcześniej są pomijane.
+     */
+    private static void sync() {
+        List<ChangeLogEntry> changes = new ChangeLogDAO().getChangesSince(cursor, MAX_DELTA);
+        if (changes == null) {
+            return;
+        }
+        if (changes.size() >= MAX_DELTA) {
+            VIEWS.clear();
+            PREFETCHED.clear();
+            ReferenceDataCache.invalidateTeams();
+            ReferenceDataCache.invalidateProjects();
+            UserCache.clear();
+            long latest = new ChangeLogDAO().getLatestChangeId();
+            cursor = Math.max(changes.get(changes.size() - 1).getId(), latest);
+            APPLIED.clear();
+            gapSince = 0;
+            version++;
+            loadTableVersions();
+            return;
+        }
+
+        List<ChangeLogEntry> pending = new ArrayList<>(changes.size());
+        for (ChangeLogEntry change : changes) {
+            if (APPLIED.add(change.getId())) {
+                pending.add(change);
+            }
+        }
+        advanceCursor();
+        if (pending.isEmpty()) {
+            return;
+        }
+        version += pending.size();
+
+        Set<Integer> changedTaskIds = new LinkedHashSet<>();
+        boolean structural = false;
+        for (ChangeLogEntry change : pending) {
+            String table = change.getTableName();
+            TABLE_VERSIONS.merge(table, 1L, Long::sum);
+            if (TASK_TABLES.contains(table)) {
+                changedTaskIds.add(change.getRowId());
+                continue;
+            }
+            structural = true;
+            switch (table) {
+                case "teams", "team_members" -> ReferenceDataCache.invalidateTeams();
+                case "projects" -> ReferenceDataCache.invalidateProjects();
+                case "users" -> UserCache.invalidate(change.getRowId());
+                case "roles" -> ReferenceDataCache.invalidateRoles();
+                default -> {
+                }
+            }
+        }
+
+        if (structural) {
+            VIEWS.clear();
+            PREFETCHED.clear();
+            return;
+        }
+        if (VIEWS.isEmpty() || changedTaskIds.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Task> fresh = new TaskDAO().getTasksByIds(changedTaskIds);
+        if (fresh == null) {
+            VIEWS.clear();
+            PREFETCHED.clear();
+            return;
+        }
+        deltaRows += changedTaskIds.size();
+        for (View view : VIEWS.values()) {
+            for (Integer taskId : changedTaskIds) {
+                Task task = fresh.get(taskId);
+                if (task != null && view.member.test(task)) {
+                    view.tasks.put(taskId, task);
+                } else {
+                    view.tasks.remove(taskId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Przesuwa pozycję w dzienniku przez ciągły zakres przetworzonych ID. Luka, na którą czekano
+     * dłużej niż {@link #gapTimeoutMillis}, jest pomijana.
+     */
+    private static void advanceCursor() {
+        while (APPLIED.remove(cursor + 1)) {
+            cursor++;
+        }
+        if (APPLIED.isEmpty()) {
+            gapSince = 0;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (gapSince == 0) {
+            gapSince = now;
+        }
+        if (now - gapSince >= gapTimeoutMillis) {
+            cursor = APPLIED.pollFirst();
+            while (APPLIED.remove(cursor + 1)) {
+                cursor++;
+            }
+            gapSince = APPLIED.isEmpty() ? 0 : now;
+        }
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setProjectId(task.getProjectId());
+        copy.setTeamId(task.getTeamId());
+        copy.setAssignedTo(task.getAssignedTo());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setStatus(task.getStatus());
+        copy.setPriority(task.getPriority());
+        copy.setStartDate(task.getStartDate());
+        copy.setEndDate(task.getEndDate());
+        copy.setTeamName(task.getTeamName());
+        copy.setAssignedEmail(task.getAssignedEmail());
+        return copy;
+    }
+
+    /**
+     * Widok zbioru roboczego: zadania w kolejności załadowania oraz warunek przynależności
+     * używany przy odświeżaniu przyrostowym.
+     */
+    private static final class View {
+        private final Predicate<Task> member;
+        private final Map<Integer, Task> tasks = new LinkedHashMap<>();
+
+        View(Predicate<Task> member) {
+            this.member = member;
+        }
+    }
+}
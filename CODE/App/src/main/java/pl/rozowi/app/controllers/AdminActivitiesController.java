@@ -1,24 +1,18 @@
 package pl.rozowi.app.controllers;
 
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import pl.rozowi.app.database.DatabaseManager;
+import pl.rozowi.app.dao.PageRequest;
 import pl.rozowi.app.dao.TaskActivityDAO;
-import pl.rozowi.app.dao.TaskDAO;
-import pl.rozowi.app.dao.UserDAO;
-import pl.rozowi.app.models.TaskActivity;
 import pl.rozowi.app.models.EnhancedTaskActivity;
-import pl.rozowi.app.models.User;
+import pl.rozowi.app.util.PagedList;
+import pl.rozowi.app.util.RowNumberCell;
+import pl.rozowi.app.util.SearchDebounce;
 
 import java.sql.*;
 import java.text.SimpleDateFormat;
-import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,7 +21,7 @@ import java.util.Map;
  * z perspektywy administratora. Zawiera funkcjonalności przeglądania, filtrowania
  * i eksportowania historii aktywności użytkowników.
  */
-public class AdminActivitiesController {
+public class AdminActivitiesController implements RefreshableView {
 
     @FXML
     private TableView<ActivityEntry> activitiesTable;
@@ -57,18 +51,16 @@ public class AdminActivitiesController {
     private TextArea detailDescription;
 
     private final TaskActivityDAO taskActivityDAO = new TaskActivityDAO();
-    private final UserDAO userDAO = new UserDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
 
-    private ObservableList<ActivityEntry> allActivities = FXCollections.observableArrayList();
-    private FilteredList<ActivityEntry> filteredActivities;
+    private static final ActivityEntry LOADING_ENTRY =
+            new ActivityEntry(0, 0, "Ładowanie…", 0, "Ładowanie…", "", "", null);
 
-    private Map<Integer, String> userNameCache = new HashMap<>();
-    private Map<Integer, String> taskTitleCache = new HashMap<>();
+    private PagedList<ActivityEntry, String> activities;
 
     /**
      * Metoda inicjalizująca kontroler. Konfiguruje tabelę aktywności,
-     * ładuje dane i ustawia filtry.
+     * ładuje dane i ustawia filtry. Aktywności są pobierane stronami w miarę przewijania tabeli,
+     * a wyszukiwanie i sortowanie są wykonywane w zapytaniu.
      */
     @FXML
     private void initialize() {
@@ -77,18 +69,30 @@ public class AdminActivitiesController {
         colTaskTitle.setCellValueFactory(data -> data.getValue().taskProperty());
         colDescription.setCellValueFactory(data -> data.getValue().descriptionProperty());
 
-        colId.setCellValueFactory(cellData -> {
-            int index = activitiesTable.getItems().indexOf(cellData.getValue()) + 1;
-            return new SimpleStringProperty(String.valueOf(index));
-        });
+        RowNumberCell.install(colId);
 
-        loadActivities();
+        activities = new PagedList<>(new PagedList.PageSource<>() {
+            @Override
+            public int count(String searchText) {
+                return taskActivityDAO.countEnhancedActivities(searchText);
+            }
 
-        filteredActivities = new FilteredList<>(allActivities, p -> true);
-        activitiesTable.setItems(filteredActivities);
+            @Override
+            public List<ActivityEntry> fetch(String searchText, PageRequest page) {
+                List<EnhancedTaskActivity> rows = taskActivityDAO.getEnhancedActivitiesPage(searchText, page);
+                return rows != null ? toEntries(rows) : null;
+            }
+        }, LOADING_ENTRY, "");
+        activitiesTable.setItems(activities);
+        activitiesTable.setPlaceholder(new Label("Brak aktywności w systemie"));
+        activities.bindSort(activitiesTable, Map.of(
+                colTimestamp, "timestamp",
+                colUser, "user",
+                colTaskTitle, "task",
+                colDescription, "description"));
 
         activitiesTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
-            if (newSelection != null) {
+            if (newSelection != null && !activities.isPlaceholder(newSelection)) {
                 displayActivityDetails(newSelection);
             } else {
                 clearActivityDetails();
@@ -99,128 +103,53 @@ public class AdminActivitiesController {
     }
 
     /**
-     * Ładuje wszystkie aktywności z bazy danych i przygotowuje je do wyświetlenia.
-     */
-    private void loadActivities() {
-        try {
-            List<TaskActivity> activities = taskActivityDAO.getAllActivities();
-
-            List<EnhancedTaskActivity> enhancedActivities = new ArrayList<>();
-            for (TaskActivity activity : activities) {
-                EnhancedTaskActivity enhanced = new EnhancedTaskActivity(activity);
-
-                User user = userDAO.getUserById(activity.getUserId());
-                if (user != null) {
-                    enhanced.setUserName(user.getName());
-                    enhanced.setUserLastName(user.getLastName());
-                    enhanced.setUserEmail(user.getEmail());
-                }
-
-                if (activity.getTaskId() > 0) {
-                    String title = getTaskTitle(activity.getTaskId());
-                    enhanced.setTaskTitle(title);
-                }
-
-                enhancedActivities.add(enhanced);
-            }
-
-            for (EnhancedTaskActivity enhanced : enhancedActivities) {
-                ActivityEntry entry = new ActivityEntry(
-                        enhanced.getId(),
-                        enhanced.getTaskId(),
-                        enhanced.getTaskTitleOrDefault(),
-                        enhanced.getUserId(),
-                        enhanced.getUserDisplayString(),
-                        enhanced.getActivityType(),
-                        enhanced.getDescription(),
-                        enhanced.getActivityDate()
-                );
-                allActivities.add(entry);
-            }
-
-            if (allActivities.isEmpty()) {
-                activitiesTable.setPlaceholder(new Label("Brak aktywności w systemie"));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            activitiesTable.setPlaceholder(new Label("Błąd podczas ładowania aktywności: " + e.getMessage()));
-        }
-    }
-
-    /**
-     * Pobiera pełną nazwę użytkownika na podstawie ID z cache lub bazy danych.
+     * Odświeża listę aktywności. Aktywności nie są zapisywane w dzienniku zmian, więc lista jest odświeżana przy każdym wyświetleniu.
      *
-     * @param userId ID użytkownika
-     * @return pełna nazwa użytkownika w formacie "Imię Nazwisko (email)"
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
      */
-    private String getUserName(int userId) {
-        if (userNameCache.containsKey(userId)) {
-            return userNameCache.get(userId);
-        }
-
-        try {
-            User user = userDAO.getUserById(userId);
-            if (user != null) {
-                String fullName = user.getName() + " " + user.getLastName() + " (" + user.getEmail() + ")";
-                userNameCache.put(userId, fullName);
-                return fullName;
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return "Użytkownik ID: " + userId;
+    @Override
+    public void onShow(boolean dataChanged) {
+        handleRefresh();
     }
 
     /**
-     * Pobiera tytuł zadania na podstawie ID z cache lub bazy danych.
+     * Przekształca aktywności pobrane z bazy danych na wiersze tabeli.
      *
-     * @param taskId ID zadania
-     * @return tytuł zadania lub "Zadanie ID: X" jeśli nie znaleziono
+     * @param enhancedActivities aktywności z danymi zadań i użytkowników
+     * @return wiersze tabeli
      */
-    private String getTaskTitle(int taskId) {
-        if (taskTitleCache.containsKey(taskId)) {
-            return taskTitleCache.get(taskId);
-        }
-
-        try {
-            List<pl.rozowi.app.models.Task> tasks = taskDAO.getTasksByProjectId(-1);
-            for (pl.rozowi.app.models.Task task : tasks) {
-                if (task.getId() == taskId) {
-                    String title = task.getTitle();
-                    taskTitleCache.put(taskId, title);
-                    return title;
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    private static List<ActivityEntry> toEntries(List<EnhancedTaskActivity> enhancedActivities) {
+        List<ActivityEntry> entries = new ArrayList<>(enhancedActivities.size());
+        for (EnhancedTaskActivity enhanced : enhancedActivities) {
+            entries.add(new ActivityEntry(
+                    enhanced.getId(),
+                    enhanced.getTaskId(),
+                    enhanced.getTaskTitleOrDefault(),
+                    enhanced.getUserId(),
+                    enhanced.getUserDisplayString(),
+                    enhanced.getActivityType(),
+                    enhanced.getDescription(),
+                    enhanced.getActivityDate()
+            ));
         }
-
-        return "Zadanie ID: " + taskId;
+        return entries;
     }
 
     /**
-     * Konfiguruje filtry dla listy aktywności.
+     * Konfiguruje filtry dla listy aktywności. Zapytanie jest wykonywane dopiero po przerwie w pisaniu.
      */
     private void setupFilters() {
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        SearchDebounce.install(searchField, text -> applyFilters());
     }
 
     /**
-     * Stosuje aktualne filtry do listy aktywności.
+     * Stosuje aktualne filtry do listy aktywności. Wyszukiwanie jest wykonywane w zapytaniu.
      */
     private void applyFilters() {
-        String searchText = searchField.getText().toLowerCase().trim();
-
-        filteredActivities.setPredicate(activity -> {
-            boolean matchesSearch = searchText.isEmpty() ||
-                    activity.getUser().toLowerCase().contains(searchText) ||
-                    activity.getTask().toLowerCase().contains(searchText) ||
-                    activity.getDescription().toLowerCase().contains(searchText) ||
-                    activity.getType().toLowerCase().contains(searchText);
-
-            return matchesSearch;
-        });
+        String searchText = searchField.getText().trim();
+        if (!searchText.equals(activities.getQuery())) {
+            activities.setQuery(searchText);
+        }
     }
 
     /**
@@ -324,7 +253,7 @@ public class AdminActivitiesController {
     @FXML
     private void handleClearFilters() {
         searchField.clear();
-        filteredActivities.setPredicate(p -> true);
+        applyFilters();
     }
 
     /**
@@ -332,11 +261,7 @@ public class AdminActivitiesController {
      */
     @FXML
     private void handleRefresh() {
-        allActivities.clear();
-        userNameCache.clear();
-        taskTitleCache.clear();
-        loadActivities();
-        filteredActivities.setPredicate(p -> true);
+        activities.refresh();
         clearActivityDetails();
     }
 
@@ -345,7 +270,7 @@ public class AdminActivitiesController {
      */
     @FXML
     private void handleExportActivities() {
-        if (filteredActivities == null || filteredActivities.isEmpty()) {
+        if (activities == null || activities.isEmpty()) {
             showWarning("Brak aktywności do eksportu");
             return;
         }
@@ -368,7 +293,14 @@ public class AdminActivitiesController {
             try (java.io.FileWriter writer = new java.io.FileWriter(file)) {
                 writer.write("Data i czas|Użytkownik|Zadanie|Typ aktywności|Opis\n");
 
-                for (ActivityEntry activity : filteredActivities) {
+                List<EnhancedTaskActivity> rows = taskActivityDAO.getEnhancedActivitiesPage(
+                        activities.getQuery(), new PageRequest(0, Integer.MAX_VALUE, null, true));
+                if (rows == null) {
+                    showError("Błąd eksportu", "Nie udało się pobrać aktywności z bazy danych");
+                    return;
+                }
+
+                for (ActivityEntry activity : toEntries(rows)) {
                     writer.write(String.format("%s|%s|%s|%s|%s\n",
                             activity.getTimestamp(),
                             activity.getUser(),
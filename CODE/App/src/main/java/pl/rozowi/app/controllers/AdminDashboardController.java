@@ -2,7 +2,6 @@ package pl.rozowi.app.controllers;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -12,6 +11,7 @@ import javafx.stage.Stage;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.util.ThemeManager;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 
@@ -50,6 +50,8 @@ public class AdminDashboardController extends BaseDashboardController {
 
     private static final String ACTIVE_BUTTON_STYLE = "sidebar-button-active";
 
+    private final ViewRegistry views = new ViewRegistry();
+
     /**
      * Metoda inicjalizująca kontroler. Automatycznie ładuje widok użytkowników
      * jako domyślny widok po uruchomieniu.
@@ -246,15 +248,16 @@ public class AdminDashboardController extends BaseDashboardController {
 
     /**
      * Ładuje widok FXML do głównego panelu.
+     * Widok jest pobierany z rejestru widoków, więc wcześniej wyświetlone ekrany nie są wczytywane ponownie.
      *
      * @param fxmlPath ścieżka do pliku FXML
      * @throws IOException jeśli wystąpi błąd podczas ładowania pliku FXML
      */
     private void loadView(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader(MainApplication.class.getResource(fxmlPath));
-        Parent view = loader.load();
+        ViewRegistry.LoadedView loaded = views.load(fxmlPath);
+        Parent view = loaded.getRoot();
 
-        Object controller = loader.getController();
+        Object controller = loaded.getController();
         if (controller instanceof SettingsController) {
             ((SettingsController) controller).setUser(currentUser);
         } else if (controller instanceof UserAwareController) {
@@ -7,6 +7,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import pl.rozowi.app.util.TableFilter;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -65,7 +66,7 @@ public class AdminLogsController {
     private TextArea detailStackTrace;
 
     private ObservableList<LogEntry> allLogs = FXCollections.observableArrayList();
-    private ObservableList<LogEntry> filteredLogs = FXCollections.observableArrayList();
+    private TableFilter<LogEntry> logFilter;
 
     /**
      * Metoda inicjalizująca kontroler. Konfiguruje tabelę logów,
@@ -111,9 +112,29 @@ public class AdminLogsController {
             }
         });
 
+        setupFilter();
         loadSampleLogs();
     }
 
+    /**
+     * Konfiguruje filtrowanie tabeli: wyszukiwanie w trakcie pisania oraz filtry poziomu i zakresu dat.
+     */
+    private void setupFilter() {
+        logFilter = new TableFilter<>(allLogs, log -> String.join("\n",
+                log.getTimestamp(), log.getLevel(), log.getSource(), log.getUser(), log.getMessage()));
+        logFilter.addCriterion(() -> {
+            String level = logLevelCombo.getValue();
+            return level == null || level.equals("Wszystkie") ? null : log -> log.getLevel().equals(level);
+        });
+        logFilter.addCriterion(() -> {
+            LocalDate startDate = startDatePicker.getValue();
+            LocalDate endDate = endDatePicker.getValue();
+            return startDate == null && endDate == null ? null : log -> isInDateRange(log.getTimestamp(), startDate, endDate);
+        });
+        logFilter.bind(logsTable);
+        logFilter.bindSearch(searchField);
+    }
+
     /**
      * Ładuje przykładowe logi do tabeli (w wersji produkcyjnej należy zastąpić
      * prawdziwym źródłem danych).
@@ -121,8 +142,6 @@ public class AdminLogsController {
     private void loadSampleLogs() {
         List<LogEntry> logs = generateSampleLogs(100);
         allLogs.setAll(logs);
-        filteredLogs.setAll(logs);
-        logsTable.setItems(filteredLogs);
     }
 
     /**
@@ -258,36 +277,7 @@ public class AdminLogsController {
      */
     @FXML
     private void handleSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-        if (searchText.isEmpty() && logLevelCombo.getValue().equals("Wszystkie") &&
-            startDatePicker.getValue() == null && endDatePicker.getValue() == null) {
-            filteredLogs.setAll(allLogs);
-            logsTable.setItems(filteredLogs);
-            return;
-        }
-
-        ObservableList<LogEntry> searchResults = FXCollections.observableArrayList();
-
-        for (LogEntry log : allLogs) {
-            boolean matchesSearch = searchText.isEmpty() ||
-                                    log.getTimestamp().toLowerCase().contains(searchText) ||
-                                    log.getLevel().toLowerCase().contains(searchText) ||
-                                    log.getSource().toLowerCase().contains(searchText) ||
-                                    log.getUser().toLowerCase().contains(searchText) ||
-                                    log.getMessage().toLowerCase().contains(searchText);
-
-            boolean matchesLevel = logLevelCombo.getValue().equals("Wszystkie") ||
-                                  log.getLevel().equals(logLevelCombo.getValue());
-
-            boolean matchesDateRange = isInDateRange(log.getTimestamp(), startDatePicker.getValue(), endDatePicker.getValue());
-
-            if (matchesSearch && matchesLevel && matchesDateRange) {
-                searchResults.add(log);
-            }
-        }
-
-        filteredLogs.setAll(searchResults);
-        logsTable.setItems(filteredLogs);
+        logFilter.setSearchText(searchField.getText());
     }
 
     /**
@@ -320,7 +310,7 @@ public class AdminLogsController {
      */
     @FXML
     private void handleFilterByLevel() {
-        handleSearch();
+        logFilter.refilter();
     }
 
     /**
@@ -328,7 +318,7 @@ public class AdminLogsController {
      */
     @FXML
     private void handleDateFilter() {
-        handleSearch();
+        logFilter.refilter();
     }
 
     /**
@@ -341,8 +331,8 @@ public class AdminLogsController {
         startDatePicker.setValue(null);
         endDatePicker.setValue(null);
 
-        filteredLogs.setAll(allLogs);
-        logsTable.setItems(filteredLogs);
+        logFilter.setSearchText("");
+        logFilter.refilter();
     }
 
     /**
@@ -377,7 +367,7 @@ public class AdminLogsController {
             try (FileWriter writer = new FileWriter(file)) {
                 writer.write("Timestamp|Level|Source|User|Message|IP|Session|StackTrace\n");
 
-                for (LogEntry log : filteredLogs) {
+                for (LogEntry log : logFilter.getSorted()) {
                     writer.write(String.format("%s|%s|%s|%s|%s|%s|%s|%s\n",
                             log.getTimestamp(),
                             log.getLevel(),
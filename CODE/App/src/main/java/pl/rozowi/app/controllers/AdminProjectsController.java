@@ -1,6 +1,7 @@
 package pl.rozowi.app.controllers;
 
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -8,27 +9,31 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.dao.ProjectDAO;
-import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.dao.TeamDAO;
 import pl.rozowi.app.dao.UserDAO;
-import pl.rozowi.app.dao.TeamMemberDAO;
 import pl.rozowi.app.models.Project;
 import pl.rozowi.app.models.Task;
 import pl.rozowi.app.models.Team;
 import pl.rozowi.app.models.User;
+import pl.rozowi.app.util.ParallelLoader;
+import pl.rozowi.app.util.TableFilter;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie projektami w panelu administratora.
  * Udostępnia funkcjonalności przeglądania, dodawania, edycji i usuwania projektów,
  * a także zarządzania powiązanymi zespołami i zadaniami.
  */
-public class AdminProjectsController {
+public class AdminProjectsController implements RefreshableView {
 
     @FXML
     private TableView<Project> projectsTable;
@@ -76,13 +81,15 @@ public class AdminProjectsController {
 
     private final ProjectDAO projectDAO = new ProjectDAO();
     private final TeamDAO teamDAO = new TeamDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
     private final UserDAO userDAO = new UserDAO();
-    private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
 
     private final ObservableList<Project> allProjects = FXCollections.observableArrayList();
+    private TableFilter<Project> projectFilter;
     private final ObservableList<Team> projectTeams = FXCollections.observableArrayList();
     private final ObservableList<Task> projectTasks = FXCollections.observableArrayList();
+    private final Map<Integer, String> managerNames = new HashMap<>();
+    private ParallelLoader projectsLoad;
+    private ParallelLoader detailsLoad;
 
     /**
      * Metoda inicjalizująca kontroler. Konfiguruje tabele projektów, zespołów i zadań,
@@ -100,48 +107,15 @@ public class AdminProjectsController {
             if (managerId <= 0) {
                 return new SimpleStringProperty("Brak przypisania");
             }
-
-            try {
-                List<User> managers = userDAO.getAllManagers();
-                for (User manager : managers) {
-                    if (manager.getId() == managerId) {
-                        return new SimpleStringProperty(manager.getName() + " " + manager.getLastName());
-                    }
-                }
-                return new SimpleStringProperty("ID: " + managerId);
-            } catch (Exception e) {
-                e.printStackTrace();
-                return new SimpleStringProperty("Błąd");
-            }
+            return new SimpleStringProperty(managerNames.getOrDefault(managerId, "ID: " + managerId));
         });
 
         colTeamId.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().getId()));
         colTeamName.setCellValueFactory(data -> data.getValue().teamNameProperty());
-        colTeamLeader.setCellValueFactory(data -> {
-            int teamId = data.getValue().getId();
-            try {
-                List<User> teamMembers = teamDAO.getTeamMembers(teamId);
-                for (User member : teamMembers) {
-                    if (teamMemberDAO.isTeamLeader(teamId, member.getId())) {
-                        return new SimpleStringProperty(member.getName() + " " + member.getLastName());
-                    }
-                }
-                return new SimpleStringProperty("Brak lidera");
-            } catch (Exception e) {
-                e.printStackTrace();
-                return new SimpleStringProperty("Błąd pobierania");
-            }
-        });
-        colMembersCount.setCellValueFactory(data -> {
-            int teamId = data.getValue().getId();
-            try {
-                List<User> members = teamDAO.getTeamMembers(teamId);
-                return new SimpleObjectProperty<>(members.size());
-            } catch (Exception e) {
-                e.printStackTrace();
-                return new SimpleObjectProperty<>(0);
-            }
-        });
+        colTeamLeader.setCellValueFactory(data -> Bindings.when(data.getValue().leaderNameProperty().isNull())
+                .then("Brak lidera")
+                .otherwise(data.getValue().leaderNameProperty()));
+        colMembersCount.setCellValueFactory(data -> data.getValue().memberCountProperty().asObject());
 
         colTaskId.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().getId()));
         colTaskTitle.setCellValueFactory(data -> data.getValue().titleProperty());
@@ -152,62 +126,104 @@ public class AdminProjectsController {
 
         projectsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             if (newSelection != null) {
-                loadProjectTeams(newSelection.getId());
-                loadProjectTasks(newSelection.getId());
+                loadProjectDetails(newSelection.getId());
             } else {
+                if (detailsLoad != null) {
+                    detailsLoad.cancel();
+                }
                 projectTeams.clear();
                 projectTasks.clear();
             }
         });
 
+        projectFilter = new TableFilter<>(allProjects, project -> String.join("\n",
+                String.valueOf(project.getId()), project.getName(), project.getDescription()));
+        projectFilter.bind(projectsTable);
+        projectFilter.bindSearch(searchField);
+
         loadProjects();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            handleRefresh();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("projects", "teams", "team_members", "tasks", "task_assignments", "users");
+    }
+
     /**
      * Ładuje listę wszystkich projektów z bazy danych.
+     * Projekty i kierownicy są pobierani równolegle, a tabela aktualizowana raz po pobraniu obu list.
      */
     private void loadProjects() {
-        try {
-            List<Project> projects = projectDAO.getAllProjects();
-            allProjects.setAll(projects);
-            projectsTable.setItems(allProjects);
-        } catch (Exception e) {
-            showError("Błąd podczas wczytywania projektów", e.getMessage());
+        if (projectsLoad != null) {
+            projectsLoad.cancel();
         }
+        ParallelLoader loader = new ParallelLoader();
+        ParallelLoader.Result<List<Project>> projects = loader.add(projectDAO::getAllProjects);
+        ParallelLoader.Result<List<User>> managers = loader.add(userDAO::getAllManagers);
+        projectsLoad = loader;
+        loader.run(() -> {
+            managerNames.clear();
+            for (User manager : managers.get()) {
+                managerNames.put(manager.getId(), manager.getName() + " " + manager.getLastName());
+            }
+            allProjects.setAll(projects.get());
+        }, e -> showError("Błąd podczas wczytywania projektów", e.getMessage()));
     }
 
     /**
-     * Ładuje listę zespołów powiązanych z wybranym projektem.
+     * Zastępuje wiersz projektu wersją zwróconą przez DAO, zachowując zaznaczenie i przewinięcie tabeli.
      *
-     * @param projectId ID projektu dla którego mają zostać załadowane zespoły
+     * @param project zaktualizowany projekt
      */
-    private void loadProjectTeams(int projectId) {
-        try {
-            List<Team> teams = teamDAO.getAllTeams();
-            List<Team> projectTeamsFiltered = teams.stream()
-                .filter(team -> team.getProjectId() == projectId)
-                .toList();
-
-            projectTeams.setAll(projectTeamsFiltered);
-            teamsTable.setItems(projectTeams);
-        } catch (SQLException e) {
-            showError("Błąd podczas wczytywania zespołów", e.getMessage());
+    private void replaceProjectRow(Project project) {
+        for (int i = 0; i < allProjects.size(); i++) {
+            if (allProjects.get(i).getId() == project.getId()) {
+                allProjects.set(i, project);
+                projectsTable.getSelectionModel().select(project);
+                return;
+            }
         }
+        allProjects.add(project);
     }
 
     /**
-     * Ładuje listę zadań powiązanych z wybranym projektem.
+     * Ładuje równolegle zespoły i zadania powiązane z wybranym projektem.
      *
-     * @param projectId ID projektu dla którego mają zostać załadowane zadania
+     * @param projectId ID projektu dla którego mają zostać załadowane zespoły i zadania
      */
-    private void loadProjectTasks(int projectId) {
-        try {
-            List<Task> tasks = taskDAO.getTasksByProjectId(projectId);
-            projectTasks.setAll(tasks);
-            tasksTable.setItems(projectTasks);
-        } catch (Exception e) {
-            showError("Błąd podczas wczytywania zadań", e.getMessage());
+    private void loadProjectDetails(int projectId) {
+        if (detailsLoad != null) {
+            detailsLoad.cancel();
         }
+        ParallelLoader loader = new ParallelLoader();
+        ParallelLoader.Result<List<Team>> teams = loader.add(teamDAO::getAllTeamsWithSummary);
+        ParallelLoader.Result<List<Task>> tasks = loader.add(() -> WorkingSet.getProjectTasks(projectId));
+        detailsLoad = loader;
+        loader.run(() -> {
+            projectTeams.setAll(teams.get().stream()
+                .filter(team -> team.getProjectId() == projectId)
+                .toList());
+            teamsTable.setItems(projectTeams);
+            projectTasks.setAll(tasks.get());
+            tasksTable.setItems(projectTasks);
+        }, e -> showError("Błąd podczas wczytywania zespołów i zadań", e.getMessage()));
     }
 
     /**
@@ -215,21 +231,7 @@ public class AdminProjectsController {
      */
     @FXML
     private void handleSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-        if (searchText.isEmpty()) {
-            projectsTable.setItems(allProjects);
-            return;
-        }
-
-        ObservableList<Project> filtered = FXCollections.observableArrayList();
-        for (Project project : allProjects) {
-            if (String.valueOf(project.getId()).contains(searchText) ||
-                project.getName().toLowerCase().contains(searchText) ||
-                project.getDescription().toLowerCase().contains(searchText)) {
-                filtered.add(project);
-            }
-        }
-        projectsTable.setItems(filtered);
+        projectFilter.setSearchText(searchField.getText());
     }
 
     /**
@@ -242,9 +244,10 @@ public class AdminProjectsController {
 
         result.ifPresent(project -> {
             try {
-                boolean success = projectDAO.insertProject(project);
-                if (success) {
-                    loadProjects();
+                Project created = projectDAO.insertProjectAndGet(project);
+                if (created != null) {
+                    allProjects.add(created);
+                    projectsTable.getSelectionModel().select(created);
                     showInfo("Dodano nowy projekt");
                 } else {
                     showError("Błąd", "Nie udało się dodać projektu");
@@ -270,9 +273,9 @@ public class AdminProjectsController {
         Optional<Project> result = dialog.showAndWait();
 
         result.ifPresent(project -> {
-            boolean success = projectDAO.updateProject(project);
-            if (success) {
-                loadProjects();
+            Project updated = projectDAO.updateProjectAndGet(project);
+            if (updated != null) {
+                replaceProjectRow(updated);
                 showInfo("Zaktualizowano projekt");
             } else {
                 showError("Błąd", "Nie udało się zaktualizować projektu");
@@ -291,7 +294,7 @@ public class AdminProjectsController {
             return;
         }
 
-        List<Task> tasks = taskDAO.getTasksByProjectId(selectedProject.getId());
+        List<Task> tasks = WorkingSet.getProjectTasks(selectedProject.getId());
         int taskCount = tasks.size();
 
         Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
@@ -393,9 +396,9 @@ public class AdminProjectsController {
             Optional<User> managerResult = dialog.showAndWait();
             managerResult.ifPresent(manager -> {
                 selectedProject.setManagerId(manager.getId());
-                boolean success = projectDAO.updateProject(selectedProject);
-                if (success) {
-                    loadProjects();
+                Project updated = projectDAO.updateProjectAndGet(selectedProject);
+                if (updated != null) {
+                    replaceProjectRow(updated);
                     showInfo("Kierownik został przypisany do projektu");
                 } else {
                     showError("Błąd", "Nie udało się przypisać kierownika");
@@ -416,8 +419,7 @@ public class AdminProjectsController {
 
         Project selectedProject = projectsTable.getSelectionModel().getSelectedItem();
         if (selectedProject != null) {
-            loadProjectTeams(selectedProject.getId());
-            loadProjectTasks(selectedProject.getId());
+            loadProjectDetails(selectedProject.getId());
         }
     }
 
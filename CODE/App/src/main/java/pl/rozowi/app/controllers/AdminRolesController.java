@@ -8,11 +8,15 @@ import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import pl.rozowi.app.dao.RoleDAO;
+import pl.rozowi.app.models.Permission;
 import pl.rozowi.app.models.Role;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie rolami użytkowników w systemie.
@@ -68,13 +72,21 @@ public class AdminRolesController {
     @FXML
     private CheckBox permEditTasks;
     @FXML
+    private CheckBox permEditOwnTasks;
+    @FXML
     private CheckBox permDeleteTasks;
     @FXML
     private CheckBox permAssignTasks;
 
+    @FXML
+    private CheckBox permViewReports;
+    @FXML
+    private CheckBox permViewAllReports;
+
     private RoleDAO roleDAO = new RoleDAO();
     private ObservableList<Role> allRoles = FXCollections.observableArrayList();
     private Role currentRole;
+    private final Map<Permission, CheckBox> permissionCheckBoxes = new EnumMap<>(Permission.class);
 
     /**
      * Metoda inicjalizująca kontroler. Konfiguruje listę ról,
@@ -82,6 +94,7 @@ public class AdminRolesController {
      */
     @FXML
     private void initialize() {
+        mapPermissionCheckBoxes();
         configureRolesListView();
 
         setPermissionsDisabled(true);
@@ -89,6 +102,40 @@ public class AdminRolesController {
         loadRoles();
     }
 
+    /**
+     * Przypisuje pola wyboru do odpowiadających im uprawnień.
+     */
+    private void mapPermissionCheckBoxes() {
+        permissionCheckBoxes.put(Permission.VIEW_USERS, permViewUsers);
+        permissionCheckBoxes.put(Permission.EDIT_USERS, permEditUsers);
+        permissionCheckBoxes.put(Permission.DELETE_USERS, permDeleteUsers);
+        permissionCheckBoxes.put(Permission.RESET_PASSWORDS, permResetPasswords);
+        permissionCheckBoxes.put(Permission.VIEW_ROLES, permViewRoles);
+        permissionCheckBoxes.put(Permission.EDIT_ROLES, permEditRoles);
+
+        permissionCheckBoxes.put(Permission.VIEW_PROJECTS, permViewProjects);
+        permissionCheckBoxes.put(Permission.CREATE_PROJECTS, permCreateProjects);
+        permissionCheckBoxes.put(Permission.EDIT_PROJECTS, permEditProjects);
+        permissionCheckBoxes.put(Permission.DELETE_PROJECTS, permDeleteProjects);
+        permissionCheckBoxes.put(Permission.ASSIGN_PROJECTS, permAssignProjects);
+
+        permissionCheckBoxes.put(Permission.VIEW_TEAMS, permViewTeams);
+        permissionCheckBoxes.put(Permission.CREATE_TEAMS, permCreateTeams);
+        permissionCheckBoxes.put(Permission.EDIT_TEAMS, permEditTeams);
+        permissionCheckBoxes.put(Permission.DELETE_TEAMS, permDeleteTeams);
+        permissionCheckBoxes.put(Permission.ASSIGN_TEAM_MEMBERS, permAssignTeamMembers);
+
+        permissionCheckBoxes.put(Permission.VIEW_TASKS, permViewTasks);
+        permissionCheckBoxes.put(Permission.CREATE_TASKS, permCreateTasks);
+        permissionCheckBoxes.put(Permission.EDIT_TASKS, permEditTasks);
+        permissionCheckBoxes.put(Permission.EDIT_OWN_TASKS, permEditOwnTasks);
+        permissionCheckBoxes.put(Permission.DELETE_TASKS, permDeleteTasks);
+        permissionCheckBoxes.put(Permission.ASSIGN_TASKS, permAssignTasks);
+
+        permissionCheckBoxes.put(Permission.VIEW_REPORTS, permViewReports);
+        permissionCheckBoxes.put(Permission.VIEW_ALL_REPORTS, permViewAllReports);
+    }
+
     /**
      * Konfiguruje wygląd i zachowanie listy ról.
      */
@@ -156,78 +203,20 @@ public class AdminRolesController {
      * @param role rola, dla której mają zostać załadowane uprawnienia
      */
     private void loadPermissions(Role role) {
-
-        resetPermissions();
-
-        if (role == null || role.getPermissions() == null) {
+        if (role == null) {
+            resetPermissions();
             return;
         }
 
-        String[] permissions = role.getPermissions().split(",");
-
-        if (role.getPermissions().equals("ALL")) {
-            setAllPermissions(true);
-            return;
-        }
-
-        for (String perm : permissions) {
-            switch (perm.trim()) {
-                case "VIEW_USERS" -> permViewUsers.setSelected(true);
-                case "EDIT_USERS" -> permEditUsers.setSelected(true);
-                case "DELETE_USERS" -> permDeleteUsers.setSelected(true);
-                case "RESET_PASSWORDS" -> permResetPasswords.setSelected(true);
-                case "VIEW_ROLES" -> permViewRoles.setSelected(true);
-                case "EDIT_ROLES" -> permEditRoles.setSelected(true);
-
-                case "VIEW_PROJECTS" -> permViewProjects.setSelected(true);
-                case "CREATE_PROJECTS" -> permCreateProjects.setSelected(true);
-                case "EDIT_PROJECTS" -> permEditProjects.setSelected(true);
-                case "DELETE_PROJECTS" -> permDeleteProjects.setSelected(true);
-                case "ASSIGN_PROJECTS" -> permAssignProjects.setSelected(true);
-
-                case "VIEW_TEAMS" -> permViewTeams.setSelected(true);
-                case "CREATE_TEAMS" -> permCreateTeams.setSelected(true);
-                case "EDIT_TEAMS" -> permEditTeams.setSelected(true);
-                case "DELETE_TEAMS" -> permDeleteTeams.setSelected(true);
-                case "ASSIGN_TEAM_MEMBERS" -> permAssignTeamMembers.setSelected(true);
-
-                case "VIEW_TASKS" -> permViewTasks.setSelected(true);
-                case "CREATE_TASKS" -> permCreateTasks.setSelected(true);
-                case "EDIT_TASKS" -> permEditTasks.setSelected(true);
-                case "DELETE_TASKS" -> permDeleteTasks.setSelected(true);
-                case "ASSIGN_TASKS" -> permAssignTasks.setSelected(true);
-            }
-        }
+        Set<Permission> granted = Permission.parse(role.getPermissions());
+        permissionCheckBoxes.forEach((permission, checkBox) -> checkBox.setSelected(granted.contains(permission)));
     }
 
     /**
      * Resetuje wszystkie checkboxy uprawnień.
      */
     private void resetPermissions() {
-        permViewUsers.setSelected(false);
-        permEditUsers.setSelected(false);
-        permDeleteUsers.setSelected(false);
-        permResetPasswords.setSelected(false);
-        permViewRoles.setSelected(false);
-        permEditRoles.setSelected(false);
-
-        permViewProjects.setSelected(false);
-        permCreateProjects.setSelected(false);
-        permEditProjects.setSelected(false);
-        permDeleteProjects.setSelected(false);
-        permAssignProjects.setSelected(false);
-
-        permViewTeams.setSelected(false);
-        permCreateTeams.setSelected(false);
-        permEditTeams.setSelected(false);
-        permDeleteTeams.setSelected(false);
-        permAssignTeamMembers.setSelected(false);
-
-        permViewTasks.setSelected(false);
-        permCreateTasks.setSelected(false);
-        permEditTasks.setSelected(false);
-        permDeleteTasks.setSelected(false);
-        permAssignTasks.setSelected(false);
+        setAllPermissions(false);
     }
 
     /**
@@ -236,30 +225,7 @@ public class AdminRolesController {
      * @param value wartość do ustawienia (true/false)
      */
     private void setAllPermissions(boolean value) {
-        permViewUsers.setSelected(value);
-        permEditUsers.setSelected(value);
-        permDeleteUsers.setSelected(value);
-        permResetPasswords.setSelected(value);
-        permViewRoles.setSelected(value);
-        permEditRoles.setSelected(value);
-
-        permViewProjects.setSelected(value);
-        permCreateProjects.setSelected(value);
-        permEditProjects.setSelected(value);
-        permDeleteProjects.setSelected(value);
-        permAssignProjects.setSelected(value);
-
-        permViewTeams.setSelected(value);
-        permCreateTeams.setSelected(value);
-        permEditTeams.setSelected(value);
-        permDeleteTeams.setSelected(value);
-        permAssignTeamMembers.setSelected(value);
-
-        permViewTasks.setSelected(value);
-        permCreateTasks.setSelected(value);
-        permEditTasks.setSelected(value);
-        permDeleteTasks.setSelected(value);
-        permAssignTasks.setSelected(value);
+        permissionCheckBoxes.values().forEach(checkBox -> checkBox.setSelected(value));
     }
 
     /**
@@ -268,30 +234,7 @@ public class AdminRolesController {
      * @param disabled true - wyłącza kontrolki, false - włącza
      */
     private void setPermissionsDisabled(boolean disabled) {
-        permViewUsers.setDisable(disabled);
-        permEditUsers.setDisable(disabled);
-        permDeleteUsers.setDisable(disabled);
-        permResetPasswords.setDisable(disabled);
-        permViewRoles.setDisable(disabled);
-        permEditRoles.setDisable(disabled);
-
-        permViewProjects.setDisable(disabled);
-        permCreateProjects.setDisable(disabled);
-        permEditProjects.setDisable(disabled);
-        permDeleteProjects.setDisable(disabled);
-        permAssignProjects.setDisable(disabled);
-
-        permViewTeams.setDisable(disabled);
-        permCreateTeams.setDisable(disabled);
-        permEditTeams.setDisable(disabled);
-        permDeleteTeams.setDisable(disabled);
-        permAssignTeamMembers.setDisable(disabled);
-
-        permViewTasks.setDisable(disabled);
-        permCreateTasks.setDisable(disabled);
-        permEditTasks.setDisable(disabled);
-        permDeleteTasks.setDisable(disabled);
-        permAssignTasks.setDisable(disabled);
+        permissionCheckBoxes.values().forEach(checkBox -> checkBox.setDisable(disabled));
     }
 
     /**
@@ -385,36 +328,14 @@ public class AdminRolesController {
             return;
         }
 
-        StringBuilder permissions = new StringBuilder();
-
-        if (permViewUsers.isSelected()) permissions.append("VIEW_USERS,");
-        if (permEditUsers.isSelected()) permissions.append("EDIT_USERS,");
-        if (permDeleteUsers.isSelected()) permissions.append("DELETE_USERS,");
-        if (permResetPasswords.isSelected()) permissions.append("RESET_PASSWORDS,");
-        if (permViewRoles.isSelected()) permissions.append("VIEW_ROLES,");
-        if (permEditRoles.isSelected()) permissions.append("EDIT_ROLES,");
-
-        if (permViewProjects.isSelected()) permissions.append("VIEW_PROJECTS,");
-        if (permCreateProjects.isSelected()) permissions.append("CREATE_PROJECTS,");
-        if (permEditProjects.isSelected()) permissions.append("EDIT_PROJECTS,");
-        if (permDeleteProjects.isSelected()) permissions.append("DELETE_PROJECTS,");
-        if (permAssignProjects.isSelected()) permissions.append("ASSIGN_PROJECTS,");
-
-        if (permViewTeams.isSelected()) permissions.append("VIEW_TEAMS,");
-        if (permCreateTeams.isSelected()) permissions.append("CREATE_TEAMS,");
-        if (permEditTeams.isSelected()) permissions.append("EDIT_TEAMS,");
-        if (permDeleteTeams.isSelected()) permissions.append("DELETE_TEAMS,");
-        if (permAssignTeamMembers.isSelected()) permissions.append("ASSIGN_TEAM_MEMBERS,");
-
-        if (permViewTasks.isSelected()) permissions.append("VIEW_TASKS,");
-        if (permCreateTasks.isSelected()) permissions.append("CREATE_TASKS,");
-        if (permEditTasks.isSelected()) permissions.append("EDIT_TASKS,");
-        if (permDeleteTasks.isSelected()) permissions.append("DELETE_TASKS,");
-        if (permAssignTasks.isSelected()) permissions.append("ASSIGN_TASKS,");
-
-        boolean allSelected = areAllPermissionsSelected();
-        String permissionsStr = allSelected ? "ALL" :
-                               (permissions.length() > 0 ? permissions.substring(0, permissions.length() - 1) : "");
+        Set<Permission> selected = EnumSet.noneOf(Permission.class);
+        permissionCheckBoxes.forEach((permission, checkBox) -> {
+            if (checkBox.isSelected()) {
+                selected.add(permission);
+            }
+        });
+
+        String permissionsStr = areAllPermissionsSelected() ? Permission.ALL_CODE : Permission.format(selected);
 
         currentRole.setPermissions(permissionsStr);
 
@@ -432,14 +353,7 @@ public class AdminRolesController {
      * @return true jeśli wszystkie uprawnienia są zaznaczone, false w przeciwnym wypadku
      */
     private boolean areAllPermissionsSelected() {
-        return permViewUsers.isSelected() && permEditUsers.isSelected() && permDeleteUsers.isSelected() &&
-               permResetPasswords.isSelected() && permViewRoles.isSelected() && permEditRoles.isSelected() &&
-               permViewProjects.isSelected() && permCreateProjects.isSelected() &&
-               permEditProjects.isSelected() && permDeleteProjects.isSelected() && permAssignProjects.isSelected() &&
-               permViewTeams.isSelected() && permCreateTeams.isSelected() &&
-               permEditTeams.isSelected() && permDeleteTeams.isSelected() && permAssignTeamMembers.isSelected() &&
-               permViewTasks.isSelected() && permCreateTasks.isSelected() &&
-               permEditTasks.isSelected() && permDeleteTasks.isSelected() && permAssignTasks.isSelected();
+        return permissionCheckBoxes.values().stream().allMatch(CheckBox::isSelected);
     }
 
     /**
@@ -2,6 +2,9 @@ package pl.rozowi.app.controllers;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.cache.UserCache;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.User;
 
@@ -34,6 +37,10 @@ public class AdminSystemController implements UserAwareController {
     private ComboBox<String> logLevelComboBox;
     @FXML
     private TextArea logsTextArea;
+    @FXML
+    private Label cacheSummaryLabel;
+    @FXML
+    private TextArea cacheStatsTextArea;
 
     private User currentUser;
 
@@ -46,6 +53,7 @@ public class AdminSystemController implements UserAwareController {
         versionLabel.setText("1.0.0");
         dbNameLabel.setText("MySQL");
         updateConnectionStatus();
+        updateCacheStatistics();
 
         addLogEntry("INFO", "System uruchomiony");
         addLogEntry("INFO", "Połączono z bazą danych");
@@ -205,6 +213,40 @@ public class AdminSystemController implements UserAwareController {
     }
 
 
+    /**
+     * Obsługuje akcję odświeżenia statystyk pamięci podręcznej.
+     */
+    @FXML
+    private void handleRefreshCacheStats() {
+        updateCacheStatistics();
+    }
+
+    /**
+     * Obsługuje akcję czyszczenia pamięci podręcznej danych słownikowych, użytkowników i zbioru roboczego sesji.
+     * Kolejne odczyty ponownie załadują dane z bazy.
+     */
+    @FXML
+    private void handleClearCache() {
+        ReferenceDataCache.clear();
+        UserCache.clear();
+        WorkingSet.invalidate();
+        updateCacheStatistics();
+        addLogEntry("INFO", "Wyczyszczono pamięć podręczną");
+    }
+
+    /**
+     * Aktualizuje wyświetlane statystyki trafień i chybień pamięci podręcznej.
+     */
+    private void updateCacheStatistics() {
+        long hits = ReferenceDataCache.getHits();
+        long misses = ReferenceDataCache.getMisses();
+        long total = hits + misses;
+        double ratio = total > 0 ? 100.0 * hits / total : 0.0;
+        cacheSummaryLabel.setText(String.format("Dane słownikowe – trafienia: %d, chybienia: %d (%.1f%%), użytkownicy: %.1f%%",
+                hits, misses, ratio, 100.0 * UserCache.getHitRatio()));
+        cacheStatsTextArea.setText(ReferenceDataCache.getStatistics() + UserCache.getStatistics() + WorkingSet.getStatistics());
+    }
+
     /**
      * Aktualizuje status połączenia z bazą danych.
      * Zmienia wygląd etykiety w zależności od stanu połączenia.
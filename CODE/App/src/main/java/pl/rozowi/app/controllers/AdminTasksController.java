@@ -1,7 +1,6 @@
 package pl.rozowi.app.controllers;
 
 import javafx.application.Platform;
-import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -9,23 +8,29 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.util.StringConverter;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
 import pl.rozowi.app.services.ActivityService;
+import pl.rozowi.app.util.PagedList;
+import pl.rozowi.app.util.RowNumberCell;
+import pl.rozowi.app.util.SearchDebounce;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie zadaniami w panelu administracyjnym.
  * Pozwala na wyświetlanie, dodawanie, edycję, usuwanie oraz filtrowanie zadań.
  * Zapewnia również funkcjonalność przypisywania użytkowników do zadań oraz zmianę ich statusów.
  */
-public class AdminTasksController {
+public class AdminTasksController implements RefreshableView {
 
     @FXML
     private TableView<Task> tasksTable;
@@ -88,39 +93,29 @@ public class AdminTasksController {
     private TextArea detailDescription;
 
     private final TaskDAO taskDAO = new TaskDAO();
-    private final ProjectDAO projectDAO = new ProjectDAO();
     private final TeamDAO teamDAO = new TeamDAO();
     private final UserDAO userDAO = new UserDAO();
     private final TaskActivityDAO activityDAO = new TaskActivityDAO();
     private final TaskAssignmentDAO assignmentDAO = new TaskAssignmentDAO();
 
-    private ObservableList<Task> allTasks = FXCollections.observableArrayList();
-    private ObservableList<Task> filteredTasks = FXCollections.observableArrayList();
+    private PagedList<Task, TaskFilter> tasks;
 
     /**
      * Inicjalizuje kontroler. Ładuje zadania, konfiguruje tabelę oraz ustawia filtry.
      * Wywoływana automatycznie po załadowaniu pliku FXML.
+     * Zadania są pobierane stronami w miarę przewijania tabeli, a filtrowanie i sortowanie
+     * są wykonywane w zapytaniu.
      */
     @FXML
     private void initialize() {
-        colId.setCellValueFactory(data -> new SimpleObjectProperty<>(
-                tasksTable.getItems().indexOf(data.getValue()) + 1));
+        RowNumberCell.install(colId);
         colTitle.setCellValueFactory(data -> data.getValue().titleProperty());
         colProject.setCellValueFactory(data -> {
-            int projectId = data.getValue().getProjectId();
-            String projectName = "Nieznany";
-            try {
-                List<Project> projects = projectDAO.getAllProjects();
-                for (Project project : projects) {
-                    if (project.getId() == projectId) {
-                        projectName = project.getName();
-                        break;
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+            if (tasks.isPlaceholder(data.getValue())) {
+                return new SimpleStringProperty("");
             }
-            return new SimpleStringProperty(projectName);
+            String projectName = ReferenceDataCache.getProjectName(data.getValue().getProjectId());
+            return new SimpleStringProperty(projectName != null ? projectName : "Nieznany");
         });
         colTeam.setCellValueFactory(data -> data.getValue().teamNameProperty());
         colStatus.setCellValueFactory(data -> data.getValue().statusProperty());
@@ -131,15 +126,60 @@ public class AdminTasksController {
 
         setupFilters();
 
+        Task loadingRow = new Task();
+        loadingRow.setTitle("Ładowanie…");
+        tasks = new PagedList<>(new PagedList.PageSource<>() {
+            @Override
+            public int count(TaskFilter filter) {
+                return taskDAO.countTasks(filter);
+            }
+
+            @Override
+            public List<Task> fetch(TaskFilter filter, PageRequest page) {
+                return taskDAO.getTasksPage(filter, page);
+            }
+        }, loadingRow, new TaskFilter());
+        tasksTable.setItems(tasks);
+        tasks.bindSort(tasksTable, Map.of(
+                colTitle, "title",
+                colProject, "project",
+                colTeam, "team",
+                colStatus, "status",
+                colPriority, "priority",
+                colStartDate, "startDate",
+                colEndDate, "endDate",
+                colAssignee, "assignee"));
+
         tasksTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
-            if (newSelection != null) {
+            if (newSelection != null && !tasks.isPlaceholder(newSelection)) {
                 displayTaskDetails(newSelection);
             } else {
                 clearTaskDetails();
             }
         });
+        SearchDebounce.install(searchField, text -> handleSearch());
+    }
 
-        loadTasks();
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            handleRefresh();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("tasks", "task_assignments", "projects", "teams", "users");
     }
 
     /**
@@ -148,7 +188,7 @@ public class AdminTasksController {
      */
     private void setupFilters() {
         try {
-            List<Project> projects = projectDAO.getAllProjects();
+            List<Project> projects = ReferenceDataCache.getProjects();
             Project allProjects = new Project();
             allProjects.setId(0);
             allProjects.setName("Wszystkie projekty");
@@ -171,7 +211,7 @@ public class AdminTasksController {
                 }
             });
 
-            List<Team> teams = teamDAO.getAllTeams();
+            List<Team> teams = ReferenceDataCache.getTeams();
             Team allTeams = new Team();
             allTeams.setId(0);
             allTeams.setTeamName("Wszystkie zespoły");
@@ -205,28 +245,48 @@ public class AdminTasksController {
     }
 
     /**
-     * Ładuje listę wszystkich zadań z bazy danych i wyświetla je w tabeli.
+     * Wczytuje ponownie listę zadań z bazy danych, zachowując bieżące filtry i sortowanie.
      */
     private void loadTasks() {
-        try {
-            List<Task> tasks = new ArrayList<>();
+        tasks.refresh();
+    }
 
-            List<Project> projects = projectDAO.getAllProjects();
-            for (Project project : projects) {
-                List<Task> projectTasks = taskDAO.getTasksByProjectId(project.getId());
-                if (projectTasks != null) {
-                    tasks.addAll(projectTasks);
-                }
-            }
+    /**
+     * Dopisuje nowe zadanie do tabeli bez ponownego wczytywania listy. Przy aktywnych filtrach
+     * lub sortowaniu według kolumny pozycja nowego wiersza zależy od zapytania, więc lista jest wczytywana od nowa.
+     *
+     * @param task zadanie zwrócone przez DAO lub null, jeśli nie udało się go pobrać
+     */
+    private void addTaskRow(Task task) {
+        if (task != null && tasks.isDefaultOrder() && tasks.getQuery().isEmpty()) {
+            tasks.append(task);
+        } else {
+            loadTasks();
+        }
+    }
 
-            allTasks.setAll(tasks);
-            filteredTasks.setAll(tasks);
-            tasksTable.setItems(filteredTasks);
-        } catch (Exception e) {
-            showError("Błąd podczas ładowania zadań", e.getMessage());
+    /**
+     * Zastępuje wiersz zadania w tabeli wersją zwróconą przez DAO, zachowując zaznaczenie i przewinięcie.
+     * Jeśli wiersz nie jest wczytany, lista jest wczytywana od nowa.
+     *
+     * @param task zaktualizowane zadanie
+     */
+    private void replaceTaskRow(Task task) {
+        if (!tasks.replace(t -> t.getId() == task.getId(), task)) {
+            loadTasks();
         }
     }
 
+    /**
+     * Zwraca zaznaczone zadanie lub null, jeśli nic nie zaznaczono albo wiersz nie został jeszcze wczytany.
+     *
+     * @return zaznaczone zadanie
+     */
+    private Task getSelectedTask() {
+        Task selected = tasksTable.getSelectionModel().getSelectedItem();
+        return selected != null && !tasks.isPlaceholder(selected) ? selected : null;
+    }
+
     /**
      * Wyświetla szczegółowe informacje o wybranym zadaniu.
      * @param task Zadanie, którego szczegóły mają zostać wyświetlone
@@ -237,21 +297,12 @@ public class AdminTasksController {
             return;
         }
 
-        int orderNumber = filteredTasks.indexOf(task) + 1;
+        int orderNumber = tasksTable.getSelectionModel().getSelectedIndex() + 1;
         detailId.setText(String.valueOf(orderNumber));
         detailTitle.setText(task.getTitle());
 
-        try {
-            List<Project> projects = projectDAO.getAllProjects();
-            for (Project project : projects) {
-                if (project.getId() == task.getProjectId()) {
-                    detailProject.setText(project.getName());
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            detailProject.setText("Błąd pobierania projektu");
-        }
+        String projectName = ReferenceDataCache.getProjectName(task.getProjectId());
+        detailProject.setText(projectName != null ? projectName : "Nieznany");
 
         detailTeam.setText(task.getTeamName());
         detailStatus.setText(task.getStatus());
@@ -286,67 +337,23 @@ public class AdminTasksController {
      */
     @FXML
     private void handleSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-
-        if (searchText.isEmpty() && projectFilterCombo.getValue().getId() == 0 &&
-                teamFilterCombo.getValue().getId() == 0 && statusFilterCombo.getValue().equals("Wszystkie") &&
-                priorityFilterCombo.getValue().equals("Wszystkie") && startDateFilter.getValue() == null &&
-                endDateFilter.getValue() == null) {
-            filteredTasks.setAll(allTasks);
-            tasksTable.setItems(filteredTasks);
-            return;
+        TaskFilter filter = new TaskFilter();
+        filter.setSearchText(searchField.getText().trim());
+        if (projectFilterCombo.getValue() != null) {
+            filter.setProjectId(projectFilterCombo.getValue().getId());
         }
-
-        ObservableList<Task> result = FXCollections.observableArrayList();
-
-        for (Task task : allTasks) {
-            boolean matchesSearch = searchText.isEmpty() ||
-                    String.valueOf(task.getId()).contains(searchText) ||
-                    task.getTitle().toLowerCase().contains(searchText) ||
-                    task.getDescription().toLowerCase().contains(searchText) ||
-                    task.getStatus().toLowerCase().contains(searchText) ||
-                    task.getTeamName().toLowerCase().contains(searchText) ||
-                    task.getAssignedEmail().toLowerCase().contains(searchText);
-
-            boolean matchesProject = projectFilterCombo.getValue().getId() == 0 ||
-                    task.getProjectId() == projectFilterCombo.getValue().getId();
-
-            boolean matchesTeam = teamFilterCombo.getValue().getId() == 0 ||
-                    task.getTeamId() == teamFilterCombo.getValue().getId();
-
-            boolean matchesStatus = statusFilterCombo.getValue().equals("Wszystkie") ||
-                    task.getStatus().equals(statusFilterCombo.getValue());
-
-            boolean matchesPriority = priorityFilterCombo.getValue().equals("Wszystkie") ||
-                    task.getPriority().equals(priorityFilterCombo.getValue());
-
-            boolean matchesStartDate = true;
-            boolean matchesEndDate = true;
-
-            if (startDateFilter.getValue() != null) {
-                try {
-                    LocalDate taskStartDate = LocalDate.parse(task.getStartDate());
-                    matchesStartDate = !taskStartDate.isBefore(startDateFilter.getValue());
-                } catch (Exception e) {
-                }
-            }
-
-            if (endDateFilter.getValue() != null) {
-                try {
-                    LocalDate taskEndDate = LocalDate.parse(task.getEndDate());
-                    matchesEndDate = !taskEndDate.isAfter(endDateFilter.getValue());
-                } catch (Exception e) {
-                }
-            }
-
-            if (matchesSearch && matchesProject && matchesTeam && matchesStatus &&
-                    matchesPriority && matchesStartDate && matchesEndDate) {
-                result.add(task);
-            }
+        if (teamFilterCombo.getValue() != null) {
+            filter.setTeamId(teamFilterCombo.getValue().getId());
         }
-
-        filteredTasks.setAll(result);
-        tasksTable.setItems(filteredTasks);
+        if (!"Wszystkie".equals(statusFilterCombo.getValue())) {
+            filter.setStatus(statusFilterCombo.getValue());
+        }
+        if (!"Wszystkie".equals(priorityFilterCombo.getValue())) {
+            filter.setPriority(priorityFilterCombo.getValue());
+        }
+        filter.setStartFrom(startDateFilter.getValue());
+        filter.setEndTo(endDateFilter.getValue());
+        tasks.setQuery(filter);
     }
 
     /**
@@ -370,8 +377,7 @@ public class AdminTasksController {
         startDateFilter.setValue(null);
         endDateFilter.setValue(null);
 
-        filteredTasks.setAll(allTasks);
-        tasksTable.setItems(filteredTasks);
+        tasks.setQuery(new TaskFilter());
     }
 
     /**
@@ -393,7 +399,7 @@ public class AdminTasksController {
                     assignmentDAO.insertTaskAssignment(assignment);
                 }
 
-                loadTasks();
+                addTaskRow(taskDAO.getTaskById(task.getId()));
                 showInfo("Dodano nowe zadanie");
             } else {
                 showError("Błąd", "Nie udało się dodać zadania");
@@ -407,7 +413,7 @@ public class AdminTasksController {
      */
     @FXML
     private void handleEditTask() {
-        Task selectedTask = tasksTable.getSelectionModel().getSelectedItem();
+        Task selectedTask = getSelectedTask();
         if (selectedTask == null) {
             showWarning("Wybierz zadanie do edycji");
             return;
@@ -418,13 +424,14 @@ public class AdminTasksController {
 
         result.ifPresent(task -> {
             boolean success = taskDAO.updateTask(task);
-            if (success && task.getAssignedTo() > 0) {
-                taskDAO.assignTask(task.getId(), task.getAssignedTo());
-
-                loadTasks();
-                Task currentSelection = tasksTable.getSelectionModel().getSelectedItem();
-                if (currentSelection != null && currentSelection.getId() == task.getId()) {
-                    displayTaskDetails(task);
+            Task updated = success && task.getAssignedTo() > 0
+                    ? taskDAO.assignTaskAndGet(task.getId(), task.getAssignedTo())
+                    : null;
+            if (updated != null) {
+                replaceTaskRow(updated);
+                Task currentSelection = getSelectedTask();
+                if (currentSelection != null && currentSelection.getId() == updated.getId()) {
+                    displayTaskDetails(updated);
                 }
                 showInfo("Zaktualizowano zadanie");
             } else {
@@ -439,7 +446,7 @@ public class AdminTasksController {
      */
     @FXML
     private void handleDeleteTask() {
-        Task selectedTask = tasksTable.getSelectionModel().getSelectedItem();
+        Task selectedTask = getSelectedTask();
         if (selectedTask == null) {
             showWarning("Wybierz zadanie do usunięcia");
             return;
@@ -459,8 +466,10 @@ public class AdminTasksController {
                 boolean deleted = taskDAO.deleteTask(selectedTask.getId());
 
                 if (deleted) {
-                    allTasks.remove(selectedTask);
-                    filteredTasks.remove(selectedTask);
+                    int taskId = selectedTask.getId();
+                    if (!tasks.removeRow(t -> t.getId() == taskId)) {
+                        loadTasks();
+                    }
                     clearTaskDetails();
 
                     showInfo("Zadanie zostało pomyślnie usunięte z systemu");
@@ -480,7 +489,7 @@ public class AdminTasksController {
      */
     @FXML
     private void handleAssignUser() {
-        Task selectedTask = tasksTable.getSelectionModel().getSelectedItem();
+        Task selectedTask = getSelectedTask();
         if (selectedTask == null) {
             showWarning("Wybierz zadanie, do którego chcesz przypisać użytkownika");
             return;
@@ -548,13 +557,10 @@ public class AdminTasksController {
             userResult.ifPresent(user -> {
                 int oldUserId = selectedTask.getAssignedTo();
 
-                boolean success = taskDAO.assignTask(selectedTask.getId(), user.getId());
-                if (success) {
-                    selectedTask.setAssignedTo(user.getId());
-                    selectedTask.setAssignedEmail(user.getEmail());
-
-                    loadTasks();
-                    displayTaskDetails(selectedTask);
+                Task updated = taskDAO.assignTaskAndGet(selectedTask.getId(), user.getId());
+                if (updated != null) {
+                    replaceTaskRow(updated);
+                    displayTaskDetails(updated);
 
                     ActivityService.logAssignment(
                             selectedTask.getId(),
@@ -580,7 +586,7 @@ public class AdminTasksController {
      */
     @FXML
     private void handleChangeStatus() {
-        Task selectedTask = tasksTable.getSelectionModel().getSelectedItem();
+        Task selectedTask = getSelectedTask();
         if (selectedTask == null) {
             showWarning("Wybierz zadanie, którego status chcesz zmienić");
             return;
@@ -621,7 +627,6 @@ public class AdminTasksController {
             if (success) {
                 selectedTask.setStatus(newStatus);
 
-                tasksTable.refresh();
                 displayTaskDetails(selectedTask);
 
                 ActivityService.logStatusChange(
@@ -645,7 +650,7 @@ public class AdminTasksController {
     private void handleRefresh() {
         loadTasks();
 
-        Task selectedTask = tasksTable.getSelectionModel().getSelectedItem();
+        Task selectedTask = getSelectedTask();
         if (selectedTask != null) {
             displayTaskDetails(selectedTask);
         }
@@ -678,7 +683,7 @@ public class AdminTasksController {
 
         ComboBox<Project> projectComboBox = new ComboBox<>();
         try {
-            List<Project> projects = projectDAO.getAllProjects();
+            List<Project> projects = ReferenceDataCache.getProjects();
             projectComboBox.setItems(FXCollections.observableArrayList(projects));
 
             projectComboBox.setConverter(new StringConverter<Project>() {
@@ -711,16 +716,11 @@ public class AdminTasksController {
 
         projectComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                try {
-                    List<Team> teams = teamDAO.getAllTeams();
-                    List<Team> projectTeams = teams.stream()
-                            .filter(team -> team.getProjectId() == newVal.getId())
-                            .toList();
+                List<Team> projectTeams = ReferenceDataCache.getTeams().stream()
+                        .filter(team -> team.getProjectId() == newVal.getId())
+                        .toList();
 
-                    teamComboBox.setItems(FXCollections.observableArrayList(projectTeams));
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+                teamComboBox.setItems(FXCollections.observableArrayList(projectTeams));
             }
         });
 
@@ -791,16 +791,11 @@ public class AdminTasksController {
 
             int teamId = task.getTeamId();
             if (teamId > 0) {
-                try {
-                    List<Team> teams = teamDAO.getAllTeams();
-                    for (Team team : teams) {
-                        if (team.getId() == teamId) {
-                            teamComboBox.setValue(team);
-                            break;
-                        }
+                for (Team team : teamComboBox.getItems()) {
+                    if (team.getId() == teamId) {
+                        teamComboBox.setValue(team);
+                        break;
                     }
-                } catch (SQLException e) {
-                    e.printStackTrace();
                 }
             }
 
@@ -1,7 +1,6 @@
 package pl.rozowi.app.controllers;
 
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -12,8 +11,12 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.util.StringConverter;
+import pl.rozowi.app.cache.WorkingSet;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
+import pl.rozowi.app.util.RowNumberCell;
+import pl.rozowi.app.util.TableFilter;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -24,7 +27,7 @@ import java.util.stream.Collectors;
  * Umożliwia tworzenie, edycję, usuwanie zespołów oraz przypisywanie członków i liderów.
  * Zapewnia również podgląd zadań przypisanych do wybranego zespołu.
  */
-public class AdminTeamsController {
+public class AdminTeamsController implements RefreshableView {
 
     @FXML
     private TableView<Team> teamsTable;
@@ -63,8 +66,6 @@ public class AdminTeamsController {
     private TableColumn<Task, String> colTaskAssignee;
 
     private final TeamDAO teamDAO = new TeamDAO();
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
     private final UserDAO userDAO = new UserDAO();
     private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
     private final RoleDAO roleDAO = new RoleDAO();
@@ -73,6 +74,7 @@ public class AdminTeamsController {
     private Set<Integer> allowedRoleIds = new HashSet<>(); 
 
     private final ObservableList<Team> teamData = FXCollections.observableArrayList();
+    private TableFilter<Team> teamFilter;
     private final ObservableList<UserWithRole> memberData = FXCollections.observableArrayList();
     private final ObservableList<Task> taskData = FXCollections.observableArrayList();
 
@@ -217,35 +219,16 @@ public class AdminTeamsController {
         colId.setCellValueFactory(c -> c.getValue().idProperty());
         colName.setCellValueFactory(c -> c.getValue().teamNameProperty());
         colProjectName.setCellValueFactory(c -> {
-            int projectId = c.getValue().getProjectId();
-            try {
-                List<Project> projects = projectDAO.getAllProjects();
-                for (Project p : projects) {
-                    if (p.getId() == projectId) {
-                        return new SimpleStringProperty(p.getName());
-                    }
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return new SimpleStringProperty("Brak projektu");
-        });
-        colMembersCount.setCellValueFactory(c -> {
-            int teamId = c.getValue().getId();
-            try {
-                List<User> members = teamDAO.getTeamMembers(teamId);
-                return new SimpleIntegerProperty(members.size());
-            } catch (Exception e) {
-                e.printStackTrace();
-                return new SimpleIntegerProperty(0);
-            }
+            String projectName = ReferenceDataCache.getProjectName(c.getValue().getProjectId());
+            return new SimpleStringProperty(projectName != null ? projectName : "Brak projektu");
         });
+        colMembersCount.setCellValueFactory(c -> c.getValue().memberCountProperty());
 
-        teamsTable.setItems(teamData);
+        teamFilter = new TableFilter<>(teamData, team -> team.getId() + "\n" + team.getTeamName());
+        teamFilter.bind(teamsTable);
+        teamFilter.bindSearch(searchField);
 
-        colMemberId.setCellValueFactory(c -> new SimpleIntegerProperty(
-                membersTable.getItems().indexOf(c.getValue()) + 1
-        ));
+        RowNumberCell.install(colMemberId);
         colMemberEmail.setCellValueFactory(c -> new SimpleStringProperty(
                 c.getValue().getFullName() + " (" + c.getValue().getEmail() + ")"
         ));
@@ -254,9 +237,7 @@ public class AdminTeamsController {
         ));
         membersTable.setItems(memberData);
 
-        colTaskId.setCellValueFactory(c -> new SimpleIntegerProperty(
-                tasksTable.getItems().indexOf(c.getValue()) + 1
-        ));
+        RowNumberCell.install(colTaskId);
         colTaskTitle.setCellValueFactory(c -> c.getValue().titleProperty());
         colTaskStatus.setCellValueFactory(c -> c.getValue().statusProperty());
         colTaskPriority.setCellValueFactory(c -> c.getValue().priorityProperty());
@@ -275,19 +256,41 @@ public class AdminTeamsController {
         loadAll();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            handleRefresh();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("teams", "team_members", "projects", "tasks", "task_assignments", "users");
+    }
+
     /**
      * Ładuje nazwy ról użytkowników z bazy danych.
      * W przypadku błędu używa domyślnych nazw ról.
      */
     private void loadRoleNames() {
         try {
-            Map<Integer, String> roles = userDAO.getAllRolesMap();
+            Map<Integer, String> roles = ReferenceDataCache.getRoleNames();
             if (!roles.isEmpty()) {
-                roleNames = roles;
+                roleNames = new HashMap<>(roles);
                 return;
             }
 
-            List<Role> rolesList = roleDAO.getAllRoles();
+            List<Role> rolesList = ReferenceDataCache.getRoles();
             for (Role role : rolesList) {
                 roleNames.put(role.getId(), role.getRoleName());
             }
@@ -312,10 +315,26 @@ public class AdminTeamsController {
      * @throws SQLException w przypadku błędu dostępu do bazy danych
      */
     private void loadAll() throws SQLException {
-        List<Team> allTeams = teamDAO.getAllTeams();
+        List<Team> allTeams = teamDAO.getAllTeamsWithSummary();
         teamData.setAll(allTeams);
     }
 
+    /**
+     * Zastępuje wiersz zespołu wersją zwróconą przez DAO, zachowując zaznaczenie i przewinięcie tabeli.
+     *
+     * @param team zaktualizowany zespół
+     */
+    private void replaceTeamRow(Team team) {
+        for (int i = 0; i < teamData.size(); i++) {
+            if (teamData.get(i).getId() == team.getId()) {
+                teamData.set(i, team);
+                teamsTable.getSelectionModel().select(team);
+                return;
+            }
+        }
+        teamData.add(team);
+    }
+
     /**
      * Obsługuje wybór zespołu z tabeli. Ładuje członków i zadania wybranego zespołu.
      * @param team Wybrany zespół lub null, jeśli wybór został anulowany
@@ -327,7 +346,7 @@ public class AdminTeamsController {
             taskData.clear();
         } else {
             loadTeamMembers(team.getId());
-            taskData.setAll(taskDAO.getTasksByTeamId(team.getId()));
+            taskData.setAll(WorkingSet.getTeamTasks(team.getId()));
         }
     }
 
@@ -367,7 +386,7 @@ public class AdminTeamsController {
         grid.setVgap(10);
 
         TextField nameField = new TextField();
-        ComboBox<Project> cbProject = new ComboBox<>(FXCollections.observableArrayList(projectDAO.getAllProjects()));
+        ComboBox<Project> cbProject = new ComboBox<>(FXCollections.observableArrayList(ReferenceDataCache.getProjects()));
         cbProject.setConverter(new StringConverter<>() {
             @Override
             public String toString(Project p) {
@@ -405,8 +424,11 @@ public class AdminTeamsController {
         Optional<Team> res = dlg.showAndWait();
         res.ifPresent(t -> {
             try {
-                teamDAO.insertTeam(t);
-                loadAll();
+                Team created = teamDAO.insertTeamAndGet(t);
+                if (created != null) {
+                    teamData.add(created);
+                    teamsTable.getSelectionModel().select(created);
+                }
             } catch (SQLException ex) {
                 new Alert(Alert.AlertType.ERROR, "Błąd tworzenia zespołu:\n" + ex.getMessage()).showAndWait();
             }
@@ -466,8 +488,10 @@ public class AdminTeamsController {
         if (result.isPresent() && result.get() == ButtonType.OK) {
             sel.setTeamName(nameField.getText().trim());
             try {
-                teamDAO.updateTeam(sel);
-                loadAll();
+                Team updated = teamDAO.updateTeamAndGet(sel);
+                if (updated != null) {
+                    replaceTeamRow(updated);
+                }
             } catch (SQLException ex) {
                 new Alert(Alert.AlertType.ERROR, "Błąd aktualizacji zespołu:\n" + ex.getMessage())
                         .showAndWait();
@@ -657,19 +681,7 @@ public class AdminTeamsController {
      */
     @FXML
     private void handleSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-        if (searchText.isEmpty()) {
-            teamsTable.setItems(teamData);
-        } else {
-            ObservableList<Team> filtered = FXCollections.observableArrayList();
-            for (Team team : teamData) {
-                if (String.valueOf(team.getId()).contains(searchText) ||
-                        team.getTeamName().toLowerCase().contains(searchText)) {
-                    filtered.add(team);
-                }
-            }
-            teamsTable.setItems(filtered);
-        }
+        teamFilter.setSearchText(searchField.getText());
     }
 
     /**
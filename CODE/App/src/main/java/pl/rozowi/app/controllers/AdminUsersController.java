@@ -4,12 +4,13 @@ import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.dao.PageRequest;
 import pl.rozowi.app.dao.TeamMemberDAO;
 import pl.rozowi.app.dao.RoleDAO;
 import pl.rozowi.app.dao.TeamDAO;
@@ -20,6 +21,8 @@ import pl.rozowi.app.models.Team;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.models.Settings;
 import pl.rozowi.app.services.PasswordChangeService;
+import pl.rozowi.app.util.PagedList;
+import pl.rozowi.app.util.SearchDebounce;
 
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -28,12 +31,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie użytkownikami w panelu administracyjnym.
  * Umożliwia dodawanie, edycję, usuwanie użytkowników oraz zarządzanie ich uprawnieniami.
  */
-public class AdminUsersController {
+public class AdminUsersController implements RefreshableView {
 
     @FXML
     private TableView<User> usersTable;
@@ -80,11 +84,13 @@ public class AdminUsersController {
     private Map<Integer, String> groupNames = new HashMap<>();
     private Map<Integer, String> roleNames = new HashMap<>();
 
-    private ObservableList<User> allUsers = FXCollections.observableArrayList();
+    private PagedList<User, String> users;
 
     /**
      * Inicjalizuje kontroler. Ładuje dane użytkowników, konfiguruje tabele
      * oraz ustawia podstawowe parametry. Wywoływana automatycznie po załadowaniu FXML.
+     * Użytkownicy są pobierani stronami w miarę przewijania tabeli, a wyszukiwanie i sortowanie
+     * są wykonywane w zapytaniu.
      */
     @FXML
     private void initialize() {
@@ -105,26 +111,64 @@ public class AdminUsersController {
         });
 
         colTeam.setCellValueFactory(data -> {
-            int userId = data.getValue().getId();
-            String teamName = "Brak przypisania";
-            try {
-                int teamId = teamMemberDAO.getTeamIdForUser(userId);
-                if (teamId > 0) {
-                    teamName = teamDAO.getTeamNameById(teamId);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+            if (users.isPlaceholder(data.getValue())) {
+                return new SimpleStringProperty("");
             }
-            return new SimpleStringProperty(teamName);
+            return new SimpleStringProperty(teamNameOf(data.getValue()));
         });
 
+        User loadingRow = new User();
+        loadingRow.setName("Ładowanie…");
+        loadingRow.setLastName("");
+        loadingRow.setEmail("");
+        users = new PagedList<>(new PagedList.PageSource<>() {
+            @Override
+            public int count(String searchText) {
+                return userDAO.countUsers(searchText);
+            }
+
+            @Override
+            public List<User> fetch(String searchText, PageRequest page) {
+                return userDAO.getUsersPage(searchText, page);
+            }
+        }, loadingRow, "");
+        usersTable.setItems(users);
+        users.bindSort(usersTable, Map.of(
+                colId, "id",
+                colName, "name",
+                colLastName, "lastName",
+                colEmail, "email",
+                colRole, "role",
+                colGroup, "group"));
+
         usersTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
-            if (newSelection != null) {
+            if (newSelection != null && !users.isPlaceholder(newSelection)) {
                 showUserDetails(newSelection);
             }
         });
+        SearchDebounce.install(searchField, text -> handleSearch());
+    }
 
-        loadUsers();
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            handleRefresh();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("users", "roles", "teams", "team_members");
     }
 
     /**
@@ -133,7 +177,7 @@ public class AdminUsersController {
      */
     private void loadRolesAndGroups() {
         try {
-            roleNames = userDAO.getAllRolesMap();
+            roleNames = new HashMap<>(ReferenceDataCache.getRoleNames());
             if (roleNames.isEmpty()) {
                 roleNames.put(1, "Administrator");
                 roleNames.put(2, "Kierownik");
@@ -161,19 +205,50 @@ public class AdminUsersController {
     }
 
     /**
-     * Ładuje listę wszystkich użytkowników z bazy danych.
+     * Wczytuje ponownie listę użytkowników z bazy danych, zachowując bieżące wyszukiwanie i sortowanie.
      */
     private void loadUsers() {
-        try {
-            List<User> users = userDAO.getAllUsers();
-            allUsers.setAll(users);
-            usersTable.setItems(allUsers);
-        } catch (SQLException e) {
-            showError("Błąd podczas wczytywania użytkowników: " + e.getMessage());
-            e.printStackTrace();
+        users.refresh();
+    }
+
+    /**
+     * Zastępuje wiersz użytkownika w tabeli wersją zwróconą przez DAO, zachowując zaznaczenie i przewinięcie.
+     * Jeśli wiersz nie jest wczytany, lista jest wczytywana od nowa.
+     *
+     * @param user zaktualizowany użytkownik
+     */
+    private void replaceUserRow(User user) {
+        User current = getSelectedUser();
+        if (user.getTeamName() == null && current != null && current.getId() == user.getId()) {
+            user.setTeamName(current.getTeamName());
+        }
+        if (users.replace(u -> u.getId() == user.getId(), user)) {
+            showUserDetails(user);
+        } else {
+            loadUsers();
         }
     }
 
+    /**
+     * Zwraca nazwę zespołu użytkownika wczytaną razem ze stroną tabeli.
+     *
+     * @param user użytkownik z tabeli
+     * @return nazwa zespołu lub "Brak przypisania"
+     */
+    private static String teamNameOf(User user) {
+        return user.getTeamName() != null ? user.getTeamName() : "Brak przypisania";
+    }
+
+    /**
+     * Zwraca zaznaczonego użytkownika lub null, jeśli nic nie zaznaczono albo wiersz nie został jeszcze wczytany.
+     *
+     * @return zaznaczony użytkownik
+     */
+    private User getSelectedUser() {
+        User selected = usersTable.getSelectionModel().getSelectedItem();
+        return selected != null && !users.isPlaceholder(selected) ? selected : null;
+    }
+
     /**
      * Wyświetla szczegółowe informacje o wybranym użytkowniku.
      * @param user Obiekt użytkownika do wyświetlenia
@@ -186,17 +261,7 @@ public class AdminUsersController {
         detailRole.setText(roleNames.getOrDefault(user.getRoleId(), "Nieznana"));
         detailGroup.setText(groupNames.getOrDefault(user.getGroupId(), "Brak grupy"));
 
-        try {
-            int teamId = teamMemberDAO.getTeamIdForUser(user.getId());
-            String teamName = "Brak przypisania";
-            if (teamId > 0) {
-                teamName = teamDAO.getTeamNameById(teamId);
-            }
-            detailTeam.setText(teamName);
-        } catch (Exception e) {
-            detailTeam.setText("Błąd pobierania zespołu");
-            e.printStackTrace();
-        }
+        detailTeam.setText(teamNameOf(user));
 
         try {
             Settings userSettings = settingsDAO.getSettingsByUserId(user.getId());
@@ -217,22 +282,10 @@ public class AdminUsersController {
      */
     @FXML
     private void handleSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-        if (searchText.isEmpty()) {
-            usersTable.setItems(allUsers);
-            return;
-        }
-
-        ObservableList<User> filtered = FXCollections.observableArrayList();
-        for (User user : allUsers) {
-            if (String.valueOf(user.getId()).contains(searchText) ||
-                    user.getName().toLowerCase().contains(searchText) ||
-                    user.getLastName().toLowerCase().contains(searchText) ||
-                    user.getEmail().toLowerCase().contains(searchText)) {
-                filtered.add(user);
-            }
+        String searchText = searchField.getText().trim();
+        if (!searchText.equals(users.getQuery())) {
+            users.setQuery(searchText);
         }
-        usersTable.setItems(filtered);
     }
 
     /**
@@ -250,18 +303,22 @@ public class AdminUsersController {
 
             user.setPassword(passwordService.hashPassword("DefaultPass123!"));
 
-            boolean success = userDAO.insertUser(user);
-            if (success) {
-                User addedUser = userDAO.getUserByEmail(user.getEmail());
-                if (addedUser != null && selectedTeam != null) {
+            User addedUser = userDAO.insertUserAndGet(user);
+            if (addedUser != null) {
+                if (selectedTeam != null) {
                     try {
                         teamMemberDAO.insertTeamMember(selectedTeam.getId(), addedUser.getId(), false);
+                        addedUser.setTeamName(selectedTeam.getTeamName());
                     } catch (SQLException e) {
                         showError("Użytkownik został dodany, ale wystąpił błąd przy przypisywaniu zespołu: " + e.getMessage());
                         e.printStackTrace();
                     }
                 }
-                loadUsers();
+                if (users.isDefaultOrder() && users.getQuery().isEmpty()) {
+                    users.append(addedUser);
+                } else {
+                    loadUsers();
+                }
                 showInfo("Dodano nowego użytkownika");
             } else {
                 showError("Błąd podczas dodawania użytkownika");
@@ -275,7 +332,7 @@ public class AdminUsersController {
      */
     @FXML
     private void handleEditUser() {
-        User selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        User selectedUser = getSelectedUser();
         if (selectedUser == null) {
             showWarning("Wybierz użytkownika do edycji");
             return;
@@ -296,14 +353,15 @@ public class AdminUsersController {
 
             updatedUser.setPassword(fullUserData.getPassword());
 
-            boolean success = userDAO.updateUser(updatedUser);
+            User savedUser = userDAO.updateUserAndGet(updatedUser);
 
-            if (success && selectedTeam != null) {
-                teamMemberDAO.updateUserTeam(updatedUser.getId(), selectedTeam.getId());
+            if (savedUser != null && selectedTeam != null
+                    && teamMemberDAO.updateUserTeam(updatedUser.getId(), selectedTeam.getId())) {
+                savedUser.setTeamName(selectedTeam.getTeamName());
             }
 
-            if (success) {
-                loadUsers();
+            if (savedUser != null) {
+                replaceUserRow(savedUser);
                 showInfo("Zaktualizowano użytkownika");
             } else {
                 showError("Błąd podczas aktualizacji użytkownika");
@@ -330,7 +388,7 @@ public class AdminUsersController {
      */
     @FXML
     private void handleDeleteUser() {
-        User selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        User selectedUser = getSelectedUser();
         if (selectedUser == null) {
             showWarning("Wybierz użytkownika do usunięcia");
             return;
@@ -356,7 +414,10 @@ public class AdminUsersController {
 
                 boolean deleted = userDAO.deleteUser(selectedUser.getId());
                 if (deleted) {
-                    allUsers.remove(selectedUser);
+                    int userId = selectedUser.getId();
+                    if (!users.removeRow(u -> u.getId() == userId)) {
+                        loadUsers();
+                    }
                     showInfo("Użytkownik został usunięty");
                 } else {
                     showError("Nie udało się usunąć użytkownika z bazy danych");
@@ -374,7 +435,7 @@ public class AdminUsersController {
      */
     @FXML
     private void handleResetPassword() {
-        User selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        User selectedUser = getSelectedUser();
         if (selectedUser == null) {
             showWarning("Wybierz użytkownika do zresetowania hasła");
             return;
@@ -423,7 +484,7 @@ public class AdminUsersController {
      */
     @FXML
     private void handleChangeRole() {
-        User selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        User selectedUser = getSelectedUser();
         if (selectedUser == null) {
             showWarning("Wybierz użytkownika do zmiany roli");
             return;
@@ -473,10 +534,9 @@ public class AdminUsersController {
         Optional<Integer> newRoleId = dialog.showAndWait();
         newRoleId.ifPresent(roleId -> {
             fullUserData.setRoleId(roleId);
-            boolean success = userDAO.updateUser(fullUserData);
-            if (success) {
-                selectedUser.setRoleId(roleId);
-                loadUsers();
+            User savedUser = userDAO.updateUserAndGet(fullUserData);
+            if (savedUser != null) {
+                replaceUserRow(savedUser);
                 showInfo("Rola użytkownika została zmieniona");
             } else {
                 showError("Błąd podczas zmiany roli użytkownika");
@@ -490,7 +550,7 @@ public class AdminUsersController {
      */
     @FXML
     private void handleChangeGroup() {
-        User selectedUser = usersTable.getSelectionModel().getSelectedItem();
+        User selectedUser = getSelectedUser();
         if (selectedUser == null) {
             showWarning("Wybierz użytkownika do zmiany grupy");
             return;
@@ -540,10 +600,9 @@ public class AdminUsersController {
         Optional<Integer> newGroupId = dialog.showAndWait();
         newGroupId.ifPresent(groupId -> {
             fullUserData.setGroupId(groupId);
-            boolean success = userDAO.updateUser(fullUserData);
-            if (success) {
-                selectedUser.setGroupId(groupId);
-                loadUsers();
+            User savedUser = userDAO.updateUserAndGet(fullUserData);
+            if (savedUser != null) {
+                replaceUserRow(savedUser);
                 showInfo("Grupa użytkownika została zmieniona");
             } else {
                 showError("Błąd podczas zmiany grupy użytkownika");
@@ -7,6 +7,7 @@ import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.TeamDAO;
 import pl.rozowi.app.dao.TeamMemberDAO;
@@ -152,7 +153,7 @@ public class EmployeesController {
 
         for (User u : users) {
             int tId = teamMemberDAO.getTeamIdForUser(u.getId());
-            String tName = tId > 0 ? teamDAO.getTeamNameById(tId) : "";
+            String tName = tId > 0 ? ReferenceDataCache.getTeamName(tId) : "";
             u.setTeamName(tName);
         }
 
@@ -1,21 +1,17 @@
 package pl.rozowi.app.controllers;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
-import javafx.stage.Stage;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.TeamMemberDAO;
 import pl.rozowi.app.dao.UserDAO;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.services.LoginService;
 import pl.rozowi.app.util.Session;
-import pl.rozowi.app.util.ThemeManager;
+import pl.rozowi.app.util.ViewPrefetcher;
 
 import java.io.IOException;
 
@@ -59,6 +55,7 @@ public class LoginController {
     /**
      * Obsługuje proces logowania użytkownika.
      * Weryfikuje dane logowania i w przypadku sukcesu przekierowuje do odpowiedniego panelu.
+     * Dane domyślnego widoku są ładowane w tle już podczas wyświetlania komunikatu o udanym logowaniu.
      * W przypadku niepowodzenia wyświetla komunikat o błędzie.
      */
     @FXML
@@ -77,60 +74,19 @@ public class LoginController {
         MainApplication.setCurrentUser(user);
         Session.currentUserId = user.getId();
         Session.currentUserTeam = String.valueOf(loginService.findTeamIdForUser(user.getId()));
+        ViewPrefetcher.start(user);
 
         Alert ok = new Alert(Alert.AlertType.INFORMATION, "Logowanie udane!");
         ok.setHeaderText(null);
         ok.showAndWait();
 
         try {
-            Stage stage = (Stage) usernameField.getScene().getWindow();
-            Scene scene;
-            Parent root;
-
             switch (user.getRoleId()) {
-                case 2 -> {  
-                    FXMLLoader loader = new FXMLLoader(
-                            getClass().getResource("/fxml/manager/managerDashboard.fxml"));
-                    root = loader.load();
-                    ManagerDashboardController ctrl = loader.getController();
-                    ctrl.setUser(user);
-                    scene = new Scene(root);
-                    ThemeManager.applyTheme(scene, user);
-                    stage.setScene(scene);
-                    stage.setTitle("TaskApp - Kierownik");
-                    stage.show();
-                }
-                case 3 -> { 
-                    FXMLLoader loader = new FXMLLoader(
-                            getClass().getResource("/fxml/teamleader/teamLeaderDashboard.fxml"));
-                    root = loader.load();
-                    TeamLeaderDashboardController ctrl = loader.getController();
-                    ctrl.setUser(user);
-                    scene = new Scene(root);
-                    ThemeManager.applyTheme(scene, user);
-                    stage.setScene(scene);
-                    stage.setTitle("TaskApp - Team Leader");
-                    stage.show();
-                }
-                case 4 -> { 
-                    FXMLLoader loader = new FXMLLoader(
-                            getClass().getResource("/fxml/user/userDashboard.fxml"));
-                    root = loader.load();
-                    UserDashboardController ctrl = loader.getController();
-                    ctrl.setUser(user);
-                    scene = new Scene(root);
-                    ThemeManager.applyTheme(scene, user);
-                    stage.setScene(scene);
-                    stage.setTitle("TaskApp - User");
-                    stage.show();
-                }
-                case 1 -> {
-                    Scene currentScene = stage.getScene();
-                    MainApplication.switchScene("/fxml/admin/adminDashboard.fxml", "TaskApp - Admin");
-                }
-                default -> {
-                    MainApplication.switchScene("/fxml/user/userDashboard.fxml", "TaskApp - Panel");
-                }
+                case 1 -> MainApplication.switchScene("/fxml/admin/adminDashboard.fxml", "TaskApp - Admin");
+                case 2 -> MainApplication.switchScene("/fxml/manager/managerDashboard.fxml", "TaskApp - Kierownik");
+                case 3 -> MainApplication.switchScene("/fxml/teamleader/teamLeaderDashboard.fxml", "TaskApp - Team Leader");
+                case 4 -> MainApplication.switchScene("/fxml/user/userDashboard.fxml", "TaskApp - User");
+                default -> MainApplication.switchScene("/fxml/user/userDashboard.fxml", "TaskApp - Panel");
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -1,7 +1,6 @@
 package pl.rozowi.app.controllers;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -11,6 +10,7 @@ import javafx.scene.layout.AnchorPane;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.util.ThemeManager;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 
@@ -45,6 +45,8 @@ public class ManagerDashboardController extends BaseDashboardController {
 
     private static final String ACTIVE_BUTTON_STYLE = "sidebar-button-active";
 
+    private final ViewRegistry views = new ViewRegistry();
+
     /**
      * Inicjalizuje kontroler, domyślnie ładując widok zadań.
      */
@@ -195,14 +197,15 @@ public class ManagerDashboardController extends BaseDashboardController {
 
     /**
      * Ładuje określony widok w głównym obszarze panelu.
+     * Widok jest pobierany z rejestru widoków, więc wcześniej wyświetlone ekrany nie są wczytywane ponownie.
      * @param fxmlPath Ścieżka do pliku FXML z definicją widoku
      * @throws IOException w przypadku problemów z załadowaniem pliku FXML
      */
     private void loadView(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader(MainApplication.class.getResource(fxmlPath));
-        Parent view = loader.load();
+        ViewRegistry.LoadedView loaded = views.load(fxmlPath);
+        Parent view = loaded.getRoot();
 
-        Object controller = loader.getController();
+        Object controller = loaded.getController();
         if (controller instanceof SettingsController) {
             ((SettingsController) controller).setUser(currentUser);
         } else if (controller instanceof UserAwareController) {
@@ -1,28 +1,29 @@
 package pl.rozowi.app.controllers;
 
-import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.dao.ProjectDAO;
-import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.models.Project;
 import pl.rozowi.app.models.Task;
+import pl.rozowi.app.util.RowNumberCell;
 import pl.rozowi.app.util.Session;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler zarządzania projektami dla użytkowników z rolą Kierownika.
  * Umożliwia przeglądanie, dodawanie, edycję i usuwanie projektów,
  * wraz z powiązanymi zadaniami i zespołami.
  */
-public class ManagerProjectsController {
+public class ManagerProjectsController implements RefreshableView {
 
     @FXML
     private TableView<Project> projectsTable;
@@ -38,7 +39,6 @@ public class ManagerProjectsController {
     private TableColumn<Project, LocalDate> colEnd;
 
     private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
     private final ObservableList<Project> data = FXCollections.observableArrayList();
 
     /**
@@ -46,8 +46,7 @@ public class ManagerProjectsController {
      */
     @FXML
     public void initialize() {
-        colId.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(
-                projectsTable.getItems().indexOf(data.getValue()) + 1));
+        RowNumberCell.install(colId);
 
         colName.setCellValueFactory(c -> c.getValue().nameProperty());
         colDesc.setCellValueFactory(c -> c.getValue().descriptionProperty());
@@ -57,6 +56,28 @@ public class ManagerProjectsController {
         loadAll();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            loadAll();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("projects", "tasks", "task_assignments", "teams");
+    }
+
     /**
      * Ładuje wszystkie projekty przypisane do aktualnego kierownika.
      */
@@ -115,7 +136,7 @@ public class ManagerProjectsController {
             return;
         }
 
-        List<Task> tasks = taskDAO.getTasksByProjectId(selectedProject.getId());
+        List<Task> tasks = WorkingSet.getProjectTasks(selectedProject.getId());
         int taskCount = tasks.size();
 
         Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION);
@@ -9,8 +9,8 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.ProgressBarTableCell;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.dao.ProjectDAO;
-import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.models.Project;
 import pl.rozowi.app.models.Task;
 import pl.rozowi.app.util.Session;
@@ -18,13 +18,14 @@ import javafx.beans.property.SimpleIntegerProperty;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Kontroler zarządzający widokiem zadań dla kierowników projektów.
  * Wyświetla listę projektów wraz ze statystykami dotyczącymi zadań.
  */
-public class ManagerTasksController {
+public class ManagerTasksController implements RefreshableView {
 
     @FXML
     private TextField filterField;
@@ -44,7 +45,6 @@ public class ManagerTasksController {
     private TableColumn<ProjectRow, Double> colProg;
 
     private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
     private final ObservableList<ProjectRow> data = FXCollections.observableArrayList();
     private final ObservableList<ProjectRow> filteredData = FXCollections.observableArrayList();
 
@@ -89,6 +89,28 @@ public class ManagerTasksController {
         });
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            handleRefresh();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("projects", "tasks", "task_assignments");
+    }
+
     /**
      * Ładuje wszystkie projekty przypisane do aktualnego kierownika wraz ze statystykami zadań.
      * @throws SQLException w przypadku problemów z dostępem do bazy danych
@@ -104,7 +126,7 @@ public class ManagerTasksController {
         }
 
         for (Project p : managerProjects) {
-            List<Task> tasks = taskDAO.getTasksByProjectId(p.getId());
+            List<Task> tasks = WorkingSet.getProjectTasks(p.getId());
 
             long done = tasks.stream()
                     .map(Task::getStatus)
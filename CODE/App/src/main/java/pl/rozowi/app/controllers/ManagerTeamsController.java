@@ -13,10 +13,11 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.util.StringConverter;
+import pl.rozowi.app.cache.WorkingSet;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.dao.ProjectDAO;
 import pl.rozowi.app.dao.TeamDAO;
 import pl.rozowi.app.dao.TeamMemberDAO;
-import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.dao.UserDAO;
 import pl.rozowi.app.dao.RoleDAO;
 import pl.rozowi.app.models.Project;
@@ -24,6 +25,7 @@ import pl.rozowi.app.models.Team;
 import pl.rozowi.app.models.Task;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.models.Role;
+import pl.rozowi.app.util.ParallelLoader;
 import pl.rozowi.app.util.Session;
 
 import java.sql.SQLException;
@@ -36,7 +38,7 @@ import java.util.stream.Collectors;
  * Umożliwia tworzenie, edycję i przypisywanie członków do zespołów,
  * a także przeglądanie zadań przypisanych do zespołów.
  */
-public class ManagerTeamsController {
+public class ManagerTeamsController implements RefreshableView {
 
     @FXML
     private TableView<TeamWithOrdinal> teamsTable;
@@ -67,13 +69,14 @@ public class ManagerTeamsController {
 
     private final TeamDAO teamDAO = new TeamDAO();
     private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
     private final UserDAO userDAO = new UserDAO();
     private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
     private final RoleDAO roleDAO = new RoleDAO();
 
     private Map<Integer, String> roleNames = new HashMap<>();
     private Set<Integer> allowedRoleIds = new HashSet<>();
+    private ParallelLoader teamsLoad;
+    private ParallelLoader selectionLoad;
 
     private final ObservableList<TeamWithOrdinal> teamData = FXCollections.observableArrayList();
     private final ObservableList<User> memberData = FXCollections.observableArrayList();
@@ -303,18 +306,8 @@ public class ManagerTeamsController {
         colName.setCellValueFactory(c -> new SimpleStringProperty(c.getValue().getTeamName()));
         teamsTable.setItems(teamData);
 
-        teamsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldT, newT) -> {
-            try {
-                if (newT != null) {
-                    onTeamSelected(newT.getTeam());
-                } else {
-                    memberData.clear();
-                    taskData.clear();
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        });
+        teamsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldT, newT) ->
+                onTeamSelected(newT != null ? newT.getTeam() : null));
 
         colMemberId.setCellValueFactory(c -> {
             int index = memberData.indexOf(c.getValue()) + 1;
@@ -336,18 +329,40 @@ public class ManagerTeamsController {
         loadAll();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            loadAll();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("teams", "team_members", "projects", "tasks", "task_assignments", "users");
+    }
+
     /**
      * Ładuje nazwy ról z bazy danych.
      */
     private void loadRoleNames() {
         try {
-            Map<Integer, String> roles = userDAO.getAllRolesMap();
+            Map<Integer, String> roles = ReferenceDataCache.getRoleNames();
             if (!roles.isEmpty()) {
-                roleNames = roles;
+                roleNames = new HashMap<>(roles);
                 return;
             }
 
-            List<Role> rolesList = roleDAO.getAllRoles();
+            List<Role> rolesList = ReferenceDataCache.getRoles();
             for (Role role : rolesList) {
                 roleNames.put(role.getId(), role.getRoleName());
             }
@@ -369,41 +384,57 @@ public class ManagerTeamsController {
 
     /**
      * Ładuje wszystkie zespoły przypisane do projektów kierownika.
-     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * Projekty kierownika i zespoły są pobierane równolegle, a tabela aktualizowana raz po pobraniu obu list.
      */
-    private void loadAll() throws SQLException {
-        teamData.clear();
-        Set<Integer> mgrProjIds = projectDAO.getProjectsForManager(Session.currentUserId)
-                .stream()
-                .map(Project::getId)
-                .collect(Collectors.toSet());
-
-        List<Team> allTeams = teamDAO.getAllTeams();
-        List<Team> filteredTeams = allTeams.stream()
-                .filter(t -> mgrProjIds.contains(t.getProjectId()))
-                .collect(Collectors.toList());
-
-        AtomicInteger counter = new AtomicInteger(1);
-        for (Team team : filteredTeams) {
-            teamData.add(new TeamWithOrdinal(team, counter.getAndIncrement()));
+    private void loadAll() {
+        if (teamsLoad != null) {
+            teamsLoad.cancel();
         }
+        ParallelLoader loader = new ParallelLoader();
+        ParallelLoader.Result<List<Project>> mgrProjects =
+                loader.add(() -> projectDAO.getProjectsForManager(Session.currentUserId));
+        ParallelLoader.Result<List<Team>> allTeams = loader.add(teamDAO::getAllTeams);
+        teamsLoad = loader;
+        loader.run(() -> {
+            Set<Integer> mgrProjIds = mgrProjects.get()
+                    .stream()
+                    .map(Project::getId)
+                    .collect(Collectors.toSet());
+
+            List<TeamWithOrdinal> rows = new ArrayList<>();
+            AtomicInteger counter = new AtomicInteger(1);
+            for (Team team : allTeams.get()) {
+                if (mgrProjIds.contains(team.getProjectId())) {
+                    rows.add(new TeamWithOrdinal(team, counter.getAndIncrement()));
+                }
+            }
+            teamData.setAll(rows);
+        }, e -> showError("Błąd ładowania zespołów", e.getMessage()));
     }
 
     /**
-     * Obsługuje wybór zespołu z tabeli, ładując jego członków i zadania.
+     * Obsługuje wybór zespołu z tabeli, ładując równolegle jego członków i zadania.
      * @param team Wybrany zespół
-     * @throws SQLException w przypadku błędu dostępu do bazy danych
      */
-    private void onTeamSelected(Team team) throws SQLException {
+    private void onTeamSelected(Team team) {
+        if (selectionLoad != null) {
+            selectionLoad.cancel();
+        }
         if (team == null) {
             memberData.clear();
             taskData.clear();
-        } else {
-            memberData.setAll(teamDAO.getTeamMembers(team.getId()));
-            taskData.setAll(taskDAO.getTasksByTeamId(team.getId()));
+            return;
+        }
+        ParallelLoader loader = new ParallelLoader();
+        ParallelLoader.Result<List<User>> members = loader.add(() -> teamDAO.getTeamMembers(team.getId()));
+        ParallelLoader.Result<List<Task>> tasks = loader.add(() -> WorkingSet.getTeamTasks(team.getId()));
+        selectionLoad = loader;
+        loader.run(() -> {
+            memberData.setAll(members.get());
+            taskData.setAll(tasks.get());
             membersTable.refresh();
             tasksTable.refresh();
-        }
+        }, e -> showError("Błąd ładowania danych zespołu", e.getMessage()));
     }
 
     /**
@@ -472,13 +503,9 @@ public class ManagerTeamsController {
 
         Optional<Team> res = dlg.showAndWait();
         res.ifPresent(t -> {
-            try {
-                teamDAO.insertTeam(t);
-                loadAll();
-                showInfo("Zespół został pomyślnie utworzony");
-            } catch (SQLException ex) {
-                showError("Błąd tworzenia zespołu", ex.getMessage());
-            }
+            teamDAO.insertTeam(t);
+            loadAll();
+            showInfo("Zespół został pomyślnie utworzony");
         });
     }
 
@@ -1,28 +1,30 @@
 package pl.rozowi.app.controllers;
 
-import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.models.Task;
+import pl.rozowi.app.util.FxmlViews;
+import pl.rozowi.app.util.RowNumberCell;
 import pl.rozowi.app.util.Session;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie widokiem zadań przypisanych do aktualnie zalogowanego użytkownika.
  * Umożliwia przeglądanie, wyszukiwanie i zarządzanie zadaniami użytkownika.
  */
-public class MyTasksController {
+public class MyTasksController implements RefreshableView {
 
     @FXML
     private TableView<Task> tasksTable;
@@ -42,7 +44,6 @@ public class MyTasksController {
     @FXML
     private TextField searchField;
 
-    private TaskDAO taskDAO = new TaskDAO();
     private ObservableList<Task> allTasks = FXCollections.observableArrayList();
     private ObservableList<Task> filteredTasks = FXCollections.observableArrayList();
 
@@ -82,11 +83,33 @@ public class MyTasksController {
         loadTasks();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            loadTasks();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("tasks", "task_assignments", "teams", "team_members", "users");
+    }
+
     /**
      * Konfiguruje kolumny tabeli zadań.
      */
     private void setupTableColumns() {
-        colId.setCellValueFactory(data -> new SimpleIntegerProperty(tasksTable.getItems().indexOf(data.getValue()) + 1));
+        RowNumberCell.install(colId);
         colTitle.setCellValueFactory(data -> data.getValue().titleProperty());
         colStatus.setCellValueFactory(data -> data.getValue().statusProperty());
         colPriority.setCellValueFactory(data -> data.getValue().priorityProperty());
@@ -100,10 +123,10 @@ public class MyTasksController {
      */
     private void openTaskDetails(Task task) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/user/taskDetails.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.LoadedView view = FxmlViews.load("/fxml/user/taskDetails.fxml");
+            Parent root = view.getRoot();
 
-            TaskDetailsController controller = loader.getController();
+            TaskDetailsController controller = (TaskDetailsController) view.getController();
             controller.setTask(task);
 
             Stage stage = new Stage();
@@ -122,7 +145,7 @@ public class MyTasksController {
      * Ładuje zadania przypisane do aktualnego użytkownika.
      */
     private void loadTasks() {
-        List<Task> tasks = taskDAO.getTasksForUser(Session.currentUserId);
+        List<Task> tasks = WorkingSet.getMyTasks();
         allTasks.setAll(tasks);
         filteredTasks.setAll(tasks);
         tasksTable.setItems(filteredTasks);
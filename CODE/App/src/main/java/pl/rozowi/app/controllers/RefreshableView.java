@@ -0,0 +1,25 @@
+package pl.rozowi.app.controllers;
+
+import java.util.Set;
+
+/**
+ * Interfejs dla kontrolerów widoków, które mogą być przechowywane w rejestrze widoków
+ * i wyświetlane ponownie bez wczytywania pliku FXML.
+ */
+public interface RefreshableView {
+
+    /**
+     * Wywoływane przy ponownym wyświetleniu widoku z rejestru.
+     * @param dataChanged true jeśli od ostatniego wyświetlenia w dzienniku zmian pojawiły się nowe wpisy
+     *                    dotyczące tabel z {@link #getWatchedTables()} lub dziennik jest niedostępny
+     */
+    void onShow(boolean dataChanged);
+
+    /**
+     * Zwraca tabele, z których widok wyświetla dane. Zmiany pozostałych tabel nie powodują odświeżenia widoku.
+     * @return nazwy tabel; pusty zbiór oznacza, że widok odświeża się po zmianie dowolnej tabeli
+     */
+    default Set<String> getWatchedTables() {
+        return Set.of();
+    }
+}
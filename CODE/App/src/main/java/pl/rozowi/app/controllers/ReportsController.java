@@ -12,19 +12,27 @@ import javafx.collections.ObservableList;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
 import javafx.util.Callback;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
-import pl.rozowi.app.services.ReportService;
+import pl.rozowi.app.reports.BatchReportExporter;
+import pl.rozowi.app.reports.ReportCache;
+import pl.rozowi.app.reports.ReportDocument;
+import pl.rozowi.app.reports.ReportJob;
+import pl.rozowi.app.reports.ReportOptions;
+import pl.rozowi.app.reports.ReportPdfWriter;
+import pl.rozowi.app.reports.SystemReportGenerator;
+import pl.rozowi.app.util.ReportJobControls;
 
 import java.io.File;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Kontroler odpowiedzialny za generowanie i zarządzanie raportami w systemie.
@@ -55,6 +63,15 @@ public class ReportsController {
     @FXML
     private Button saveAsPdfButton;
 
+    @FXML
+    private Button batchExportButton;
+
+    @FXML
+    private CheckBox zipBatchCheckbox;
+
+    @FXML
+    private Button scheduleButton;
+
     @FXML
     private Button filterOptionsButton;
 
@@ -97,14 +114,24 @@ public class ReportsController {
     @FXML private CheckBox teamLeaderCheckbox;
     @FXML private CheckBox userCheckbox;
 
-    private final UserDAO userDAO = new UserDAO();
     private final TeamDAO teamDAO = new TeamDAO();
     private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
-    private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
-
-    private ReportService reportService;
-    private String currentReportContent = "";
+    private final UserDAO userDAO = new UserDAO();
+    private final ReportScheduleDAO reportScheduleDAO = new ReportScheduleDAO();
+
+    @FXML private ProgressBar reportProgressBar;
+    @FXML private Label reportStatusLabel;
+    @FXML private Button cancelReportButton;
+    @FXML private ListView<ReportJob> reportJobsListView;
+
+    private final SystemReportGenerator reportGenerator = new SystemReportGenerator();
+    private final BatchReportExporter batchExporter = new BatchReportExporter();
+    private ReportJobControls jobControls;
+    private ReportJob.Builder currentReportSource;
+    private Map<String, Object> currentFilterOptions;
+    private String currentCacheScope;
+    private boolean currentReportPrebuilt;
+    private ReportCache.Key currentCacheKey;
     private String currentReportType = "";
 
     private ObservableList<Team> selectedTeams = FXCollections.observableArrayList();
@@ -126,7 +153,10 @@ public class ReportsController {
      */
     @FXML
     private void initialize() {
-        reportService = new ReportService();
+        User user = MainApplication.getCurrentUser();
+        jobControls = new ReportJobControls(reportProgressBar, reportStatusLabel, cancelReportButton,
+                reportJobsListView, user != null ? user.getId() : 0);
+        jobControls.setBusyNodes(generateButton, saveAsPdfButton, batchExportButton, scheduleButton);
         reportsArea.setStyle("-fx-font-family: 'Consolas', 'Courier New', monospace; -fx-font-size: 12px;");
 
         showTasksCheckbox.setSelected(true);
@@ -143,6 +173,8 @@ public class ReportsController {
         generateButton.setDisable(true);
         filterOptionsButton.setDisable(true);
         saveAsPdfButton.setDisable(true);
+        batchExportButton.setDisable(true);
+        scheduleButton.setDisable(true);
 
         selectedTeams.addListener((ListChangeListener<Team>) change -> updateGenerateButtonState());
 
@@ -152,11 +184,13 @@ public class ReportsController {
                 (observable, oldValue, newValue) -> {
                     if (newValue != null) {
                         reportsArea.clear();
-                        currentReportContent = "";
+                        currentReportSource = null;
                         saveAsPdfButton.setDisable(true);
 
                         currentReportType = newValue;
                         generateButton.setDisable(false);
+                        batchExportButton.setDisable(!BatchReportExporter.supports(newValue));
+                        scheduleButton.setDisable(false);
                         filterOptionsButton.setDisable(false);
                         updateFilterVisibility(newValue);
                     }
@@ -289,6 +323,8 @@ public class ReportsController {
         }
 
         generateButton.setDisable(disableGenerateButton);
+        batchExportButton.setDisable(disableGenerateButton || !BatchReportExporter.supports(currentReportType));
+        scheduleButton.setDisable(disableGenerateButton);
 
         if (!disableGenerateButton) {
             generateButton.setTooltip(null);
@@ -303,7 +339,7 @@ public class ReportsController {
             User currentUser = MainApplication.getCurrentUser();
             ObservableList<Team> teams;
 
-            if (currentUser != null && currentUser.getRoleId() == 2) {
+            if (isScopedToOwnProjects(currentUser)) {
                 teams = FXCollections.observableArrayList(teamDAO.getTeamsForManager(currentUser.getId()));
             } else {
                 teams = FXCollections.observableArrayList(teamDAO.getAllTeams());
@@ -368,10 +404,10 @@ public class ReportsController {
 
             if (projectsListView != null) {
                 ObservableList<Project> projects;
-                if (currentUser != null && currentUser.getRoleId() == 2) {
+                if (isScopedToOwnProjects(currentUser)) {
                     projects = FXCollections.observableArrayList(projectDAO.getProjectsForManager(currentUser.getId()));
                 } else {
-                    projects = FXCollections.observableArrayList(projectDAO.getAllProjects());
+                    projects = FXCollections.observableArrayList(ReferenceDataCache.getProjects());
                 }
 
                 selectedProjects.setAll(projects);
@@ -398,10 +434,10 @@ public class ReportsController {
         if (projectsListView != null) {
             List<Project> projects;
             User currentUser = MainApplication.getCurrentUser();
-            if (currentUser != null && currentUser.getRoleId() == 2) {
+            if (isScopedToOwnProjects(currentUser)) {
                 projects = projectDAO.getProjectsForManager(currentUser.getId());
             } else {
-                projects = projectDAO.getAllProjects();
+                projects = ReferenceDataCache.getProjects();
             }
 
             projectsListView.setItems(FXCollections.observableArrayList(projects));
@@ -529,12 +565,23 @@ public class ReportsController {
         }
     }
 
+    /**
+     * Sprawdza, czy raporty użytkownika powinny obejmować tylko jego projekty i zespoły.
+     * Raporty obejmujące cały system wymagają uprawnienia {@link Permission#VIEW_ALL_REPORTS}.
+     *
+     * @param user bieżący użytkownik
+     * @return true jeśli dane raportów należy zawęzić do projektów użytkownika
+     */
+    private boolean isScopedToOwnProjects(User user) {
+        return SystemReportGenerator.isScopedToOwnProjects(user);
+    }
+
     /**
      * Ogranicza opcje dostępne dla użytkowników z rolą kierownika.
      */
     private void restrictOptionsForManager() {
         User currentUser = MainApplication.getCurrentUser();
-        if (currentUser != null && currentUser.getRoleId() == 2) {
+        if (isScopedToOwnProjects(currentUser)) {
             setVisibility(adminCheckbox, false);
             setVisibility(managerCheckbox, false);
         }
@@ -595,7 +642,8 @@ public class ReportsController {
     }
 
     /**
-     * Generuje raport na podstawie wybranych opcji.
+     * Generuje raport na podstawie wybranych opcji. Raport jest budowany w tle,
+     * a podgląd pojawia się po zakończeniu zadania.
      */
     @FXML
     private void handleGenerateReport() {
@@ -606,10 +654,6 @@ public class ReportsController {
                 return;
             }
 
-            int roleId = currentUser.getRoleId();
-            boolean isAdmin = (roleId == 1);
-            int managerId = currentUser.getId();
-
             reportsArea.clear();
 
             if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
@@ -617,31 +661,30 @@ public class ReportsController {
                 return;
             }
 
-            Map<String, Object> filterOptions = new HashMap<>();
-            filterOptions.put("selectedTeams", selectedTeams);
-            filterOptions.put("selectedProjects", selectedProjects);
-            filterOptions.put("startDate", startDate);
-            filterOptions.put("endDate", endDate);
-            filterOptions.put("showTasks", showTasks);
-            filterOptions.put("showMembers", showMembers);
-            filterOptions.put("showStatistics", showStatistics);
-            filterOptions.put("showAdmins", showAdmins);
-            filterOptions.put("showManagers", showManagers);
-            filterOptions.put("showTeamLeaders", showTeamLeaders);
-            filterOptions.put("showUsers", showUsers);
-            filterOptions.put("selectedGroup", selectedGroup);
-
-            switch (currentReportType) {
-                case "Struktura Zespołów" -> generateTeamsStructureReport(filterOptions);
-                case "Użytkownicy Systemu" -> generateUsersReport(filterOptions);
-                case "Przegląd Projektów" -> generateProjectsOverviewReport(isAdmin, managerId, filterOptions);
-                default -> {
-                    showWarning("Wybierz typ raportu");
-                    return;
-                }
+            Map<String, Object> filterOptions = buildFilterOptions();
+
+            String reportType = currentReportType;
+            if (reportType == null || reportType.isEmpty()) {
+                showWarning("Wybierz typ raportu");
+                return;
             }
 
-            saveAsPdfButton.setDisable(false);
+            currentReportSource = null;
+            saveAsPdfButton.setDisable(true);
+            String cacheScope = ReportPdfWriter.cacheScope(reportType, currentUser);
+            ReportJob.Builder source = progress -> reportGenerator.generate(reportType, currentUser, filterOptions, progress);
+            jobControls.submit(new ReportJob(reportType, currentUser.getId(), source)
+                            .cached(ReportCache.getDefault(), cacheScope, filterOptions),
+                    job -> {
+                        ReportDocument report = job.getResult();
+                        currentReportSource = report != null ? progress -> report : source;
+                        currentReportPrebuilt = report != null;
+                        currentCacheKey = job.getCacheKey();
+                        currentFilterOptions = filterOptions;
+                        currentCacheScope = cacheScope;
+                        reportsArea.setText(job.getText());
+                    },
+                    () -> saveAsPdfButton.setDisable(currentReportSource == null));
 
         } catch (Exception e) {
             showError("Błąd generowania raportu", e.getMessage());
@@ -650,407 +693,166 @@ public class ReportsController {
     }
 
     /**
-     * Generuje raport struktury zespołów.
-     * @param filterOptions Mapa opcji filtrowania
-     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * Zbiera bieżące opcje filtrowania w mapę przekazywaną do generatora raportów.
+     * @return mapa opcji filtrowania
      */
-    private void generateTeamsStructureReport(Map<String, Object> filterOptions) throws SQLException {
-        List<Team> teamsToShow;
-        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
-        boolean showTasks = (boolean) filterOptions.get("showTasks");
-        boolean showMembers = (boolean) filterOptions.get("showMembers");
-
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            teamsToShow = selectedTeams;
-        } else {
-            User currentUser = MainApplication.getCurrentUser();
-            if (currentUser != null && currentUser.getRoleId() == 2) {
-                teamsToShow = teamDAO.getTeamsForManager(currentUser.getId()); 
-            } else {
-                teamsToShow = teamDAO.getAllTeams();
-            }
-
-        }
-
-        StringBuilder report = new StringBuilder();
-
-        report.append("RAPORT: STRUKTURA ZESPOŁÓW\n");
-        report.append("Data wygenerowania: ")
-                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        report.append("Zastosowane filtry:\n");
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            report.append("- Wybrane zespoły: ");
-            for (int i = 0; i < selectedTeams.size(); i++) {
-                report.append(selectedTeams.get(i).getTeamName());
-                if (i < selectedTeams.size() - 1) report.append(", ");
-            }
-            report.append("\n");
-        } else {
-            report.append("- Wszystkie zespoły\n");
-        }
-        report.append("- Pokaż członków zespołów: ").append(showMembers ? "Tak" : "Nie").append("\n");
-        report.append("- Pokaż zadania zespołów: ").append(showTasks ? "Tak" : "Nie").append("\n\n");
-
-        if (teamsToShow.isEmpty()) {
-            report.append("Brak zespołów spełniających kryteria raportu.\n");
-        } else {
-            for (Team team : teamsToShow) {
-                report.append("=== ZESPÓŁ: ").append(team.getTeamName()).append(" (ID: ").append(team.getId()).append(") ===\n");
-
-                int projectId = team.getProjectId();
-                String projectName = "Brak przypisania";
-                try {
-                    for (Project project : projectDAO.getAllProjects()) {
-                        if (project.getId() == projectId) {
-                            projectName = project.getName();
-                            break;
-                        }
-                    }
-                } catch (Exception e) {
-                    projectName = "Błąd pobierania projektu";
-                }
-                report.append("Projekt: ").append(projectName).append("\n");
-
-                if (showMembers) {
-                    List<User> members = teamDAO.getTeamMembers(team.getId());
-                    report.append("Liczba członków: ").append(members.size()).append("\n");
-
-                    if (members.isEmpty()) {
-                        report.append("Brak członków zespołu.\n");
-                    } else {
-                        report.append("\nCZŁONKOWIE ZESPOŁU:\n");
-                        for (User member : members) {
-                            report.append("- ")
-                                    .append(member.getName())
-                                    .append(" ")
-                                    .append(member.getLastName())
-                                    .append(" (")
-                                    .append(member.getEmail())
-                                    .append(")\n");
-                        }
-                    }
-                }
-
-                if (showTasks) {
-                    List<Task> tasks = taskDAO.getTasksByTeamId(team.getId());
-                    report.append("\nZADANIA ZESPOŁU (").append(tasks.size()).append("):\n");
-
-                    if (tasks.isEmpty()) {
-                        report.append("Brak zadań przypisanych do zespołu.\n");
-                    } else {
-                        for (Task task : tasks) {
-                            report.append("- ")
-                                    .append(task.getTitle())
-                                    .append(" (Status: ")
-                                    .append(task.getStatus())
-                                    .append(", Priorytet: ")
-                                    .append(task.getPriority())
-                                    .append(")\n");
-                        }
-                    }
-                }
-
-                report.append("\n\n");
-            }
-        }
-
-        currentReportContent = report.toString();
-        reportsArea.setText(currentReportContent);
-
-        User currentUser = MainApplication.getCurrentUser();
-        if (currentUser != null && currentUser.getRoleId() == 2) {
-            List<Team> allowedTeams = teamDAO.getTeamsForManager(currentUser.getId());
-            teamsToShow.removeIf(team -> allowedTeams.stream().noneMatch(t -> t.getId() == team.getId()));
-        }
-
+    private Map<String, Object> buildFilterOptions() {
+        Map<String, Object> filterOptions = new HashMap<>();
+        filterOptions.put("selectedTeams", new ArrayList<>(selectedTeams));
+        filterOptions.put("selectedProjects", new ArrayList<>(selectedProjects));
+        filterOptions.put("startDate", startDate);
+        filterOptions.put("endDate", endDate);
+        filterOptions.put("showTasks", showTasks);
+        filterOptions.put("showMembers", showMembers);
+        filterOptions.put("showStatistics", showStatistics);
+        filterOptions.put("showAdmins", showAdmins);
+        filterOptions.put("showManagers", showManagers);
+        filterOptions.put("showTeamLeaders", showTeamLeaders);
+        filterOptions.put("showUsers", showUsers);
+        filterOptions.put("selectedGroup", selectedGroup);
+        return filterOptions;
     }
 
     /**
-     * Generuje raport użytkowników systemu.
-     * @param filterOptions Mapa opcji filtrowania
-     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * Eksportuje w tle osobny plik PDF dla każdego wybranego zespołu lub projektu
+     * do wskazanego folderu, opcjonalnie spakowane do archiwum ZIP.
      */
-    private void generateUsersReport(Map<String, Object> filterOptions) throws SQLException {
-        List<User> allUsers = userDAO.getAllUsers();
-        List<User> users = new ArrayList<>();
-        boolean showMembers = (boolean) filterOptions.get("showMembers");
+    @FXML
+    private void handleBatchExport() {
         User currentUser = MainApplication.getCurrentUser();
-        String selectedGroup = (String) filterOptions.get("selectedGroup");
-
-        List<Integer> userIdsInGroup = null;
-        if (selectedGroup != null && !selectedGroup.isEmpty()) {
-            userIdsInGroup = userDAO.getUsersByGroupName(selectedGroup);
+        String reportType = currentReportType;
+        if (currentUser == null || !BatchReportExporter.supports(reportType)) {
+            showWarning("Eksport zbiorczy jest dostępny dla raportów struktury zespołów i przeglądu projektów");
+            return;
         }
-
-        for (User user : allUsers) {
-            if (userIdsInGroup != null && !userIdsInGroup.contains(user.getId())) {
-                continue;
-            }
-
-            if (currentUser != null && currentUser.getRoleId() == 2) { 
-                List<Project> managerProjects = projectDAO.getProjectsForManager(currentUser.getId());
-
-                boolean isInManagerProjects = false;
-                if (user.getRoleId() == 3) {
-                    List<Integer> teamIds = teamMemberDAO.getTeamIdsForTeamLeader(user.getId());
-                    for (Integer teamId : teamIds) {
-                        if (teamId > 0) {
-                            Team team = teamDAO.getTeamById(teamId);
-                            if (team != null) {
-                                for (Project project : managerProjects) {
-                                    if (project.getId() == team.getProjectId()) {
-                                        isInManagerProjects = true;
-                                        break;
-                                    }
-                                }
-                            }
-                            if (isInManagerProjects) break;
-                        }
-                    }
-                } else if (user.getRoleId() == 4) { 
-                    int teamId = teamMemberDAO.getTeamIdForUser(user.getId());
-                    if (teamId > 0) {
-                        Team team = teamDAO.getTeamById(teamId);
-                        if (team != null) {
-                            for (Project project : managerProjects) {
-                                if (project.getId() == team.getProjectId()) {
-                                    isInManagerProjects = true;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
-
-                if (!isInManagerProjects) continue;
-
-                if ((user.getRoleId() == 3 && showTeamLeaders) || (user.getRoleId() == 4 && showUsers)) {
-                    users.add(user);
-                }
-            } else {
-                if ((user.getRoleId() == 1 && showAdmins) ||
-                        (user.getRoleId() == 2 && showManagers) ||
-                        (user.getRoleId() == 3 && showTeamLeaders) ||
-                        (user.getRoleId() == 4 && showUsers)) {
-                    users.add(user);
-                }
-            }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            showWarning("Data początkowa nie może być późniejsza niż data końcowa");
+            return;
         }
 
-        StringBuilder report = new StringBuilder();
-
-        report.append("RAPORT: UŻYTKOWNICY SYSTEMU\n");
-        report.append("Data wygenerowania: ")
-                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
+        DirectoryChooser dirChooser = new DirectoryChooser();
+        dirChooser.setTitle("Wybierz folder eksportu zbiorczego");
+        dirChooser.setInitialDirectory(new File(System.getProperty("user.home")));
 
-        report.append("Zastosowane filtry:\n");
-        if (currentUser != null && currentUser.getRoleId() == 2) {
-            report.append("- Tylko użytkownicy z moich projektów\n");
-        }
-        if (selectedGroup != null && !selectedGroup.isEmpty()) {
-            report.append("- Grupa: ").append(selectedGroup).append("\n");
+        Stage stage = (Stage) reportsArea.getScene().getWindow();
+        File selectedDir = dirChooser.showDialog(stage);
+        if (selectedDir == null) {
+            return;
         }
-        report.append("- Typy użytkowników: ");
-        List<String> selectedTypes = new ArrayList<>();
-        if (showAdmins) selectedTypes.add("Administratorzy");
-        if (showManagers) selectedTypes.add("Kierownicy");
-        if (showTeamLeaders) selectedTypes.add("Team liderzy");
-        if (showUsers) selectedTypes.add("Pracownicy");
-        report.append(String.join(", ", selectedTypes)).append("\n");
-        report.append("- Pokaż przynależność do zespołów: ").append(showMembers ? "Tak" : "Nie").append("\n\n");
-
-        Map<Integer, String> roleNames = userDAO.getAllRolesMap();
-
-        users.sort(Comparator.comparingInt(User::getRoleId));
-
-        int currentRole = -1;
-        for (User user : users) {
-            if (user.getRoleId() != currentRole) {
-                currentRole = user.getRoleId();
-                report.append("\n=== ROLA: ").append(roleNames.getOrDefault(currentRole, "Nieznana (" + currentRole + ")")).append(" ===\n");
-            }
 
-            report.append("- ")
-                    .append(user.getName())
-                    .append(" ")
-                    .append(user.getLastName())
-                    .append(" (")
-                    .append(user.getEmail())
-                    .append(")\n");
-
-            if (showMembers) {
-                if (user.getRoleId() == 3) {
-                    List<Integer> teamIds = teamMemberDAO.getTeamIdsForTeamLeader(user.getId());
-                    if (!teamIds.isEmpty()) {
-                        for (Integer teamId : teamIds) {
-                            String teamName = teamDAO.getTeamNameById(teamId);
-                            report.append("  Zespół: ").append(teamName).append("\n");
-                        }
+        Map<String, Object> filterOptions = buildFilterOptions();
+        boolean zip = zipBatchCheckbox.isSelected();
+        Path directory = selectedDir.toPath();
+        AtomicReference<BatchReportExporter.Result> batchResult = new AtomicReference<>();
+        jobControls.submit(new ReportJob("Eksport zbiorczy: " + reportType, currentUser.getId(), progress -> {
+                    batchResult.set(batchExporter.export(reportType, currentUser, filterOptions, directory, zip, progress));
+                    return BatchReportExporter.summary(reportType, directory, batchResult.get());
+                }),
+                job -> {
+                    reportsArea.setText(job.getText());
+                    if (!batchResult.get().failures().isEmpty()) {
+                        showWarning("Nie wszystkie pliki zostały zapisane. Szczegóły w podglądzie raportu.");
                     } else {
-                        report.append("  Zespół: Brak przypisania\n");
+                        showInfo("Eksport zakończony", "Pliki zostały zapisane w folderze:\n" + directory);
                     }
-                } else { 
-                    int teamId = teamMemberDAO.getTeamIdForUser(user.getId());
-                    if (teamId > 0) {
-                        String teamName = teamDAO.getTeamNameById(teamId);
-                        report.append("  Zespół: ").append(teamName).append("\n");
-                    } else {
-                        report.append("  Zespół: Brak przypisania\n");
-                    }
-                }
-            }
-
-            if (selectedGroup != null && !selectedGroup.isEmpty()) {
-                report.append("  Grupa: ").append(selectedGroup).append("\n");
-            }
-        }
-
-        currentReportContent = report.toString();
-        reportsArea.setText(currentReportContent);
+                },
+                () -> {
+                    saveAsPdfButton.setDisable(currentReportSource == null);
+                    updateGenerateButtonState();
+                });
     }
 
     /**
-     * Generuje raport przeglądu projektów.
-     * @param isAdmin Czy użytkownik jest administratorem
-     * @param managerId ID kierownika (jeśli użytkownik jest kierownikiem)
-     * @param filterOptions Mapa opcji filtrowania
-     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * Dodaje raport z bieżącymi opcjami filtrowania do harmonogramu: raport będzie zapisywany
+     * co tydzień do wskazanego folderu przez aplikację, w której zalogowany jest jego autor,
+     * albo przez ReportRunner uruchamiany z opcją --run-schedules.
      */
-    private void generateProjectsOverviewReport(boolean isAdmin, int managerId, Map<String, Object> filterOptions) throws SQLException {
-        List<Project> allProjects;
-        List<Project> filteredProjects = new ArrayList<>();
-        LocalDate startDate = (LocalDate) filterOptions.get("startDate");
-        LocalDate endDate = (LocalDate) filterOptions.get("endDate");
-        boolean showTasks = (boolean) filterOptions.get("showTasks");
-        boolean showStatistics = (boolean) filterOptions.get("showStatistics");
-
-        if (isAdmin) {
-            allProjects = projectDAO.getAllProjects();
-        } else {
-            allProjects = projectDAO.getProjectsForManager(managerId);
+    @FXML
+    private void handleScheduleWeekly() {
+        User currentUser = MainApplication.getCurrentUser();
+        String reportType = currentReportType;
+        if (currentUser == null || reportType == null || reportType.isEmpty()) {
+            showWarning("Wybierz typ raportu");
+            return;
         }
 
-        List<Project> selectedProjects = (List<Project>) filterOptions.get("selectedProjects");
-
-        List<Project> baseProjects;
+        DirectoryChooser dirChooser = new DirectoryChooser();
+        dirChooser.setTitle("Wybierz folder raportów cotygodniowych");
+        dirChooser.setInitialDirectory(new File(System.getProperty("user.home")));
 
-        if (selectedProjects != null && !selectedProjects.isEmpty()) {
-            baseProjects = selectedProjects;
-        } else {
-            baseProjects = allProjects;
+        Stage stage = (Stage) reportsArea.getScene().getWindow();
+        File selectedDir = dirChooser.showDialog(stage);
+        if (selectedDir == null) {
+            return;
         }
 
-        filteredProjects = baseProjects.stream()
-                .filter(project -> startDate == null || !project.getEndDate().isBefore(startDate))
-                .filter(project -> endDate == null || !project.getStartDate().isAfter(endDate))
-                .collect(Collectors.toList());
-
-        StringBuilder report = new StringBuilder();
-
-        report.append("RAPORT: PRZEGLĄD PROJEKTÓW\n");
-        report.append("Data wygenerowania: ")
-                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        report.append("Zastosowane filtry:\n");
-        if (startDate != null) {
-            report.append("- Data początkowa: ").append(startDate).append("\n");
-        }
-        if (endDate != null) {
-            report.append("- Data końcowa: ").append(endDate).append("\n");
+        ReportSchedule schedule = MainApplication.getReportScheduler().schedule(reportType, currentUser.getId(),
+                ReportOptions.fromFilterOptions(buildFilterOptions()), selectedDir.toPath(), 7);
+        if (schedule == null) {
+            showError("Błąd", "Nie udało się zapisać harmonogramu raportu");
+            return;
         }
-        report.append("- Pokaż zadania projektów: ").append(showTasks ? "Tak" : "Nie").append("\n");
-        report.append("- Pokaż statystyki projektów: ").append(showStatistics ? "Tak" : "Nie").append("\n\n");
-
-        report.append("Liczba projektów: ").append(filteredProjects.size()).append("\n\n");
-
-        if (filteredProjects.isEmpty()) {
-            report.append("Brak projektów spełniających kryteria raportu.\n");
-        } else {
-            for (Project project : filteredProjects) {
-                report.append("=== PROJEKT: ").append(project.getName()).append(" (ID: ").append(project.getId()).append(") ===\n");
-                report.append("Opis: ").append(project.getDescription()).append("\n");
-                report.append("Data rozpoczęcia: ").append(project.getStartDate()).append("\n");
-                report.append("Data zakończenia: ").append(project.getEndDate()).append("\n");
-
-                int projectManagerId = project.getManagerId();
-                String managerName = "Brak przypisania";
-                if (projectManagerId > 0) {
-                    User manager = userDAO.getUserById(projectManagerId);
-                    if (manager != null) {
-                        managerName = manager.getName() + " " + manager.getLastName();
-                    }
-                }
-                report.append("Kierownik: ").append(managerName).append("\n");
-
-                List<Team> projectTeams = new ArrayList<>();
-                for (Team team : teamDAO.getAllTeams()) {
-                    if (team.getProjectId() == project.getId()) {
-                        projectTeams.add(team);
-                    }
-                }
-
-                report.append("Liczba zespołów: ").append(projectTeams.size()).append("\n");
-
-                if (!projectTeams.isEmpty()) {
-                    report.append("Zespoły:\n");
-                    for (Team team : projectTeams) {
-                        report.append("- ").append(team.getTeamName()).append("\n");
-                    }
-                }
-
-                List<Task> tasks = taskDAO.getTasksByProjectId(project.getId());
+        showInfo("Raport zaplanowany", "Raport \"" + reportType + "\" będzie zapisywany co tydzień w folderze:\n"
+                + selectedDir.getAbsolutePath() + "\nPierwsze uruchomienie: "
+                + schedule.getNextRunAt().toLocalDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
 
-                if (showTasks) {
-                    report.append("Liczba zadań: ").append(tasks.size()).append("\n");
-                    for (Task task : tasks) {
-                        report.append("- ").append(task.getTitle())
-                                .append(" (Status: ").append(task.getStatus())
-                                .append(", Priorytet: ").append(task.getPriority())
-                                .append(")\n");
-                    }
-                }
+    /**
+     * Pokazuje raporty zaplanowane przez zalogowanego użytkownika i pozwala usunąć wybrane z harmonogramu.
+     */
+    @FXML
+    private void handleManageSchedules() {
+        User currentUser = MainApplication.getCurrentUser();
+        if (currentUser == null) {
+            return;
+        }
 
-                if (showStatistics) {
-                    report.append("Statystyki zadań:\n");
-                    if (tasks.isEmpty()) {
-                        report.append("Brak danych do obliczenia statystyk.\n");
-                    } else {
-                        long newTasks = tasks.stream()
-                                .filter(t -> "Nowe".equalsIgnoreCase(t.getStatus()))
-                                .count();
-                        long inProgressTasks = tasks.stream()
-                                .filter(t -> "W toku".equalsIgnoreCase(t.getStatus()))
-                                .count();
-                        long completedTasks = tasks.stream()
-                                .filter(t -> "Zakończone".equalsIgnoreCase(t.getStatus()))
-                                .count();
-
-                        report.append("- Nowe: ").append(newTasks).append("\n");
-                        report.append("- W toku: ").append(inProgressTasks).append("\n");
-                        report.append("- Zakończone: ").append(completedTasks).append("\n");
-
-                        double completionPercentage = (double) completedTasks / tasks.size() * 100;
-                        report.append("- Procent ukończenia: ").append(String.format("%.2f", completionPercentage)).append("%\n");
-                    }
+        Dialog<ButtonType> dlg = new Dialog<>();
+        dlg.setTitle("Zaplanowane raporty");
+        dlg.getDialogPane().getButtonTypes().add(new ButtonType("Zamknij", ButtonBar.ButtonData.CANCEL_CLOSE));
+
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        ListView<ReportSchedule> listView = new ListView<>(
+                FXCollections.observableArrayList(reportScheduleDAO.getSchedulesByUser(currentUser.getId())));
+        listView.setPlaceholder(new Label("Brak zaplanowanych raportów"));
+        listView.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(ReportSchedule s, boolean empty) {
+                super.updateItem(s, empty);
+                setText(empty || s == null ? null : s.getReportType() + " co " + s.getIntervalDays() + " dni – "
+                        + s.getOutputDirectory() + "\nNastępne uruchomienie: "
+                        + s.getNextRunAt().toLocalDateTime().format(format));
+            }
+        });
+        listView.setPrefSize(520, 250);
+
+        Button btnRemove = new Button("Usuń zaznaczony");
+        btnRemove.disableProperty().bind(listView.getSelectionModel().selectedItemProperty().isNull());
+        btnRemove.setOnAction(evt -> {
+            ReportSchedule s = listView.getSelectionModel().getSelectedItem();
+            if (s != null) {
+                if (reportScheduleDAO.deleteSchedule(s.getId())) {
+                    listView.getItems().remove(s);
+                } else {
+                    showError("Błąd", "Nie udało się usunąć raportu z harmonogramu");
                 }
-                report.append("\n\n");
             }
-        }
+        });
 
-        currentReportContent = report.toString();
-        reportsArea.setText(currentReportContent);
+        VBox content = new VBox(10, listView, btnRemove);
+        dlg.getDialogPane().setContent(content);
+        dlg.showAndWait();
     }
 
     /**
-     * Zapisuje wygenerowany raport do pliku PDF.
+     * Zapisuje wygenerowany raport do pliku PDF w tle. Przegląd projektów jest budowany ponownie
+     * w trybie strumieniowym, aby zadania trafiały do PDF kursorem zamiast z podglądu trzymanego w pamięci.
+     * Raport zbudowany przy podglądzie jest zapamiętywany pod kluczem z chwili podglądu, bo opisuje dane
+     * z tamtej chwili; bez takiego klucza nie trafia do pamięci podręcznej.
      */
     @FXML
     private void handleSaveAsPdf() {
-        if (currentReportContent.isEmpty()) {
+        if (currentReportSource == null) {
             showWarning("Najpierw wygeneruj raport");
             return;
         }
@@ -1063,53 +865,52 @@ public class ReportsController {
         File selectedDir = dirChooser.showDialog(stage);
 
         if (selectedDir != null) {
-            try {
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                String sanitizedReportType = currentReportType.replaceAll("\\s+", "_").toLowerCase();
-                String filename = selectedDir.getAbsolutePath() + File.separator +
-                        "raport_" + sanitizedReportType + "_" + timestamp + ".pdf";
-
-                Map<String, Object> filterOptions = new HashMap<>();
-                filterOptions.put("selectedTeams", selectedTeams);
-                filterOptions.put("startDate", startDate);
-                filterOptions.put("endDate", endDate);
-                filterOptions.put("showTasks", showTasks);
-                filterOptions.put("showMembers", showMembers);
-                filterOptions.put("showStatistics", showStatistics);
-                filterOptions.put("showAdmins", showAdmins);
-                filterOptions.put("showManagers", showManagers);
-                filterOptions.put("showTeamLeaders", showTeamLeaders);
-                filterOptions.put("showUsers", showUsers);
-                filterOptions.put("selectedGroup", selectedGroup);
-
-                switch (currentReportType) {
-                    case "Struktura Zespołów" ->
-                            reportService.generateTeamsStructurePdf(filename, currentReportContent, filterOptions);
-                    case "Użytkownicy Systemu" ->
-                            reportService.generateUsersReportPdf(filename, currentReportContent, filterOptions);
-                    case "Przegląd Projektów" ->
-                            reportService.generateProjectsOverviewPdf(filename, currentReportContent, filterOptions);
-                    default -> {
-                        showError("Błąd", "Nieznany typ raportu");
-                        return;
-                    }
-                }
-
-                showInfo("Raport zapisany", "Raport PDF został pomyślnie zapisany:\n" + filename);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String sanitizedReportType = currentReportType.replaceAll("\\s+", "_").toLowerCase();
+            String filename = selectedDir.getAbsolutePath() + File.separator +
+                    "raport_" + sanitizedReportType + "_" + timestamp + ".pdf";
 
-                try {
-                    java.awt.Desktop.getDesktop().open(new File(filename));
-                } catch (Exception e) {
-                    System.out.println("Nie można automatycznie otworzyć pliku PDF: " + e.getMessage());
-                }
+            User currentUser = MainApplication.getCurrentUser();
+            String reportType = currentReportType;
+            ReportJob.Builder source = currentReportSource;
+            Map<String, Object> filterOptions = currentFilterOptions;
+            boolean prebuilt = currentReportPrebuilt;
+            if (SystemReportGenerator.PROJECTS_OVERVIEW.equals(reportType)) {
+                Map<String, Object> streamOptions = new HashMap<>(currentFilterOptions);
+                streamOptions.put(SystemReportGenerator.STREAM_TASKS, true);
+                source = progress -> reportGenerator.generate(reportType, currentUser, streamOptions, progress);
+                filterOptions = streamOptions;
+                prebuilt = false;
+            }
 
-            } catch (IOException e) {
-                showError("Błąd zapisu", "Nie udało się zapisać raportu PDF: " + e.getMessage());
-                e.printStackTrace();
+            ReportJob saveJob = new ReportJob(reportType, currentUser.getId(), source).exportTo(filename);
+            if (!prebuilt) {
+                saveJob.cached(ReportCache.getDefault(), currentCacheScope, filterOptions);
+            } else if (currentCacheKey != null) {
+                saveJob.cached(ReportCache.getDefault(), currentCacheKey);
             }
+            jobControls.submit(saveJob,
+                    job -> {
+                        showInfo("Raport zapisany", "Raport PDF został pomyślnie zapisany:\n" + filename);
+
+                        try {
+                            java.awt.Desktop.getDesktop().open(new File(filename));
+                        } catch (Exception e) {
+                            System.out.println("Nie można automatycznie otworzyć pliku PDF: " + e.getMessage());
+                        }
+                    },
+                    () -> saveAsPdfButton.setDisable(currentReportSource == null));
         }
     }
 
+    /**
+     * Anuluje generowanie lub zapisywanie bieżącego raportu.
+     */
+    @FXML
+    private void handleCancelReport() {
+        jobControls.cancelCurrent();
+    }
+
     /**
      * Wyświetla okno dialogowe z informacją.
      * @param title Tytuł okna
@@ -1,12 +1,9 @@
 package pl.rozowi.app.controllers;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.AnchorPane;
-import javafx.stage.Stage;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.UserDAO;
 import pl.rozowi.app.dao.SettingsDAO;
@@ -183,44 +180,18 @@ public class SettingsController {
         MainApplication.setCurrentUser(currentUser);
 
         try {
-            Stage stage = (Stage) saveSettingsButton.getScene().getWindow();
             switch (currentUser.getRoleId()) {
                 case 1 -> MainApplication.switchScene(
                         "/fxml/admin/adminDashboard.fxml", "TaskApp - Admin");
                 case 2 -> MainApplication.switchScene(
                         "/fxml/manager/managerDashboard.fxml", "TaskApp - Kierownik");
-                case 3 -> {
-                    FXMLLoader loader = new FXMLLoader(
-                            getClass().getResource("/fxml/teamleader/teamLeaderDashboard.fxml"));
-                    Parent root = loader.load();
-                    TeamLeaderDashboardController ctrl =
-                            loader.getController();
-                    ctrl.setUser(currentUser);
-
-                    Scene scene = new Scene(root);
-                    ThemeManager.applyTheme(scene, currentUser);
-
-                    stage.setScene(scene);
-                    stage.setTitle("TaskApp - Team Leader");
-                }
-                case 4 -> {
-                    FXMLLoader loader = new FXMLLoader(
-                            getClass().getResource("/fxml/user/userDashboard.fxml"));
-                    Parent root = loader.load();
-                    UserDashboardController ctrl =
-                            loader.getController();
-                    ctrl.setUser(currentUser);
-
-                    Scene scene = new Scene(root);
-                    ThemeManager.applyTheme(scene, currentUser);
-
-                    stage.setScene(scene);
-                    stage.setTitle("TaskApp - User");
-                }
+                case 3 -> MainApplication.switchScene(
+                        "/fxml/teamleader/teamLeaderDashboard.fxml", "TaskApp - Team Leader");
+                case 4 -> MainApplication.switchScene(
+                        "/fxml/user/userDashboard.fxml", "TaskApp - User");
                 default -> MainApplication.switchScene(
                         "/fxml/user/userDashboard.fxml", "TaskApp - Panel");
             }
-            stage.show();
         } catch (IOException ex) {
             ex.printStackTrace();
         }
@@ -4,6 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
@@ -87,30 +88,15 @@ public class TaskCreateController {
                 int roleId = currentUser.getRoleId();
 
                 if (roleId == 1) {
-                    projects = projectDAO.getAllProjects();
+                    projects = ReferenceDataCache.getProjects();
                 } else if (roleId == 2) {
                     projects = projectDAO.getProjectsForManager(currentUser.getId());
                 } else if (roleId == 3) {
                     int teamId = teamMemberDAO.getTeamIdForUser(currentUser.getId());
-                    Team team = null;
-
-                    for (Team t : teamDAO.getAllTeams()) {
-                        if (t.getId() == teamId) {
-                            team = t;
-                            break;
-                        }
-                    }
+                    Team team = ReferenceDataCache.getTeam(teamId);
 
                     if (team != null) {
-                        int projectId = team.getProjectId();
-                        Project project = null;
-
-                        for (Project p : projectDAO.getAllProjects()) {
-                            if (p.getId() == projectId) {
-                                project = p;
-                                break;
-                            }
-                        }
+                        Project project = ReferenceDataCache.getProject(team.getProjectId());
 
                         projects = project != null ? Collections.singletonList(project) : new ArrayList<>();
 
@@ -270,14 +256,27 @@ public class TaskCreateController {
         }
 
         boolean assignmentSuccess = false;
-        try (java.sql.Connection conn = pl.rozowi.app.database.DatabaseManager.getConnection();
-             java.sql.PreparedStatement stmt = conn.prepareStatement(
-                     "INSERT INTO task_assignments (task_id, user_id) VALUES (?, ?)")) {
-            stmt.setInt(1, t.getId());
-            stmt.setInt(2, user.getId());
-            int affected = stmt.executeUpdate();
-
-            assignmentSuccess = affected > 0;
+        try (java.sql.Connection conn = pl.rozowi.app.database.DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (java.sql.PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO task_assignments (task_id, user_id) VALUES (?, ?)")) {
+                stmt.setInt(1, t.getId());
+                stmt.setInt(2, user.getId());
+                int affected = stmt.executeUpdate();
+
+                assignmentSuccess = affected > 0;
+                if (assignmentSuccess) {
+                    new ChangeLogDAO().recordChange(conn, "task_assignments", t.getId(), ChangeLogDAO.INSERT);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
             if (!assignmentSuccess) {
                 showWarning("Task created but user assignment failed!");
             }
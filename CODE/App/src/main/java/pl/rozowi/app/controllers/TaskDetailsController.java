@@ -3,18 +3,21 @@ package pl.rozowi.app.controllers;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.dao.TeamMemberDAO;
 import pl.rozowi.app.dao.UserDAO;
-import pl.rozowi.app.dao.ProjectDAO;
-import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.models.Permission;
 import pl.rozowi.app.models.Task;
 import pl.rozowi.app.models.User;
+import pl.rozowi.app.services.ActivityService;
+import pl.rozowi.app.services.PermissionService;
 import pl.rozowi.app.util.TaskEditDialog;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Kontroler odpowiedzialny za wyświetlanie i edycję szczegółów zadania.
@@ -50,8 +53,6 @@ public class TaskDetailsController {
     private final TaskDAO taskDAO = new TaskDAO();
     private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
     private final UserDAO userDAO = new UserDAO();
-    private final ProjectDAO projectDAO = new ProjectDAO();
-    private final TeamDAO teamDAO = new TeamDAO();
 
 
     /**
@@ -74,8 +75,8 @@ public class TaskDetailsController {
         startDateLabel.setText(task.getStartDate());
         endDateLabel.setText(task.getEndDate());
 
-        String projectName = projectDAO.getProjectNameById(task.getProjectId());
-        String teamName = teamDAO.getTeamNameById(task.getTeamId());
+        String projectName = ReferenceDataCache.getProjectName(task.getProjectId());
+        String teamName = ReferenceDataCache.getTeamName(task.getTeamId());
 
         projectIdLabel.setText(projectName);
         teamIdLabel.setText(teamName);
@@ -85,15 +86,13 @@ public class TaskDetailsController {
         statusComboBox.setValue(task.getStatus());
 
         User current = MainApplication.getCurrentUser();
-        boolean isLeader = current.getRoleId() == 3;
-        boolean isEmployee = current.getRoleId() == 4;
-        boolean isManager = current.getRoleId() == 2;
-        boolean isAdmin = current.getRoleId() == 1;
+        boolean canChangeStatus = PermissionService.hasAnyPermission(current, Permission.EDIT_TASKS, Permission.EDIT_OWN_TASKS);
+        boolean canAssign = PermissionService.hasPermission(current, Permission.ASSIGN_TASKS);
 
-        statusComboBox.setDisable(!(isLeader || isEmployee || isManager || isAdmin));
+        statusComboBox.setDisable(!canChangeStatus);
 
         if (editButton != null) {
-            editButton.setVisible(isAdmin || isManager);
+            editButton.setVisible(canEditAllProperties(current));
         }
 
         if (assigneeComboBox != null) {
@@ -111,7 +110,7 @@ public class TaskDetailsController {
                     }
                 }
 
-                assigneeComboBox.setDisable(!(isLeader || isManager || isAdmin));
+                assigneeComboBox.setDisable(!canAssign);
 
                 assigneeComboBox.setButtonCell(new ListCell<User>() {
                     @Override
@@ -142,7 +141,7 @@ public class TaskDetailsController {
             }
         }
 
-        saveButton.setVisible(isLeader || isEmployee || isManager || isAdmin);
+        saveButton.setVisible(canChangeStatus || canAssign);
     }
 
     /**
@@ -153,9 +152,8 @@ public class TaskDetailsController {
     @FXML
     private void handleSave() {
         User current = MainApplication.getCurrentUser();
-        int role = current.getRoleId();
 
-        if (role != 3 && role != 4 && role != 2 && role != 1) {
+        if (!PermissionService.hasAnyPermission(current, Permission.EDIT_TASKS, Permission.EDIT_OWN_TASKS)) {
             closeWindow();
             return;
         }
@@ -164,18 +162,22 @@ public class TaskDetailsController {
 
         String newStatus = statusComboBox.getValue();
         if (newStatus != null && !newStatus.equals(task.getStatus())) {
+            String oldStatus = task.getStatus();
             okStatus = taskDAO.updateTaskStatus(task.getId(), newStatus);
             if (okStatus) {
                 task.setStatus(newStatus);
+                ActivityService.logStatusChange(task.getId(), task.getTitle(), oldStatus, newStatus);
             }
         }
 
-        if ((role == 3 || role == 2 || role == 1) && assigneeComboBox != null) {
+        if (PermissionService.hasPermission(current, Permission.ASSIGN_TASKS) && assigneeComboBox != null) {
             User newAssignee = assigneeComboBox.getValue();
             if (newAssignee != null &&
                 (task.getAssignedTo() != newAssignee.getId() || task.getAssignedTo() == 0)) {
+                int oldAssigneeId = task.getAssignedTo();
                 okAssign = taskDAO.assignTask(task.getId(), newAssignee.getId());
                 if (okAssign) {
+                    ActivityService.logAssignment(task.getId(), task.getTitle(), oldAssigneeId, newAssignee.getId());
                     task.setAssignedTo(newAssignee.getId());
                     task.setAssignedEmail(newAssignee.getEmail());
                 }
@@ -190,6 +192,18 @@ public class TaskDetailsController {
         }
     }
 
+    /**
+     * Sprawdza, czy użytkownik może edytować wszystkie właściwości zadania,
+     * łącznie z przeniesieniem go do innego projektu lub zespołu.
+     *
+     * @param user bieżący użytkownik
+     * @return true jeśli użytkownik może edytować zadania i projekty
+     */
+    private boolean canEditAllProperties(User user) {
+        return PermissionService.hasPermission(user, Permission.EDIT_TASKS)
+                && PermissionService.hasPermission(user, Permission.EDIT_PROJECTS);
+    }
+
     /**
      * Obsługuje edycję wszystkich właściwości zadania.
      * Otwiera dialog edycji zadania dla użytkowników z odpowiednimi uprawnieniami.
@@ -197,7 +211,7 @@ public class TaskDetailsController {
     @FXML
     private void handleEdit() {
         User current = MainApplication.getCurrentUser();
-        if (current.getRoleId() != 1 && current.getRoleId() != 2) {
+        if (!canEditAllProperties(current)) {
             showInfo("You don't have permission to edit all task properties");
             return;
         }
@@ -207,20 +221,9 @@ public class TaskDetailsController {
         if (success) {
             Task updatedTask = null;
             try {
-                List<Task> tasks = null;
-                if (task.getProjectId() > 0) {
-                    tasks = taskDAO.getTasksByProjectId(task.getProjectId());
-                } else if (task.getTeamId() > 0) {
-                    tasks = taskDAO.getTasksByTeamId(task.getTeamId());
-                }
-
+                Map<Integer, Task> tasks = taskDAO.getTasksByIds(List.of(task.getId()));
                 if (tasks != null) {
-                    for (Task t : tasks) {
-                        if (t.getId() == task.getId()) {
-                            updatedTask = t;
-                            break;
-                        }
-                    }
+                    updatedTask = tasks.get(task.getId());
                 }
             } catch (Exception e) {
                 System.err.println("Error refreshing task: " + e.getMessage());
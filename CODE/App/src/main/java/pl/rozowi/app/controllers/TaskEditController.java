@@ -6,11 +6,13 @@ import javafx.stage.Stage;
 import javafx.util.StringConverter;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
+import pl.rozowi.app.services.ActivityService;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Kontroler odpowiedzialny za edycję szczegółów zadania.
@@ -187,6 +189,14 @@ public class TaskEditController {
             return;
         }
 
+        String oldTitle = currentTask.getTitle();
+        String oldDescription = currentTask.getDescription();
+        String oldStatus = currentTask.getStatus();
+        String oldPriority = currentTask.getPriority();
+        String oldStartDate = currentTask.getStartDate();
+        String oldEndDate = currentTask.getEndDate();
+        String oldTeamName = currentTask.getTeamName();
+
         currentTask.setTitle(titleField.getText().trim());
         currentTask.setDescription(descriptionArea.getText().trim());
         currentTask.setStatus(statusComboBox.getValue());
@@ -208,10 +218,19 @@ public class TaskEditController {
 
         boolean success = taskDAO.updateTask(currentTask);
 
+        if (success) {
+            logFieldChanges(oldTitle, oldDescription, oldPriority, oldStartDate, oldEndDate, oldTeamName);
+            if (!Objects.equals(oldStatus, currentTask.getStatus())) {
+                ActivityService.logStatusChange(currentTask.getId(), currentTask.getTitle(), oldStatus, currentTask.getStatus());
+            }
+        }
+
         User selectedUser = assigneeComboBox.getValue();
         if (selectedUser != null && (currentTask.getAssignedTo() != selectedUser.getId())) {
             boolean assignSuccess = taskDAO.assignTask(currentTask.getId(), selectedUser.getId());
             if (assignSuccess) {
+                ActivityService.logAssignment(currentTask.getId(), currentTask.getTitle(),
+                        currentTask.getAssignedTo(), selectedUser.getId());
                 currentTask.setAssignedTo(selectedUser.getId());
                 currentTask.setAssignedEmail(selectedUser.getEmail());
             } else {
@@ -227,6 +246,29 @@ public class TaskEditController {
         }
     }
 
+    /**
+     * Loguje zmiany poszczególnych pól zadania względem wartości sprzed edycji.
+     * Szybkie, kolejne edycje tego samego pola są scalane przez ActivityService w jeden wpis.
+     */
+    private void logFieldChanges(String oldTitle, String oldDescription, String oldPriority,
+                                 String oldStartDate, String oldEndDate, String oldTeamName) {
+        logFieldChange("Tytuł", oldTitle, currentTask.getTitle());
+        logFieldChange("Opis", oldDescription, currentTask.getDescription());
+        logFieldChange("Priorytet", oldPriority, currentTask.getPriority());
+        logFieldChange("Data rozpoczęcia", oldStartDate, currentTask.getStartDate());
+        logFieldChange("Data zakończenia", oldEndDate, currentTask.getEndDate());
+        logFieldChange("Zespół", oldTeamName, currentTask.getTeamName());
+    }
+
+    /**
+     * Loguje zmianę pojedynczego pola, jeśli jego wartość faktycznie się zmieniła.
+     */
+    private void logFieldChange(String fieldName, String oldValue, String newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            ActivityService.logTaskUpdate(currentTask.getId(), currentTask.getTitle(), fieldName, oldValue, newValue);
+        }
+    }
+
     /**
      * Obsługuje akcję anulowania edycji.
      * Zamyka okno bez zapisywania zmian.
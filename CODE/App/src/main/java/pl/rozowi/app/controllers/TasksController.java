@@ -1,26 +1,26 @@
 package pl.rozowi.app.controllers;
 
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.dao.TaskDAO;
-import pl.rozowi.app.dao.TeamDAO;
-import pl.rozowi.app.dao.UserDAO;
 import pl.rozowi.app.models.Task;
-import pl.rozowi.app.models.Team;
-import pl.rozowi.app.models.User;
+import pl.rozowi.app.util.RowNumberCell;
 import pl.rozowi.app.util.Session;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie listą zadań.
  * Umożliwia wyświetlanie, filtrowanie, dodawanie i usuwanie zadań.
  */
-public class TasksController {
+public class TasksController implements RefreshableView {
 
     @FXML
     private TableView<Task> tasksTable;
@@ -44,19 +44,17 @@ public class TasksController {
     private TextField filterField;
 
     private TaskDAO taskDAO = new TaskDAO();
-    private UserDAO userDAO = new UserDAO();
-    private TeamDAO teamDAO = new TeamDAO();
     private ObservableList<Task> allTasks;
 
     /**
      * Inicjalizacja kontrolera.
      * Konfiguruje kolumny tabeli i ładuje listę zadań.
+     * Nazwa zespołu i email przypisanego użytkownika pochodzą z zapytania ładującego zadania,
+     * więc renderowanie komórek nie wykonuje zapytań do bazy danych.
      */
     @FXML
     private void initialize() {
-        taskIdColumn.setCellValueFactory(cellData -> javafx.beans.binding.Bindings.createIntegerBinding(
-                () -> tasksTable.getItems().indexOf(cellData.getValue()) + 1
-        ));
+        RowNumberCell.install(taskIdColumn);
 
         taskNameColumn.setCellValueFactory(cellData -> cellData.getValue().titleProperty());
         taskDescriptionColumn.setCellValueFactory(cellData -> cellData.getValue().descriptionProperty());
@@ -64,19 +62,40 @@ public class TasksController {
         taskStartDateColumn.setCellValueFactory(cellData -> cellData.getValue().startDateProperty());
         taskDeadlineColumn.setCellValueFactory(cellData -> cellData.getValue().endDateProperty());
 
-        taskAssignedToColumn.setCellValueFactory(cellData -> javafx.beans.binding.Bindings.createStringBinding(() -> {
-            User user = userDAO.getUserById(cellData.getValue().getAssignedTo());
-            return user != null ? user.getEmail() : "Nieprzypisany";
-        }));
+        taskAssignedToColumn.setCellValueFactory(cellData -> Bindings.when(cellData.getValue().assignedEmailProperty().isNull())
+                .then("Nieprzypisany")
+                .otherwise(cellData.getValue().assignedEmailProperty()));
 
-        taskTeamColumn.setCellValueFactory(cellData -> javafx.beans.binding.Bindings.createStringBinding(() -> {
-            return teamDAO.getTeamNameById(cellData.getValue().getTeamId());
-        }));
+        taskTeamColumn.setCellValueFactory(cellData -> Bindings.when(cellData.getValue().teamNameProperty().isNull())
+                .then("–")
+                .otherwise(cellData.getValue().teamNameProperty()));
 
         tasksTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         loadTasks();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            loadTasks();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("tasks", "task_assignments", "teams", "team_members", "users");
+    }
+
 
 
     /**
@@ -91,7 +110,7 @@ public class TasksController {
             System.err.println("Błąd konwersji Session.currentUserTeam na int: " + Session.currentUserTeam);
             e.printStackTrace();
         }
-        List<Task> tasks = taskDAO.getColleagueTasks(Session.currentUserId, teamId);
+        List<Task> tasks = WorkingSet.getColleagueTasks(teamId);
         allTasks = FXCollections.observableArrayList(tasks);
         tasksTable.setItems(allTasks);
     }
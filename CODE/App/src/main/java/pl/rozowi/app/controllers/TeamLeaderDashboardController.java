@@ -2,7 +2,6 @@ package pl.rozowi.app.controllers;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -14,6 +13,7 @@ import javafx.stage.Stage;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.models.User;
 import pl.rozowi.app.util.ThemeManager;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 
@@ -46,6 +46,8 @@ public class TeamLeaderDashboardController extends BaseDashboardController {
 
     private static final String ACTIVE_BUTTON_STYLE = "sidebar-button-active";
 
+    private final ViewRegistry views = new ViewRegistry();
+
     /**
      * Inicjalizacja kontrolera.
      * Metoda wywoływana automatycznie po załadowaniu pliku FXML.
@@ -190,14 +192,15 @@ public class TeamLeaderDashboardController extends BaseDashboardController {
 
     /**
      * Ładuje widok w głównym panelu.
+     * Widok jest pobierany z rejestru widoków, więc wcześniej wyświetlone ekrany nie są wczytywane ponownie.
      * @param fxmlPath Ścieżka do pliku FXML z definicją widoku
      * @throws IOException gdy wystąpi błąd ładowania widoku
      */
     private void loadView(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader(MainApplication.class.getResource(fxmlPath));
-        Parent view = loader.load();
+        ViewRegistry.LoadedView loaded = views.load(fxmlPath);
+        Parent view = loaded.getRoot();
 
-        Object controller = loader.getController();
+        Object controller = loaded.getController();
         if (controller instanceof SettingsController) {
             ((SettingsController) controller).setUser(currentUser);
         } else if (controller instanceof UserAwareController) {
@@ -15,10 +15,13 @@ import javafx.util.Callback;
 import pl.rozowi.app.MainApplication;
 import pl.rozowi.app.dao.*;
 import pl.rozowi.app.models.*;
-import pl.rozowi.app.services.TeamLeaderReportService;
+import pl.rozowi.app.reports.ReportCache;
+import pl.rozowi.app.reports.ReportDocument;
+import pl.rozowi.app.reports.ReportJob;
+import pl.rozowi.app.reports.TeamLeaderReportGenerator;
+import pl.rozowi.app.util.ReportJobControls;
 
 import java.io.File;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -69,14 +72,22 @@ public class TeamLeaderReportsController {
     @FXML
     private CheckBox showStatisticsCheckbox;
 
-    private final UserDAO userDAO = new UserDAO();
     private final TeamDAO teamDAO = new TeamDAO();
-    private final TaskDAO taskDAO = new TaskDAO();
-    private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
-    private final ProjectDAO projectDAO = new ProjectDAO();
+    private final UserDAO userDAO = new UserDAO();
+
+    @FXML
+    private ProgressBar reportProgressBar;
+    @FXML
+    private Label reportStatusLabel;
+    @FXML
+    private Button cancelReportButton;
+    @FXML
+    private ListView<ReportJob> reportJobsListView;
 
-    private TeamLeaderReportService reportService;
-    private String currentReportContent = "";
+    private final TeamLeaderReportGenerator reportGenerator = new TeamLeaderReportGenerator();
+    private ReportJobControls jobControls;
+    private ReportJob.Builder currentReportSource;
+    private Map<String, Object> currentFilterOptions;
     private String currentReportType = "";
 
     private ObservableList<Team> selectedTeams = FXCollections.observableArrayList();
@@ -92,7 +103,10 @@ public class TeamLeaderReportsController {
      */
     @FXML
     private void initialize() {
-        reportService = new TeamLeaderReportService();
+        User user = MainApplication.getCurrentUser();
+        jobControls = new ReportJobControls(reportProgressBar, reportStatusLabel, cancelReportButton,
+                reportJobsListView, user != null ? user.getId() : 0);
+        jobControls.setBusyNodes(generateButton, saveAsPdfButton);
         reportsArea.setStyle("-fx-font-family: 'Consolas', 'Courier New', monospace; -fx-font-size: 12px;");
 
         reportTypeComboBox.setItems(FXCollections.observableArrayList(
@@ -109,7 +123,7 @@ public class TeamLeaderReportsController {
                     if (newValue != null) {
                         currentReportType = newValue;
                         reportsArea.clear();
-                        currentReportContent = "";
+                        currentReportSource = null;
                         saveAsPdfButton.setDisable(true);
                         updateFilterVisibility(newValue);
                         updateGenerateButtonState();
@@ -356,29 +370,33 @@ public class TeamLeaderReportsController {
             }
 
             reportsArea.clear();
-            reportsArea.setText("Generowanie raportu...");
 
             Map<String, Object> filterOptions = new HashMap<>();
-            filterOptions.put("selectedTeams", selectedTeams);
+            filterOptions.put("selectedTeams", new ArrayList<>(selectedTeams));
             filterOptions.put("selectedGroup", selectedGroup);
             filterOptions.put("selectedUser", selectedUser);
             filterOptions.put("showTasks", showTasks);
             filterOptions.put("showMembers", showMembers);
             filterOptions.put("showStatistics", showStatistics);
 
-            switch (currentReportType) {
-                case "Członkowie Zespołu":
-                    generateTeamMembersReport(currentUser.getId(), filterOptions);
-                    break;
-                case "Zadania Zespołu":
-                    generateTeamTasksReport(currentUser.getId(), filterOptions);
-                    break;
-                default:
-                    showWarning("Wybierz typ raportu");
-                    return;
+            String reportType = currentReportType;
+            if (!TeamLeaderReportGenerator.TEAM_MEMBERS.equals(reportType) && !TeamLeaderReportGenerator.TEAM_TASKS.equals(reportType)) {
+                showWarning("Wybierz typ raportu");
+                return;
             }
 
-            saveAsPdfButton.setDisable(false);
+            currentReportSource = null;
+            int teamLeaderId = currentUser.getId();
+            ReportJob.Builder source = progress -> reportGenerator.generate(reportType, teamLeaderId, filterOptions, progress);
+            jobControls.submit(new ReportJob(reportType, teamLeaderId, source)
+                            .cached(ReportCache.getDefault(), "lider:" + teamLeaderId, filterOptions),
+                    job -> {
+                        ReportDocument report = job.getResult();
+                        currentReportSource = report != null ? progress -> report : source;
+                        currentFilterOptions = filterOptions;
+                        reportsArea.setText(job.getText());
+                    },
+                    this::onReportJobFinished);
 
         } catch (Exception e) {
             showError("Błąd generowania raportu", e.getMessage());
@@ -386,260 +404,12 @@ public class TeamLeaderReportsController {
         }
     }
 
-    /**
-     * Generuje raport dotyczący członków zespołu.
-     * @param teamLeaderId ID lidera zespołu
-     * @param filterOptions Mapa zawierająca opcje filtrowania
-     * @throws SQLException W przypadku błędu dostępu do bazy danych
-     */
-    private void generateTeamMembersReport(int teamLeaderId, Map<String, Object> filterOptions) throws SQLException {
-        List<Team> teamsByLeader = teamDAO.getTeamsByLeaderIdAsList(teamLeaderId);
-        List<Team> teamsToShow = new ArrayList<>();
-        String selectedGroup = (String) filterOptions.get("selectedGroup");
-        User selectedUser = (User) filterOptions.get("selectedUser");
-        boolean showMembers = (boolean) filterOptions.get("showMembers");
-
-        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
-
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            for (Team leaderTeam : teamsByLeader) {
-                if (selectedTeams.stream().anyMatch(t -> t.getId() == leaderTeam.getId())) {
-                    teamsToShow.add(leaderTeam);
-                }
-            }
-        } else {
-            teamsToShow.addAll(teamsByLeader);
-        }
-
-        StringBuilder report = new StringBuilder();
-
-        report.append("RAPORT: CZŁONKOWIE ZESPOŁU\n");
-        report.append("Data wygenerowania: ")
-                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        report.append("Zastosowane filtry:\n");
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            report.append("- Wybrane zespoły: ");
-            for (int i = 0; i < selectedTeams.size(); i++) {
-                report.append(selectedTeams.get(i).getTeamName());
-                if (i < selectedTeams.size() - 1) report.append(", ");
-            }
-            report.append("\n");
-        }
-        if (selectedGroup != null && !selectedGroup.isEmpty() && !"Wszystkie grupy".equals(selectedGroup)) {
-            report.append("- Grupa: ").append(selectedGroup).append("\n");
-        }
-        if (selectedUser != null) {
-            report.append("- Użytkownik: ").append(selectedUser.getName()).append(" ").append(selectedUser.getLastName()).append("\n");
-        }
-        report.append("- Pokaż członków zespołów: ").append(showMembers ? "Tak" : "Nie").append("\n\n");
-
-        if (teamsToShow.isEmpty()) {
-            report.append("Nie jesteś liderem żadnego zespołu lub brak zespołów spełniających kryteria.\n");
-        } else {
-            for (Team team : teamsToShow) {
-                report.append("=== ZESPÓŁ: ").append(team.getTeamName()).append(" (ID: ").append(team.getId()).append(") ===\n");
-
-                String projectName = "Brak przypisania";
-                try {
-                    Project project = projectDAO.getProjectById(team.getProjectId());
-                    if (project != null) {
-                        projectName = project.getName();
-                    }
-                } catch (Exception e) {
-                    projectName = "Błąd pobierania projektu";
-                }
-                report.append("Projekt: ").append(projectName).append("\n\n");
-
-                if (showMembers) {
-                    List<User> members = teamDAO.getTeamMembers(team.getId());
-
-                    members = members.stream()
-                            .filter(user -> user.getRoleId() == 4)
-                            .collect(Collectors.toList());
-
-                    if (selectedGroup != null && !selectedGroup.isEmpty() && !"Wszystkie grupy".equals(selectedGroup)) {
-                        List<Integer> userIdsInGroup = userDAO.getUsersByGroupName(selectedGroup);
-                        members = members.stream()
-                                .filter(user -> userIdsInGroup.contains(user.getId()))
-                                .collect(Collectors.toList());
-                    }
-
-                    if (selectedUser != null) {
-                        members = members.stream()
-                                .filter(user -> user.getId() == selectedUser.getId())
-                                .collect(Collectors.toList());
-                    }
-
-                    report.append("Liczba członków: ").append(members.size()).append("\n");
-
-                    if (members.isEmpty()) {
-                        report.append("Brak członków zespołu spełniających kryteria.\n");
-                    } else {
-                        report.append("\nCZŁONKOWIE ZESPOŁU:\n");
-                        for (User member : members) {
-                            report.append("- ")
-                                    .append(member.getName())
-                                    .append(" ")
-                                    .append(member.getLastName())
-                                    .append(" (")
-                                    .append(member.getEmail())
-                                    .append(")\n");
-                        }
-                    }
-                }
-
-                report.append("\n\n");
-            }
-        }
-
-        currentReportContent = report.toString();
-        reportsArea.setText(currentReportContent);
-    }
-
-    /**
-     * Generuje raport dotyczący zadań zespołu.
-     * @param teamLeaderId ID lidera zespołu
-     * @param filterOptions Mapa zawierająca opcje filtrowania
-     * @throws SQLException W przypadku błędu dostępu do bazy danych
-     */
-    private void generateTeamTasksReport(int teamLeaderId, Map<String, Object> filterOptions) throws SQLException {
-        List<Team> teamsByLeader = teamDAO.getTeamsByLeaderIdAsList(teamLeaderId);
-        List<Team> teamsToShow = new ArrayList<>();
-        boolean showTasks = (boolean) filterOptions.get("showTasks");
-        boolean showStatistics = (boolean) filterOptions.get("showStatistics");
-        User selectedUser = (User) filterOptions.get("selectedUser");
-
-        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
-
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            for (Team leaderTeam : teamsByLeader) {
-                if (selectedTeams.stream().anyMatch(t -> t.getId() == leaderTeam.getId())) {
-                    teamsToShow.add(leaderTeam);
-                }
-            }
-        } else {
-            teamsToShow.addAll(teamsByLeader);
-        }
-
-        StringBuilder report = new StringBuilder();
-
-        report.append("RAPORT: ZADANIA ZESPOŁU\n");
-        report.append("Data wygenerowania: ")
-                .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .append("\n\n");
-
-        report.append("Zastosowane filtry:\n");
-        if (selectedTeams != null && !selectedTeams.isEmpty()) {
-            report.append("- Wybrane zespoły: ");
-            for (int i = 0; i < selectedTeams.size(); i++) {
-                report.append(selectedTeams.get(i).getTeamName());
-                if (i < selectedTeams.size() - 1) report.append(", ");
-            }
-            report.append("\n");
-        }
-        if (selectedUser != null) {
-            report.append("- Użytkownik: ").append(selectedUser.getName()).append(" ").append(selectedUser.getLastName()).append("\n");
-        }
-        report.append("- Pokaż zadania: ").append(showTasks ? "Tak" : "Nie").append("\n");
-        report.append("- Pokaż statystyki: ").append(showStatistics ? "Tak" : "Nie").append("\n\n");
-
-        if (teamsToShow.isEmpty()) {
-            report.append("Nie jesteś liderem żadnego zespołu lub brak zespołów spełniających kryteria.\n");
-        } else {
-            for (Team team : teamsToShow) {
-                report.append("=== ZESPÓŁ: ").append(team.getTeamName()).append(" (ID: ").append(team.getId()).append(") ===\n");
-
-                String projectName = "Brak przypisania";
-                try {
-                    Project project = projectDAO.getProjectById(team.getProjectId());
-                    if (project != null) {
-                        projectName = project.getName();
-                    }
-                } catch (Exception e) {
-                    projectName = "Błąd pobierania projektu";
-                }
-                report.append("Projekt: ").append(projectName).append("\n\n");
-
-                List<Task> tasks = taskDAO.getTasksByTeamId(team.getId());
-
-                if (selectedUser != null) {
-                    tasks = tasks.stream()
-                            .filter(task -> task.getAssignedTo() == selectedUser.getId())
-                            .collect(Collectors.toList());
-                }
-
-                report.append("ZADANIA ZESPOŁU (").append(tasks.size()).append("):\n");
-
-                if (tasks.isEmpty()) {
-                    report.append("Brak zadań przypisanych do zespołu spełniających kryteria.\n");
-                } else {
-                    int newTasks = 0;
-                    int inProgressTasks = 0;
-                    int completedTasks = 0;
-
-                    if (showTasks) {
-                        for (Task task : tasks) {
-                            String status = task.getStatus();
-                            if (status == null) continue;
-
-                            if (status.equalsIgnoreCase("Nowe")) {
-                                newTasks++;
-                            } else if (status.equalsIgnoreCase("W toku")) {
-                                inProgressTasks++;
-                            } else if (status.equalsIgnoreCase("Zakończone")) {
-                                completedTasks++;
-                            }
-
-                            report.append("- ")
-                                    .append(task.getTitle())
-                                    .append(" (Status: ")
-                                    .append(task.getStatus())
-                                    .append(", Priorytet: ")
-                                    .append(task.getPriority())
-                                    .append(")\n");
-
-                            if (selectedUser != null) {
-                                User assignee = userDAO.getUserById(task.getAssignedTo());
-                                if (assignee != null) {
-                                    report.append("  Przypisane do: ")
-                                            .append(assignee.getName())
-                                            .append(" ")
-                                            .append(assignee.getLastName())
-                                            .append("\n");
-                                }
-                            }
-                        }
-                    }
-
-                    if (showStatistics) {
-                        report.append("\nPODSUMOWANIE STATUSÓW:\n");
-                        report.append("- Nowe: ").append(newTasks).append("\n");
-                        report.append("- W toku: ").append(inProgressTasks).append("\n");
-                        report.append("- Zakończone: ").append(completedTasks).append("\n");
-
-                        if (tasks.size() > 0) {
-                            double completionPercentage = (double) completedTasks / tasks.size() * 100;
-                            report.append("- Procent ukończenia: ").append(String.format("%.2f", completionPercentage)).append("%\n");
-                        }
-                    }
-                }
-
-                report.append("\n\n");
-            }
-        }
-
-        currentReportContent = report.toString();
-        reportsArea.setText(currentReportContent);
-    }
-
     /**
      * Zapisuje wygenerowany raport do pliku PDF.
      */
     @FXML
     private void handleSaveAsPdf() {
-        if (currentReportContent.isEmpty()) {
+        if (currentReportSource == null) {
             showWarning("Najpierw wygeneruj raport");
             return;
         }
@@ -652,37 +422,42 @@ public class TeamLeaderReportsController {
         File selectedDir = dirChooser.showDialog(stage);
 
         if (selectedDir != null) {
-            try {
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                String sanitizedReportType = currentReportType.replaceAll("\\s+", "_").toLowerCase();
-                String filename = selectedDir.getAbsolutePath() + File.separator +
-                        "raport_" + sanitizedReportType + "_" + timestamp + ".pdf";
-
-                switch (currentReportType) {
-                    case "Członkowie Zespołu":
-                        reportService.generateTeamMembersReportPdf(filename, currentReportContent);
-                        break;
-                    case "Zadania Zespołu":
-                        reportService.generateTeamTasksReportPdf(filename, currentReportContent);
-                        break;
-                    default:
-                        showError("Błąd", "Nieznany typ raportu");
-                        return;
-                }
-
-                showInfo("Raport zapisany", "Raport PDF został pomyślnie zapisany:\n" + filename);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String sanitizedReportType = currentReportType.replaceAll("\\s+", "_").toLowerCase();
+            String filename = selectedDir.getAbsolutePath() + File.separator +
+                    "raport_" + sanitizedReportType + "_" + timestamp + ".pdf";
+
+            int teamLeaderId = MainApplication.getCurrentUser().getId();
+            jobControls.submit(new ReportJob(currentReportType, teamLeaderId, currentReportSource)
+                            .exportTo(filename)
+                            .cached(ReportCache.getDefault(), "lider:" + teamLeaderId, currentFilterOptions),
+                    job -> {
+                        showInfo("Raport zapisany", "Raport PDF został pomyślnie zapisany:\n" + filename);
+
+                        try {
+                            java.awt.Desktop.getDesktop().open(new File(filename));
+                        } catch (Exception e) {
+                            System.out.println("Nie można automatycznie otworzyć pliku PDF: " + e.getMessage());
+                        }
+                    },
+                    this::onReportJobFinished);
+        }
+    }
 
-                try {
-                    java.awt.Desktop.getDesktop().open(new File(filename));
-                } catch (Exception e) {
-                    System.out.println("Nie można automatycznie otworzyć pliku PDF: " + e.getMessage());
-                }
+    /**
+     * Przywraca stan przycisków po zakończeniu zadania raportu.
+     */
+    private void onReportJobFinished() {
+        saveAsPdfButton.setDisable(currentReportSource == null);
+        updateGenerateButtonState();
+    }
 
-            } catch (IOException e) {
-                showError("Błąd zapisu", "Nie udało się zapisać raportu PDF: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+    /**
+     * Anuluje generowanie lub zapisywanie bieżącego raportu.
+     */
+    @FXML
+    private void handleCancelReport() {
+        jobControls.cancelCurrent();
     }
 
     /**
@@ -7,23 +7,26 @@ import javafx.scene.control.*;
 import javafx.scene.input.MouseButton;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import pl.rozowi.app.cache.WorkingSet;
 import pl.rozowi.app.dao.TaskDAO;
 import pl.rozowi.app.models.Task;
+import pl.rozowi.app.util.FxmlViews;
 import pl.rozowi.app.util.Session;
+import pl.rozowi.app.util.ViewRegistry;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Kontroler odpowiedzialny za zarządzanie zadaniami zespołu przez lidera.
  * Umożliwia wyświetlanie, filtrowanie, dodawanie, usuwanie oraz przeglądanie szczegółów zadań.
  */
-public class TeamLeaderTasksController {
+public class TeamLeaderTasksController implements RefreshableView {
 
     @FXML
     private TableView<Task> tasksTable;
@@ -80,12 +83,34 @@ public class TeamLeaderTasksController {
         loadTasks();
     }
 
+    /**
+     * Odświeża dane widoku, jeśli od ostatniego wyświetlenia uległy zmianie.
+     *
+     * @param dataChanged true jeśli od ostatniego wyświetlenia zmieniły się dane
+     */
+    @Override
+    public void onShow(boolean dataChanged) {
+        if (dataChanged) {
+            loadTasks();
+        }
+    }
+
+    /**
+     * Zwraca tabele, których zmiana wymaga odświeżenia widoku.
+     *
+     * @return nazwy tabel
+     */
+    @Override
+    public Set<String> getWatchedTables() {
+        return Set.of("tasks", "task_assignments", "teams", "team_members", "users");
+    }
+
     /**
      * Ładuje zadania przypisane do zespołów, którymi zarządza aktualny lider.
      */
     @FXML
     private void loadTasks() {
-        List<Task> list = taskDAO.getTasksForLeader(Session.currentUserId);
+        List<Task> list = WorkingSet.getLeaderTasks();
         allTasks.setAll(list);
     }
 
@@ -113,10 +138,9 @@ public class TeamLeaderTasksController {
      */
     private void openDetails(Task task) {
         try {
-            FXMLLoader loader = new FXMLLoader(
-                    getClass().getResource("/fxml/teamleader/taskDetails.fxml"));
-            Parent root = loader.load();
-            TaskDetailsController ctrl = loader.getController();
+            ViewRegistry.LoadedView view = FxmlViews.load("/fxml/teamleader/taskDetails.fxml");
+            Parent root = view.getRoot();
+            TaskDetailsController ctrl = (TaskDetailsController) view.getController();
             ctrl.setTask(task);
             Stage st = new Stage();
             st.initModality(Modality.APPLICATION_MODAL);
@@ -194,10 +218,9 @@ public class TeamLeaderTasksController {
     @FXML
     private void handleAddTask() {
         try {
-            FXMLLoader loader = new FXMLLoader(
-                    getClass().getResource("/fxml/teamleader/taskCreate.fxml"));
-            Parent root = loader.load();
-            TaskCreateController ctrl = loader.getController();
+            ViewRegistry.LoadedView view = FxmlViews.load("/fxml/teamleader/taskCreate.fxml");
+            Parent root = view.getRoot();
+            TaskCreateController ctrl = (TaskCreateController) view.getController();
 
             Stage st = new Stage();
             st.initModality(Modality.APPLICATION_MODAL);
@@ -0,0 +1,166 @@
+package pl.rozowi.app.dao;
+
+import pl.rozowi.app.database.DatabaseManager;
+import pl.rozowi.app.models.ChangeLogEntry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Obiekt dostępu do danych dziennika zmian (tabela change_log).
+ * Metody zapisu w pozostałych DAO dopisują tu wpis w tej samej transakcji co modyfikacja,
+ * dzięki czemu pamięć podręczna sesji może pobrać wyłącznie wiersze zmienione od ostatniej synchronizacji.
+ * <p>
+ * ID wpisów rosną, ale transakcje mogą zostać zatwierdzone w innej kolejności, niż otrzymały ID,
+ * więc wpis o niższym ID może pojawić się po wpisie o wyższym. Czytelnicy dziennika nie mogą zatem
+ * zakładać, że po odczycie wpisu o danym ID nie pojawią się już wpisy o niższych ID.
+ * Wersją tabeli jest licznik w tabeli table_versions, zwiększany o jeden w tej samej transakcji
+ * co każdy wpis, więc rośnie przy każdym zatwierdzonym wpisie niezależnie od kolejności zatwierdzania.
+ * Odczyt wersji czyta po jednym wierszu na tabelę, bez względu na rozmiar dziennika.
+ */
+public class ChangeLogDAO {
+
+    public static final String INSERT = "INSERT";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    /**
+     * Zapisuje wpis o zmianie wiersza na połączeniu wywołującego, przed zatwierdzeniem jego transakcji.
+     * Wpis i zwiększenie wersji tabeli są zatwierdzane lub wycofywane razem ze zmianą,
+     * więc nie mogą zostać utracone ani zapisane dla zmiany, która się nie powiodła.
+     *
+     * @param conn połączenie z otwartą transakcją, w której wykonano zmianę
+     * @param tableName nazwa zmienionej tabeli
+     * @param rowId ID zmienionego wiersza
+     * @param operation rodzaj operacji (INSERT, UPDATE, DELETE)
+     * @throws SQLException jeśli zapis się nie powiódł; wywołujący wycofuje wtedy całą transakcję
+     */
+    public void recordChange(Connection conn, String tableName, int rowId, String operation) throws SQLException {
+        String sql = "INSERT INTO change_log (table_name, row_id, operation) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, tableName);
+            stmt.setInt(2, rowId);
+            stmt.setString(3, operation);
+            stmt.executeUpdate();
+        }
+        incrementTableVersion(conn, tableName);
+    }
+
+    /**
+     * Zwiększa wersję tabeli o jeden, dodając jej wiersz w table_versions, jeśli go brakuje.
+     *
+     * @param conn połączenie z otwartą transakcją, w której wykonano zmianę
+     * @param tableName nazwa zmienionej tabeli
+     * @throws SQLException jeśli zapis się nie powiódł
+     */
+    private void incrementTableVersion(Connection conn, String tableName) throws SQLException {
+        String sql = "UPDATE table_versions SET version = version + 1 WHERE table_name = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, tableName);
+            if (stmt.executeUpdate() > 0) {
+                return;
+            }
+        }
+        String insertSql = "INSERT INTO table_versions (table_name, version) VALUES (?, 1)";
+        try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+            stmt.setString(1, tableName);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Pobiera wpisy dziennika o ID większym niż podane, w kolejności zapisu.
+     *
+     * @param lastId ID ostatnio przetworzonego wpisu
+     * @param limit maksymalna liczba zwracanych wpisów
+     * @return lista wpisów lub null jeśli dziennik jest niedostępny
+     */
+    public List<ChangeLogEntry> getChangesSince(long lastId, int limit) {
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        String sql = "SELECT id, table_name, row_id, operation, changed_at FROM change_log " +
+                     "WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, lastId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ChangeLogEntry entry = new ChangeLogEntry();
+                    entry.setId(rs.getLong("id"));
+                    entry.setTableName(rs.getString("table_name"));
+                    entry.setRowId(rs.getInt("row_id"));
+                    entry.setOperation(rs.getString("operation"));
+                    entry.setChangedAt(rs.getTimestamp("changed_at"));
+                    entries.add(entry);
+                }
+            }
+        } catch (SQLException ex) {
+            System.err.println("Nie udało się odczytać dziennika zmian: " + ex.getMessage());
+            return null;
+        }
+        return entries;
+    }
+
+    /**
+     * Zwraca ID najnowszego wpisu dziennika.
+     *
+     * @return ID najnowszego wpisu, 0 dla pustego dziennika lub -1 jeśli dziennik jest niedostępny
+     */
+    public long getLatestChangeId() {
+        String sql = "SELECT COALESCE(MAX(id), 0) FROM change_log";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException ex) {
+            System.err.println("Nie udało się odczytać dziennika zmian: " + ex.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Zwraca wersje podanych tabel, czyli liczby zatwierdzonych wpisów dziennika ich dotyczących,
+     * zapisane w tabeli table_versions.
+     * Porównanie wersji z zapamiętanymi wcześniej pozwala sprawdzić, czy tabela się zmieniła, bez jej odczytu.
+     * W odróżnieniu od ID najnowszego wpisu wersja zmienia się także wtedy, gdy transakcja
+     * z niższym ID zostanie zatwierdzona po transakcji z wyższym.
+     *
+     * @param tableNames nazwy tabel
+     * @return mapa: nazwa tabeli → wersja (0 dla tabeli bez wpisów) lub null jeśli dziennik jest niedostępny
+     */
+    public Map<String, Long> getTableVersions(Collection<String> tableNames) {
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (String tableName : tableNames) {
+            versions.put(tableName, 0L);
+        }
+        if (versions.isEmpty()) {
+            return versions;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(versions.size(), "?"));
+        String sql = "SELECT table_name, version FROM table_versions WHERE table_name IN (" + placeholders + ")";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (String tableName : versions.keySet()) {
+                stmt.setString(index++, tableName);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    versions.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        } catch (SQLException ex) {
+            System.err.println("Nie udało się odczytać wersji tabel: " + ex.getMessage());
+            return null;
+        }
+        return versions;
+    }
+}
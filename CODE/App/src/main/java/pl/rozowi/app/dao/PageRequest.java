@@ -0,0 +1,62 @@
+package pl.rozowi.app.dao;
+
+import java.util.Map;
+
+/**
+ * Parametry pobrania jednej strony wyników: przesunięcie, rozmiar strony oraz kolumna i kierunek sortowania.
+ * Klucz sortowania jest nazwą logiczną (np. "title"), którą DAO zamienia na kolumnę SQL
+ * z własnej listy dozwolonych kolumn; nieznany klucz oznacza domyślną kolejność.
+ */
+public final class PageRequest {
+
+    private final int offset;
+    private final int limit;
+    private final String sortKey;
+    private final boolean ascending;
+
+    /**
+     * Tworzy parametry strony.
+     *
+     * @param offset numer pierwszego wiersza (od 0)
+     * @param limit maksymalna liczba wierszy
+     * @param sortKey klucz sortowania lub null dla domyślnej kolejności
+     * @param ascending true dla sortowania rosnącego
+     */
+    public PageRequest(int offset, int limit, String sortKey, boolean ascending) {
+        this.offset = offset;
+        this.limit = limit;
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Zwraca klauzulę ORDER BY z LIMIT i OFFSET dla podanych kolumn dozwolonych do sortowania.
+     * Do sortowania zawsze dołączana jest kolumna rozstrzygająca, aby kolejne strony nie pokrywały się.
+     *
+     * @param sortColumns odwzorowanie kluczy sortowania na wyrażenia SQL
+     * @param defaultOrder kolejność domyślna, używana gdy klucz jest pusty lub nieznany
+     * @param tieBreaker kolumna rozstrzygająca (np. "t.id")
+     * @return fragment SQL zaczynający się od " ORDER BY"; parametry LIMIT i OFFSET są ustawiane przez {@link #getLimit()} i {@link #getOffset()}
+     */
+    public String orderByClause(Map<String, String> sortColumns, String defaultOrder, String tieBreaker) {
+        String column = sortKey != null ? sortColumns.get(sortKey) : null;
+        String order = column != null ? column + (ascending ? " ASC" : " DESC") : defaultOrder;
+        return " ORDER BY " + order + ", " + tieBreaker + " LIMIT ? OFFSET ?";
+    }
+}
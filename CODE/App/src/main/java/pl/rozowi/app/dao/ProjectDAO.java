@@ -1,12 +1,17 @@
 package pl.rozowi.app.dao;
 
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.Project;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object (DAO) dla zarządzania projektami w bazie danych.
@@ -14,6 +19,8 @@ import java.util.List;
  */
 public class ProjectDAO {
 
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
+
     /**
      * Dodaje nowy projekt do bazy danych.
      *
@@ -23,20 +30,45 @@ public class ProjectDAO {
      */
     public boolean insertProject(Project p) throws SQLException {
         String sql = "INSERT INTO projects (project_name, description, start_date, end_date, manager_id) VALUES (?, ?, ?, ?, ?)";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            s.setString(1, p.getName());
-            s.setString(2, p.getDescription());
-            s.setDate(3, Date.valueOf(p.getStartDate()));
-            s.setDate(4, Date.valueOf(p.getEndDate()));
-            s.setInt(5, p.getManagerId());
-            if (s.executeUpdate() == 0) return false;
-            ResultSet k = s.getGeneratedKeys();
-            if (k.next()) p.setId(k.getInt(1));
-            return true;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                s.setString(1, p.getName());
+                s.setString(2, p.getDescription());
+                s.setDate(3, Date.valueOf(p.getStartDate()));
+                s.setDate(4, Date.valueOf(p.getEndDate()));
+                s.setInt(5, p.getManagerId());
+                if (s.executeUpdate() == 0) {
+                    c.rollback();
+                    return false;
+                }
+                ResultSet k = s.getGeneratedKeys();
+                if (k.next()) p.setId(k.getInt(1));
+                changeLog.recordChange(c, "projects", p.getId(), ChangeLogDAO.INSERT);
+                c.commit();
+                ReferenceDataCache.invalidateProjects();
+                return true;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         }
     }
 
+    /**
+     * Dodaje nowy projekt i zwraca go w postaci zapisanej w bazie danych.
+     *
+     * @param p Obiekt projektu do dodania
+     * @return Zapisany projekt z nadanym ID lub null jeśli nie udało się go dodać
+     * @throws SQLException jeśli wystąpi błąd podczas operacji na bazie danych
+     */
+    public Project insertProjectAndGet(Project p) throws SQLException {
+        return insertProject(p) ? getProjectById(p.getId()) : null;
+    }
+
     /**
      * Aktualizuje istniejący projekt w bazie danych.
      *
@@ -46,20 +78,46 @@ public class ProjectDAO {
      */
     public boolean updateProject(Project p) {
         String sql = "UPDATE projects SET project_name=?, description=?, start_date=?, end_date=?, manager_id=? WHERE id=?";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql)) {
-            s.setString(1, p.getName());
-            s.setString(2, p.getDescription());
-            s.setDate(3, Date.valueOf(p.getStartDate()));
-            s.setDate(4, Date.valueOf(p.getEndDate()));
-            s.setInt(5, p.getManagerId());
-            s.setInt(6, p.getId());
-            return s.executeUpdate() > 0;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql)) {
+                s.setString(1, p.getName());
+                s.setString(2, p.getDescription());
+                s.setDate(3, Date.valueOf(p.getStartDate()));
+                s.setDate(4, Date.valueOf(p.getEndDate()));
+                s.setInt(5, p.getManagerId());
+                s.setInt(6, p.getId());
+                boolean updated = s.executeUpdate() > 0;
+                if (updated) {
+                    changeLog.recordChange(c, "projects", p.getId(), ChangeLogDAO.UPDATE);
+                }
+                c.commit();
+                if (updated) {
+                    ReferenceDataCache.invalidateProjects();
+                }
+                return updated;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Aktualizuje projekt i zwraca jego aktualną postać z bazy danych.
+     *
+     * @param p Obiekt projektu z zaktualizowanymi danymi
+     * @return Zaktualizowany projekt lub null jeśli nie udało się go zaktualizować
+     */
+    public Project updateProjectAndGet(Project p) {
+        return updateProject(p) ? getProjectById(p.getId()) : null;
+    }
+
     /**
      * Pobiera listę wszystkich projektów z bazy danych.
      *
@@ -145,9 +203,41 @@ public class ProjectDAO {
         return null;
     }
 
+    /**
+     * Pobiera nazwy projektów o podanych ID jednym zapytaniem.
+     *
+     * @param projectIds ID projektów
+     * @return Mapa ID projektu na nazwę (projekty nieistniejące nie występują w mapie)
+     */
+    public Map<Integer, String> getProjectNamesByIds(Collection<Integer> projectIds) {
+        Map<Integer, String> names = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return names;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(projectIds.size(), "?"));
+        String sql = "SELECT id, project_name FROM projects WHERE id IN (%s)".formatted(placeholders);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer projectId : projectIds) {
+                stmt.setInt(index++, projectId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.put(rs.getInt("id"), rs.getString("project_name"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return names;
+    }
+
     /**
      * Usuwa projekt wraz z wszystkimi powiązanymi encjami (zadania, zespoły itp.).
      * Operacja wykonuje się w transakcji - w przypadku błędu następuje rollback.
+     * W tej samej transakcji dziennik zmian otrzymuje wpis dla każdego usuniętego zadania i zespołu
+     * (wraz z ich przypisaniami i członkami), aby pamięci podręczne pozostałych sesji usunęły te wiersze.
      *
      * @param projectId ID projektu do usunięcia
      * @return true jeśli projekt został pomyślnie usunięty, false w przeciwnym przypadku
@@ -284,8 +374,19 @@ public class ProjectDAO {
                 try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM projects WHERE id = ?")) {
                     stmt.setInt(1, projectId);
                     int affectedRows = stmt.executeUpdate();
+                    for (Integer taskId : taskIds) {
+                        changeLog.recordChange(conn, "tasks", taskId, ChangeLogDAO.DELETE);
+                        changeLog.recordChange(conn, "task_assignments", taskId, ChangeLogDAO.DELETE);
+                    }
+                    for (Integer teamId : teamIds) {
+                        changeLog.recordChange(conn, "teams", teamId, ChangeLogDAO.DELETE);
+                        changeLog.recordChange(conn, "team_members", teamId, ChangeLogDAO.DELETE);
+                    }
+                    changeLog.recordChange(conn, "projects", projectId, ChangeLogDAO.DELETE);
 
                     conn.commit();
+                    ReferenceDataCache.invalidateProjects();
+                    ReferenceDataCache.invalidateTeams();
                     return affectedRows > 0;
                 }
             } catch (SQLException e) {
@@ -67,4 +67,23 @@ public class ReportDAO {
         }
         return reports;
     }
+
+    /**
+     * Usuwa wpisy raportów wskazujące na podany plik, np. po usunięciu pliku z pamięci podręcznej raportów.
+     *
+     * @param exportedFile ścieżka do pliku raportu
+     * @return true jeśli operacja się powiodła, false w przypadku błędu
+     */
+    public boolean deleteReportsByExportedFile(String exportedFile) {
+        String sql = "DELETE FROM reports WHERE exported_file = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, exportedFile);
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
 }
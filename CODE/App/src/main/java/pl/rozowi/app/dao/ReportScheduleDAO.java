@@ -0,0 +1,224 @@
+package pl.rozowi.app.dao;
+
+import pl.rozowi.app.database.DatabaseManager;
+import pl.rozowi.app.models.ReportSchedule;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object (DAO) dla harmonogramu raportów generowanych cyklicznie.
+ */
+public class ReportScheduleDAO {
+
+    /**
+     * Dodaje nowy wpis harmonogramu i ustawia jego ID.
+     *
+     * @param schedule wpis harmonogramu z ustawionym terminem pierwszego uruchomienia
+     * @return true jeśli wpis został dodany, false w przypadku błędu
+     */
+    public boolean insertSchedule(ReportSchedule schedule) {
+        String sql = "INSERT INTO report_schedules (report_type, report_options, output_directory, interval_days, next_run_at, last_run_at, created_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, schedule.getReportType());
+            stmt.setString(2, schedule.getReportOptions());
+            stmt.setString(3, schedule.getOutputDirectory());
+            stmt.setInt(4, schedule.getIntervalDays());
+            stmt.setTimestamp(5, schedule.getNextRunAt());
+            stmt.setTimestamp(6, schedule.getLastRunAt());
+            stmt.setInt(7, schedule.getCreatedBy());
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    schedule.setId(keys.getInt(1));
+                }
+            }
+            return true;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Pobiera wpisy harmonogramu utworzone przez użytkownika.
+     *
+     * @param userId ID użytkownika
+     * @return lista wpisów, pusta lista w przypadku błędu
+     */
+    public List<ReportSchedule> getSchedulesByUser(int userId) {
+        String sql = "SELECT * FROM report_schedules WHERE created_by = ? ORDER BY next_run_at";
+        List<ReportSchedule> schedules = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(mapSchedule(rs));
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return schedules;
+    }
+
+    /**
+     * Pobiera wpisy harmonogramu, których termin uruchomienia już minął.
+     *
+     * @param now bieżący czas
+     * @return wpisy w kolejności terminów, pusta lista w przypadku błędu
+     */
+    public List<ReportSchedule> getDueSchedules(Timestamp now) {
+        String sql = "SELECT * FROM report_schedules WHERE next_run_at <= ? ORDER BY next_run_at";
+        List<ReportSchedule> schedules = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, now);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(mapSchedule(rs));
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return schedules;
+    }
+
+    /**
+     * Pobiera wpisy harmonogramu użytkownika, których termin uruchomienia już minął.
+     *
+     * @param now bieżący czas
+     * @param userId ID użytkownika, który utworzył wpisy
+     * @return wpisy w kolejności terminów, pusta lista w przypadku błędu
+     */
+    public List<ReportSchedule> getDueSchedulesByUser(Timestamp now, int userId) {
+        String sql = "SELECT * FROM report_schedules WHERE next_run_at <= ? AND created_by = ? ORDER BY next_run_at";
+        List<ReportSchedule> schedules = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, now);
+            stmt.setInt(2, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(mapSchedule(rs));
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return schedules;
+    }
+
+    /**
+     * Rezerwuje uruchomienie wpisu: przesuwa termin następnego uruchomienia, o ile nikt inny
+     * (inna instancja aplikacji lub ReportRunner z crona) nie zrobił tego wcześniej.
+     *
+     * @param scheduleId      ID wpisu
+     * @param expectedNextRun termin odczytany razem z wpisem
+     * @param nextRun         nowy termin następnego uruchomienia
+     * @param lastRun         czas bieżącego uruchomienia
+     * @return true jeśli uruchomienie zostało zarezerwowane przez wywołującego
+     */
+    public boolean claimRun(int scheduleId, Timestamp expectedNextRun, Timestamp nextRun, Timestamp lastRun) {
+        String sql = "UPDATE report_schedules SET next_run_at = ?, last_run_at = ? WHERE id = ? AND next_run_at = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, nextRun);
+            stmt.setTimestamp(2, lastRun);
+            stmt.setInt(3, scheduleId);
+            stmt.setTimestamp(4, expectedNextRun);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Zwalnia rezerwację nieudanego uruchomienia: ustawia termin ponowienia i liczbę nieudanych prób,
+     * o ile wpis nie został w międzyczasie zmieniony.
+     *
+     * @param scheduleId     ID wpisu
+     * @param claimedNextRun termin ustawiony przy rezerwacji
+     * @param retryAt        termin ponownej próby
+     * @param failedAttempts liczba kolejnych nieudanych prób
+     * @return true jeśli termin został zmieniony
+     */
+    public boolean releaseRun(int scheduleId, Timestamp claimedNextRun, Timestamp retryAt, int failedAttempts) {
+        String sql = "UPDATE report_schedules SET next_run_at = ?, failed_attempts = ? WHERE id = ? AND next_run_at = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, retryAt);
+            stmt.setInt(2, failedAttempts);
+            stmt.setInt(3, scheduleId);
+            stmt.setTimestamp(4, claimedNextRun);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Ustawia liczbę kolejnych nieudanych prób zapisu raportu, np. zeruje ją po udanym zapisie.
+     *
+     * @param scheduleId     ID wpisu
+     * @param failedAttempts liczba kolejnych nieudanych prób
+     * @return true jeśli wpis został zaktualizowany
+     */
+    public boolean updateFailedAttempts(int scheduleId, int failedAttempts) {
+        String sql = "UPDATE report_schedules SET failed_attempts = ? WHERE id = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, failedAttempts);
+            stmt.setInt(2, scheduleId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Usuwa wpis harmonogramu.
+     *
+     * @param scheduleId ID wpisu
+     * @return true jeśli wpis został usunięty, false w przypadku błędu
+     */
+    public boolean deleteSchedule(int scheduleId) {
+        String sql = "DELETE FROM report_schedules WHERE id = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, scheduleId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    private ReportSchedule mapSchedule(ResultSet rs) throws SQLException {
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setId(rs.getInt("id"));
+        schedule.setReportType(rs.getString("report_type"));
+        schedule.setReportOptions(rs.getString("report_options"));
+        schedule.setOutputDirectory(rs.getString("output_directory"));
+        schedule.setIntervalDays(rs.getInt("interval_days"));
+        schedule.setNextRunAt(rs.getTimestamp("next_run_at"));
+        schedule.setLastRunAt(rs.getTimestamp("last_run_at"));
+        schedule.setFailedAttempts(rs.getInt("failed_attempts"));
+        schedule.setCreatedBy(rs.getInt("created_by"));
+        return schedule;
+    }
+}
@@ -1,5 +1,6 @@
 package pl.rozowi.app.dao;
 
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.Role;
 
@@ -73,11 +74,26 @@ public class RoleDAO {
      */
     public boolean insertRole(Role role) {
         String sql = "INSERT INTO roles (role_name) VALUES (?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, role.getRoleName());
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, role.getRoleName());
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    new ChangeLogDAO().recordChange(conn, "roles", role.getId(), ChangeLogDAO.INSERT);
+                }
+                conn.commit();
+                if (affected > 0) {
+                    ReferenceDataCache.invalidateRoles();
+                }
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
@@ -1,5 +1,6 @@
 package pl.rozowi.app.dao;
 
+import pl.rozowi.app.cache.UserCache;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.Settings;
 
@@ -127,6 +128,7 @@ public class SettingsDAO {
             }
 
             int affected = stmt.executeUpdate();
+            UserCache.invalidate(settings.getUserId());
             return affected > 0;
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error inserting settings for user ID: " + settings.getUserId(), ex);
@@ -161,6 +163,7 @@ public class SettingsDAO {
             stmt.setInt(3, settings.getUserId());
 
             int affected = stmt.executeUpdate();
+            UserCache.invalidate(settings.getUserId());
             return affected > 0;
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error updating settings for user ID: " + settings.getUserId(), ex);
@@ -182,6 +185,7 @@ public class SettingsDAO {
 
             stmt.setInt(1, userId);
             int affected = stmt.executeUpdate();
+            UserCache.invalidate(userId);
             return affected > 0;
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error deleting settings for user ID: " + userId, ex);
@@ -204,7 +208,9 @@ public class SettingsDAO {
 
             stmt.setString(1, defaultView);
             stmt.setInt(2, userId);
-            return stmt.executeUpdate() > 0;
+            int affected = stmt.executeUpdate();
+            UserCache.invalidate(userId);
+            return affected > 0;
 
         } catch (SQLException ex) {
             Logger.getLogger(SettingsDAO.class.getName())
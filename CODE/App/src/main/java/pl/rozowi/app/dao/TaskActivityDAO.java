@@ -7,6 +7,7 @@ import pl.rozowi.app.models.EnhancedTaskActivity;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object dla tabeli aktywności zadań.
@@ -22,6 +23,7 @@ public class TaskActivityDAO {
 
     /**
      * Wstawia nową aktywność związaną z zadaniem do bazy danych.
+     * Po udanym wstawieniu ustawia w obiekcie wygenerowane ID rekordu.
      *
      * @param activity Obiekt TaskActivity zawierający szczegóły aktywności
      * @return true jeśli wstawienie się powiodło, false w przypadku błędu
@@ -29,12 +31,19 @@ public class TaskActivityDAO {
     public boolean insertTaskActivity(TaskActivity activity) {
         String sql = "INSERT INTO task_activities (task_id, user_id, activity_type, description) VALUES (?, ?, ?, ?)";
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, activity.getTaskId());
             stmt.setInt(2, activity.getUserId());
             stmt.setString(3, activity.getActivityType());
             stmt.setString(4, activity.getDescription());
             int affected = stmt.executeUpdate();
+            if (affected > 0) {
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys != null && keys.next()) {
+                        activity.setId(keys.getInt(1));
+                    }
+                }
+            }
             return affected > 0;
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -42,6 +51,46 @@ public class TaskActivityDAO {
         return false;
     }
 
+    /**
+     * Aktualizuje opis istniejącej aktywności.
+     * Wykorzystywane przy scalaniu kolejnych zmian tego samego pola w jeden wpis.
+     *
+     * @param activityId ID aktywności do aktualizacji
+     * @param description Nowy opis aktywności
+     * @return true jeśli aktualizacja się powiodła, false w przypadku błędu lub braku rekordu
+     */
+    public boolean updateActivityDescription(int activityId, String description) {
+        String sql = "UPDATE task_activities SET description = ? WHERE id = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, description);
+            stmt.setInt(2, activityId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Usuwa aktywność.
+     * Wykorzystywane przy scalaniu, gdy seria zmian przywróciła pierwotną wartość pola.
+     *
+     * @param activityId ID aktywności do usunięcia
+     * @return true jeśli usunięcie się powiodło, false w przypadku błędu lub braku rekordu
+     */
+    public boolean deleteActivity(int activityId) {
+        String sql = "DELETE FROM task_activities WHERE id = ?";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, activityId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return false;
+    }
+
     /**
      * Pobiera wszystkie aktywności dla danego zadania posortowane malejąco według daty.
      *
@@ -432,4 +481,106 @@ public class TaskActivityDAO {
         activity.setActivityDate(rs.getTimestamp("created_at"));
         return activity;
     }
+
+    /**
+     * Kolumny, według których można sortować stronicowaną listę aktywności.
+     */
+    private static final Map<String, String> ACTIVITY_SORT_COLUMNS = Map.of(
+            "timestamp", "ta.created_at",
+            "user", "u.last_name",
+            "task", "t.title",
+            "type", "ta.activity_type",
+            "description", "ta.description");
+
+    private static final String ENHANCED_ACTIVITY_FROM =
+            "FROM task_activities ta " +
+            "LEFT JOIN tasks t ON ta.task_id = t.id " +
+            "LEFT JOIN users u ON ta.user_id = u.id " +
+            "WHERE 1=1 ";
+
+    /**
+     * Zwraca liczbę aktywności pasujących do wyszukiwanego tekstu.
+     *
+     * @param searchText tekst wyszukiwany w opisie, typie, tytule zadania i danych użytkownika; pusty oznacza wszystkie
+     * @return liczba aktywności lub -1 w przypadku błędu
+     */
+    public int countEnhancedActivities(String searchText) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COUNT(*) " + ENHANCED_ACTIVITY_FROM + activitySearchCondition(searchText, params);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Pobiera jedną stronę aktywności z danymi zadań i użytkowników, posortowaną w zapytaniu.
+     * Domyślnie aktywności są uporządkowane od najnowszej.
+     *
+     * @param searchText tekst wyszukiwany w opisie, typie, tytule zadania i danych użytkownika; pusty oznacza wszystkie
+     * @param page przesunięcie, rozmiar strony i sortowanie
+     * @return Lista aktywności strony lub null w przypadku błędu
+     */
+    public List<EnhancedTaskActivity> getEnhancedActivitiesPage(String searchText, PageRequest page) {
+        List<EnhancedTaskActivity> enhancedActivities = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT ta.*, t.title as task_title, u.name as user_name, u.last_name as user_last_name, u.email as user_email "
+                + ENHANCED_ACTIVITY_FROM + activitySearchCondition(searchText, params)
+                + page.orderByClause(ACTIVITY_SORT_COLUMNS, "ta.created_at DESC", "ta.id DESC");
+        params.add(page.getLimit());
+        params.add(page.getOffset());
+
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    EnhancedTaskActivity activity = new EnhancedTaskActivity();
+
+                    activity.setId(rs.getInt("id"));
+                    activity.setTaskId(rs.getInt("task_id"));
+                    activity.setUserId(rs.getInt("user_id"));
+                    activity.setActivityType(rs.getString("activity_type"));
+                    activity.setDescription(rs.getString("description"));
+                    activity.setActivityDate(rs.getTimestamp("created_at"));
+
+                    activity.setTaskTitle(rs.getString("task_title"));
+                    activity.setUserName(rs.getString("user_name"));
+                    activity.setUserLastName(rs.getString("user_last_name"));
+                    activity.setUserEmail(rs.getString("user_email"));
+
+                    enhancedActivities.add(activity);
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+
+        return enhancedActivities;
+    }
+
+    private String activitySearchCondition(String searchText, List<Object> params) {
+        if (searchText == null || searchText.isBlank()) {
+            return "";
+        }
+        String searchPattern = "%" + searchText.trim().toLowerCase() + "%";
+        for (int i = 0; i < 6; i++) {
+            params.add(searchPattern);
+        }
+        return "AND (LOWER(ta.description) LIKE ? OR LOWER(ta.activity_type) LIKE ? OR LOWER(t.title) LIKE ? " +
+               "OR LOWER(u.name) LIKE ? OR LOWER(u.last_name) LIKE ? OR LOWER(u.email) LIKE ?) ";
+    }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ import java.sql.SQLException;
  */
 public class TaskAssignmentDAO {
 
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
+
     /**
      * Wstawia nowe przypisanie zadania do bazy danych.
      *
@@ -20,12 +22,24 @@ public class TaskAssignmentDAO {
      */
     public boolean insertTaskAssignment(TaskAssignment assignment) {
         String sql = "INSERT INTO task_assignments (task_id, user_id) VALUES (?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, assignment.getTaskId());
-            stmt.setInt(2, assignment.getUserId());
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, assignment.getTaskId());
+                stmt.setInt(2, assignment.getUserId());
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    changeLog.recordChange(conn, "task_assignments", assignment.getTaskId(), ChangeLogDAO.INSERT);
+                }
+                conn.commit();
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
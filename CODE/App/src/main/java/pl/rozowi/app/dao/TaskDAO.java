@@ -5,7 +5,13 @@ import pl.rozowi.app.models.Task;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Obiekt dostępu do danych do obsługi operacji związanych z zadaniami w bazie danych.
@@ -14,6 +20,13 @@ import java.util.List;
  */
 public class TaskDAO {
 
+    /**
+     * Liczba wierszy pobieranych z bazy naraz przy odczycie zadań kursorem.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
+
     /**
      * Pobiera wszystkie zadania dla określonego projektu wraz z informacjami o przypisanych użytkownikach.
      *
@@ -64,6 +77,69 @@ public class TaskDAO {
         return tasks;
     }
 
+    /**
+     * Odczytuje zadania projektu kursorem i przekazuje je kolejno do akcji, bez budowania listy.
+     * Używane przy raportach o bardzo dużej liczbie zadań, aby nie przechowywać ich wszystkich w pamięci.
+     * Błąd odczytu jest zgłaszany wyjątkiem, ponieważ część zadań mogła już trafić do raportu,
+     * a niekompletna tabela nie może zostać zapisana jako poprawny raport.
+     *
+     * @param projectId ID projektu, dla którego odczytywane są zadania
+     * @param action akcja wywoływana dla każdego zadania, w kolejności ID
+     * @throws RuntimeException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public void forEachTaskByProjectId(int projectId, Consumer<Task> action) {
+        String sql = """
+                    SELECT t.id, t.project_id, t.team_id, t.title, t.status, t.priority, t.start_date, t.end_date
+                    FROM tasks t
+                    WHERE t.project_id = ?
+                    ORDER BY t.id
+                    """;
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            stmt.setInt(1, projectId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Task t = new Task();
+                    t.setId(rs.getInt("id"));
+                    t.setProjectId(rs.getInt("project_id"));
+                    t.setTeamId(rs.getInt("team_id"));
+                    t.setTitle(rs.getString("title"));
+                    t.setStatus(rs.getString("status"));
+                    t.setPriority(rs.getString("priority"));
+                    t.setStartDate(rs.getString("start_date"));
+                    t.setEndDate(rs.getString("end_date"));
+                    action.accept(t);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Nie udało się odczytać zadań projektu " + projectId, ex);
+        }
+    }
+
+    /**
+     * Zlicza zadania projektu według statusu jednym zapytaniem.
+     *
+     * @param projectId ID projektu
+     * @return Mapa statusu na liczbę zadań (pusta, jeśli projekt nie ma zadań lub wystąpił błąd)
+     */
+    public Map<String, Integer> countTasksByStatus(int projectId) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String sql = "SELECT status, COUNT(*) AS cnt FROM tasks WHERE project_id = ? GROUP BY status";
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, projectId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString("status"), rs.getInt("cnt"));
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return counts;
+    }
+
     /**
      * Pobiera wszystkie zadania dla określonego zespołu wraz z informacjami o przypisanych użytkownikach.
      *
@@ -114,6 +190,65 @@ public class TaskDAO {
         return tasks;
     }
 
+    /**
+     * Pobiera zadania wielu zespołów jednym zapytaniem, wraz z informacjami o przypisanych użytkownikach.
+     *
+     * @param teamIds ID zespołów
+     * @return Mapa ID zespołu na listę zadań (zespoły bez zadań nie występują w mapie)
+     * @throws RuntimeException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public Map<Integer, List<Task>> getTasksByTeamIds(Collection<Integer> teamIds) {
+        Map<Integer, List<Task>> tasks = new HashMap<>();
+        if (teamIds.isEmpty()) {
+            return tasks;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(teamIds.size(), "?"));
+        String sql = """
+                    SELECT t.id, t.project_id, t.team_id, t.title, t.description,
+                           t.status, t.priority, t.start_date, t.end_date,
+                           teams.team_name, u.email as assigned_email, u.id as assigned_id
+                    FROM tasks t
+                    LEFT JOIN teams ON t.team_id = teams.id
+                    LEFT JOIN task_assignments ta ON t.id = ta.task_id
+                    LEFT JOIN users u ON ta.user_id = u.id
+                    WHERE t.team_id IN (%s)
+                    ORDER BY t.id
+                    """.formatted(placeholders);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer teamId : teamIds) {
+                stmt.setInt(index++, teamId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Task t = new Task();
+                    t.setId(rs.getInt("id"));
+                    t.setProjectId(rs.getInt("project_id"));
+                    t.setTeamId(rs.getInt("team_id"));
+                    t.setTitle(rs.getString("title"));
+                    t.setDescription(rs.getString("description"));
+                    t.setStatus(rs.getString("status"));
+                    t.setPriority(rs.getString("priority"));
+                    t.setStartDate(rs.getString("start_date"));
+                    t.setEndDate(rs.getString("end_date"));
+                    t.setTeamName(rs.getString("team_name"));
+
+                    String email = rs.getString("assigned_email");
+                    if (email != null) {
+                        t.setAssignedEmail(email);
+                        t.setAssignedTo(rs.getInt("assigned_id"));
+                    }
+
+                    tasks.computeIfAbsent(t.getTeamId(), id -> new ArrayList<>()).add(t);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException("Nie udało się odczytać zadań zespołów", ex);
+        }
+        return tasks;
+    }
+
     /**
      * Pobiera zadania dla zespołów, w których określony użytkownik jest liderem.
      *
@@ -166,6 +301,218 @@ public class TaskDAO {
         return tasks;
     }
 
+    /**
+     * Pobiera zadania o podanych ID wraz z nazwą zespołu i przypisanym użytkownikiem.
+     * Używane przy odświeżaniu pamięci podręcznej sesji, która pobiera tylko zmienione wiersze.
+     *
+     * @param taskIds ID zadań do pobrania
+     * @return Mapa ID zadania na obiekt Task (zadania usunięte nie występują w mapie) lub null w przypadku błędu
+     */
+    public Map<Integer, Task> getTasksByIds(Collection<Integer> taskIds) {
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        if (taskIds.isEmpty()) {
+            return tasks;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(taskIds.size(), "?"));
+        String sql = """
+                    SELECT t.id, t.project_id, t.team_id, t.title, t.description,
+                           t.status, t.priority, t.start_date, t.end_date,
+                           teams.team_name, u.email as assigned_email, u.id as assigned_id
+                    FROM tasks t
+                    LEFT JOIN teams ON t.team_id = teams.id
+                    LEFT JOIN task_assignments ta ON t.id = ta.task_id
+                    LEFT JOIN users u ON ta.user_id = u.id
+                    WHERE t.id IN (%s)
+                    """.formatted(placeholders);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer taskId : taskIds) {
+                stmt.setInt(index++, taskId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Task task = new Task();
+                    task.setId(rs.getInt("id"));
+                    task.setProjectId(rs.getInt("project_id"));
+                    task.setTeamId(rs.getInt("team_id"));
+                    task.setTitle(rs.getString("title"));
+                    task.setDescription(rs.getString("description"));
+                    task.setStatus(rs.getString("status"));
+                    task.setPriority(rs.getString("priority"));
+                    task.setStartDate(rs.getString("start_date"));
+                    task.setEndDate(rs.getString("end_date"));
+                    task.setTeamName(rs.getString("team_name"));
+
+                    String email = rs.getString("assigned_email");
+                    if (email != null) {
+                        task.setAssignedEmail(email);
+                        task.setAssignedTo(rs.getInt("assigned_id"));
+                    }
+
+                    tasks.put(task.getId(), task);
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+        return tasks;
+    }
+
+    /**
+     * Pobiera zadanie wraz z nazwą zespołu i przypisanym użytkownikiem.
+     *
+     * @param taskId ID zadania
+     * @return Obiekt Task lub null jeśli zadanie nie istnieje lub wystąpił błąd
+     */
+    public Task getTaskById(int taskId) {
+        Map<Integer, Task> tasks = getTasksByIds(List.of(taskId));
+        return tasks != null ? tasks.get(taskId) : null;
+    }
+
+    /**
+     * Kolumny, według których można sortować stronicowaną listę zadań.
+     */
+    private static final Map<String, String> TASK_SORT_COLUMNS = Map.of(
+            "title", "t.title",
+            "project", "p.name",
+            "team", "teams.team_name",
+            "status", "t.status",
+            "priority", "t.priority",
+            "startDate", "t.start_date",
+            "endDate", "t.end_date",
+            "assignee", "u.email");
+
+    private static final String TASK_PAGE_FROM = """
+                    FROM tasks t
+                    LEFT JOIN projects p ON t.project_id = p.id
+                    LEFT JOIN teams ON t.team_id = teams.id
+                    LEFT JOIN task_assignments ta ON t.id = ta.task_id
+                    LEFT JOIN users u ON ta.user_id = u.id
+                    WHERE 1=1
+                    """;
+
+    /**
+     * Zwraca liczbę zadań spełniających kryteria filtrowania.
+     *
+     * @param filter kryteria filtrowania
+     * @return liczba zadań lub -1 w przypadku błędu
+     */
+    public int countTasks(TaskFilter filter) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COUNT(*) " + TASK_PAGE_FROM + taskFilterConditions(filter, params);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Pobiera jedną stronę zadań spełniających kryteria filtrowania, posortowaną w zapytaniu.
+     *
+     * @param filter kryteria filtrowania
+     * @param page przesunięcie, rozmiar strony i sortowanie
+     * @return Lista zadań strony lub null w przypadku błędu
+     */
+    public List<Task> getTasksPage(TaskFilter filter, PageRequest page) {
+        List<Task> tasks = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = """
+                    SELECT t.id, t.project_id, t.team_id, t.title, t.description,
+                           t.status, t.priority, t.start_date, t.end_date,
+                           teams.team_name, u.email as assigned_email, u.id as assigned_id
+                    """ + TASK_PAGE_FROM + taskFilterConditions(filter, params)
+                + page.orderByClause(TASK_SORT_COLUMNS, "t.id ASC", "t.id");
+        params.add(page.getLimit());
+        params.add(page.getOffset());
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Task task = new Task();
+                    task.setId(rs.getInt("id"));
+                    task.setProjectId(rs.getInt("project_id"));
+                    task.setTeamId(rs.getInt("team_id"));
+                    task.setTitle(rs.getString("title"));
+                    task.setDescription(rs.getString("description"));
+                    task.setStatus(rs.getString("status"));
+                    task.setPriority(rs.getString("priority"));
+                    task.setStartDate(rs.getString("start_date"));
+                    task.setEndDate(rs.getString("end_date"));
+                    task.setTeamName(rs.getString("team_name"));
+
+                    String email = rs.getString("assigned_email");
+                    if (email != null) {
+                        task.setAssignedEmail(email);
+                        task.setAssignedTo(rs.getInt("assigned_id"));
+                    }
+
+                    tasks.add(task);
+                }
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+        return tasks;
+    }
+
+    /**
+     * Buduje warunki WHERE dla kryteriów filtrowania zadań i dopisuje ich parametry.
+     */
+    private String taskFilterConditions(TaskFilter filter, List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter == null) {
+            return "";
+        }
+        String searchText = filter.getSearchText();
+        if (searchText != null && !searchText.isBlank()) {
+            sql.append("AND (CONCAT(t.id, '') LIKE ? OR LOWER(t.title) LIKE ? OR LOWER(t.description) LIKE ? " +
+                    "OR LOWER(t.status) LIKE ? OR LOWER(teams.team_name) LIKE ? OR LOWER(u.email) LIKE ?) ");
+            String searchPattern = "%" + searchText.trim().toLowerCase() + "%";
+            for (int i = 0; i < 6; i++) {
+                params.add(searchPattern);
+            }
+        }
+        if (filter.getProjectId() > 0) {
+            sql.append("AND t.project_id = ? ");
+            params.add(filter.getProjectId());
+        }
+        if (filter.getTeamId() > 0) {
+            sql.append("AND t.team_id = ? ");
+            params.add(filter.getTeamId());
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            sql.append("AND t.status = ? ");
+            params.add(filter.getStatus());
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            sql.append("AND t.priority = ? ");
+            params.add(filter.getPriority());
+        }
+        if (filter.getStartFrom() != null) {
+            sql.append("AND t.start_date >= ? ");
+            params.add(Date.valueOf(filter.getStartFrom()));
+        }
+        if (filter.getEndTo() != null) {
+            sql.append("AND t.end_date <= ? ");
+            params.add(Date.valueOf(filter.getEndTo()));
+        }
+        return sql.toString();
+    }
+
     /**
      * Dodaje nowe zadanie do bazy danych.
      *
@@ -176,27 +523,39 @@ public class TaskDAO {
         String sql =
                 "INSERT INTO tasks (project_id, team_id, title, description, status, priority, start_date, end_date) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setInt(1, task.getProjectId());
-            stmt.setInt(2, task.getTeamId());
-            stmt.setString(3, task.getTitle());
-            stmt.setString(4, task.getDescription());
-            stmt.setString(5, task.getStatus());
-            stmt.setString(6, task.getPriority());
-            stmt.setString(7, task.getStartDate());
-            stmt.setString(8, task.getEndDate());
-
-            int affected = stmt.executeUpdate();
-            if (affected == 0) return false;
-
-            try (ResultSet keys = stmt.getGeneratedKeys()) {
-                if (keys.next()) {
-                    task.setId(keys.getInt(1));
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, task.getProjectId());
+                stmt.setInt(2, task.getTeamId());
+                stmt.setString(3, task.getTitle());
+                stmt.setString(4, task.getDescription());
+                stmt.setString(5, task.getStatus());
+                stmt.setString(6, task.getPriority());
+                stmt.setString(7, task.getStartDate());
+                stmt.setString(8, task.getEndDate());
+
+                int affected = stmt.executeUpdate();
+                if (affected == 0) {
+                    conn.rollback();
+                    return false;
+                }
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        task.setId(keys.getInt(1));
+                    }
                 }
+                changeLog.recordChange(conn, "tasks", task.getId(), ChangeLogDAO.INSERT);
+                conn.commit();
+                return true;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            return true;
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
@@ -212,11 +571,24 @@ public class TaskDAO {
      */
     public boolean updateTaskStatus(int taskId, String newStatus) {
         String sql = "UPDATE tasks SET status = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, newStatus);
-            stmt.setInt(2, taskId);
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, newStatus);
+                stmt.setInt(2, taskId);
+                boolean updated = stmt.executeUpdate() > 0;
+                if (updated) {
+                    changeLog.recordChange(conn, "tasks", taskId, ChangeLogDAO.UPDATE);
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
@@ -348,20 +720,32 @@ public class TaskDAO {
     public boolean updateTask(Task task) {
         String sql = "UPDATE tasks SET title = ?, description = ?, status = ?, priority = ?, " +
                      "start_date = ?, end_date = ?, team_id = ?, project_id = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, task.getTitle());
-            stmt.setString(2, task.getDescription());
-            stmt.setString(3, task.getStatus());
-            stmt.setString(4, task.getPriority());
-            stmt.setString(5, task.getStartDate());
-            stmt.setString(6, task.getEndDate());
-            stmt.setInt(7, task.getTeamId());
-            stmt.setInt(8, task.getProjectId());
-            stmt.setInt(9, task.getId());
-
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, task.getTitle());
+                stmt.setString(2, task.getDescription());
+                stmt.setString(3, task.getStatus());
+                stmt.setString(4, task.getPriority());
+                stmt.setString(5, task.getStartDate());
+                stmt.setString(6, task.getEndDate());
+                stmt.setInt(7, task.getTeamId());
+                stmt.setInt(8, task.getProjectId());
+                stmt.setInt(9, task.getId());
+
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    changeLog.recordChange(conn, "tasks", task.getId(), ChangeLogDAO.UPDATE);
+                }
+                conn.commit();
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
         }
@@ -435,6 +819,7 @@ public class TaskDAO {
                     insStmt.setInt(2, userId);
                     insStmt.executeUpdate();
                 }
+                changeLog.recordChange(conn, "task_assignments", taskId, ChangeLogDAO.UPDATE);
 
                 conn.commit();
                 return true;
@@ -451,6 +836,17 @@ public class TaskDAO {
         }
     }
 
+    /**
+     * Przypisuje zadanie do użytkownika i zwraca aktualną postać zadania z bazy danych.
+     *
+     * @param taskId ID zadania do przypisania
+     * @param userId ID użytkownika, któremu przypisujemy zadanie
+     * @return Zadanie z nowym przypisaniem lub null w przypadku błędu
+     */
+    public Task assignTaskAndGet(int taskId, int userId) {
+        return assignTask(taskId, userId) ? getTaskById(taskId) : null;
+    }
+
     /**
      * Usuwa zadanie i wszystkie powiązane rekordy z bazy danych.
      *
@@ -477,6 +873,10 @@ public class TaskDAO {
                         "DELETE FROM tasks WHERE id = ?")) {
                     stmt.setInt(1, taskId);
                     int affected = stmt.executeUpdate();
+                    if (affected > 0) {
+                        changeLog.recordChange(conn, "tasks", taskId, ChangeLogDAO.DELETE);
+                        changeLog.recordChange(conn, "task_assignments", taskId, ChangeLogDAO.DELETE);
+                    }
 
                     conn.commit();
                     return affected > 0;
@@ -0,0 +1,85 @@
+package pl.rozowi.app.dao;
+
+import java.time.LocalDate;
+
+/**
+ * Kryteria filtrowania listy zadań, przekładane przez {@link TaskDAO} na warunki zapytania.
+ * Puste wartości (null, 0 lub pusty tekst) oznaczają brak ograniczenia.
+ */
+public class TaskFilter {
+
+    private String searchText;
+    private int projectId;
+    private int teamId;
+    private String status;
+    private String priority;
+    private LocalDate startFrom;
+    private LocalDate endTo;
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public void setSearchText(String searchText) {
+        this.searchText = searchText;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(int teamId) {
+        this.teamId = teamId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getStartFrom() {
+        return startFrom;
+    }
+
+    public void setStartFrom(LocalDate startFrom) {
+        this.startFrom = startFrom;
+    }
+
+    public LocalDate getEndTo() {
+        return endTo;
+    }
+
+    public void setEndTo(LocalDate endTo) {
+        this.endTo = endTo;
+    }
+
+    /**
+     * Sprawdza, czy kryteria nie ograniczają listy zadań.
+     *
+     * @return true jeśli żadne kryterium nie jest ustawione
+     */
+    public boolean isEmpty() {
+        return (searchText == null || searchText.isBlank()) && projectId <= 0 && teamId <= 0
+                && (status == null || status.isEmpty()) && (priority == null || priority.isEmpty())
+                && startFrom == null && endTo == null;
+    }
+}
@@ -1,12 +1,17 @@
 package pl.rozowi.app.dao;
 
+import pl.rozowi.app.cache.ReferenceDataCache;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.Team;
 import pl.rozowi.app.models.User;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Klasa dostępu do danych dla zespołów.
@@ -14,6 +19,8 @@ import java.util.List;
  */
 public class TeamDAO {
 
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
+
     /**
      * Pobiera listę wszystkich zespołów z bazy danych.
      *
@@ -37,6 +44,66 @@ public class TeamDAO {
         return list;
     }
 
+    private static final String TEAM_SUMMARY_SELECT = """
+                SELECT t.id, t.team_name, t.project_id,
+                       COUNT(tm.user_id) AS member_count,
+                       MAX(CASE WHEN tm.is_leader = 1 THEN CONCAT(u.name, ' ', u.last_name) END) AS leader_name
+                FROM teams t
+                LEFT JOIN team_members tm ON tm.team_id = t.id
+                LEFT JOIN users u ON u.id = tm.user_id
+                """;
+
+    private static final String TEAM_SUMMARY_GROUP_BY = "GROUP BY t.id, t.team_name, t.project_id";
+
+    /**
+     * Pobiera listę wszystkich zespołów wraz z liczbą członków i nazwą lidera.
+     * Dane do wyświetlenia w tabelach pobierane są jednym zapytaniem,
+     * zamiast osobnych zapytań dla każdej komórki tabeli.
+     *
+     * @return Lista wszystkich zespołów z uzupełnionymi polami memberCount i leaderName
+     * @throws SQLException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public List<Team> getAllTeamsWithSummary() throws SQLException {
+        List<Team> list = new ArrayList<>();
+        String sql = TEAM_SUMMARY_SELECT + TEAM_SUMMARY_GROUP_BY;
+        try (Connection c = DatabaseManager.getConnection();
+             PreparedStatement s = c.prepareStatement(sql);
+             ResultSet rs = s.executeQuery()) {
+            while (rs.next()) {
+                list.add(mapTeamSummary(rs));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Pobiera zespół wraz z liczbą członków i nazwą lidera, w postaci wyświetlanej w tabelach zespołów.
+     *
+     * @param teamId ID zespołu
+     * @return Zespół z uzupełnionymi polami memberCount i leaderName lub null jeśli nie istnieje
+     * @throws SQLException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public Team getTeamWithSummary(int teamId) throws SQLException {
+        String sql = TEAM_SUMMARY_SELECT + "WHERE t.id = ?\n" + TEAM_SUMMARY_GROUP_BY;
+        try (Connection c = DatabaseManager.getConnection();
+             PreparedStatement s = c.prepareStatement(sql)) {
+            s.setInt(1, teamId);
+            try (ResultSet rs = s.executeQuery()) {
+                return rs.next() ? mapTeamSummary(rs) : null;
+            }
+        }
+    }
+
+    private Team mapTeamSummary(ResultSet rs) throws SQLException {
+        Team t = new Team();
+        t.setId(rs.getInt("id"));
+        t.setTeamName(rs.getString("team_name"));
+        t.setProjectId(rs.getInt("project_id"));
+        t.setMemberCount(rs.getInt("member_count"));
+        t.setLeaderName(rs.getString("leader_name"));
+        return t;
+    }
+
     /**
      * Dodaje nowy zespół do bazy danych.
      *
@@ -45,19 +112,44 @@ public class TeamDAO {
      */
     public boolean insertTeam(Team t) {
         String sql = "INSERT INTO teams (team_name, project_id) VALUES (?, ?)";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            s.setString(1, t.getTeamName());
-            s.setInt(2, t.getProjectId());
-            if (s.executeUpdate() == 0) return false;
-            ResultSet keys = s.getGeneratedKeys();
-            if (keys.next()) t.setId(keys.getInt(1));
-            return true;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                s.setString(1, t.getTeamName());
+                s.setInt(2, t.getProjectId());
+                if (s.executeUpdate() == 0) {
+                    c.rollback();
+                    return false;
+                }
+                ResultSet keys = s.getGeneratedKeys();
+                if (keys.next()) t.setId(keys.getInt(1));
+                changeLog.recordChange(c, "teams", t.getId(), ChangeLogDAO.INSERT);
+                c.commit();
+                ReferenceDataCache.invalidateTeams();
+                return true;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Dodaje nowy zespół i zwraca go wraz z podsumowaniem członków.
+     *
+     * @param t Obiekt Team zawierający dane nowego zespołu
+     * @return Zapisany zespół z nadanym ID lub null jeśli nie udało się go dodać
+     * @throws SQLException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public Team insertTeamAndGet(Team t) throws SQLException {
+        return insertTeam(t) ? getTeamWithSummary(t.getId()) : null;
+    }
+
     /**
      * Aktualizuje dane zespołu w bazie danych.
      *
@@ -67,15 +159,42 @@ public class TeamDAO {
      */
     public boolean updateTeam(Team t) throws SQLException {
         String sql = "UPDATE teams SET team_name = ?, project_id = ? WHERE id = ?";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql)) {
-            s.setString(1, t.getTeamName());
-            s.setInt(2, t.getProjectId());
-            s.setInt(3, t.getId());
-            return s.executeUpdate() > 0;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql)) {
+                s.setString(1, t.getTeamName());
+                s.setInt(2, t.getProjectId());
+                s.setInt(3, t.getId());
+                boolean updated = s.executeUpdate() > 0;
+                if (updated) {
+                    changeLog.recordChange(c, "teams", t.getId(), ChangeLogDAO.UPDATE);
+                }
+                c.commit();
+                if (updated) {
+                    ReferenceDataCache.invalidateTeams();
+                }
+                return updated;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         }
     }
 
+    /**
+     * Aktualizuje zespół i zwraca jego aktualną postać wraz z podsumowaniem członków.
+     *
+     * @param t Obiekt Team zawierający zaktualizowane dane
+     * @return Zaktualizowany zespół lub null jeśli nie udało się go zaktualizować
+     * @throws SQLException w przypadku błędu podczas komunikacji z bazą danych
+     */
+    public Team updateTeamAndGet(Team t) throws SQLException {
+        return updateTeam(t) ? getTeamWithSummary(t.getId()) : null;
+    }
+
     /**
      * Pobiera listę członków określonego zespołu.
      *
@@ -109,6 +228,46 @@ public class TeamDAO {
         return members;
     }
 
+    /**
+     * Pobiera członków wielu zespołów jednym zapytaniem.
+     *
+     * @param teamIds ID zespołów
+     * @return Mapa ID zespołu na listę członków (zespoły bez członków nie występują w mapie)
+     */
+    public Map<Integer, List<User>> getTeamMembersByTeamIds(Collection<Integer> teamIds) {
+        Map<Integer, List<User>> members = new HashMap<>();
+        if (teamIds.isEmpty()) {
+            return members;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(teamIds.size(), "?"));
+        String sql = """
+                    SELECT tm.team_id, u.id, u.name, u.last_name, u.email, u.role_id
+                    FROM users u
+                    JOIN team_members tm ON u.id = tm.user_id
+                    WHERE tm.team_id IN (%s)
+                """.formatted(placeholders);
+        try (Connection c = DatabaseManager.getConnection();
+             PreparedStatement s = c.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer teamId : teamIds) {
+                s.setInt(index++, teamId);
+            }
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                User u = new User();
+                u.setId(rs.getInt("id"));
+                u.setName(rs.getString("name"));
+                u.setLastName(rs.getString("last_name"));
+                u.setEmail(rs.getString("email"));
+                u.setRoleId(rs.getInt("role_id"));
+                members.computeIfAbsent(rs.getInt("team_id"), id -> new ArrayList<>()).add(u);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return members;
+    }
+
     /**
      * Dodaje użytkownika do zespołu.
      *
@@ -120,12 +279,25 @@ public class TeamDAO {
      */
     public boolean insertTeamMember(int teamId, int userId, boolean isLeader) throws SQLException {
         String sql = "INSERT INTO team_members (team_id, user_id, is_leader) VALUES (?, ?, ?)";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql)) {
-            s.setInt(1, teamId);
-            s.setInt(2, userId);
-            s.setBoolean(3, isLeader);
-            return s.executeUpdate() > 0;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql)) {
+                s.setInt(1, teamId);
+                s.setInt(2, userId);
+                s.setBoolean(3, isLeader);
+                boolean inserted = s.executeUpdate() > 0;
+                if (inserted) {
+                    changeLog.recordChange(c, "team_members", teamId, ChangeLogDAO.INSERT);
+                }
+                c.commit();
+                return inserted;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         }
     }
 
@@ -138,11 +310,24 @@ public class TeamDAO {
      */
     public boolean deleteTeamMember(int teamId, int userId) {
         String sql = "DELETE FROM team_members WHERE team_id = ? AND user_id = ?";
-        try (Connection c = DatabaseManager.getConnection();
-             PreparedStatement s = c.prepareStatement(sql)) {
-            s.setInt(1, teamId);
-            s.setInt(2, userId);
-            return s.executeUpdate() > 0;
+        try (Connection c = DatabaseManager.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement s = c.prepareStatement(sql)) {
+                s.setInt(1, teamId);
+                s.setInt(2, userId);
+                boolean deleted = s.executeUpdate() > 0;
+                if (deleted) {
+                    changeLog.recordChange(c, "team_members", teamId, ChangeLogDAO.DELETE);
+                }
+                c.commit();
+                return deleted;
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -1,6 +1,7 @@
 package pl.rozowi.app.dao;
 
 import pl.rozowi.app.database.DatabaseManager;
+import pl.rozowi.app.models.TeamMember;
 import pl.rozowi.app.models.User;
 
 import java.sql.*;
@@ -13,6 +14,8 @@ import java.util.List;
  */
 public class TeamMemberDAO {
 
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
+
     /**
      * Pobiera listę członków określonego zespołu.
      *
@@ -45,6 +48,30 @@ public class TeamMemberDAO {
         return members;
     }
 
+    /**
+     * Pobiera wszystkie przypisania użytkowników do zespołów jednym zapytaniem.
+     *
+     * @return Lista przypisań w kolejności zwracanej przez bazę danych
+     */
+    public List<TeamMember> getAllTeamMembers() {
+        String sql = "SELECT team_id, user_id, is_leader FROM team_members";
+        List<TeamMember> memberships = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                TeamMember member = new TeamMember();
+                member.setTeamId(rs.getInt("team_id"));
+                member.setUserId(rs.getInt("user_id"));
+                member.setLeader(rs.getBoolean("is_leader"));
+                memberships.add(member);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return memberships;
+    }
+
     /**
      * Pobiera ID zespołu, do którego przypisany jest użytkownik.
      *
@@ -100,13 +127,25 @@ public class TeamMemberDAO {
      */
     public boolean insertTeamMember(int teamId, int userId, boolean isLeader) throws SQLException {
         String sql = "INSERT INTO team_members (team_id, user_id, is_leader) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
-            stmt.setInt(2, userId);
-            stmt.setBoolean(3, isLeader);
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, teamId);
+                stmt.setInt(2, userId);
+                stmt.setBoolean(3, isLeader);
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    changeLog.recordChange(conn, "team_members", teamId, ChangeLogDAO.INSERT);
+                }
+                conn.commit();
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
 
@@ -119,12 +158,24 @@ public class TeamMemberDAO {
      */
     public boolean deleteTeamMember(int teamId, int userId) {
         String sql = "DELETE FROM team_members WHERE team_id = ? AND user_id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
-            stmt.setInt(2, userId);
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, teamId);
+                stmt.setInt(2, userId);
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    changeLog.recordChange(conn, "team_members", teamId, ChangeLogDAO.DELETE);
+                }
+                conn.commit();
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             ex.printStackTrace();
             return false;
@@ -165,6 +216,7 @@ public class TeamMemberDAO {
                     insertStmt.setBoolean(3, false);
                     insertStmt.executeUpdate();
                 }
+                changeLog.recordChange(conn, "team_members", newTeamId, ChangeLogDAO.UPDATE);
 
                 conn.commit();
                 return true;
@@ -1,5 +1,6 @@
 package pl.rozowi.app.dao;
 
+import pl.rozowi.app.cache.UserCache;
 import pl.rozowi.app.database.DatabaseManager;
 import pl.rozowi.app.models.User;
 
@@ -9,6 +10,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +25,7 @@ import java.util.logging.Logger;
 public class UserDAO {
 
     private static final Logger LOGGER = Logger.getLogger(UserDAO.class.getName());
+    private final ChangeLogDAO changeLog = new ChangeLogDAO();
 
     /**
      * Dodaje nowego użytkownika do bazy danych.
@@ -31,23 +35,45 @@ public class UserDAO {
      */
     public boolean insertUser(User user) {
         String sql = "INSERT INTO users (name, last_name, password, email, role_id, group_id, password_hint) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, user.getName());
-            stmt.setString(2, user.getLastName());
-            stmt.setString(3, user.getPassword());
-            stmt.setString(4, user.getEmail());
-            stmt.setInt(5, user.getRoleId());
-            stmt.setInt(6, user.getGroupId());
-            stmt.setString(7, user.getPasswordHint());
-            int affected = stmt.executeUpdate();
-            return affected > 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, user.getName());
+                stmt.setString(2, user.getLastName());
+                stmt.setString(3, user.getPassword());
+                stmt.setString(4, user.getEmail());
+                stmt.setInt(5, user.getRoleId());
+                stmt.setInt(6, user.getGroupId());
+                stmt.setString(7, user.getPasswordHint());
+                int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    changeLog.recordChange(conn, "users", user.getId(), ChangeLogDAO.INSERT);
+                }
+                conn.commit();
+                return affected > 0;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             LOGGER.log(Level.SEVERE, "Error inserting user", ex);
         }
         return false;
     }
 
+    /**
+     * Dodaje nowego użytkownika i zwraca go wraz z nadanym ID.
+     *
+     * @param user Obiekt User zawierający dane użytkownika
+     * @return Zapisany użytkownik lub null w przypadku błędu
+     */
+    public User insertUserAndGet(User user) {
+        return insertUser(user) ? getUserByEmail(user.getEmail()) : null;
+    }
+
     /**
      * Pobiera użytkownika na podstawie adresu email.
      *
@@ -122,6 +148,43 @@ public class UserDAO {
         return null;
     }
 
+    /**
+     * Pobiera podstawowe dane (imię, nazwisko, email, rolę) użytkowników o podanych ID jednym zapytaniem.
+     *
+     * @param userIds ID użytkowników
+     * @return Mapa ID użytkownika na obiekt User (użytkownicy nieistniejący nie występują w mapie)
+     */
+    public Map<Integer, User> getUsersByIds(Collection<Integer> userIds) {
+        Map<Integer, User> users = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return users;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(userIds.size(), "?"));
+        String sql = "SELECT id, name, last_name, email, role_id, group_id FROM users WHERE id IN (%s)".formatted(placeholders);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Integer userId : userIds) {
+                stmt.setInt(index++, userId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    User user = new User();
+                    user.setId(rs.getInt("id"));
+                    user.setName(rs.getString("name"));
+                    user.setLastName(rs.getString("last_name"));
+                    user.setEmail(rs.getString("email"));
+                    user.setRoleId(rs.getInt("role_id"));
+                    user.setGroupId(rs.getInt("group_id"));
+                    users.put(user.getId(), user);
+                }
+            }
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching users by IDs", ex);
+        }
+        return users;
+    }
+
     /**
      * Aktualizuje dane użytkownika w bazie danych.
      *
@@ -162,8 +225,10 @@ public class UserDAO {
 
                 int affectedUser = stmtUser.executeUpdate();
                 int affectedSettings = stmtSettings.executeUpdate();
+                changeLog.recordChange(conn, "users", user.getId(), ChangeLogDAO.UPDATE);
 
                 conn.commit();
+                UserCache.invalidate(user.getId());
                 return affectedUser > 0;
             } catch (SQLException ex) {
                 conn.rollback();
@@ -177,6 +242,16 @@ public class UserDAO {
         return false;
     }
 
+    /**
+     * Aktualizuje dane użytkownika i zwraca jego aktualną postać z bazy danych.
+     *
+     * @param user Obiekt User zawierający zaktualizowane dane
+     * @return Zaktualizowany użytkownik lub null w przypadku błędu
+     */
+    public User updateUserAndGet(User user) {
+        return updateUser(user) ? getUserById(user.getId()) : null;
+    }
+
     /**
      * Pobiera listę wszystkich użytkowników systemu.
      *
@@ -204,6 +279,94 @@ public class UserDAO {
         return list;
     }
 
+    /**
+     * Kolumny, według których można sortować stronicowaną listę użytkowników.
+     */
+    private static final Map<String, String> USER_SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "lastName", "last_name",
+            "email", "email",
+            "role", "role_id",
+            "group", "group_id");
+
+    /**
+     * Zwraca liczbę użytkowników pasujących do wyszukiwanego tekstu.
+     *
+     * @param searchText tekst wyszukiwany w identyfikatorze, imieniu, nazwisku i e-mailu; pusty oznacza wszystkich
+     * @return liczba użytkowników lub -1 w przypadku błędu
+     */
+    public int countUsers(String searchText) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM users WHERE 1=1 " + userSearchCondition(searchText, params);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error counting users", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Pobiera jedną stronę użytkowników pasujących do wyszukiwanego tekstu, posortowaną w zapytaniu.
+     * Nazwa zespołu użytkownika jest pobierana w tym samym zapytaniu.
+     *
+     * @param searchText tekst wyszukiwany w identyfikatorze, imieniu, nazwisku i e-mailu; pusty oznacza wszystkich
+     * @param page przesunięcie, rozmiar strony i sortowanie
+     * @return Lista użytkowników strony lub null w przypadku błędu
+     */
+    public List<User> getUsersPage(String searchText, PageRequest page) {
+        List<User> list = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT users.*, (SELECT t.team_name FROM team_members tm JOIN teams t ON t.id = tm.team_id " +
+                "WHERE tm.user_id = users.id LIMIT 1) AS team_name FROM users WHERE 1=1 " +
+                userSearchCondition(searchText, params)
+                + page.orderByClause(USER_SORT_COLUMNS, "id ASC", "id");
+        params.add(page.getLimit());
+        params.add(page.getOffset());
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    User u = new User();
+                    u.setId(rs.getInt("id"));
+                    u.setName(rs.getString("name"));
+                    u.setLastName(rs.getString("last_name"));
+                    u.setEmail(rs.getString("email"));
+                    u.setRoleId(rs.getInt("role_id"));
+                    u.setGroupId(rs.getInt("group_id"));
+                    u.setPasswordHint(rs.getString("password_hint"));
+                    u.setTeamName(rs.getString("team_name"));
+                    list.add(u);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error fetching users page", e);
+            return null;
+        }
+        return list;
+    }
+
+    private String userSearchCondition(String searchText, List<Object> params) {
+        if (searchText == null || searchText.isBlank()) {
+            return "";
+        }
+        String searchPattern = "%" + searchText.trim().toLowerCase() + "%";
+        for (int i = 0; i < 4; i++) {
+            params.add(searchPattern);
+        }
+        return "AND (CONCAT(id, '') LIKE ? OR LOWER(name) LIKE ? OR LOWER(last_name) LIKE ? OR LOWER(email) LIKE ?) ";
+    }
+
     /**
      * Pobiera listę wszystkich menedżerów systemu (użytkowników z rolą ID=2).
      *
@@ -294,8 +457,10 @@ public class UserDAO {
 
                 stmtUser.setInt(1, userId);
                 int affectedRows = stmtUser.executeUpdate();
+                changeLog.recordChange(conn, "users", userId, ChangeLogDAO.DELETE);
 
                 conn.commit();
+                UserCache.invalidate(userId);
                 return affectedRows > 0;
             } catch (SQLException ex) {
                 conn.rollback();
@@ -64,6 +64,16 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Ustawia jawny URL bazy danych, np. przy generowaniu raportów z wiersza poleceń.
+     * Dane logowania podaje się w samym URL-u.
+     *
+     * @param url URL bazy danych MariaDB lub H2
+     */
+    public static void setUrl(String url) {
+        setTestUrl(url);
+    }
+
     /**
      * Zwraca połączenie do bazy danych.
      * Wybiera odpowiedni typ połączenia w zależności od konfiguracji:
@@ -138,12 +148,22 @@ public class DatabaseManager {
     /**
      * Inicjalizuje bazę danych w trybie embedded (H2).
      * Wykonuje skrypty migracji i seedera jeśli tabela USERS nie istnieje.
+     * W obu trybach dokłada tabele dziennika zmian i liczników zmian, jeśli jeszcze ich brakuje,
+     * oraz uprawnienie do raportów całego systemu dla administratora.
      *
      * @return true jeśli inicjalizacja się powiodła lub nie była potrzebna,
      *         false jeśli wystąpił błąd podczas inicjalizacji
      */
     public static boolean initializeDatabase() {
         if (!useEmbedded) {
+            try (Connection conn = getConnection()) {
+                ensureChangeLog(conn);
+                ensureTableVersions(conn);
+                ensureReportSchedules(conn);
+                ensureReportScopePermission(conn);
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
             return true;
         }
 
@@ -151,8 +171,16 @@ public class DatabaseManager {
             if (!tableExists(conn, "USERS")) {
                 executeScriptFromResource(conn, "/db/migration/V1__init.sql");
                 executeScriptFromResource(conn, "/db/seeder/V1__init.sql");
+                ensureChangeLog(conn);
+                ensureTableVersions(conn);
+                ensureReportSchedules(conn);
+                ensureReportScopePermission(conn);
                 return true;
             }
+            ensureChangeLog(conn);
+            ensureTableVersions(conn);
+            ensureReportSchedules(conn);
+            ensureReportScopePermission(conn);
             return false;
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -160,6 +188,83 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Tworzy tabelę dziennika zmian (change_log), jeśli nie istnieje.
+     *
+     * @param conn aktywne połączenie do bazy danych
+     * @throws SQLException jeśli wystąpi błąd podczas wykonywania skryptu
+     */
+    private static void ensureChangeLog(Connection conn) throws SQLException {
+        if (!tableExists(conn, "CHANGE_LOG") && !tableExists(conn, "change_log")) {
+            executeScriptFromResource(conn, "/db/migration/V2__change_log.sql");
+        }
+    }
+
+    /**
+     * Tworzy tabelę liczników zmian (table_versions), jeśli nie istnieje,
+     * i wypełnia ją liczbami wpisów z dziennika zmian.
+     *
+     * @param conn aktywne połączenie do bazy danych
+     * @throws SQLException jeśli wystąpi błąd podczas wykonywania skryptu
+     */
+    private static void ensureTableVersions(Connection conn) throws SQLException {
+        if (!tableExists(conn, "TABLE_VERSIONS") && !tableExists(conn, "table_versions")) {
+            executeScriptFromResource(conn, "/db/migration/V6__table_versions.sql");
+        }
+    }
+
+    /**
+     * Tworzy tabelę harmonogramu raportów (report_schedules), jeśli nie istnieje.
+     *
+     * @param conn aktywne połączenie do bazy danych
+     * @throws SQLException jeśli wystąpi błąd podczas wykonywania skryptu
+     */
+    private static void ensureReportSchedules(Connection conn) throws SQLException {
+        if (!tableExists(conn, "REPORT_SCHEDULES") && !tableExists(conn, "report_schedules")) {
+            executeScriptFromResource(conn, "/db/migration/V3__report_schedules.sql");
+        }
+    }
+
+    /**
+     * Nadaje roli administratora uprawnienie do raportów całego systemu w bazach utworzonych
+     * przed jego wprowadzeniem. Skrypt jest wykonywany co najwyżej raz dla danej bazy, dlatego
+     * uprawnienie odebrane później bezpośrednio w bazie nie jest przywracane przy starcie.
+     *
+     * @param conn aktywne połączenie do bazy danych
+     * @throws SQLException jeśli wystąpi błąd podczas wykonywania skryptu
+     */
+    private static void ensureReportScopePermission(Connection conn) throws SQLException {
+        applyOnce(conn, "V4", "/db/migration/V4__report_scope_permission.sql");
+    }
+
+    /**
+     * Wykonuje skrypt migracji, jeśli jego wersja nie została jeszcze odnotowana
+     * w tabeli schema_migrations, a następnie ją odnotowuje.
+     *
+     * @param conn aktywne połączenie do bazy danych
+     * @param version wersja migracji, np. "V4"
+     * @param resourcePath ścieżka do zasobu ze skryptem SQL
+     * @throws SQLException jeśli wystąpi błąd podczas wykonywania skryptu
+     */
+    private static void applyOnce(Connection conn, String version, String resourcePath) throws SQLException {
+        if (!tableExists(conn, "SCHEMA_MIGRATIONS") && !tableExists(conn, "schema_migrations")) {
+            executeScriptFromResource(conn, "/db/migration/V5__schema_migrations.sql");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM schema_migrations WHERE version = ?")) {
+            stmt.setString(1, version);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        executeScriptFromResource(conn, resourcePath);
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO schema_migrations (version) VALUES (?)")) {
+            stmt.setString(1, version);
+            stmt.executeUpdate();
+        }
+    }
+
     /**
      * Sprawdza czy tabela istnieje w bieżącej bazie danych.
      *
@@ -183,7 +288,7 @@ public class DatabaseManager {
      */
     private static void executeScriptFromResource(Connection conn, String resourcePath) throws SQLException {
         try {
-            InputStream inputStream = DatabaseManager.class.getClassLoader().getResourceAsStream(resourcePath);
+            InputStream inputStream = DatabaseManager.class.getResourceAsStream(resourcePath);
             if (inputStream == null) {
                 throw new SQLException("Resource not found: " + resourcePath);
             }
@@ -0,0 +1,55 @@
+package pl.rozowi.app.models;
+
+import java.sql.Timestamp;
+
+/**
+ * Wpis dziennika zmian (tabela change_log).
+ * Opisuje pojedynczą modyfikację wiersza wykonaną przez warstwę DAO.
+ */
+public class ChangeLogEntry {
+    private long id;
+    private String tableName;
+    private int rowId;
+    private String operation;
+    private Timestamp changedAt;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public int getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(int rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Timestamp getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Timestamp changedAt) {
+        this.changedAt = changedAt;
+    }
+}
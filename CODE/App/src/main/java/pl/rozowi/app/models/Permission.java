@@ -0,0 +1,172 @@
+package pl.rozowi.app.models;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Uprawnienia przypisywane rolom użytkowników.
+ * W bazie danych uprawnienia roli zapisane są jako lista kodów oddzielonych przecinkami
+ * w kolumnie roles.permissions. Enum zamienia tę listę na maskę bitową,
+ * dzięki czemu sprawdzenie uprawnienia wymaga jednej operacji bitowej.
+ * Obsługiwane są również kody zbiorcze używane w danych początkowych
+ * (np. MANAGE_PROJECTS, UPDATE_TASKS) oraz "ALL" oznaczające wszystkie uprawnienia.
+ */
+public enum Permission {
+    VIEW_USERS,
+    EDIT_USERS,
+    DELETE_USERS,
+    RESET_PASSWORDS,
+    VIEW_ROLES,
+    EDIT_ROLES,
+
+    VIEW_PROJECTS,
+    CREATE_PROJECTS,
+    EDIT_PROJECTS,
+    DELETE_PROJECTS,
+    ASSIGN_PROJECTS,
+
+    VIEW_TEAMS,
+    CREATE_TEAMS,
+    EDIT_TEAMS,
+    DELETE_TEAMS,
+    ASSIGN_TEAM_MEMBERS,
+
+    VIEW_TASKS,
+    CREATE_TASKS,
+    EDIT_TASKS,
+    DELETE_TASKS,
+    ASSIGN_TASKS,
+    EDIT_OWN_TASKS,
+
+    VIEW_REPORTS,
+    VIEW_ALL_REPORTS;
+
+    /**
+     * Kod oznaczający wszystkie uprawnienia.
+     */
+    public static final String ALL_CODE = "ALL";
+
+    private static final long ALL_MASK = (1L << values().length) - 1;
+
+    private static final Map<String, Set<Permission>> ALIASES = Map.of(
+            "MANAGE_USERS", EnumSet.of(VIEW_USERS, EDIT_USERS, DELETE_USERS, RESET_PASSWORDS, VIEW_ROLES, EDIT_ROLES),
+            "MANAGE_PROJECTS", EnumSet.of(VIEW_PROJECTS, CREATE_PROJECTS, EDIT_PROJECTS, DELETE_PROJECTS, ASSIGN_PROJECTS),
+            "MANAGE_TEAMS", EnumSet.of(VIEW_TEAMS, CREATE_TEAMS, EDIT_TEAMS, DELETE_TEAMS, ASSIGN_TEAM_MEMBERS, ASSIGN_TASKS),
+            "EDIT_TASKS", EnumSet.of(EDIT_TASKS, EDIT_OWN_TASKS),
+            "UPDATE_TASKS", EnumSet.of(EDIT_TASKS, EDIT_OWN_TASKS),
+            "UPDATE_OWN_TASKS", EnumSet.of(EDIT_OWN_TASKS)
+    );
+
+    /**
+     * Zwraca bit odpowiadający uprawnieniu.
+     *
+     * @return maska z jednym ustawionym bitem
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Sprawdza, czy uprawnienie jest zawarte w masce.
+     *
+     * @param mask maska uprawnień roli
+     * @return true jeśli uprawnienie jest przyznane
+     */
+    public boolean in(long mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /**
+     * Zamienia listę kodów uprawnień oddzielonych przecinkami na maskę bitową.
+     * Nieznane kody są pomijane.
+     *
+     * @param codes lista kodów z kolumny roles.permissions (może być null)
+     * @return maska uprawnień
+     */
+    public static long parseMask(String codes) {
+        if (codes == null || codes.isBlank()) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String raw : codes.split(",")) {
+            String code = raw.trim().toUpperCase(Locale.ROOT);
+            if (code.isEmpty()) {
+                continue;
+            }
+            if (ALL_CODE.equals(code)) {
+                return ALL_MASK;
+            }
+            Set<Permission> expanded = ALIASES.get(code);
+            if (expanded != null) {
+                mask |= toMask(expanded);
+                continue;
+            }
+            try {
+                mask |= valueOf(code).bit();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Zamienia listę kodów uprawnień na zbiór.
+     *
+     * @param codes lista kodów oddzielonych przecinkami (może być null)
+     * @return zbiór uprawnień
+     */
+    public static EnumSet<Permission> parse(String codes) {
+        return fromMask(parseMask(codes));
+    }
+
+    /**
+     * Tworzy maskę bitową z kolekcji uprawnień.
+     *
+     * @param permissions kolekcja uprawnień
+     * @return maska uprawnień
+     */
+    public static long toMask(Collection<Permission> permissions) {
+        long mask = 0L;
+        for (Permission permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Tworzy zbiór uprawnień z maski bitowej.
+     *
+     * @param mask maska uprawnień
+     * @return zbiór uprawnień
+     */
+    public static EnumSet<Permission> fromMask(long mask) {
+        EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : values()) {
+            if (permission.in(mask)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    /**
+     * Zamienia zbiór uprawnień na listę kodów do zapisania w kolumnie roles.permissions.
+     *
+     * @param permissions zbiór uprawnień
+     * @return lista kodów oddzielonych przecinkami lub "ALL" dla pełnego zbioru
+     */
+    public static String format(Set<Permission> permissions) {
+        if (toMask(permissions) == ALL_MASK) {
+            return ALL_CODE;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (Permission permission : fromMask(toMask(permissions))) {
+            joiner.add(permission.name());
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package pl.rozowi.app.models;
+
+import java.sql.Timestamp;
+
+public class ReportSchedule {
+    private int id;
+    private String reportType;
+    private String reportOptions;
+    private String outputDirectory;
+    private int intervalDays;
+    private Timestamp nextRunAt;
+    private Timestamp lastRunAt;
+    private int failedAttempts;
+    private int createdBy;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(String reportType) {
+        this.reportType = reportType;
+    }
+
+    public String getReportOptions() {
+        return reportOptions;
+    }
+
+    public void setReportOptions(String reportOptions) {
+        this.reportOptions = reportOptions;
+    }
+
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public Timestamp getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(Timestamp nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    public Timestamp getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(Timestamp lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public void setFailedAttempts(int failedAttempts) {
+        this.failedAttempts = failedAttempts;
+    }
+
+    public int getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(int createdBy) {
+        this.createdBy = createdBy;
+    }
+}
@@ -10,6 +10,9 @@ public class Team {
     private final StringProperty teamName = new SimpleStringProperty();
     private final IntegerProperty projectId = new SimpleIntegerProperty();
 
+    private final IntegerProperty memberCount = new SimpleIntegerProperty();
+    private final StringProperty leaderName = new SimpleStringProperty();
+
     public int getId() {
         return id.get();
     }
@@ -34,6 +37,22 @@ public class Team {
         this.projectId.set(pid);
     }
 
+    public int getMemberCount() {
+        return memberCount.get();
+    }
+
+    public void setMemberCount(int count) {
+        this.memberCount.set(count);
+    }
+
+    public String getLeaderName() {
+        return leaderName.get();
+    }
+
+    public void setLeaderName(String name) {
+        this.leaderName.set(name);
+    }
+
     public IntegerProperty idProperty() {
         return id;
     }
@@ -46,6 +65,14 @@ public class Team {
         return projectId;
     }
 
+    public IntegerProperty memberCountProperty() {
+        return memberCount;
+    }
+
+    public StringProperty leaderNameProperty() {
+        return leaderName;
+    }
+
     @Override
     public String toString() {
         return getId() + " – " + getTeamName();
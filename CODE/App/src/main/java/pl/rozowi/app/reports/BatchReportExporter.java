@@ -0,0 +1,280 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.models.User;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Eksport zbiorczy: jeden plik PDF na każdy zespół raportu struktury zespołów albo na każdy
+ * projekt przeglądu projektów.
+ * <p>
+ * Dane wszystkich wybranych zespołów lub projektów są wczytywane jednym wywołaniem generatora
+ * (zapytaniami zbiorczymi), a raport jest dzielony na sekcje najwyższego poziomu. Każda sekcja
+ * jest zapisywana do osobnego pliku PDF w ograniczonej puli wątków, ze wspólnymi czcionkami
+ * {@link DefaultReportStyle}. Błąd zapisu jednej sekcji nie przerywa eksportu pozostałych.
+ * <p>
+ * Każdy plik jest zapisywany najpierw pod nazwą tymczasową i przenoszony na miejsce dopiero po zapisaniu
+ * całości, więc w katalogu docelowym nie pojawiają się niekompletne pliki PDF. Po anulowaniu eksportu
+ * usuwane są także pliki zapisane już wcześniej.
+ */
+public class BatchReportExporter {
+
+    /**
+     * Maksymalna liczba plików PDF zapisywanych jednocześnie.
+     */
+    static final int MAX_THREADS = 4;
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    /**
+     * Rozszerzenie pliku zapisywanego przed przeniesieniem go pod nazwę docelową.
+     */
+    static final String PARTIAL_SUFFIX = ".part";
+
+    private final SystemReportGenerator generator;
+    private final ReportService reportService;
+    private final int threads;
+
+    /**
+     * Wynik eksportu zbiorczego.
+     *
+     * @param files    zapisane pliki: pliki PDF albo jedno archiwum ZIP
+     * @param failures opisy błędów dla sekcji, których nie udało się zapisać, według tytułu sekcji
+     */
+    public record Result(List<Path> files, Map<String, String> failures) {
+    }
+
+    public BatchReportExporter() {
+        this(new SystemReportGenerator(), new ReportService(),
+                Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    BatchReportExporter(SystemReportGenerator generator, ReportService reportService, int threads) {
+        this.generator = generator;
+        this.reportService = reportService;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sprawdza, czy raport danego typu można wyeksportować zbiorczo.
+     *
+     * @param reportType typ raportu
+     * @return true dla struktury zespołów i przeglądu projektów
+     */
+    public static boolean supports(String reportType) {
+        return SystemReportGenerator.TEAMS_STRUCTURE.equals(reportType)
+                || SystemReportGenerator.PROJECTS_OVERVIEW.equals(reportType);
+    }
+
+    /**
+     * Buduje raport dla wybranych zespołów lub projektów i zapisuje każdy z nich do osobnego pliku PDF.
+     * Zadania projektów są odczytywane strumieniowo przy zapisie pliku.
+     *
+     * @param reportType    {@link SystemReportGenerator#TEAMS_STRUCTURE} lub {@link SystemReportGenerator#PROJECTS_OVERVIEW}
+     * @param currentUser   użytkownik, dla którego budowany jest raport
+     * @param filterOptions opcje filtrowania, w tym wybrane zespoły lub projekty
+     * @param directory     katalog docelowy
+     * @param zip           czy spakować pliki do jednego archiwum ZIP
+     * @param progress      postęp eksportu; połowa przypada na wczytanie danych, połowa na zapis plików
+     * @return zapisane pliki i błędy poszczególnych sekcji
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * @throws IOException  jeśli nie uda się utworzyć katalogu lub archiwum
+     */
+    public Result export(String reportType, User currentUser, Map<String, Object> filterOptions,
+                         Path directory, boolean zip, ReportProgress progress) throws SQLException, IOException {
+        if (!supports(reportType)) {
+            throw new IllegalArgumentException("Eksport zbiorczy nie obsługuje raportu: " + reportType);
+        }
+        Map<String, Object> options = new HashMap<>(filterOptions);
+        options.put(SystemReportGenerator.STREAM_TASKS, true);
+        ReportDocument report = generator.generate(reportType, currentUser, options,
+                (done, total, step) -> progress.update(done, 2 * total, step));
+        return export(report, directory, zip, (done, total, step) -> progress.update(total + done, 2 * total, step));
+    }
+
+    /**
+     * Zapisuje każdą sekcję najwyższego poziomu raportu do osobnego pliku PDF z tytułem
+     * i filtrami całego raportu.
+     *
+     * @param report    raport podzielony na sekcje zespołów lub projektów
+     * @param directory katalog docelowy
+     * @param zip       czy spakować pliki do jednego archiwum ZIP
+     * @param progress  postęp zapisu, zgłaszany po każdym pliku
+     * @return zapisane pliki i błędy poszczególnych sekcji
+     * @throws IOException jeśli nie uda się utworzyć katalogu lub archiwum
+     */
+    Result export(ReportDocument report, Path directory, boolean zip, ReportProgress progress) throws IOException {
+        Files.createDirectories(directory);
+        String prefix = "raport_" + fileName(report.getTitle()) + "_" + report.getGeneratedAt().format(FILE_TIMESTAMP);
+
+        List<ReportBlock.Section> sections = new ArrayList<>();
+        for (ReportBlock block : report.getBlocks()) {
+            if (block instanceof ReportBlock.Section section) {
+                sections.add(section);
+            }
+        }
+
+        Map<Future<Path>, String> pending = new HashMap<>();
+        Map<String, Path> written = new LinkedHashMap<>();
+        List<Path> moved = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Map<String, String> failures = new LinkedHashMap<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-report-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Path> completion = new ExecutorCompletionService<>(workers);
+        try {
+            for (ReportBlock.Section section : sections) {
+                Path file = directory.resolve(prefix + "_" + fileName(section.getTitle()) + ".pdf");
+                ReportDocument part = new ReportDocument(report.getTitle(), report.getGeneratedAt());
+                report.getFilters().forEach(part::addFilter);
+                part.add(section);
+                pending.put(completion.submit(() -> {
+                    Path partial = file.resolveSibling(file.getFileName() + PARTIAL_SUFFIX);
+                    try {
+                        reportService.generatePdf(partial.toString(), part);
+                        synchronized (moved) {
+                            if (cancelled.get()) {
+                                throw new CancellationException();
+                            }
+                            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+                            moved.add(file);
+                        }
+                    } finally {
+                        Files.deleteIfExists(partial);
+                    }
+                    return file;
+                }), section.getTitle());
+            }
+
+            progress.update(0, sections.size(), "");
+            for (int done = 1; done <= sections.size(); done++) {
+                Future<Path> future = completion.take();
+                String title = pending.remove(future);
+                try {
+                    written.put(title, future.get());
+                } catch (ExecutionException e) {
+                    failures.put(title, String.valueOf(e.getCause().getMessage()));
+                }
+                progress.update(done, sections.size(), title);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discard(pending.keySet(), moved, cancelled);
+            throw new CancellationException("Eksport zbiorczy został przerwany");
+        } catch (CancellationException e) {
+            discard(pending.keySet(), moved, cancelled);
+            throw e;
+        } finally {
+            workers.shutdown();
+        }
+
+        List<Path> files = new ArrayList<>();
+        for (ReportBlock.Section section : sections) {
+            Path file = written.get(section.getTitle());
+            if (file != null) {
+                files.add(file);
+            }
+        }
+        if (zip && !files.isEmpty()) {
+            Path archive = directory.resolve(prefix + ".zip");
+            zip(files, archive);
+            files = List.of(archive);
+        }
+        return new Result(files, failures);
+    }
+
+    /**
+     * Tworzy raport podsumowujący eksport zbiorczy, wyświetlany w podglądzie.
+     *
+     * @param reportType typ wyeksportowanego raportu
+     * @param directory  katalog docelowy
+     * @param result     wynik eksportu
+     * @return raport podsumowania
+     */
+    public static ReportDocument summary(String reportType, Path directory, Result result) {
+        ReportDocument report = new ReportDocument("Eksport zbiorczy: " + reportType)
+                .add(new ReportBlock.KeyValues(null)
+                        .put("Katalog", directory)
+                        .put("Zapisane pliki", result.files().size())
+                        .put("Błędy", result.failures().size()));
+        ReportBlock.Items files = new ReportBlock.Items("Zapisane pliki");
+        result.files().forEach(file -> files.add(file.getFileName().toString()));
+        report.add(files);
+        if (!result.failures().isEmpty()) {
+            ReportBlock.Items failures = new ReportBlock.Items("Błędy zapisu");
+            result.failures().forEach((title, error) -> failures.add(title + ": " + error));
+            report.add(failures);
+        }
+        return report;
+    }
+
+    /**
+     * Anuluje zapisy, które się jeszcze nie rozpoczęły, i usuwa pliki przeniesione już na miejsce.
+     * Zapisy w toku kończą się usunięciem własnego pliku tymczasowego, bo nie są już przenoszone.
+     */
+    private static void discard(Collection<Future<Path>> pending, List<Path> moved, AtomicBoolean cancelled) {
+        pending.forEach(future -> future.cancel(false));
+        synchronized (moved) {
+            cancelled.set(true);
+            for (Path file : moved) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Nie udało się usunąć pliku anulowanego eksportu " + file + ": " + e.getMessage());
+                }
+            }
+            moved.clear();
+        }
+    }
+
+    private static void zip(List<Path> files, Path archive) throws IOException {
+        try (OutputStream out = Files.newOutputStream(archive);
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Path file : files) {
+                zip.putNextEntry(new ZipEntry(file.getFileName().toString()));
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Zamienia tytuł na bezpieczną nazwę pliku, np. "ZESPÓŁ: Alfa (ID: 3)" na "zespol_alfa_id_3".
+     */
+    static String fileName(String title) {
+        String ascii = Normalizer.normalize(title.replace('ł', 'l').replace('Ł', 'L'), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return ascii.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
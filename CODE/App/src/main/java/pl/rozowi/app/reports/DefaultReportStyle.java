@@ -0,0 +1,127 @@
+package pl.rozowi.app.reports;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.BaseFont;
+
+/**
+ * Domyślny styl raportów TaskApp: Helvetica z kodowaniem CP1250 (polskie znaki) i niebieskie nagłówki.
+ * Kolory i teksty są takie same jak w stylu domyślnym modułu task-app-reports.
+ * Czcionki tworzone są raz na JVM, przy pierwszym użyciu, i współdzielone przez wszystkie instancje stylu.
+ * W przypadku błędu ładowania czcionki używane są domyślne czcionki Helvetica.
+ */
+public class DefaultReportStyle implements ReportStyle {
+
+    private static final BaseColor PRIMARY_COLOR = new BaseColor(0, 123, 255);
+    private static final BaseColor SECONDARY_COLOR = new BaseColor(30, 30, 47);
+    private static final BaseColor LIGHT_COLOR = new BaseColor(240, 240, 245);
+    private static final BaseColor FILTER_COLOR = new BaseColor(100, 100, 100);
+
+    private static final String REPORT_FOOTER_TEXT = "Ten raport został wygenerowany automatycznie przez system TaskApp.";
+    private static final String PAGE_NUMBER_PREFIX = "TaskApp - Strona ";
+
+    private static final DefaultReportStyle INSTANCE = new DefaultReportStyle();
+
+    /**
+     * Czcionki ładowane przy pierwszym odwołaniu do którejkolwiek z nich.
+     */
+    private static final class Fonts {
+        private static final BaseFont BASE = loadBaseFont();
+        private static final Font TITLE = font(18, Font.BOLD, PRIMARY_COLOR);
+        private static final Font SUBTITLE = font(14, Font.BOLD, PRIMARY_COLOR);
+        private static final Font SECTION = font(12, Font.BOLD, null);
+        private static final Font NORMAL = font(10, Font.NORMAL, null);
+        private static final Font SMALL = font(8, Font.NORMAL, null);
+        private static final Font TABLE_HEADER = font(10, Font.BOLD, BaseColor.WHITE);
+        private static final Font TABLE_DATA = font(9, Font.NORMAL, null);
+        private static final Font FILTER = font(10, Font.ITALIC, FILTER_COLOR);
+
+        private static BaseFont loadBaseFont() {
+            try {
+                return BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1250, BaseFont.EMBEDDED);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+
+        private static Font font(float size, int style, BaseColor color) {
+            if (BASE != null) {
+                return new Font(BASE, size, style, color);
+            }
+            return new Font(Font.FontFamily.HELVETICA, size, style, color);
+        }
+    }
+
+    /**
+     * Zwraca styl wspólny dla całej aplikacji.
+     */
+    public static DefaultReportStyle getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public BaseColor getPrimaryColor() {
+        return PRIMARY_COLOR;
+    }
+
+    @Override
+    public BaseColor getSecondaryColor() {
+        return SECONDARY_COLOR;
+    }
+
+    @Override
+    public BaseColor getLightColor() {
+        return LIGHT_COLOR;
+    }
+
+    @Override
+    public String getReportFooterText() {
+        return REPORT_FOOTER_TEXT;
+    }
+
+    @Override
+    public String getPageNumberPrefix() {
+        return PAGE_NUMBER_PREFIX;
+    }
+
+    @Override
+    public Font getTitleFont() {
+        return Fonts.TITLE;
+    }
+
+    @Override
+    public Font getSubtitleFont() {
+        return Fonts.SUBTITLE;
+    }
+
+    @Override
+    public Font getSectionFont() {
+        return Fonts.SECTION;
+    }
+
+    @Override
+    public Font getNormalFont() {
+        return Fonts.NORMAL;
+    }
+
+    @Override
+    public Font getSmallFont() {
+        return Fonts.SMALL;
+    }
+
+    @Override
+    public Font getTableHeaderFont() {
+        return Fonts.TABLE_HEADER;
+    }
+
+    @Override
+    public Font getTableDataFont() {
+        return Fonts.TABLE_DATA;
+    }
+
+    @Override
+    public Font getFilterFont() {
+        return Fonts.FILTER;
+    }
+}
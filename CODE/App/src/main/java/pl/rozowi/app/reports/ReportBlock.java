@@ -0,0 +1,213 @@
+package pl.rozowi.app.reports;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Element treści raportu. Bloki są budowane raz na podstawie danych, a następnie renderowane
+ * do podglądu tekstowego ({@link TextReportRenderer}) i do PDF ({@link pl.rozowi.app.services.ReportService}).
+ */
+public sealed interface ReportBlock
+        permits ReportBlock.Section, ReportBlock.KeyValues, ReportBlock.Table, ReportBlock.Items, ReportBlock.Text {
+
+    /**
+     * Sekcja z nagłówkiem, np. jeden zespół lub projekt, grupująca kolejne bloki.
+     */
+    final class Section implements ReportBlock {
+        private final String title;
+        private final List<ReportBlock> blocks = new ArrayList<>();
+
+        public Section(String title) {
+            this.title = title;
+        }
+
+        public Section add(ReportBlock block) {
+            blocks.add(block);
+            return this;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public List<ReportBlock> getBlocks() {
+            return Collections.unmodifiableList(blocks);
+        }
+    }
+
+    /**
+     * Lista par klucz–wartość, np. dane projektu lub statystyki zadań.
+     */
+    final class KeyValues implements ReportBlock {
+        private final String title;
+        private final List<Map.Entry<String, String>> entries = new ArrayList<>();
+
+        /**
+         * @param title nagłówek bloku lub null, jeśli blok nie ma nagłówka
+         */
+        public KeyValues(String title) {
+            this.title = title;
+        }
+
+        public KeyValues put(String key, Object value) {
+            entries.add(Map.entry(key, String.valueOf(value)));
+            return this;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public List<Map.Entry<String, String>> getEntries() {
+            return Collections.unmodifiableList(entries);
+        }
+    }
+
+    /**
+     * Tabela z nagłówkami kolumn. Komórka może zawierać kilka wierszy rozdzielonych znakiem nowej linii.
+     * <p>
+     * Wiersze dodawane są przez {@link #row(String...)} albo, dla bardzo dużych tabel, odczytywane
+     * przy renderowaniu ze źródła ({@link #streamRows(RowSource)}), np. kursora bazy danych,
+     * dzięki czemu nie są przechowywane w pamięci.
+     */
+    final class Table implements ReportBlock {
+        private final String title;
+        private final List<String> headers;
+        private final float[] widths;
+        private final List<List<String>> rows = new ArrayList<>();
+        private RowSource rowSource;
+
+        /**
+         * Źródło wierszy tabeli odczytywane przy każdym renderowaniu.
+         */
+        @FunctionalInterface
+        public interface RowSource {
+            /**
+             * Przekazuje kolejne wiersze tabeli; każde wywołanie odczytuje dane od początku.
+             *
+             * @param row akcja wywoływana dla każdego wiersza z wartościami komórek
+             */
+            void forEach(Consumer<String[]> row);
+        }
+
+        /**
+         * @param title   nagłówek tabeli lub null
+         * @param headers nagłówki kolumn
+         * @param widths  względne szerokości kolumn w PDF; długość równa liczbie nagłówków
+         */
+        public Table(String title, List<String> headers, float[] widths) {
+            if (headers.size() != widths.length) {
+                throw new IllegalArgumentException("Liczba szerokości kolumn nie zgadza się z liczbą nagłówków");
+            }
+            this.title = title;
+            this.headers = List.copyOf(headers);
+            this.widths = widths.clone();
+        }
+
+        public Table row(String... cells) {
+            if (rowSource != null) {
+                throw new IllegalStateException("Wiersze tabeli są odczytywane ze źródła");
+            }
+            rows.add(toRow(cells));
+            return this;
+        }
+
+        /**
+         * Ustawia źródło wierszy odczytywane przy renderowaniu zamiast wierszy przechowywanych w tabeli.
+         *
+         * @param source źródło wierszy
+         * @return ta tabela
+         */
+        public Table streamRows(RowSource source) {
+            if (!rows.isEmpty()) {
+                throw new IllegalStateException("Tabela zawiera już wiersze");
+            }
+            this.rowSource = source;
+            return this;
+        }
+
+        /**
+         * @return true jeśli wiersze są odczytywane ze źródła przy renderowaniu
+         */
+        public boolean isStreamed() {
+            return rowSource != null;
+        }
+
+        /**
+         * Przekazuje kolejne wiersze tabeli: przechowywane w tabeli albo odczytane ze źródła.
+         *
+         * @param action akcja wywoływana dla każdego wiersza
+         */
+        public void forEachRow(Consumer<List<String>> action) {
+            if (rowSource == null) {
+                rows.forEach(action);
+            } else {
+                rowSource.forEach(cells -> action.accept(toRow(cells)));
+            }
+        }
+
+        private List<String> toRow(String[] cells) {
+            if (cells.length != headers.size()) {
+                throw new IllegalArgumentException("Wiersz ma " + cells.length + " komórek, oczekiwano " + headers.size());
+            }
+            List<String> row = new ArrayList<>(cells.length);
+            for (String cell : cells) {
+                row.add(cell == null ? "" : cell);
+            }
+            return row;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        public float[] getWidths() {
+            return widths.clone();
+        }
+
+        /**
+         * @return wiersze przechowywane w tabeli; dla tabeli ze źródłem wierszy lista jest pusta
+         */
+        public List<List<String>> getRows() {
+            return Collections.unmodifiableList(rows);
+        }
+    }
+
+    /**
+     * Lista wypunktowana, np. członkowie zespołu.
+     */
+    final class Items implements ReportBlock {
+        private final String title;
+        private final List<String> items = new ArrayList<>();
+
+        public Items(String title) {
+            this.title = title;
+        }
+
+        public Items add(String item) {
+            items.add(item);
+            return this;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public List<String> getItems() {
+            return Collections.unmodifiableList(items);
+        }
+    }
+
+    /**
+     * Zwykły akapit tekstu, np. komunikat o braku danych.
+     */
+    record Text(String text) implements ReportBlock {
+    }
+}
@@ -0,0 +1,287 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ChangeLogDAO;
+import pl.rozowi.app.dao.ReportDAO;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Report;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Pamięć podręczna wygenerowanych raportów na dysku: podgląd tekstowy i plik PDF.
+ * <p>
+ * Kluczem wpisu jest typ raportu, zakres danych użytkownika (np. projekty kierownika), kanoniczny
+ * odcisk opcji filtrowania oraz wersje tabel, z których raport jest budowany (z dziennika zmian).
+ * Każda modyfikacja tych tabel zmienia klucz, więc nieaktualny wpis nie zostanie już odczytany
+ * i z czasem zostanie usunięty. Gdy łączny rozmiar plików przekroczy limit, usuwane są najdawniej
+ * używane wpisy. Zapisane wpisy są odnotowywane w tabeli reports.
+ */
+public class ReportCache {
+
+    /**
+     * Domyślny limit rozmiaru pamięci podręcznej.
+     */
+    static final long DEFAULT_MAX_BYTES = 100L * 1024 * 1024;
+
+    private static final List<String> ALL_TABLES =
+            List.of("tasks", "task_assignments", "teams", "team_members", "projects", "users", "roles");
+
+    private static final Map<String, List<String>> SOURCE_TABLES = Map.of(
+            SystemReportGenerator.TEAMS_STRUCTURE, List.of("teams", "team_members", "users", "projects", "tasks", "task_assignments"),
+            SystemReportGenerator.USERS, List.of("users", "roles", "teams", "team_members", "projects"),
+            SystemReportGenerator.PROJECTS_OVERVIEW, List.of("projects", "teams", "users", "tasks", "task_assignments"),
+            TeamLeaderReportGenerator.TEAM_MEMBERS, List.of("teams", "team_members", "users", "projects"),
+            TeamLeaderReportGenerator.TEAM_TASKS, List.of("teams", "team_members", "users", "projects", "tasks", "task_assignments"));
+
+    private static volatile ReportCache defaultCache;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ChangeLogDAO changeLogDAO;
+    private final ReportDAO reportDAO;
+
+    /**
+     * Klucz wpisu pamięci podręcznej.
+     *
+     * @param reportType  typ raportu
+     * @param id          skrót typu, zakresu, filtrów i wersji tabel; nazwa plików wpisu
+     * @param description czytelny opis zakresu i filtrów, zapisywany w tabeli reports
+     */
+    public record Key(String reportType, String id, String description) {
+    }
+
+    /**
+     * Konstruktor dla testów i narzędzi.
+     *
+     * @param directory katalog plików pamięci podręcznej
+     * @param maxBytes  limit łącznego rozmiaru plików
+     */
+    ReportCache(Path directory, long maxBytes, ChangeLogDAO changeLogDAO, ReportDAO reportDAO) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.changeLogDAO = changeLogDAO;
+        this.reportDAO = reportDAO;
+    }
+
+    /**
+     * Zwraca pamięć podręczną aplikacji w katalogu RozowiApp/report-cache użytkownika.
+     */
+    public static ReportCache getDefault() {
+        if (defaultCache == null) {
+            synchronized (ReportCache.class) {
+                if (defaultCache == null) {
+                    Path dir = Path.of(System.getProperty("user.home"), "RozowiApp", "report-cache");
+                    defaultCache = new ReportCache(dir, DEFAULT_MAX_BYTES, new ChangeLogDAO(), new ReportDAO());
+                }
+            }
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Wyznacza klucz raportu dla bieżących danych. Wymaga jednego zapytania o wersje tabel.
+     *
+     * @param reportType    typ raportu
+     * @param scope         zakres danych zależny od użytkownika, np. "kierownik:5", lub "" dla danych całego systemu
+     * @param filterOptions opcje filtrowania raportu
+     * @return klucz lub null, jeśli dziennik zmian jest niedostępny i raportu nie można bezpiecznie zapamiętać
+     */
+    public Key key(String reportType, String scope, Map<String, Object> filterOptions) {
+        Map<String, Long> versions = changeLogDAO.getTableVersions(SOURCE_TABLES.getOrDefault(reportType, ALL_TABLES));
+        if (versions == null) {
+            return null;
+        }
+        String fingerprint = fingerprint(filterOptions);
+        String description = (scope.isEmpty() ? "" : scope + "; ") + fingerprint;
+        return new Key(reportType, sha256(reportType + "\n" + scope + "\n" + fingerprint + "\n" + versions), description);
+    }
+
+    /**
+     * Zwraca zapamiętany podgląd tekstowy raportu.
+     *
+     * @return tekst raportu lub null, jeśli nie ma go w pamięci podręcznej
+     */
+    public synchronized String getText(Key key) {
+        Path file = file(key, ".txt");
+        try {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            touch(file);
+            return text;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Zwraca zapamiętany plik PDF raportu.
+     *
+     * @return ścieżka do pliku lub null, jeśli nie ma go w pamięci podręcznej
+     */
+    public synchronized Path getPdf(Key key) {
+        Path file = file(key, ".pdf");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        touch(file);
+        return file;
+    }
+
+    /**
+     * Zapamiętuje podgląd tekstowy raportu.
+     *
+     * @param createdBy ID użytkownika, który wygenerował raport
+     */
+    public synchronized void putText(Key key, String text, int createdBy) {
+        Path file = file(key, ".txt");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Nie udało się zapisać raportu w pamięci podręcznej: " + e.getMessage());
+            return;
+        }
+        stored(key, file, createdBy);
+    }
+
+    /**
+     * Zapamiętuje kopię pliku PDF raportu.
+     *
+     * @param pdf       zapisany plik PDF
+     * @param createdBy ID użytkownika, który wygenerował raport
+     */
+    public synchronized void putPdf(Key key, Path pdf, int createdBy) {
+        Path file = file(key, ".pdf");
+        try {
+            Files.createDirectories(directory);
+            Files.copy(pdf, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Nie udało się zapisać raportu w pamięci podręcznej: " + e.getMessage());
+            return;
+        }
+        stored(key, file, createdBy);
+    }
+
+    private void stored(Key key, Path file, int createdBy) {
+        Report entry = new Report();
+        entry.setReportName(file.getFileName().toString());
+        entry.setReportType(key.reportType());
+        entry.setReportScope("Pamięć podręczna: " + key.description());
+        entry.setCreatedBy(createdBy);
+        entry.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
+        entry.setExportedFile(file.toString());
+        reportDAO.deleteReportsByExportedFile(file.toString());
+        reportDAO.insertReport(entry);
+        evict();
+    }
+
+    /**
+     * Usuwa najdawniej używane pliki, dopóki łączny rozmiar przekracza limit.
+     */
+    private void evict() {
+        List<Path> files = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> list = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) list::iterator) {
+                files.add(file);
+                total += Files.size(file);
+            }
+            files.sort(Comparator.comparing(ReportCache::lastModified));
+            for (Path file : files) {
+                if (total <= maxBytes) {
+                    break;
+                }
+                total -= Files.size(file);
+                Files.deleteIfExists(file);
+                reportDAO.deleteReportsByExportedFile(file.toString());
+            }
+        } catch (IOException e) {
+            System.err.println("Nie udało się uporządkować pamięci podręcznej raportów: " + e.getMessage());
+        }
+    }
+
+    private Path file(Key key, String extension) {
+        return directory.resolve(key.id() + extension);
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Zwraca kanoniczny opis opcji filtrowania: klucze w kolejności alfabetycznej, a zespoły, projekty
+     * i użytkownicy opisani przez ID, więc ten sam wybór daje ten sam opis niezależnie od kolejności.
+     *
+     * @param filterOptions opcje filtrowania
+     * @return opis opcji
+     */
+    static String fingerprint(Map<String, Object> filterOptions) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Object> entry : new TreeMap<>(filterOptions).entrySet()) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            text.append(entry.getKey()).append('=').append(canonical(entry.getValue()));
+        }
+        return text.toString();
+    }
+
+    private static String canonical(Object value) {
+        if (value instanceof Collection<?> values) {
+            List<String> items = new ArrayList<>();
+            for (Object item : values) {
+                items.add(canonical(item));
+            }
+            items.sort(null);
+            return items.toString();
+        }
+        if (value instanceof Team team) {
+            return "zespół#" + team.getId();
+        }
+        if (value instanceof Project project) {
+            return "projekt#" + project.getId();
+        }
+        if (value instanceof User user) {
+            return "użytkownik#" + user.getId();
+        }
+        return String.valueOf(value);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pl.rozowi.app.reports;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raport w postaci niezależnej od formatu wyjściowego: tytuł, data wygenerowania,
+ * opis zastosowanych filtrów i lista bloków treści.
+ */
+public class ReportDocument {
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String title;
+    private final LocalDateTime generatedAt;
+    private final List<String> filters = new ArrayList<>();
+    private final List<ReportBlock> blocks = new ArrayList<>();
+
+    /**
+     * Tworzy raport z bieżącą datą wygenerowania.
+     *
+     * @param title tytuł raportu, np. "Struktura Zespołów"
+     */
+    public ReportDocument(String title) {
+        this(title, LocalDateTime.now());
+    }
+
+    public ReportDocument(String title, LocalDateTime generatedAt) {
+        this.title = title;
+        this.generatedAt = generatedAt;
+    }
+
+    /**
+     * Dodaje opis zastosowanego filtra, np. "Grupa: Backend".
+     */
+    public ReportDocument addFilter(String filter) {
+        filters.add(filter);
+        return this;
+    }
+
+    public ReportDocument add(ReportBlock block) {
+        blocks.add(block);
+        return this;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<String> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    public List<ReportBlock> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+}
@@ -0,0 +1,277 @@
+package pl.rozowi.app.reports;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Zadanie wygenerowania raportu wykonywane przez {@link ReportJobQueue}: zbudowanie
+ * {@link ReportDocument} i opcjonalnie zapisanie go do pliku PDF.
+ */
+public class ReportJob {
+
+    /**
+     * Wartość postępu oznaczająca krok o nieznanej długości (jak ProgressBar.INDETERMINATE_PROGRESS).
+     */
+    public static final double INDETERMINATE = -1;
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * Stan zadania.
+     */
+    public enum State {
+        QUEUED("W kolejce"),
+        RUNNING("W toku"),
+        COMPLETED("Zakończone"),
+        FAILED("Błąd"),
+        CANCELLED("Anulowane");
+
+        private final String label;
+
+        State(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Buduje treść raportu w wątku roboczym.
+     */
+    @FunctionalInterface
+    public interface Builder {
+        ReportDocument build(ReportProgress progress) throws Exception;
+    }
+
+    private final int id = IDS.incrementAndGet();
+    private final String name;
+    private final int createdBy;
+    private final Builder builder;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private String outputFile;
+    private Consumer<ReportJob> listener;
+    private ReportCache cache;
+    private String cacheScope;
+    private Map<String, Object> filterOptions;
+    private volatile ReportCache.Key cacheKey;
+
+    private volatile State state = State.QUEUED;
+    private volatile double progress;
+    private volatile String step = "";
+    private volatile ReportDocument result;
+    private volatile String text;
+    private volatile boolean fromCache;
+    private volatile Throwable error;
+    private volatile boolean cancelRequested;
+    final AtomicBoolean updatePending = new AtomicBoolean();
+
+    /**
+     * @param name      nazwa zadania, zwykle typ raportu
+     * @param createdBy ID użytkownika zlecającego raport
+     * @param builder   budowanie treści raportu
+     */
+    public ReportJob(String name, int createdBy, Builder builder) {
+        this.name = name;
+        this.createdBy = createdBy;
+        this.builder = builder;
+    }
+
+    /**
+     * Po zbudowaniu raport zostanie zapisany do podanego pliku PDF i odnotowany w tabeli raportów.
+     */
+    public ReportJob exportTo(String outputFile) {
+        this.outputFile = outputFile;
+        return this;
+    }
+
+    /**
+     * Przed zbudowaniem raportu sprawdza pamięć podręczną, a zbudowany raport (tekst lub PDF) w niej zapisuje.
+     * Raport odczytany z pamięci podręcznej nie jest budowany, więc {@link #getResult()} zwraca wtedy null.
+     *
+     * @param cache         pamięć podręczna raportów
+     * @param scope         zakres danych zależny od użytkownika (zob. {@link ReportCache#key})
+     * @param filterOptions opcje filtrowania, z których builder buduje raport
+     */
+    public ReportJob cached(ReportCache cache, String scope, Map<String, Object> filterOptions) {
+        this.cache = cache;
+        this.cacheScope = scope;
+        this.filterOptions = filterOptions;
+        return this;
+    }
+
+    /**
+     * Zapisuje zbudowany raport w pamięci podręcznej pod kluczem wyznaczonym wcześniej, zamiast wyznaczać go
+     * przy uruchomieniu. Używane, gdy builder zwraca raport zbudowany już wcześniej (np. z podglądu):
+     * klucz z chwili budowania odpowiada danym raportu, a klucz wyznaczony przy zapisie mógłby
+     * opisywać nowsze wersje tabel.
+     *
+     * @param cache pamięć podręczna raportów
+     * @param key   klucz z chwili zbudowania raportu (zob. {@link #getCacheKey()})
+     */
+    public ReportJob cached(ReportCache cache, ReportCache.Key key) {
+        this.cache = cache;
+        this.cacheKey = key;
+        return this;
+    }
+
+    /**
+     * Ustawia akcję wywoływaną w wątku JavaFX po każdej zmianie stanu lub postępu.
+     * Kolejne zmiany zgłoszone przed jej wykonaniem są łączone w jedno wywołanie.
+     */
+    public ReportJob onUpdate(Consumer<ReportJob> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return postęp od 0 do 1 lub {@link #INDETERMINATE}
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    /**
+     * @return zbudowany raport lub null, jeśli zadanie nie zakończyło się powodzeniem
+     */
+    public ReportDocument getResult() {
+        return result;
+    }
+
+    /**
+     * @return podgląd tekstowy raportu (dla zadań bez zapisu do PDF) lub null, jeśli zadanie nie zakończyło się powodzeniem
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return true jeśli wynik zadania został odczytany z pamięci podręcznej
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /**
+     * @return klucz pamięci podręcznej, pod którym zadanie szukało i zapisało wynik, lub null
+     */
+    public ReportCache.Key getCacheKey() {
+        return cacheKey;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    Builder getBuilder() {
+        return builder;
+    }
+
+    Consumer<ReportJob> getListener() {
+        return listener;
+    }
+
+    ReportCache getCache() {
+        return cache;
+    }
+
+    String getCacheScope() {
+        return cacheScope;
+    }
+
+    Map<String, Object> getFilterOptions() {
+        return filterOptions;
+    }
+
+    void setText(String text, boolean fromCache) {
+        this.text = text;
+        this.fromCache = fromCache;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    void setProgress(double progress, String step) {
+        this.progress = progress;
+        this.step = step;
+    }
+
+    void setCacheKey(ReportCache.Key cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    void setResult(ReportDocument result) {
+        this.result = result;
+    }
+
+    void setError(Throwable error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder label = new StringBuilder();
+        label.append(createdAt.format(TIME_FORMAT)).append("  ").append(name).append(" — ").append(state.getLabel());
+        if (state == State.RUNNING && progress >= 0) {
+            label.append(" ").append(Math.round(progress * 100)).append("%");
+        }
+        if (state == State.COMPLETED && outputFile != null) {
+            label.append(": ").append(new File(outputFile).getName());
+        }
+        if (state == State.COMPLETED && fromCache) {
+            label.append(" (z pamięci podręcznej)");
+        }
+        if (state == State.FAILED && error != null) {
+            label.append(": ").append(error.getMessage());
+        }
+        return label.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package pl.rozowi.app.reports;
+
+import javafx.application.Platform;
+import pl.rozowi.app.dao.ReportDAO;
+import pl.rozowi.app.models.Report;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kolejka zadań generowania raportów. Zapytania do bazy i renderowanie PDF wykonywane są
+ * w wątkach roboczych, a widok otrzymuje postęp (po każdej sekcji raportu) w wątku JavaFX.
+ * <p>
+ * Anulowanie jest kooperacyjne: zadanie w kolejce nie zostanie uruchomione, a uruchomione
+ * kończy się przy najbliższym zgłoszeniu postępu. Wątki robocze nie są przerywane, ponieważ
+ * przerwanie wątku w trakcie operacji na pliku zamyka wbudowaną bazę H2.
+ * <p>
+ * Raporty zapisane do PDF są odnotowywane w tabeli reports. Kolejka przechowuje też
+ * ostatnie zadania ({@link #HISTORY_SIZE}), wyświetlane na liście zadań w widokach raportów.
+ */
+public class ReportJobQueue {
+
+    /**
+     * Liczba zakończonych zadań przechowywanych na liście zadań.
+     */
+    static final int HISTORY_SIZE = 50;
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "report-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final ReportJobQueue DEFAULT = new ReportJobQueue(WORKERS, Platform::runLater, new ReportDAO());
+
+    private final ExecutorService workers;
+    private final Executor fxThread;
+    private final ReportDAO reportDAO;
+    private final LinkedList<ReportJob> jobs = new LinkedList<>();
+    private final ReportService reportService = new ReportService();
+
+    /**
+     * Konstruktor dla testów: zadania są wykonywane przez workers,
+     * a zmiany stanu przekazywane przez fxThread (w aplikacji: wątek JavaFX).
+     */
+    ReportJobQueue(ExecutorService workers, Executor fxThread, ReportDAO reportDAO) {
+        this.workers = workers;
+        this.fxThread = fxThread;
+        this.reportDAO = reportDAO;
+    }
+
+    /**
+     * Zwraca kolejkę wspólną dla wszystkich widoków raportów.
+     */
+    public static ReportJobQueue getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Dodaje zadanie do kolejki.
+     *
+     * @param job zadanie do wykonania
+     * @return to samo zadanie
+     */
+    public ReportJob submit(ReportJob job) {
+        synchronized (jobs) {
+            jobs.addFirst(job);
+            trimHistory();
+        }
+        workers.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Anuluje zadanie. Zadanie oczekujące w kolejce jest kończone od razu.
+     *
+     * @param job zadanie do anulowania
+     */
+    public void cancel(ReportJob job) {
+        if (job.isFinished()) {
+            return;
+        }
+        synchronized (job) {
+            job.requestCancel();
+            if (job.getState() != ReportJob.State.QUEUED) {
+                return;
+            }
+            job.setState(ReportJob.State.CANCELLED);
+        }
+        notifyListener(job);
+    }
+
+    /**
+     * Zwraca ostatnie zadania użytkownika, od najnowszego.
+     *
+     * @param userId ID użytkownika zlecającego raporty
+     * @return lista zadań
+     */
+    public List<ReportJob> getJobs(int userId) {
+        List<ReportJob> result = new ArrayList<>();
+        synchronized (jobs) {
+            for (ReportJob job : jobs) {
+                if (job.getCreatedBy() == userId) {
+                    result.add(job);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void trimHistory() {
+        int finished = 0;
+        for (Iterator<ReportJob> it = jobs.iterator(); it.hasNext(); ) {
+            ReportJob job = it.next();
+            if (job.isFinished() && ++finished > HISTORY_SIZE) {
+                it.remove();
+            }
+        }
+    }
+
+    private void run(ReportJob job) {
+        synchronized (job) {
+            if (job.getState() != ReportJob.State.QUEUED) {
+                return;
+            }
+            job.setState(ReportJob.State.RUNNING);
+        }
+        notifyListener(job);
+        try {
+            ReportCache cache = job.getCache();
+            ReportCache.Key cacheKey = job.getCacheKey();
+            if (cacheKey == null && cache != null && job.getFilterOptions() != null) {
+                cacheKey = cache.key(job.getName(), job.getCacheScope(), job.getFilterOptions());
+                job.setCacheKey(cacheKey);
+            }
+            if (cacheKey != null && serveFromCache(job, cache, cacheKey)) {
+                job.setProgress(1, "");
+                finish(job, ReportJob.State.COMPLETED);
+                return;
+            }
+
+            ReportDocument report = job.getBuilder().build((done, total, step) -> {
+                checkCancelled(job);
+                job.setProgress(total > 0 ? (double) done / total : 0, step);
+                notifyListener(job);
+            });
+            checkCancelled(job);
+
+            if (job.getOutputFile() != null) {
+                job.setProgress(ReportJob.INDETERMINATE, "Zapisywanie PDF");
+                notifyListener(job);
+                reportService.generatePdf(job.getOutputFile(), report);
+                if (job.isCancelRequested()) {
+                    new File(job.getOutputFile()).delete();
+                    throw new CancellationException();
+                }
+                record(job, String.join("; ", report.getFilters()), report.getGeneratedAt());
+                if (cacheKey != null) {
+                    cache.putPdf(cacheKey, Path.of(job.getOutputFile()), job.getCreatedBy());
+                }
+            } else {
+                String text = TextReportRenderer.render(report);
+                job.setText(text, false);
+                if (cacheKey != null) {
+                    cache.putText(cacheKey, text, job.getCreatedBy());
+                }
+            }
+            job.setResult(report);
+            job.setProgress(1, "");
+            finish(job, ReportJob.State.COMPLETED);
+        } catch (CancellationException e) {
+            finish(job, ReportJob.State.CANCELLED);
+        } catch (Exception e) {
+            e.printStackTrace();
+            job.setError(e);
+            finish(job, ReportJob.State.FAILED);
+        }
+    }
+
+    private static void checkCancelled(ReportJob job) {
+        if (job.isCancelRequested()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Kończy zadanie wynikiem z pamięci podręcznej: kopiuje zapamiętany PDF do pliku docelowego
+     * albo ustawia zapamiętany podgląd tekstowy.
+     *
+     * @return true jeśli pamięć podręczna zawierała wynik zadania
+     */
+    private boolean serveFromCache(ReportJob job, ReportCache cache, ReportCache.Key key) throws IOException {
+        if (job.getOutputFile() == null) {
+            String text = cache.getText(key);
+            if (text == null) {
+                return false;
+            }
+            job.setText(text, true);
+            return true;
+        }
+        Path pdf = cache.getPdf(key);
+        if (pdf == null) {
+            return false;
+        }
+        Files.copy(pdf, Path.of(job.getOutputFile()), StandardCopyOption.REPLACE_EXISTING);
+        job.setText(null, true);
+        record(job, key.description(), LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Odnotowuje zapisany plik raportu w tabeli reports.
+     */
+    private void record(ReportJob job, String scope, LocalDateTime createdAt) {
+        Report entry = new Report();
+        entry.setReportName(new File(job.getOutputFile()).getName());
+        entry.setReportType(job.getName());
+        entry.setReportScope(scope);
+        entry.setCreatedBy(job.getCreatedBy());
+        entry.setCreatedAt(Timestamp.valueOf(createdAt));
+        entry.setExportedFile(job.getOutputFile());
+        if (!reportDAO.insertReport(entry)) {
+            System.err.println("Nie udało się zapisać informacji o raporcie " + job.getOutputFile());
+        }
+    }
+
+    private void finish(ReportJob job, ReportJob.State state) {
+        job.setState(state);
+        synchronized (jobs) {
+            trimHistory();
+        }
+        notifyListener(job);
+    }
+
+    private void notifyListener(ReportJob job) {
+        if (job.getListener() != null && job.updatePending.compareAndSet(false, true)) {
+            fxThread.execute(() -> {
+                job.updatePending.set(false);
+                job.getListener().accept(job);
+            });
+        }
+    }
+}
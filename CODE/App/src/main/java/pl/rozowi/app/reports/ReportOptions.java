@@ -0,0 +1,223 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Opcje raportu zapisane tekstowo, tak jak w argumentach {@code ReportRunner} i w harmonogramach raportów,
+ * np. {@code teams=1,2;no-tasks=true;from=2025-01-01}. Zamienia je na mapę opcji filtrowania,
+ * której oczekują generatory raportów, i z powrotem.
+ */
+public final class ReportOptions {
+
+    private static final List<String> ALL_ROLES = List.of("admin", "manager", "leader", "user");
+
+    private ReportOptions() {
+    }
+
+    /**
+     * Sprawdza, czy raport danego typu jest raportem lidera zespołu.
+     */
+    public static boolean isTeamLeaderReport(String reportType) {
+        return TeamLeaderReportGenerator.TEAM_MEMBERS.equals(reportType)
+                || TeamLeaderReportGenerator.TEAM_TASKS.equals(reportType);
+    }
+
+    /**
+     * Buduje mapę opcji filtrowania w postaci, jakiej oczekują generatory raportów.
+     *
+     * @param reportType typ raportu
+     * @param options    opcje tekstowe; flagi (np. "no-tasks") mają wartość "true"
+     * @param pdf        czy raport będzie zapisany do PDF; wtedy zadania projektów są odczytywane strumieniowo
+     * @return opcje filtrowania
+     * @throws IllegalArgumentException jeśli wartość opcji jest nieprawidłowa albo wskazany zespół,
+     *                                  projekt lub pracownik nie istnieje
+     */
+    public static Map<String, Object> toFilterOptions(String reportType, Map<String, String> options, boolean pdf) {
+        Map<String, Object> filterOptions = new HashMap<>();
+
+        List<Team> teams = new ArrayList<>();
+        for (int id : ids(options.get("teams"))) {
+            Team team = ReferenceDataCache.getTeam(id);
+            if (team == null) {
+                throw new IllegalArgumentException("Nie znaleziono zespołu o ID " + id);
+            }
+            teams.add(team);
+        }
+        filterOptions.put("selectedTeams", teams);
+        filterOptions.put("showTasks", !options.containsKey("no-tasks"));
+        filterOptions.put("showMembers", !options.containsKey("no-members"));
+        filterOptions.put("showStatistics", !options.containsKey("no-stats"));
+        filterOptions.put("selectedGroup", options.get("group"));
+
+        if (isTeamLeaderReport(reportType)) {
+            User member = null;
+            if (options.containsKey("member")) {
+                member = new UserDAO().getUserById(ids(options.get("member")).get(0));
+                if (member == null) {
+                    throw new IllegalArgumentException("Nie znaleziono pracownika o ID " + options.get("member"));
+                }
+            }
+            filterOptions.put("selectedUser", member);
+            return filterOptions;
+        }
+
+        List<Project> projects = new ArrayList<>();
+        for (int id : ids(options.get("projects"))) {
+            Project project = ReferenceDataCache.getProject(id);
+            if (project == null) {
+                throw new IllegalArgumentException("Nie znaleziono projektu o ID " + id);
+            }
+            projects.add(project);
+        }
+        filterOptions.put("selectedProjects", projects);
+        filterOptions.put("startDate", date(options.get("from")));
+        filterOptions.put("endDate", date(options.get("to")));
+
+        List<String> roles = options.containsKey("roles") ? List.of(options.get("roles").split(",")) : ALL_ROLES;
+        filterOptions.put("showAdmins", roles.contains("admin"));
+        filterOptions.put("showManagers", roles.contains("manager"));
+        filterOptions.put("showTeamLeaders", roles.contains("leader"));
+        filterOptions.put("showUsers", roles.contains("user"));
+        if (pdf && SystemReportGenerator.PROJECTS_OVERVIEW.equals(reportType)) {
+            filterOptions.put(SystemReportGenerator.STREAM_TASKS, true);
+        }
+        return filterOptions;
+    }
+
+    /**
+     * Zamienia opcje filtrowania ustawione w widoku raportów na opcje tekstowe.
+     *
+     * @param filterOptions opcje filtrowania
+     * @return opcje tekstowe, z których {@link #toFilterOptions} odtworzy te same filtry
+     */
+    public static Map<String, String> fromFilterOptions(Map<String, Object> filterOptions) {
+        Map<String, String> options = new LinkedHashMap<>();
+        putIds(options, "teams", (Collection<?>) filterOptions.get("selectedTeams"));
+        putIds(options, "projects", (Collection<?>) filterOptions.get("selectedProjects"));
+        if (filterOptions.get("startDate") != null) {
+            options.put("from", filterOptions.get("startDate").toString());
+        }
+        if (filterOptions.get("endDate") != null) {
+            options.put("to", filterOptions.get("endDate").toString());
+        }
+        Object group = filterOptions.get("selectedGroup");
+        if (group != null && !group.toString().isEmpty()) {
+            options.put("group", group.toString());
+        }
+        if (filterOptions.get("selectedUser") instanceof User member) {
+            options.put("member", String.valueOf(member.getId()));
+        }
+        if (Boolean.FALSE.equals(filterOptions.get("showTasks"))) {
+            options.put("no-tasks", "true");
+        }
+        if (Boolean.FALSE.equals(filterOptions.get("showMembers"))) {
+            options.put("no-members", "true");
+        }
+        if (Boolean.FALSE.equals(filterOptions.get("showStatistics"))) {
+            options.put("no-stats", "true");
+        }
+        List<String> roles = new ArrayList<>();
+        String[] keys = {"showAdmins", "showManagers", "showTeamLeaders", "showUsers"};
+        for (int i = 0; i < keys.length; i++) {
+            if (!Boolean.FALSE.equals(filterOptions.get(keys[i]))) {
+                roles.add(ALL_ROLES.get(i));
+            }
+        }
+        if (roles.size() < ALL_ROLES.size()) {
+            options.put("roles", String.join(",", roles));
+        }
+        return options;
+    }
+
+    /**
+     * Zapisuje opcje tekstowe w jednym wierszu, w kolejności alfabetycznej kluczy.
+     */
+    public static String format(Map<String, String> options) {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, String> entry : new TreeMap<>(options).entrySet()) {
+            if (!text.isEmpty()) {
+                text.append(';');
+            }
+            text.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Odczytuje opcje zapisane przez {@link #format}.
+     */
+    public static Map<String, String> parse(String text) {
+        Map<String, String> options = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return options;
+        }
+        for (String pair : text.split(";")) {
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Nieprawidłowa opcja raportu: " + pair);
+            }
+            options.put(pair.substring(0, separator), pair.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void putIds(Map<String, String> options, String key, Collection<?> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        for (Object item : items) {
+            if (item instanceof Team team) {
+                ids.add(String.valueOf(team.getId()));
+            } else if (item instanceof Project project) {
+                ids.add(String.valueOf(project.getId()));
+            }
+        }
+        options.put(key, String.join(",", ids));
+    }
+
+    /**
+     * Odczytuje listę ID rozdzielonych przecinkami.
+     *
+     * @throws IllegalArgumentException jeśli któryś element nie jest liczbą
+     */
+    public static List<Integer> ids(String value) {
+        List<Integer> ids = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return ids;
+        }
+        for (String id : value.split(",")) {
+            try {
+                ids.add(Integer.parseInt(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Nieprawidłowe ID: " + id);
+            }
+        }
+        return ids;
+    }
+
+    private static LocalDate date(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Nieprawidłowa data: " + value + " (oczekiwano RRRR-MM-DD)");
+        }
+    }
+}
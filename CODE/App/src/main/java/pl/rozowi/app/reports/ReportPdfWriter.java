@@ -0,0 +1,103 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ReportDAO;
+import pl.rozowi.app.models.Report;
+import pl.rozowi.app.models.User;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Zapisuje raport do pliku PDF poza widokami JavaFX: z wiersza poleceń i z harmonogramu raportów.
+ * Gotowy plik jest brany z pamięci podręcznej raportów, jeśli dane źródłowe się nie zmieniły,
+ * a zapisany plik jest odnotowywany w tabeli reports.
+ */
+public class ReportPdfWriter {
+
+    private final SystemReportGenerator systemReports;
+    private final TeamLeaderReportGenerator teamLeaderReports;
+    private final ReportService reportService;
+    private final ReportDAO reportDAO;
+
+    public ReportPdfWriter() {
+        this(new SystemReportGenerator(), new TeamLeaderReportGenerator(), new ReportService(), new ReportDAO());
+    }
+
+    ReportPdfWriter(SystemReportGenerator systemReports, TeamLeaderReportGenerator teamLeaderReports,
+                    ReportService reportService, ReportDAO reportDAO) {
+        this.systemReports = systemReports;
+        this.teamLeaderReports = teamLeaderReports;
+        this.reportService = reportService;
+        this.reportDAO = reportDAO;
+    }
+
+    /**
+     * Zapisuje raport do pliku PDF.
+     *
+     * @param reportType    typ raportu
+     * @param user          użytkownik, w którego imieniu generowany jest raport
+     * @param filterOptions opcje filtrowania
+     * @param output        plik wynikowy
+     * @param cache         pamięć podręczna raportów lub null, jeśli raport ma być zawsze budowany od nowa
+     * @return true jeśli plik skopiowano z pamięci podręcznej
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     * @throws IOException  jeśli nie uda się zapisać pliku
+     */
+    public boolean write(String reportType, User user, Map<String, Object> filterOptions, Path output,
+                         ReportCache cache) throws SQLException, IOException {
+        ReportCache.Key key = cache != null ? cache.key(reportType, cacheScope(reportType, user), filterOptions) : null;
+        Path cached = key != null ? cache.getPdf(key) : null;
+        if (cached != null) {
+            Files.copy(cached, output, StandardCopyOption.REPLACE_EXISTING);
+            record(reportType, key.description(), user, output);
+            return true;
+        }
+
+        ReportDocument report = generate(reportType, user, filterOptions);
+        reportService.generatePdf(output.toString(), report);
+        record(reportType, String.join("; ", report.getFilters()), user, output);
+        if (key != null) {
+            cache.putPdf(key, output, user.getId());
+        }
+        return false;
+    }
+
+    /**
+     * Buduje raport wybranego typu.
+     *
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    public ReportDocument generate(String reportType, User user, Map<String, Object> filterOptions) throws SQLException {
+        if (ReportOptions.isTeamLeaderReport(reportType)) {
+            return teamLeaderReports.generate(reportType, user.getId(), filterOptions, ReportProgress.NONE);
+        }
+        return systemReports.generate(reportType, user, filterOptions, ReportProgress.NONE);
+    }
+
+    /**
+     * Zakres danych użytkownika w kluczu pamięci podręcznej, taki sam jak w widokach raportów.
+     */
+    public static String cacheScope(String reportType, User user) {
+        if (ReportOptions.isTeamLeaderReport(reportType)) {
+            return "lider:" + user.getId();
+        }
+        return SystemReportGenerator.isScopedToOwnProjects(user) ? "kierownik:" + user.getId() : "";
+    }
+
+    private void record(String reportType, String scope, User user, Path output) {
+        Report entry = new Report();
+        entry.setReportName(output.getFileName().toString());
+        entry.setReportType(reportType);
+        entry.setReportScope(scope);
+        entry.setCreatedBy(user.getId());
+        entry.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        entry.setExportedFile(output.toAbsolutePath().toString());
+        reportDAO.insertReport(entry);
+    }
+}
@@ -0,0 +1,25 @@
+package pl.rozowi.app.reports;
+
+/**
+ * Postęp budowania raportu, zgłaszany przez generatory przed każdą kolejną sekcją
+ * (zespołem, projektem, użytkownikiem).
+ */
+@FunctionalInterface
+public interface ReportProgress {
+
+    /**
+     * Postęp, który nie jest nigdzie wyświetlany.
+     */
+    ReportProgress NONE = (done, total, step) -> {
+    };
+
+    /**
+     * Zgłasza postęp. Wywołanie jest też punktem, w którym zadanie raportu może zostać przerwane.
+     *
+     * @param done  liczba ukończonych sekcji
+     * @param total liczba wszystkich sekcji
+     * @param step  opis bieżącego kroku, np. nazwa zespołu
+     * @throws java.util.concurrent.CancellationException jeśli zadanie raportu zostało anulowane
+     */
+    void update(int done, int total, String step);
+}
@@ -0,0 +1,285 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ReportScheduleDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.ReportSchedule;
+import pl.rozowi.app.models.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lokalny harmonogram raportów: co minutę sprawdza w tabeli report_schedules, które raporty
+ * mają termin uruchomienia, i zapisuje je do plików PDF przez {@link ReportPdfWriter}
+ * (z pamięcią podręczną raportów, więc niezmienione dane nie są odczytywane ponownie).
+ * <p>
+ * Aplikacja uruchamia tylko wpisy utworzone przez zalogowanego w niej użytkownika ({@link #setLocalUser}),
+ * ponieważ katalog docelowy wpisu jest ścieżką na komputerze jego autora. Wszystkie wpisy uruchamia
+ * ReportRunner z opcją --run-schedules, przeznaczony dla jednego serwera (np. z crona).
+ * <p>
+ * Terminy zaczynają się o północy z przesunięciem od 0 do {@link #SPREAD_MINUTES} minut,
+ * stałym dla danego wpisu, aby raporty nie były budowane jednocześnie. Po przerwie w działaniu
+ * aplikacji zaległe terminy wpisu są łączone w jedno uruchomienie. Przed uruchomieniem wpis
+ * jest rezerwowany w bazie, więc kilka instancji aplikacji nie wygeneruje tego samego raportu.
+ * Jeśli zapis raportu nie powiedzie się z przyczyny przejściowej (błąd bazy danych lub zapisu pliku),
+ * raport jest ponawiany z rosnącym opóźnieniem, najwyżej {@link #MAX_ATTEMPTS} razy. Wpis, którego
+ * opcje nie dają się już zastosować (np. wskazują usunięty zespół), czeka na następny termin.
+ */
+public class ReportScheduler {
+
+    /**
+     * Zakres przesunięcia terminów względem północy.
+     */
+    static final int SPREAD_MINUTES = 120;
+
+    /**
+     * Opóźnienie pierwszej ponownej próby po błędzie przejściowym; kolejne są dwukrotnie dłuższe.
+     */
+    static final Duration RETRY_DELAY = Duration.ofMinutes(15);
+
+    /**
+     * Liczba kolejnych nieudanych prób, po której wpis czeka na następny termin.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final long CHECK_INTERVAL_SECONDS = 60;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmm");
+
+    private final ReportScheduleDAO scheduleDAO;
+    private final UserDAO userDAO;
+    private final ReportPdfWriter writer;
+    private final ReportCache cache;
+    private final Clock clock;
+    private ScheduledExecutorService timer;
+    private volatile int localUserId;
+
+    public ReportScheduler() {
+        this(new ReportScheduleDAO(), new UserDAO(), new ReportPdfWriter(), ReportCache.getDefault(),
+                Clock.systemDefaultZone());
+    }
+
+    ReportScheduler(ReportScheduleDAO scheduleDAO, UserDAO userDAO, ReportPdfWriter writer, ReportCache cache,
+                    Clock clock) {
+        this.scheduleDAO = scheduleDAO;
+        this.userDAO = userDAO;
+        this.writer = writer;
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    /**
+     * Uruchamia sprawdzanie harmonogramu w wątku tła. Kolejne wywołania nic nie zmieniają.
+     */
+    public synchronized void start() {
+        if (timer != null) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                int userId = localUserId;
+                if (userId > 0) {
+                    runDue(userId);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Zatrzymuje sprawdzanie harmonogramu. Raport, który jest właśnie zapisywany, zostanie dokończony.
+     */
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdown();
+            timer = null;
+        }
+    }
+
+    /**
+     * Ustawia użytkownika zalogowanego w tej instancji aplikacji; sprawdzanie harmonogramu
+     * uruchamia tylko jego wpisy.
+     *
+     * @param userId ID zalogowanego użytkownika lub 0, jeśli nikt nie jest zalogowany
+     */
+    public void setLocalUser(int userId) {
+        this.localUserId = userId;
+    }
+
+    /**
+     * Dodaje raport do harmonogramu. Pierwsze uruchomienie przypada najbliższej północy,
+     * z przesunięciem właściwym dla wpisu.
+     *
+     * @param reportType   typ raportu
+     * @param userId       ID użytkownika, w którego imieniu raport będzie generowany
+     * @param options      opcje raportu, np. z {@link ReportOptions#fromFilterOptions}
+     * @param directory    katalog, do którego zapisywane są pliki PDF
+     * @param intervalDays odstęp między uruchomieniami w dniach, np. 7 dla raportu tygodniowego
+     * @return zapisany wpis lub null, jeśli nie udało się go zapisać
+     */
+    public ReportSchedule schedule(String reportType, int userId, Map<String, String> options, Path directory,
+                                   int intervalDays) {
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setReportType(reportType);
+        schedule.setCreatedBy(userId);
+        schedule.setReportOptions(ReportOptions.format(options));
+        schedule.setOutputDirectory(directory.toAbsolutePath().toString());
+        schedule.setIntervalDays(intervalDays);
+        LocalDateTime firstRun = LocalDateTime.now(clock).toLocalDate().plusDays(1).atStartOfDay()
+                .plusMinutes(spreadMinutes(schedule));
+        schedule.setNextRunAt(Timestamp.valueOf(firstRun));
+        return scheduleDAO.insertSchedule(schedule) ? schedule : null;
+    }
+
+    /**
+     * Zapisuje wszystkie raporty, których termin minął. Używane przez ReportRunner.
+     *
+     * @return liczba zapisanych raportów
+     */
+    public int runDue() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return runDue(scheduleDAO.getDueSchedules(Timestamp.valueOf(now)), now);
+    }
+
+    /**
+     * Zapisuje raporty użytkownika, których termin minął.
+     *
+     * @param userId ID użytkownika, który utworzył wpisy
+     * @return liczba zapisanych raportów
+     */
+    public int runDue(int userId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return runDue(scheduleDAO.getDueSchedulesByUser(Timestamp.valueOf(now), userId), now);
+    }
+
+    private int runDue(List<ReportSchedule> due, LocalDateTime now) {
+        int written = 0;
+        for (ReportSchedule schedule : due) {
+            LocalDateTime scheduled = schedule.getNextRunAt().toLocalDateTime();
+            LocalDateTime next = nextRun(scheduled, schedule.getIntervalDays(), now);
+            if (!scheduleDAO.claimRun(schedule.getId(), schedule.getNextRunAt(), Timestamp.valueOf(next),
+                    Timestamp.valueOf(now))) {
+                continue;
+            }
+            User user = userDAO.getUserById(schedule.getCreatedBy());
+            if (user == null) {
+                System.err.println("Harmonogram raportów " + schedule.getId() + ": nie znaleziono użytkownika "
+                        + schedule.getCreatedBy());
+                continue;
+            }
+            try {
+                run(schedule, user, now);
+                written++;
+                if (schedule.getFailedAttempts() > 0) {
+                    scheduleDAO.updateFailedAttempts(schedule.getId(), 0);
+                }
+            } catch (Exception e) {
+                System.err.println("Harmonogram raportów " + schedule.getId() + ": " + e.getMessage());
+                e.printStackTrace();
+                if (isTransient(e)) {
+                    retryLater(schedule, next, now);
+                } else {
+                    System.err.println("Harmonogram raportów " + schedule.getId()
+                            + ": raport zostanie zapisany dopiero w następnym terminie, " + next);
+                    if (schedule.getFailedAttempts() > 0) {
+                        scheduleDAO.updateFailedAttempts(schedule.getId(), 0);
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    private void run(ReportSchedule schedule, User user, LocalDateTime now) throws SQLException, IOException {
+        Map<String, Object> filterOptions = ReportOptions.toFilterOptions(schedule.getReportType(),
+                ReportOptions.parse(schedule.getReportOptions()), true);
+        Path directory = Path.of(schedule.getOutputDirectory());
+        Files.createDirectories(directory);
+        Path output = directory.resolve("raport_" + BatchReportExporter.fileName(schedule.getReportType())
+                + "_" + now.format(FILE_TIMESTAMP) + ".pdf");
+        writer.write(schedule.getReportType(), user, filterOptions, output, cache);
+    }
+
+    /**
+     * Przesuwa termin wpisu, którego zapis nie powiódł się z przyczyny przejściowej, na ponowienie
+     * po {@link #RETRY_DELAY}, podwajanym przy każdej kolejnej próbie. Po {@link #MAX_ATTEMPTS}
+     * próbach albo gdy ponowienie wypadłoby po następnym terminie, wpis czeka na następny termin.
+     *
+     * @param schedule wpis, którego zapis się nie powiódł
+     * @param next     następny termin ustawiony przy rezerwacji
+     * @param now      bieżący czas
+     */
+    private void retryLater(ReportSchedule schedule, LocalDateTime next, LocalDateTime now) {
+        int attempts = schedule.getFailedAttempts() + 1;
+        LocalDateTime retryAt = now.plus(RETRY_DELAY.multipliedBy(1L << (attempts - 1)));
+        if (attempts >= MAX_ATTEMPTS || !retryAt.isBefore(next)) {
+            System.err.println("Harmonogram raportów " + schedule.getId() + ": " + attempts
+                    + " nieudanych prób, raport zostanie zapisany dopiero w następnym terminie, " + next);
+            scheduleDAO.updateFailedAttempts(schedule.getId(), 0);
+            return;
+        }
+        if (!scheduleDAO.releaseRun(schedule.getId(), Timestamp.valueOf(next), Timestamp.valueOf(retryAt), attempts)) {
+            System.err.println("Harmonogram raportów " + schedule.getId()
+                    + ": nie udało się ustawić terminu ponownej próby");
+        }
+    }
+
+    /**
+     * Sprawdza, czy błąd zapisu może zniknąć przy ponownej próbie: błąd bazy danych lub zapisu pliku.
+     * Pozostałe błędy, np. opcje raportu wskazujące usunięty zespół lub projekt, powtórzyłyby się.
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wyznacza następny termin po bieżącym czasie. Wszystkie terminy, które minęły w czasie
+     * przerwy w działaniu, są pomijane, więc zaległe uruchomienia łączą się w jedno.
+     *
+     * @param scheduled    termin, który właśnie minął
+     * @param intervalDays odstęp między uruchomieniami w dniach
+     * @param now          bieżący czas
+     * @return pierwszy termin późniejszy niż {@code now}
+     */
+    static LocalDateTime nextRun(LocalDateTime scheduled, int intervalDays, LocalDateTime now) {
+        int days = Math.max(1, intervalDays);
+        LocalDateTime next = scheduled.plusDays(days);
+        if (!next.isAfter(now)) {
+            long missed = Duration.between(next, now).toDays() / days + 1;
+            next = next.plusDays(missed * days);
+        }
+        return next;
+    }
+
+    /**
+     * Przesunięcie terminów wpisu względem północy, w minutach. Zależy tylko od treści wpisu,
+     * więc jest stałe między uruchomieniami aplikacji.
+     */
+    static int spreadMinutes(ReportSchedule schedule) {
+        int hash = (schedule.getReportType() + "|" + schedule.getCreatedBy() + "|" + schedule.getReportOptions()
+                + "|" + schedule.getOutputDirectory()).hashCode();
+        return Math.floorMod(hash, SPREAD_MINUTES);
+    }
+}
@@ -0,0 +1,81 @@
+package pl.rozowi.app.reports;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Font;
+
+/**
+ * Czcionki, kolory i teksty stałe używane przy zapisie raportów do PDF.
+ * <p>
+ * Rozszerza kontrakt interfejsu o tej samej nazwie z modułu task-app-reports
+ * (kolory, tekst stopki i prefiks numeru strony) o czcionki raportu, więc klasy modułu
+ * korzystające z kolorów i tekstów nadal działają z tym interfejsem.
+ * Obiekty zwracane przez styl są współdzielone przez wszystkie raporty, również generowane
+ * jednocześnie w różnych wątkach, i nie mogą być modyfikowane.
+ */
+public interface ReportStyle {
+
+    /**
+     * @return kolor wiodący: nagłówki, linie i tło nagłówków tabel
+     */
+    BaseColor getPrimaryColor();
+
+    /**
+     * @return kolor uzupełniający, np. ciemnego tekstu wyróżnień
+     */
+    BaseColor getSecondaryColor();
+
+    /**
+     * @return jasny kolor tła, np. naprzemiennych wierszy
+     */
+    BaseColor getLightColor();
+
+    /**
+     * @return tekst stopki umieszczanej na końcu raportu
+     */
+    String getReportFooterText();
+
+    /**
+     * @return tekst poprzedzający numer strony w stopce każdej strony
+     */
+    String getPageNumberPrefix();
+
+    /**
+     * @return czcionka tytułu raportu
+     */
+    Font getTitleFont();
+
+    /**
+     * @return czcionka nagłówka sekcji, np. zespołu lub projektu
+     */
+    Font getSubtitleFont();
+
+    /**
+     * @return czcionka nagłówka bloku, np. tabeli lub listy
+     */
+    Font getSectionFont();
+
+    /**
+     * @return czcionka zwykłego tekstu
+     */
+    Font getNormalFont();
+
+    /**
+     * @return czcionka stopki i numerów stron
+     */
+    Font getSmallFont();
+
+    /**
+     * @return czcionka nagłówków kolumn tabel
+     */
+    Font getTableHeaderFont();
+
+    /**
+     * @return czcionka komórek tabel
+     */
+    Font getTableDataFont();
+
+    /**
+     * @return czcionka opisów zastosowanych filtrów
+     */
+    Font getFilterFont();
+}
@@ -0,0 +1,403 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.cache.UserCache;
+import pl.rozowi.app.cache.WorkingSet;
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.TeamMemberDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Permission;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Task;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+import pl.rozowi.app.services.PermissionService;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Buduje raporty systemowe administratora i kierownika: strukturę zespołów, użytkowników systemu
+ * i przegląd projektów. Nie korzysta z JavaFX, więc raporty mogą być budowane w wątkach tła.
+ */
+public class SystemReportGenerator {
+
+    public static final String TEAMS_STRUCTURE = "Struktura Zespołów";
+    public static final String USERS = "Użytkownicy Systemu";
+    public static final String PROJECTS_OVERVIEW = "Przegląd Projektów";
+
+    /**
+     * Opcja filtrów włączająca tryb strumieniowy przeglądu projektów: zadania nie są wczytywane do pamięci,
+     * tylko odczytywane z bazy przy renderowaniu. Przeznaczony do zapisu PDF bardzo dużych raportów.
+     */
+    public static final String STREAM_TASKS = "streamTasks";
+
+    private final UserDAO userDAO = new UserDAO();
+    private final TeamDAO teamDAO = new TeamDAO();
+    private final ProjectDAO projectDAO = new ProjectDAO();
+    private final TeamMemberDAO teamMemberDAO = new TeamMemberDAO();
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    /**
+     * Buduje raport wybranego typu.
+     *
+     * @param reportType    typ raportu: {@link #TEAMS_STRUCTURE}, {@link #USERS} lub {@link #PROJECTS_OVERVIEW}
+     * @param currentUser   użytkownik generujący raport
+     * @param filterOptions mapa opcji filtrowania ustawionych w widoku raportów
+     * @param progress      postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    public ReportDocument generate(String reportType, User currentUser, Map<String, Object> filterOptions,
+                                   ReportProgress progress) throws SQLException {
+        return switch (reportType) {
+            case TEAMS_STRUCTURE -> teamsStructure(currentUser, filterOptions, progress);
+            case USERS -> users(currentUser, filterOptions, progress);
+            case PROJECTS_OVERVIEW -> projectsOverview(currentUser, filterOptions, progress);
+            default -> throw new IllegalArgumentException("Nieznany typ raportu: " + reportType);
+        };
+    }
+
+    /**
+     * Sprawdza, czy raporty użytkownika powinny obejmować tylko jego projekty i zespoły.
+     * Raporty obejmujące cały system wymagają uprawnienia {@link Permission#VIEW_ALL_REPORTS}.
+     *
+     * @param user bieżący użytkownik
+     * @return true jeśli dane raportów należy zawęzić do projektów użytkownika
+     */
+    public static boolean isScopedToOwnProjects(User user) {
+        return user != null && !PermissionService.hasPermission(user, Permission.VIEW_ALL_REPORTS);
+    }
+
+    /**
+     * Generuje raport struktury zespołów.
+     * @param currentUser Użytkownik generujący raport
+     * @param filterOptions Mapa opcji filtrowania
+     * @param progress Postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    private ReportDocument teamsStructure(User currentUser, Map<String, Object> filterOptions, ReportProgress progress) throws SQLException {
+        List<Team> teamsToShow;
+        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
+        boolean showTasks = (boolean) filterOptions.get("showTasks");
+        boolean showMembers = (boolean) filterOptions.get("showMembers");
+
+        if (selectedTeams != null && !selectedTeams.isEmpty()) {
+            teamsToShow = new ArrayList<>(selectedTeams);
+            if (isScopedToOwnProjects(currentUser)) {
+                List<Team> allowedTeams = teamDAO.getTeamsForManager(currentUser.getId());
+                teamsToShow.removeIf(team -> allowedTeams.stream().noneMatch(t -> t.getId() == team.getId()));
+            }
+        } else if (isScopedToOwnProjects(currentUser)) {
+            teamsToShow = teamDAO.getTeamsForManager(currentUser.getId());
+        } else {
+            teamsToShow = teamDAO.getAllTeams();
+        }
+
+        ReportDocument report = new ReportDocument("Struktura Zespołów");
+        if (selectedTeams != null && !selectedTeams.isEmpty()) {
+            report.addFilter("Wybrane zespoły: " + selectedTeams.stream().map(Team::getTeamName).collect(Collectors.joining(", ")));
+        } else {
+            report.addFilter("Wszystkie zespoły");
+        }
+        report.addFilter("Pokaż członków zespołów: " + (showMembers ? "Tak" : "Nie"));
+        report.addFilter("Pokaż zadania zespołów: " + (showTasks ? "Tak" : "Nie"));
+
+        if (teamsToShow.isEmpty()) {
+            report.add(new ReportBlock.Text("Brak zespołów spełniających kryteria raportu."));
+            return report;
+        }
+
+        List<Integer> teamIds = teamsToShow.stream().map(Team::getId).toList();
+        Map<Integer, List<User>> membersByTeam = showMembers ? teamDAO.getTeamMembersByTeamIds(teamIds) : Map.of();
+        Map<Integer, List<Task>> tasksByTeam = showTasks ? taskDAO.getTasksByTeamIds(teamIds) : Map.of();
+
+        for (int i = 0; i < teamsToShow.size(); i++) {
+            Team team = teamsToShow.get(i);
+            progress.update(i, teamsToShow.size(), team.getTeamName());
+            ReportBlock.Section section = new ReportBlock.Section("ZESPÓŁ: " + team.getTeamName() + " (ID: " + team.getId() + ")");
+            report.add(section);
+
+            String projectName = ReferenceDataCache.getProjectName(team.getProjectId());
+            if (projectName == null) {
+                projectName = "Brak przypisania";
+            }
+            ReportBlock.KeyValues details = new ReportBlock.KeyValues(null).put("Projekt", projectName);
+            section.add(details);
+
+            if (showMembers) {
+                List<User> members = membersByTeam.getOrDefault(team.getId(), List.of());
+                details.put("Liczba członków", members.size());
+
+                if (members.isEmpty()) {
+                    section.add(new ReportBlock.Text("Brak członków zespołu."));
+                } else {
+                    ReportBlock.Items memberItems = new ReportBlock.Items("Członkowie zespołu");
+                    for (User member : members) {
+                        memberItems.add(member.getName() + " " + member.getLastName() + " (" + member.getEmail() + ")");
+                    }
+                    section.add(memberItems);
+                }
+            }
+
+            if (showTasks) {
+                List<Task> tasks = tasksByTeam.getOrDefault(team.getId(), List.of());
+                if (tasks.isEmpty()) {
+                    section.add(new ReportBlock.Text("Brak zadań przypisanych do zespołu."));
+                } else {
+                    section.add(TaskReportBlocks.taskTable("Zadania zespołu (" + tasks.size() + ")", tasks));
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Generuje raport użytkowników systemu.
+     * @param currentUser Użytkownik generujący raport
+     * @param filterOptions Mapa opcji filtrowania
+     * @param progress Postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    private ReportDocument users(User currentUser, Map<String, Object> filterOptions, ReportProgress progress) throws SQLException {
+        boolean showMembers = (boolean) filterOptions.get("showMembers");
+        boolean showAdmins = (boolean) filterOptions.get("showAdmins");
+        boolean showManagers = (boolean) filterOptions.get("showManagers");
+        boolean showTeamLeaders = (boolean) filterOptions.get("showTeamLeaders");
+        boolean showUsers = (boolean) filterOptions.get("showUsers");
+        String selectedGroup = (String) filterOptions.get("selectedGroup");
+        boolean scoped = isScopedToOwnProjects(currentUser);
+
+        UsersReportData data = UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO,
+                scoped ? currentUser.getId() : null, selectedGroup);
+        List<User> allUsers = data.getUsers();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < allUsers.size(); i++) {
+            User user = allUsers.get(i);
+            progress.update(i, allUsers.size(), user.getName() + " " + user.getLastName());
+            if (!data.isInSelectedGroup(user)) {
+                continue;
+            }
+            boolean selectedRole = scoped
+                    ? (user.getRoleId() == 3 && showTeamLeaders) || (user.getRoleId() == 4 && showUsers)
+                    : (user.getRoleId() == 1 && showAdmins) ||
+                    (user.getRoleId() == 2 && showManagers) ||
+                    (user.getRoleId() == 3 && showTeamLeaders) ||
+                    (user.getRoleId() == 4 && showUsers);
+            if (selectedRole && (!scoped || data.isInManagerProjects(user))) {
+                users.add(user);
+            }
+        }
+
+        ReportDocument report = new ReportDocument("Użytkownicy Systemu");
+        if (scoped) {
+            report.addFilter("Tylko użytkownicy z moich projektów");
+        }
+        boolean groupColumn = selectedGroup != null && !selectedGroup.isEmpty();
+        if (groupColumn) {
+            report.addFilter("Grupa: " + selectedGroup);
+        }
+        List<String> selectedTypes = new ArrayList<>();
+        if (showAdmins) selectedTypes.add("Administratorzy");
+        if (showManagers) selectedTypes.add("Kierownicy");
+        if (showTeamLeaders) selectedTypes.add("Team liderzy");
+        if (showUsers) selectedTypes.add("Pracownicy");
+        report.addFilter("Typy użytkowników: " + String.join(", ", selectedTypes));
+        report.addFilter("Pokaż przynależność do zespołów: " + (showMembers ? "Tak" : "Nie"));
+
+        if (users.isEmpty()) {
+            report.add(new ReportBlock.Text("Brak użytkowników spełniających kryteria raportu."));
+            return report;
+        }
+
+        List<String> headers = new ArrayList<>(List.of("Użytkownik", "Email"));
+        if (showMembers) headers.add("Zespół");
+        if (groupColumn) headers.add("Grupa");
+        float[] widths = switch (headers.size()) {
+            case 4 -> new float[]{35, 25, 25, 15};
+            case 3 -> showMembers ? new float[]{40, 30, 30} : new float[]{45, 35, 20};
+            default -> new float[]{50, 50};
+        };
+
+        Map<Integer, String> roleNames = ReferenceDataCache.getRoleNames();
+
+        users.sort(Comparator.comparingInt(User::getRoleId));
+
+        int currentRole = -1;
+        ReportBlock.Table table = null;
+        for (User user : users) {
+            if (user.getRoleId() != currentRole) {
+                currentRole = user.getRoleId();
+                table = new ReportBlock.Table(null, headers, widths);
+                report.add(new ReportBlock.Section("ROLA: " + roleNames.getOrDefault(currentRole, "Nieznana (" + currentRole + ")")).add(table));
+            }
+
+            List<String> cells = new ArrayList<>(List.of(user.getName() + " " + user.getLastName(), user.getEmail()));
+
+            if (showMembers) {
+                List<String> teamNames = data.getTeamNames(user);
+                cells.add(teamNames.isEmpty() ? "Brak przypisania" : String.join("\n", teamNames));
+            }
+
+            if (groupColumn) {
+                cells.add(selectedGroup);
+            }
+            table.row(cells.toArray(new String[0]));
+        }
+        return report;
+    }
+
+    /**
+     * Generuje raport przeglądu projektów.
+     * @param currentUser Użytkownik generujący raport; kierownik widzi tylko własne projekty
+     * @param filterOptions Mapa opcji filtrowania
+     * @param progress Postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    private ReportDocument projectsOverview(User currentUser, Map<String, Object> filterOptions, ReportProgress progress) throws SQLException {
+        List<Project> allProjects;
+        List<Project> filteredProjects = new ArrayList<>();
+        LocalDate startDate = (LocalDate) filterOptions.get("startDate");
+        LocalDate endDate = (LocalDate) filterOptions.get("endDate");
+        boolean showTasks = (boolean) filterOptions.get("showTasks");
+        boolean showStatistics = (boolean) filterOptions.get("showStatistics");
+        boolean streamTasks = Boolean.TRUE.equals(filterOptions.get(STREAM_TASKS));
+
+        if (!isScopedToOwnProjects(currentUser)) {
+            allProjects = ReferenceDataCache.getProjects();
+        } else {
+            allProjects = projectDAO.getProjectsForManager(currentUser.getId());
+        }
+
+        List<Project> selectedProjects = (List<Project>) filterOptions.get("selectedProjects");
+
+        List<Project> baseProjects;
+
+        if (selectedProjects != null && !selectedProjects.isEmpty()) {
+            baseProjects = selectedProjects;
+        } else {
+            baseProjects = allProjects;
+        }
+
+        filteredProjects = baseProjects.stream()
+                .filter(project -> startDate == null || !project.getEndDate().isBefore(startDate))
+                .filter(project -> endDate == null || !project.getStartDate().isAfter(endDate))
+                .collect(Collectors.toList());
+
+        ReportDocument report = new ReportDocument("Przegląd Projektów");
+        if (startDate != null) {
+            report.addFilter("Data początkowa: " + startDate);
+        }
+        if (endDate != null) {
+            report.addFilter("Data końcowa: " + endDate);
+        }
+        report.addFilter("Pokaż zadania projektów: " + (showTasks ? "Tak" : "Nie"));
+        report.addFilter("Pokaż statystyki projektów: " + (showStatistics ? "Tak" : "Nie"));
+
+        report.add(new ReportBlock.KeyValues(null).put("Liczba projektów", filteredProjects.size()));
+
+        if (filteredProjects.isEmpty()) {
+            report.add(new ReportBlock.Text("Brak projektów spełniających kryteria raportu."));
+            return report;
+        }
+
+        List<Team> allTeams = teamDAO.getAllTeams();
+        for (int i = 0; i < filteredProjects.size(); i++) {
+            Project project = filteredProjects.get(i);
+            progress.update(i, filteredProjects.size(), project.getName());
+            ReportBlock.Section section = new ReportBlock.Section("PROJEKT: " + project.getName() + " (ID: " + project.getId() + ")");
+            report.add(section);
+
+            int projectManagerId = project.getManagerId();
+            String managerName = "Brak przypisania";
+            if (projectManagerId > 0) {
+                User manager = UserCache.getUserById(projectManagerId);
+                if (manager != null) {
+                    managerName = manager.getName() + " " + manager.getLastName();
+                }
+            }
+
+            List<Team> projectTeams = new ArrayList<>();
+            for (Team team : allTeams) {
+                if (team.getProjectId() == project.getId()) {
+                    projectTeams.add(team);
+                }
+            }
+
+            section.add(new ReportBlock.KeyValues(null)
+                    .put("Opis", project.getDescription())
+                    .put("Data rozpoczęcia", project.getStartDate())
+                    .put("Data zakończenia", project.getEndDate())
+                    .put("Kierownik", managerName)
+                    .put("Liczba zespołów", projectTeams.size()));
+
+            if (!projectTeams.isEmpty()) {
+                ReportBlock.Items teamItems = new ReportBlock.Items("Zespoły projektu");
+                for (Team team : projectTeams) {
+                    teamItems.add(team.getTeamName());
+                }
+                section.add(teamItems);
+            }
+
+            if (streamTasks) {
+                addStreamedProjectTasks(section, project, showTasks, showStatistics);
+                continue;
+            }
+
+            List<Task> tasks = WorkingSet.getProjectTasks(project.getId());
+
+            if (showTasks) {
+                if (tasks.isEmpty()) {
+                    section.add(new ReportBlock.Text("Brak zadań w projekcie."));
+                } else {
+                    section.add(TaskReportBlocks.taskTable("Zadania projektu (" + tasks.size() + ")", tasks));
+                }
+            }
+
+            if (showStatistics) {
+                if (tasks.isEmpty()) {
+                    section.add(new ReportBlock.Text("Brak danych do obliczenia statystyk zadań."));
+                } else {
+                    section.add(TaskReportBlocks.statusSummary("Statystyki zadań", tasks));
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Dodaje zadania projektu w trybie strumieniowym: statystyki liczone są w bazie danych,
+     * a wiersze tabeli zadań odczytywane kursorem dopiero przy renderowaniu raportu.
+     */
+    private void addStreamedProjectTasks(ReportBlock.Section section, Project project, boolean showTasks, boolean showStatistics) {
+        Map<String, Integer> statusCounts = taskDAO.countTasksByStatus(project.getId());
+        int taskCount = statusCounts.values().stream().mapToInt(Integer::intValue).sum();
+
+        if (showTasks) {
+            if (taskCount == 0) {
+                section.add(new ReportBlock.Text("Brak zadań w projekcie."));
+            } else {
+                section.add(TaskReportBlocks.streamedTaskTable("Zadania projektu (" + taskCount + ")",
+                        action -> taskDAO.forEachTaskByProjectId(project.getId(), action)));
+            }
+        }
+
+        if (showStatistics) {
+            if (taskCount == 0) {
+                section.add(new ReportBlock.Text("Brak danych do obliczenia statystyk zadań."));
+            } else {
+                section.add(TaskReportBlocks.statusSummary("Statystyki zadań", statusCounts));
+            }
+        }
+    }
+}
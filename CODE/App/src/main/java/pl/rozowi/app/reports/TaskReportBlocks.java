@@ -0,0 +1,98 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.models.Task;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bloki raportów opisujące zadania, wspólne dla raportów administratora, kierownika i lidera zespołu.
+ */
+public final class TaskReportBlocks {
+
+    private TaskReportBlocks() {
+    }
+
+    /**
+     * Tworzy tabelę zadań z kolumnami nazwy oraz statusu i priorytetu.
+     *
+     * @param title nagłówek tabeli
+     * @param tasks zadania do wyświetlenia
+     * @return tabela raportu
+     */
+    public static ReportBlock.Table taskTable(String title, List<Task> tasks) {
+        ReportBlock.Table table = new ReportBlock.Table(title,
+                List.of("Nazwa zadania", "Status i priorytet"), new float[]{50, 50});
+        for (Task task : tasks) {
+            table.row(task.getTitle(), statusAndPriority(task));
+        }
+        return table;
+    }
+
+    /**
+     * Tworzy tabelę zadań, których wiersze są odczytywane ze źródła dopiero przy renderowaniu.
+     *
+     * @param title nagłówek tabeli
+     * @param tasks źródło zadań, np. odczyt kursorem z bazy danych; wywoływane przy każdym renderowaniu
+     * @return tabela raportu
+     */
+    public static ReportBlock.Table streamedTaskTable(String title, Consumer<Consumer<Task>> tasks) {
+        return new ReportBlock.Table(title, List.of("Nazwa zadania", "Status i priorytet"), new float[]{50, 50})
+                .streamRows(row -> tasks.accept(task -> row.accept(new String[]{task.getTitle(), statusAndPriority(task)})));
+    }
+
+    /**
+     * Zwraca opis statusu i priorytetu zadania, np. "Status: Nowe, Priorytet: Wysoki".
+     */
+    public static String statusAndPriority(Task task) {
+        return "Status: " + task.getStatus() + ", Priorytet: " + task.getPriority();
+    }
+
+    /**
+     * Zlicza zadania według statusu.
+     *
+     * @param title nagłówek bloku
+     * @param tasks zadania, co najmniej jedno
+     * @return blok z liczbą zadań nowych, w toku i zakończonych oraz procentem ukończenia
+     */
+    public static ReportBlock.KeyValues statusSummary(String title, List<Task> tasks) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Task task : tasks) {
+            counts.merge(task.getStatus(), 1, Integer::sum);
+        }
+        return statusSummary(title, counts);
+    }
+
+    /**
+     * Tworzy podsumowanie statusów na podstawie liczby zadań w każdym statusie, np. policzonych w bazie danych.
+     *
+     * @param title  nagłówek bloku
+     * @param counts liczba zadań według statusu, łącznie co najmniej jedno zadanie
+     * @return blok z liczbą zadań nowych, w toku i zakończonych oraz procentem ukończenia
+     */
+    public static ReportBlock.KeyValues statusSummary(String title, Map<String, Integer> counts) {
+        long total = 0;
+        long newTasks = 0;
+        long inProgressTasks = 0;
+        long completedTasks = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            total += entry.getValue();
+            if ("Nowe".equalsIgnoreCase(entry.getKey())) {
+                newTasks += entry.getValue();
+            } else if ("W toku".equalsIgnoreCase(entry.getKey())) {
+                inProgressTasks += entry.getValue();
+            } else if ("Zakończone".equalsIgnoreCase(entry.getKey())) {
+                completedTasks += entry.getValue();
+            }
+        }
+
+        double completionPercentage = (double) completedTasks / total * 100;
+        return new ReportBlock.KeyValues(title)
+                .put("Nowe", newTasks)
+                .put("W toku", inProgressTasks)
+                .put("Zakończone", completedTasks)
+                .put("Procent ukończenia", String.format("%.2f", completionPercentage) + "%");
+    }
+}
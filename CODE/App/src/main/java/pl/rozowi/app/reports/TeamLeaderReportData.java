@@ -0,0 +1,149 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Task;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dane raportów lidera zespołu: zespoły prowadzone przez lidera wraz z nazwami projektów,
+ * członkami, zadaniami i osobami przypisanymi do zadań. Dane pobierane są stałą liczbą
+ * zapytań zbiorczych, niezależnie od liczby zespołów i zadań.
+ */
+final class TeamLeaderReportData {
+
+    private final List<Team> teams;
+    private final Map<Integer, String> projectNames;
+    private final Map<Integer, List<User>> members;
+    private final Set<Integer> groupUserIds;
+    private final Map<Integer, List<Task>> tasks = new HashMap<>();
+    private final Map<Integer, User> assignees;
+
+    private TeamLeaderReportData(List<Team> teams, Map<Integer, String> projectNames, Map<Integer, List<User>> members,
+                                 Set<Integer> groupUserIds, List<Task> leaderTasks, Map<Integer, User> assignees) {
+        this.teams = teams;
+        this.projectNames = projectNames;
+        this.members = members;
+        this.groupUserIds = groupUserIds;
+        for (Task task : leaderTasks) {
+            tasks.computeIfAbsent(task.getTeamId(), id -> new ArrayList<>()).add(task);
+        }
+        this.assignees = assignees;
+    }
+
+    /**
+     * Pobiera dane raportu.
+     *
+     * @param teamLeaderId  ID lidera zespołu
+     * @param selectedTeams zespoły wybrane w filtrach; pusta lista lub null oznacza wszystkie zespoły lidera
+     * @param withMembers   czy pobrać członków zespołów
+     * @param selectedGroup nazwa grupy, do której zawęzić członków, lub null
+     * @param withTasks     czy pobrać zadania zespołów i osoby do nich przypisane
+     * @return dane raportu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    static TeamLeaderReportData load(TeamDAO teamDAO, ProjectDAO projectDAO, TaskDAO taskDAO, UserDAO userDAO,
+                                     int teamLeaderId, List<Team> selectedTeams, boolean withMembers,
+                                     String selectedGroup, boolean withTasks) throws SQLException {
+        List<Team> teams = new ArrayList<>();
+        Set<Integer> selectedIds = new HashSet<>();
+        if (selectedTeams != null) {
+            for (Team team : selectedTeams) {
+                selectedIds.add(team.getId());
+            }
+        }
+        for (Team team : teamDAO.getTeamsByLeaderIdAsList(teamLeaderId)) {
+            if (selectedIds.isEmpty() || selectedIds.contains(team.getId())) {
+                teams.add(team);
+            }
+        }
+        if (teams.isEmpty()) {
+            return new TeamLeaderReportData(teams, Map.of(), Map.of(), null, List.of(), Map.of());
+        }
+
+        Set<Integer> teamIds = new HashSet<>();
+        Set<Integer> projectIds = new HashSet<>();
+        for (Team team : teams) {
+            teamIds.add(team.getId());
+            projectIds.add(team.getProjectId());
+        }
+        Map<Integer, String> projectNames = projectDAO.getProjectNamesByIds(projectIds);
+
+        Map<Integer, List<User>> members = Map.of();
+        Set<Integer> groupUserIds = null;
+        if (withMembers) {
+            members = teamDAO.getTeamMembersByTeamIds(teamIds);
+            if (selectedGroup != null && !selectedGroup.isEmpty()) {
+                groupUserIds = new HashSet<>(userDAO.getUsersByGroupName(selectedGroup));
+            }
+        }
+
+        List<Task> leaderTasks = new ArrayList<>();
+        Map<Integer, User> assignees = Map.of();
+        if (withTasks) {
+            Set<Integer> assigneeIds = new HashSet<>();
+            for (Task task : taskDAO.getTasksForLeader(teamLeaderId)) {
+                if (teamIds.contains(task.getTeamId())) {
+                    leaderTasks.add(task);
+                    if (task.getAssignedTo() > 0) {
+                        assigneeIds.add(task.getAssignedTo());
+                    }
+                }
+            }
+            assignees = userDAO.getUsersByIds(assigneeIds);
+        }
+        return new TeamLeaderReportData(teams, projectNames, members, groupUserIds, leaderTasks, assignees);
+    }
+
+    /**
+     * @return zespoły lidera spełniające kryteria raportu
+     */
+    List<Team> getTeams() {
+        return teams;
+    }
+
+    /**
+     * @return nazwa projektu zespołu lub null, jeśli zespół nie jest przypisany do projektu
+     */
+    String getProjectName(Team team) {
+        return projectNames.get(team.getProjectId());
+    }
+
+    /**
+     * Zwraca członków zespołu z rolą pracownika, zawężonych do wybranej grupy.
+     */
+    List<User> getMembers(Team team) {
+        List<User> result = new ArrayList<>();
+        for (User member : members.getOrDefault(team.getId(), List.of())) {
+            if (member.getRoleId() == 4 && (groupUserIds == null || groupUserIds.contains(member.getId()))) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return zadania zespołu
+     */
+    List<Task> getTasks(Team team) {
+        return tasks.getOrDefault(team.getId(), List.of());
+    }
+
+    /**
+     * @return użytkownik przypisany do zadania lub null
+     */
+    User getAssignee(Task task) {
+        return assignees.get(task.getAssignedTo());
+    }
+}
@@ -0,0 +1,213 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Task;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Buduje raporty lidera zespołu: członków zespołów i zadań zespołów prowadzonych przez lidera.
+ * Nie korzysta z JavaFX, więc raporty mogą być budowane w wątkach tła.
+ */
+public class TeamLeaderReportGenerator {
+
+    public static final String TEAM_MEMBERS = "Członkowie Zespołu";
+    public static final String TEAM_TASKS = "Zadania Zespołu";
+
+    private final UserDAO userDAO = new UserDAO();
+    private final TeamDAO teamDAO = new TeamDAO();
+    private final ProjectDAO projectDAO = new ProjectDAO();
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    /**
+     * Buduje raport wybranego typu.
+     *
+     * @param reportType    typ raportu: {@link #TEAM_MEMBERS} lub {@link #TEAM_TASKS}
+     * @param teamLeaderId  ID lidera zespołu
+     * @param filterOptions mapa opcji filtrowania ustawionych w widoku raportów
+     * @param progress      postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    public ReportDocument generate(String reportType, int teamLeaderId, Map<String, Object> filterOptions,
+                                   ReportProgress progress) throws SQLException {
+        return switch (reportType) {
+            case TEAM_MEMBERS -> teamMembers(teamLeaderId, filterOptions, progress);
+            case TEAM_TASKS -> teamTasks(teamLeaderId, filterOptions, progress);
+            default -> throw new IllegalArgumentException("Nieznany typ raportu: " + reportType);
+        };
+    }
+
+    /**
+     * Generuje raport dotyczący członków zespołu.
+     * @param teamLeaderId ID lidera zespołu
+     * @param filterOptions Mapa zawierająca opcje filtrowania
+     * @param progress Postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException W przypadku błędu dostępu do bazy danych
+     */
+    private ReportDocument teamMembers(int teamLeaderId, Map<String, Object> filterOptions, ReportProgress progress) throws SQLException {
+        String selectedGroup = (String) filterOptions.get("selectedGroup");
+        User selectedUser = (User) filterOptions.get("selectedUser");
+        boolean showMembers = (boolean) filterOptions.get("showMembers");
+        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
+        if (selectedGroup != null && (selectedGroup.isEmpty() || "Wszystkie grupy".equals(selectedGroup))) {
+            selectedGroup = null;
+        }
+
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                teamLeaderId, selectedTeams, showMembers, selectedGroup, false);
+        List<Team> teamsToShow = data.getTeams();
+
+        ReportDocument report = new ReportDocument("Członkowie Zespołu");
+        addCommonFilters(report, selectedTeams, selectedUser);
+        if (selectedGroup != null) {
+            report.addFilter("Grupa: " + selectedGroup);
+        }
+        report.addFilter("Pokaż członków zespołów: " + (showMembers ? "Tak" : "Nie"));
+
+        if (teamsToShow.isEmpty()) {
+            report.add(new ReportBlock.Text("Nie jesteś liderem żadnego zespołu lub brak zespołów spełniających kryteria."));
+            return report;
+        }
+
+        for (int i = 0; i < teamsToShow.size(); i++) {
+            Team team = teamsToShow.get(i);
+            progress.update(i, teamsToShow.size(), team.getTeamName());
+            ReportBlock.Section section = teamSection(team, data);
+            report.add(section);
+
+            if (showMembers) {
+                List<User> members = data.getMembers(team);
+
+                if (selectedUser != null) {
+                    members = members.stream()
+                            .filter(user -> user.getId() == selectedUser.getId())
+                            .collect(Collectors.toList());
+                }
+
+                section.add(new ReportBlock.KeyValues(null).put("Liczba członków", members.size()));
+
+                if (members.isEmpty()) {
+                    section.add(new ReportBlock.Text("Brak członków zespołu spełniających kryteria."));
+                } else {
+                    ReportBlock.Items memberItems = new ReportBlock.Items("Członkowie zespołu");
+                    for (User member : members) {
+                        memberItems.add(member.getName() + " " + member.getLastName() + " (" + member.getEmail() + ")");
+                    }
+                    section.add(memberItems);
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Generuje raport dotyczący zadań zespołu.
+     * @param teamLeaderId ID lidera zespołu
+     * @param filterOptions Mapa zawierająca opcje filtrowania
+     * @param progress Postęp budowania raportu
+     * @return raport gotowy do wyświetlenia i zapisu
+     * @throws SQLException W przypadku błędu dostępu do bazy danych
+     */
+    private ReportDocument teamTasks(int teamLeaderId, Map<String, Object> filterOptions, ReportProgress progress) throws SQLException {
+        boolean showTasks = (boolean) filterOptions.get("showTasks");
+        boolean showStatistics = (boolean) filterOptions.get("showStatistics");
+        User selectedUser = (User) filterOptions.get("selectedUser");
+        List<Team> selectedTeams = (List<Team>) filterOptions.get("selectedTeams");
+
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                teamLeaderId, selectedTeams, false, null, true);
+        List<Team> teamsToShow = data.getTeams();
+
+        ReportDocument report = new ReportDocument("Zadania Zespołu");
+        addCommonFilters(report, selectedTeams, selectedUser);
+        report.addFilter("Pokaż zadania: " + (showTasks ? "Tak" : "Nie"));
+        report.addFilter("Pokaż statystyki: " + (showStatistics ? "Tak" : "Nie"));
+
+        if (teamsToShow.isEmpty()) {
+            report.add(new ReportBlock.Text("Nie jesteś liderem żadnego zespołu lub brak zespołów spełniających kryteria."));
+            return report;
+        }
+
+        for (int i = 0; i < teamsToShow.size(); i++) {
+            Team team = teamsToShow.get(i);
+            progress.update(i, teamsToShow.size(), team.getTeamName());
+            ReportBlock.Section section = teamSection(team, data);
+            report.add(section);
+
+            List<Task> tasks = data.getTasks(team);
+
+            if (selectedUser != null) {
+                tasks = tasks.stream()
+                        .filter(task -> task.getAssignedTo() == selectedUser.getId())
+                        .collect(Collectors.toList());
+            }
+
+            section.add(new ReportBlock.KeyValues(null).put("Liczba zadań", tasks.size()));
+
+            if (tasks.isEmpty()) {
+                section.add(new ReportBlock.Text("Brak zadań przypisanych do zespołu spełniających kryteria."));
+                continue;
+            }
+
+            if (showTasks) {
+                if (selectedUser != null) {
+                    ReportBlock.Table table = new ReportBlock.Table("Zadania zespołu",
+                            List.of("Nazwa zadania", "Status i priorytet", "Przypisane do"), new float[]{40, 35, 25});
+                    for (Task task : tasks) {
+                        User assignee = data.getAssignee(task);
+                        table.row(task.getTitle(), TaskReportBlocks.statusAndPriority(task),
+                                assignee != null ? assignee.getName() + " " + assignee.getLastName() : "");
+                    }
+                    section.add(table);
+                } else {
+                    section.add(TaskReportBlocks.taskTable("Zadania zespołu", tasks));
+                }
+            }
+
+            if (showStatistics) {
+                section.add(TaskReportBlocks.statusSummary("Podsumowanie statusów", tasks));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Dodaje do raportu filtry wspólne dla obu typów raportów: wybrane zespoły i użytkownika.
+     * @param report Raport
+     * @param selectedTeams Zespoły wybrane w filtrach
+     * @param selectedUser Użytkownik wybrany w filtrach lub null
+     */
+    private void addCommonFilters(ReportDocument report, List<Team> selectedTeams, User selectedUser) {
+        if (selectedTeams != null && !selectedTeams.isEmpty()) {
+            report.addFilter("Wybrane zespoły: " + selectedTeams.stream().map(Team::getTeamName).collect(Collectors.joining(", ")));
+        }
+        if (selectedUser != null) {
+            report.addFilter("Użytkownik: " + selectedUser.getName() + " " + selectedUser.getLastName());
+        }
+    }
+
+    /**
+     * Tworzy sekcję zespołu z nazwą projektu, do którego zespół jest przypisany.
+     * @param team Zespół
+     * @param data Dane raportu z nazwami projektów
+     * @return sekcja raportu
+     */
+    private ReportBlock.Section teamSection(Team team, TeamLeaderReportData data) {
+        String projectName = data.getProjectName(team);
+        if (projectName == null) {
+            projectName = "Brak przypisania";
+        }
+        return new ReportBlock.Section("ZESPÓŁ: " + team.getTeamName() + " (ID: " + team.getId() + ")")
+                .add(new ReportBlock.KeyValues(null).put("Projekt", projectName));
+    }
+}
@@ -0,0 +1,126 @@
+package pl.rozowi.app.reports;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renderuje {@link ReportDocument} do czystego tekstu wyświetlanego w podglądzie raportu.
+ * Tabele są wyrównywane do kolumn, więc podgląd zakłada czcionkę o stałej szerokości.
+ */
+public final class TextReportRenderer {
+
+    private static final String COLUMN_SEPARATOR = " | ";
+
+    private TextReportRenderer() {
+    }
+
+    /**
+     * Zwraca tekst raportu.
+     *
+     * @param report raport do wyrenderowania
+     * @return tekst podglądu
+     */
+    public static String render(ReportDocument report) {
+        StringBuilder out = new StringBuilder();
+        out.append("RAPORT: ").append(report.getTitle().toUpperCase(Locale.ROOT)).append("\n");
+        out.append("Data wygenerowania: ").append(report.getGeneratedAt().format(ReportDocument.DATE_FORMAT)).append("\n\n");
+
+        if (!report.getFilters().isEmpty()) {
+            out.append("Zastosowane filtry:\n");
+            for (String filter : report.getFilters()) {
+                out.append("- ").append(filter).append("\n");
+            }
+            out.append("\n");
+        }
+
+        for (ReportBlock block : report.getBlocks()) {
+            renderBlock(out, block);
+        }
+        return out.toString();
+    }
+
+    private static void renderBlock(StringBuilder out, ReportBlock block) {
+        if (block instanceof ReportBlock.Section section) {
+            out.append("=== ").append(section.getTitle()).append(" ===\n");
+            for (ReportBlock child : section.getBlocks()) {
+                renderBlock(out, child);
+            }
+            out.append("\n\n");
+        } else if (block instanceof ReportBlock.KeyValues keyValues) {
+            boolean titled = appendTitle(out, keyValues.getTitle());
+            for (Map.Entry<String, String> entry : keyValues.getEntries()) {
+                out.append(titled ? "- " : "").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+        } else if (block instanceof ReportBlock.Items items) {
+            appendTitle(out, items.getTitle());
+            for (String item : items.getItems()) {
+                out.append("- ").append(item).append("\n");
+            }
+        } else if (block instanceof ReportBlock.Table table) {
+            appendTitle(out, table.getTitle());
+            renderTable(out, table);
+        } else if (block instanceof ReportBlock.Text text) {
+            out.append(text.text()).append("\n");
+        }
+    }
+
+    private static boolean appendTitle(StringBuilder out, String title) {
+        if (title == null) {
+            return false;
+        }
+        out.append("\n").append(title.toUpperCase(Locale.ROOT)).append(":\n");
+        return true;
+    }
+
+    private static void renderTable(StringBuilder out, ReportBlock.Table table) {
+        List<String> headers = table.getHeaders();
+        int[] widths = new int[headers.size()];
+        for (int i = 0; i < headers.size(); i++) {
+            widths[i] = headers.get(i).length();
+        }
+        table.forEachRow(row -> {
+            for (int i = 0; i < row.size(); i++) {
+                for (String line : row.get(i).split("\n", -1)) {
+                    widths[i] = Math.max(widths[i], line.length());
+                }
+            }
+        });
+
+        appendLine(out, headers, widths);
+        int total = (widths.length - 1) * COLUMN_SEPARATOR.length();
+        for (int width : widths) {
+            total += width;
+        }
+        out.append("-".repeat(total)).append("\n");
+
+        table.forEachRow(row -> {
+            List<String[]> cells = new ArrayList<>(row.size());
+            int height = 1;
+            for (String cell : row) {
+                String[] lines = cell.split("\n", -1);
+                cells.add(lines);
+                height = Math.max(height, lines.length);
+            }
+            for (int line = 0; line < height; line++) {
+                List<String> values = new ArrayList<>(cells.size());
+                for (String[] lines : cells) {
+                    values.add(line < lines.length ? lines[line] : "");
+                }
+                appendLine(out, values, widths);
+            }
+        });
+    }
+
+    private static void appendLine(StringBuilder out, List<String> values, int[] widths) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(COLUMN_SEPARATOR);
+            }
+            line.append(values.get(i)).append(" ".repeat(widths[i] - values.get(i).length()));
+        }
+        out.append(line.toString().stripTrailing()).append("\n");
+    }
+}
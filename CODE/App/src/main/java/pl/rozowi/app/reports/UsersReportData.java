@@ -0,0 +1,124 @@
+package pl.rozowi.app.reports;
+
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.TeamMemberDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.TeamMember;
+import pl.rozowi.app.models.User;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dane raportu użytkowników systemu pobrane kilkoma zapytaniami zbiorczymi: użytkownicy,
+ * zespoły, przypisania do zespołów, członkowie wybranej grupy i projekty kierownika.
+ * Raport składany jest potem w jednym przebiegu po użytkownikach, z wyszukiwaniem w mapach
+ * zamiast osobnych zapytań dla każdego użytkownika.
+ */
+final class UsersReportData {
+
+    private final List<User> users;
+    private final Map<Integer, Team> teams = new HashMap<>();
+    private final Map<Integer, List<Integer>> leaderTeamIds = new HashMap<>();
+    private final Map<Integer, Integer> memberTeamIds = new HashMap<>();
+    private final Set<Integer> groupUserIds;
+    private final Set<Integer> managerProjectIds;
+
+    private UsersReportData(List<User> users, List<Team> teams, List<TeamMember> memberships,
+                            Set<Integer> groupUserIds, Set<Integer> managerProjectIds) {
+        this.users = users;
+        for (Team team : teams) {
+            this.teams.put(team.getId(), team);
+        }
+        for (TeamMember membership : memberships) {
+            if (membership.isLeader()) {
+                leaderTeamIds.computeIfAbsent(membership.getUserId(), id -> new ArrayList<>()).add(membership.getTeamId());
+            }
+            memberTeamIds.putIfAbsent(membership.getUserId(), membership.getTeamId());
+        }
+        this.groupUserIds = groupUserIds;
+        this.managerProjectIds = managerProjectIds;
+    }
+
+    /**
+     * Pobiera dane raportu.
+     *
+     * @param managerId     ID kierownika, do którego projektów zawęzić raport, lub null dla całego systemu
+     * @param selectedGroup nazwa grupy, do której zawęzić raport, lub null
+     * @return dane raportu
+     * @throws SQLException w przypadku błędu dostępu do bazy danych
+     */
+    static UsersReportData load(UserDAO userDAO, TeamDAO teamDAO, TeamMemberDAO teamMemberDAO, ProjectDAO projectDAO,
+                                Integer managerId, String selectedGroup) throws SQLException {
+        Set<Integer> groupUserIds = null;
+        if (selectedGroup != null && !selectedGroup.isEmpty()) {
+            groupUserIds = new HashSet<>(userDAO.getUsersByGroupName(selectedGroup));
+        }
+        Set<Integer> managerProjectIds = null;
+        if (managerId != null) {
+            managerProjectIds = new HashSet<>();
+            for (Project project : projectDAO.getProjectsForManager(managerId)) {
+                managerProjectIds.add(project.getId());
+            }
+        }
+        return new UsersReportData(userDAO.getAllUsers(), teamDAO.getAllTeams(), teamMemberDAO.getAllTeamMembers(),
+                groupUserIds, managerProjectIds);
+    }
+
+    List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Sprawdza, czy użytkownik należy do wybranej grupy. Bez wybranej grupy zwraca zawsze true.
+     */
+    boolean isInSelectedGroup(User user) {
+        return groupUserIds == null || groupUserIds.contains(user.getId());
+    }
+
+    /**
+     * Sprawdza, czy użytkownik należy do projektów kierownika: team lider przez jeden z prowadzonych
+     * zespołów, pracownik przez swój zespół. Bez zawężenia do kierownika zwraca zawsze true.
+     */
+    boolean isInManagerProjects(User user) {
+        if (managerProjectIds == null) {
+            return true;
+        }
+        for (int teamId : getTeamIds(user)) {
+            Team team = teams.get(teamId);
+            if (team != null && managerProjectIds.contains(team.getProjectId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Zwraca nazwy zespołów użytkownika: zespoły prowadzone przez team lidera
+     * lub zespół, do którego należy pozostały użytkownik.
+     */
+    List<String> getTeamNames(User user) {
+        List<String> names = new ArrayList<>();
+        for (int teamId : getTeamIds(user)) {
+            Team team = teams.get(teamId);
+            names.add(team != null ? team.getTeamName() : "–");
+        }
+        return names;
+    }
+
+    private List<Integer> getTeamIds(User user) {
+        if (user.getRoleId() == 3) {
+            return leaderTeamIds.getOrDefault(user.getId(), List.of());
+        }
+        Integer teamId = memberTeamIds.get(user.getId());
+        return teamId != null && teamId > 0 ? List.of(teamId) : List.of();
+    }
+}
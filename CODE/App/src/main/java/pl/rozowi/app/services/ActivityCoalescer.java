@@ -0,0 +1,152 @@
+package pl.rozowi.app.services;
+
+import pl.rozowi.app.dao.TaskActivityDAO;
+import pl.rozowi.app.models.TaskActivity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Klasa scalająca serie szybkich zmian tego samego pola zadania w jeden wpis aktywności.
+ * Zdarzenia o tym samym kluczu (zadanie, użytkownik, pole) zarejestrowane w obrębie
+ * konfigurowalnego okna czasowego aktualizują istniejący wiersz w tabeli task_activities
+ * zamiast tworzyć nowy. Scalony wpis zawiera pierwszą starą wartość i ostatnią nową wartość,
+ * a jeśli ostatnia nowa wartość jest równa pierwszej starej, wpis jest usuwany.
+ */
+public class ActivityCoalescer {
+
+    /**
+     * Domyślna długość okna scalania w milisekundach.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 30_000L;
+
+    private final TaskActivityDAO activityDAO;
+    private final LongSupplier clock;
+    private final Map<Key, OpenEntry> openEntries = new HashMap<>();
+    private long windowMillis;
+
+    /**
+     * Konstruktor tworzący obiekt scalający z zegarem systemowym.
+     *
+     * @param activityDAO DAO do zapisu aktywności
+     * @param windowMillis długość okna scalania w milisekundach (0 wyłącza scalanie)
+     */
+    public ActivityCoalescer(TaskActivityDAO activityDAO, long windowMillis) {
+        this(activityDAO, windowMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Konstruktor tworzący obiekt scalający z podanym źródłem czasu.
+     *
+     * @param activityDAO DAO do zapisu aktywności
+     * @param windowMillis długość okna scalania w milisekundach (0 wyłącza scalanie)
+     * @param clock źródło bieżącego czasu w milisekundach
+     */
+    ActivityCoalescer(TaskActivityDAO activityDAO, long windowMillis, LongSupplier clock) {
+        this.activityDAO = activityDAO;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Rejestruje zmianę pola zadania. Jeśli w bieżącym oknie istnieje już wpis dla tego samego
+     * zadania, użytkownika i pola, jego opis jest aktualizowany zamiast dodawania nowego wiersza.
+     * Gdy zmiana przywraca wartość sprzed otwarcia wpisu, wpis jest usuwany.
+     *
+     * @param activity aktywność z uzupełnionymi danymi zadania, użytkownika i typu
+     * @param field nazwa zmienianego pola
+     * @param oldValue poprzednia wartość pola
+     * @param newValue nowa wartość pola
+     * @param describer funkcja budująca opis na podstawie pierwszej starej i ostatniej nowej wartości
+     * @return true jeśli wpis został zapisany, zaktualizowany lub usunięty, false w przeciwnym wypadku
+     */
+    public synchronized boolean record(TaskActivity activity, String field, String oldValue, String newValue,
+                                       BinaryOperator<String> describer) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+
+        Key key = new Key(activity.getTaskId(), activity.getUserId(), field);
+        OpenEntry entry = windowMillis > 0 ? openEntries.get(key) : null;
+
+        if (entry != null) {
+            if (Objects.equals(entry.firstOldValue, newValue)) {
+                // Seria zmian przywróciła pierwotną wartość, więc scalony wpis nie opisuje żadnej zmiany.
+                openEntries.remove(key);
+                return activityDAO.deleteActivity(entry.activityId);
+            }
+            if (activityDAO.updateActivityDescription(entry.activityId, describer.apply(entry.firstOldValue, newValue))) {
+                return true;
+            }
+            openEntries.remove(key);
+        }
+
+        activity.setDescription(describer.apply(oldValue, newValue));
+        boolean inserted = activityDAO.insertTaskActivity(activity);
+        if (inserted && windowMillis > 0 && activity.getId() > 0) {
+            openEntries.put(key, new OpenEntry(activity.getId(), oldValue, now));
+        }
+        return inserted;
+    }
+
+    /**
+     * Ustawia długość okna scalania. Zmiana zamyka wszystkie otwarte wpisy.
+     *
+     * @param windowMillis długość okna w milisekundach (0 wyłącza scalanie)
+     */
+    public synchronized void setWindowMillis(long windowMillis) {
+        this.windowMillis = Math.max(0, windowMillis);
+        openEntries.clear();
+    }
+
+    /**
+     * Zwraca długość okna scalania.
+     *
+     * @return długość okna w milisekundach
+     */
+    public synchronized long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Zamyka wszystkie otwarte wpisy, tak że kolejne zdarzenia utworzą nowe wiersze.
+     */
+    public synchronized void flush() {
+        openEntries.clear();
+    }
+
+    /**
+     * Usuwa wpisy, których okno scalania już minęło.
+     *
+     * @param now bieżący czas w milisekundach
+     */
+    private void evictExpired(long now) {
+        openEntries.values().removeIf(e -> now - e.openedAt >= windowMillis);
+    }
+
+    /**
+     * Klucz scalania: zadanie, użytkownik i nazwa pola.
+     */
+    private record Key(int taskId, int userId, String field) {
+        Key {
+            field = Objects.requireNonNullElse(field, "");
+        }
+    }
+
+    /**
+     * Otwarty wpis aktywności, do którego mogą być dołączane kolejne zmiany.
+     */
+    private static final class OpenEntry {
+        private final int activityId;
+        private final String firstOldValue;
+        private final long openedAt;
+
+        OpenEntry(int activityId, String firstOldValue, long openedAt) {
+            this.activityId = activityId;
+            this.firstOldValue = firstOldValue;
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -16,6 +16,19 @@ public class ActivityService {
 
     private static final TaskActivityDAO activityDAO = new TaskActivityDAO();
 
+    private static final ActivityCoalescer coalescer = new ActivityCoalescer(activityDAO,
+            Long.getLong("taskapp.activity.coalesceWindowMillis", ActivityCoalescer.DEFAULT_WINDOW_MILLIS));
+
+    /**
+     * Ustawia długość okna, w którym kolejne zmiany tego samego pola zadania
+     * przez tego samego użytkownika są scalane w jeden wpis aktywności.
+     *
+     * @param windowMillis długość okna w milisekundach (0 wyłącza scalanie)
+     */
+    public static void setCoalescingWindowMillis(long windowMillis) {
+        coalescer.setWindowMillis(windowMillis);
+    }
+
     /**
      * Loguje utworzenie nowego zadania.
      *
@@ -32,6 +45,7 @@ public class ActivityService {
 
     /**
      * Loguje zmianę statusu zadania.
+     * Kolejne zmiany statusu w obrębie okna scalania aktualizują ten sam wpis.
      *
      * @param taskId ID zadania
      * @param taskTitle tytuł zadania
@@ -41,8 +55,8 @@ public class ActivityService {
      */
     public static boolean logStatusChange(int taskId, String taskTitle, String oldStatus, String newStatus) {
         TaskActivity activity = createActivity(taskId, "STATUS");
-        activity.setDescription("Zmieniono status zadania \"" + taskTitle + "\" z \"" + oldStatus + "\" na \"" + newStatus + "\"");
-        return activityDAO.insertTaskActivity(activity);
+        return coalescer.record(activity, "status", oldStatus, newStatus,
+                (from, to) -> "Zmieniono status zadania \"" + taskTitle + "\" z \"" + from + "\" na \"" + to + "\"");
     }
 
     /**
@@ -65,6 +79,7 @@ public class ActivityService {
 
     /**
      * Loguje aktualizację pola w zadaniu.
+     * Kolejne zmiany tego samego pola w obrębie okna scalania aktualizują ten sam wpis.
      *
      * @param taskId ID zadania
      * @param taskTitle tytuł zadania
@@ -75,8 +90,8 @@ public class ActivityService {
      */
     public static boolean logTaskUpdate(int taskId, String taskTitle, String fieldName, String oldValue, String newValue) {
         TaskActivity activity = createActivity(taskId, "UPDATE");
-        activity.setDescription("Zaktualizowano pole \"" + fieldName + "\" zadania \"" + taskTitle + "\" z \"" + oldValue + "\" na \"" + newValue + "\"");
-        return activityDAO.insertTaskActivity(activity);
+        return coalescer.record(activity, fieldName, oldValue, newValue,
+                (from, to) -> "Zaktualizowano pole \"" + fieldName + "\" zadania \"" + taskTitle + "\" z \"" + from + "\" na \"" + to + "\"");
     }
 
     /**
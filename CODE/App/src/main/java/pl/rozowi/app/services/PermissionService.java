@@ -0,0 +1,71 @@
+package pl.rozowi.app.services;
+
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.models.Permission;
+import pl.rozowi.app.models.User;
+
+import java.util.EnumSet;
+
+/**
+ * Klasa odpowiedzialna za sprawdzanie uprawnień użytkowników.
+ * Uprawnienia wynikają z roli użytkownika. Maski uprawnień ról są wyznaczane
+ * raz i przechowywane w {@link ReferenceDataCache}, więc sprawdzenie uprawnienia
+ * nie wymaga ani zapytania do bazy, ani ponownego parsowania listy kodów.
+ */
+public class PermissionService {
+
+    /**
+     * Sprawdza, czy użytkownik posiada podane uprawnienie.
+     *
+     * @param user użytkownik (może być null)
+     * @param permission sprawdzane uprawnienie
+     * @return true jeśli rola użytkownika posiada uprawnienie, false w przeciwnym wypadku
+     */
+    public static boolean hasPermission(User user, Permission permission) {
+        return user != null && hasPermission(user.getRoleId(), permission);
+    }
+
+    /**
+     * Sprawdza, czy rola posiada podane uprawnienie.
+     *
+     * @param roleId ID roli
+     * @param permission sprawdzane uprawnienie
+     * @return true jeśli rola posiada uprawnienie, false w przeciwnym wypadku
+     */
+    public static boolean hasPermission(int roleId, Permission permission) {
+        return permission.in(ReferenceDataCache.getPermissionMask(roleId));
+    }
+
+    /**
+     * Sprawdza, czy użytkownik posiada przynajmniej jedno z podanych uprawnień.
+     *
+     * @param user użytkownik (może być null)
+     * @param permissions sprawdzane uprawnienia
+     * @return true jeśli rola użytkownika posiada którekolwiek z uprawnień
+     */
+    public static boolean hasAnyPermission(User user, Permission... permissions) {
+        if (user == null) {
+            return false;
+        }
+        long mask = ReferenceDataCache.getPermissionMask(user.getRoleId());
+        for (Permission permission : permissions) {
+            if (permission.in(mask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Zwraca wszystkie uprawnienia użytkownika.
+     *
+     * @param user użytkownik (może być null)
+     * @return zbiór uprawnień roli użytkownika
+     */
+    public static EnumSet<Permission> getPermissions(User user) {
+        if (user == null) {
+            return EnumSet.noneOf(Permission.class);
+        }
+        return Permission.fromMask(ReferenceDataCache.getPermissionMask(user.getRoleId()));
+    }
+}
@@ -0,0 +1,30 @@
+package pl.rozowi.app.util;
+
+import javafx.scene.Parent;
+
+import java.io.IOException;
+
+/**
+ * Widok wygenerowany z pliku FXML podczas budowania aplikacji (profil Maven aot-fxml).
+ * Klasa widoku tworzy drzewo węzłów bezpośrednio w kodzie Javy, bez parsowania XML i bez refleksji
+ * przy każdym wczytaniu, a pola i metody kontrolera są powiązane raz, przy pierwszym użyciu klasy.
+ * Każda instancja służy do jednokrotnego zbudowania widoku.
+ */
+public interface CompiledView {
+
+    /**
+     * Tworzy kontroler i drzewo węzłów, wstrzykuje pola oznaczone fx:id, podpina obsługę zdarzeń
+     * i wywołuje metodę initialize kontrolera, tak jak robi to FXMLLoader.
+     *
+     * @return korzeń drzewa węzłów
+     * @throws IOException jeśli metoda initialize kontrolera zgłosi wyjątek
+     */
+    Parent build() throws IOException;
+
+    /**
+     * Zwraca kontroler utworzony przez ostatnie wywołanie {@link #build()}.
+     *
+     * @return kontroler widoku lub null, jeśli plik FXML nie określa kontrolera
+     */
+    Object getController();
+}
@@ -0,0 +1,188 @@
+package pl.rozowi.app.util;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.LoadException;
+import pl.rozowi.app.MainApplication;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+
+/**
+ * Metody pomocnicze używane przez widoki wygenerowane z plików FXML ({@link CompiledView}).
+ * Pola i metody kontrolera są wyszukiwane przez refleksję tylko raz, w statycznej inicjalizacji
+ * klasy widoku, a następnie używane przez uchwyty VarHandle i MethodHandle.
+ * Reguły wyszukiwania odpowiadają regułom FXMLLoadera: wstrzykiwane są pola publiczne lub oznaczone @FXML,
+ * a metoda obsługi zdarzenia może nie mieć parametrów albo przyjmować zdarzenie.
+ */
+public final class FxmlSupport {
+
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class, Event.class);
+    private static final MethodType INITIALIZER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private FxmlSupport() {
+    }
+
+    /**
+     * Wyszukuje pole kontrolera odpowiadające atrybutowi fx:id.
+     *
+     * @param controllerClass klasa kontrolera
+     * @param name nazwa pola
+     * @return uchwyt pola lub null, jeśli kontroler nie ma takiego pola
+     */
+    public static VarHandle findField(Class<?> controllerClass, String name) {
+        for (Class<?> type = controllerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Field field;
+            try {
+                field = type.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                continue;
+            }
+            if (Modifier.isStatic(field.getModifiers())
+                    || !(Modifier.isPublic(field.getModifiers()) || field.isAnnotationPresent(FXML.class))) {
+                return null;
+            }
+            try {
+                return lookup(type).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Brak dostępu do pola " + name + " w " + type.getName(), e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wyszukuje metodę kontrolera wskazaną w atrybucie obsługi zdarzenia (np. onAction="#handleSave").
+     *
+     * @param controllerClass klasa kontrolera
+     * @param name nazwa metody
+     * @return uchwyt metody o typie (Object, Event)void
+     * @throws IllegalStateException jeśli kontroler nie ma takiej metody
+     */
+    public static MethodHandle findHandler(Class<?> controllerClass, String name) {
+        for (Class<?> type = controllerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.getName().equals(name) || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                Class<?>[] parameters = method.getParameterTypes();
+                if (parameters.length > 1 || (parameters.length == 1 && !Event.class.isAssignableFrom(parameters[0]))) {
+                    continue;
+                }
+                MethodHandle handle = unreflect(method);
+                if (parameters.length == 0) {
+                    handle = MethodHandles.dropArguments(handle, 1, Event.class);
+                }
+                return handle.asType(HANDLER_TYPE);
+            }
+        }
+        throw new IllegalStateException("Kontroler " + controllerClass.getName() + " nie ma metody " + name);
+    }
+
+    /**
+     * Wyszukuje bezparametrową metodę initialize kontrolera.
+     *
+     * @param controllerClass klasa kontrolera
+     * @return uchwyt metody o typie (Object)void lub null, jeśli kontroler jej nie ma
+     */
+    public static MethodHandle findInitializer(Class<?> controllerClass) {
+        for (Class<?> type = controllerClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Method method = type.getDeclaredMethod("initialize");
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    return unreflect(method).asType(INITIALIZER_TYPE);
+                }
+            } catch (NoSuchMethodException e) {
+                // metoda może być zadeklarowana w klasie bazowej
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ustawia pole kontrolera, jeśli kontroler je posiada.
+     *
+     * @param field uchwyt pola zwrócony przez {@link #findField(Class, String)}
+     * @param controller kontroler
+     * @param value wstrzykiwany obiekt
+     */
+    public static void inject(VarHandle field, Object controller, Object value) {
+        if (field != null) {
+            field.set(controller, value);
+        }
+    }
+
+    /**
+     * Tworzy obsługę zdarzenia wywołującą metodę kontrolera.
+     *
+     * @param handler uchwyt metody zwrócony przez {@link #findHandler(Class, String)}
+     * @param controller kontroler
+     * @param <T> typ zdarzenia
+     * @return obsługa zdarzenia
+     */
+    public static <T extends Event> EventHandler<T> handler(MethodHandle handler, Object controller) {
+        return event -> {
+            try {
+                handler.invokeExact(controller, (Event) event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * Wywołuje metodę initialize kontrolera.
+     *
+     * @param initializer uchwyt metody zwrócony przez {@link #findInitializer(Class)} (może być null)
+     * @param controller kontroler
+     * @throws IOException jeśli metoda initialize zgłosi wyjątek (jako LoadException, tak jak FXMLLoader)
+     */
+    public static void initialize(MethodHandle initializer, Object controller) throws IOException {
+        if (initializer == null) {
+            return;
+        }
+        try {
+            initializer.invokeExact(controller);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new LoadException(e);
+        }
+    }
+
+    /**
+     * Zwraca zewnętrzny adres zasobu aplikacji wskazanego w pliku FXML przez "@ścieżka".
+     *
+     * @param path bezwzględna ścieżka zasobu
+     * @return adres zasobu
+     */
+    public static String resource(String path) {
+        URL url = MainApplication.class.getResource(path);
+        if (url == null) {
+            throw new IllegalStateException("Nie znaleziono zasobu " + path);
+        }
+        return url.toExternalForm();
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return lookup(method.getDeclaringClass()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Brak dostępu do metody " + method.getName(), e);
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
@@ -0,0 +1,97 @@
+package pl.rozowi.app.util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import pl.rozowi.app.MainApplication;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Wczytuje widoki z plików FXML, korzystając z klas wygenerowanych podczas budowania, jeśli są dostępne.
+ * Profil Maven aot-fxml kompiluje pliki z katalogu resources/fxml do klas w pakiecie
+ * pl.rozowi.app.fxml.compiled, które budują drzewo węzłów bez parsowania XML i bez refleksji przy każdym wczytaniu.
+ * Gdy aplikacja została zbudowana bez tego profilu, dla danego pliku nie ma klasy lub klasa nie daje się
+ * zainicjalizować (np. kontroler nie ma wskazanej metody), widok jest wczytywany przez FXMLLoader.
+ * Właściwość systemowa taskapp.fxml.compiled=false wyłącza użycie klas wygenerowanych.
+ */
+public final class FxmlViews {
+
+    private static final String INDEX_CLASS = "pl.rozowi.app.fxml.compiled.CompiledViewIndex";
+
+    private static final Function<String, CompiledView> INDEX = loadIndex();
+    private static final Set<String> FAILED = ConcurrentHashMap.newKeySet();
+
+    private FxmlViews() {
+    }
+
+    /**
+     * Wczytuje widok z podanego pliku FXML.
+     *
+     * @param fxmlPath ścieżka do pliku FXML (np. "/fxml/login.fxml")
+     * @return widok wraz z kontrolerem
+     * @throws IOException jeśli wystąpi błąd podczas ładowania widoku
+     */
+    public static ViewRegistry.LoadedView load(String fxmlPath) throws IOException {
+        CompiledView compiled = compiled(fxmlPath);
+        if (compiled != null) {
+            Parent root = compiled.build();
+            return new ViewRegistry.LoadedView(root, compiled.getController());
+        }
+
+        FXMLLoader loader = new FXMLLoader(MainApplication.class.getResource(fxmlPath));
+        Parent root = loader.load();
+        return new ViewRegistry.LoadedView(root, loader.getController());
+    }
+
+    /**
+     * Sprawdza, czy dla pliku FXML dostępna jest klasa wygenerowana podczas budowania.
+     *
+     * @param fxmlPath ścieżka do pliku FXML
+     * @return true jeśli widok będzie budowany bez FXMLLoadera
+     */
+    public static boolean isCompiled(String fxmlPath) {
+        return compiled(fxmlPath) != null;
+    }
+
+    /**
+     * Przygotowuje widok do wczytania bez budowania drzewa węzłów: ładuje i inicjalizuje wygenerowaną klasę
+     * widoku wraz z klasą kontrolera, dzięki czemu pierwsze wczytanie nie ponosi tego kosztu.
+     * Może być wywołana poza wątkiem JavaFX. Dla widoków wczytywanych przez FXMLLoader nic nie robi.
+     *
+     * @param fxmlPath ścieżka do pliku FXML
+     */
+    public static void preload(String fxmlPath) {
+        compiled(fxmlPath);
+    }
+
+    private static CompiledView compiled(String fxmlPath) {
+        if (INDEX == null || FAILED.contains(fxmlPath)) {
+            return null;
+        }
+        try {
+            return INDEX.apply(fxmlPath);
+        } catch (LinkageError e) {
+            FAILED.add(fxmlPath);
+            System.err.println("Nie można użyć skompilowanego widoku " + fxmlPath + ": " + e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, CompiledView> loadIndex() {
+        if (!Boolean.parseBoolean(System.getProperty("taskapp.fxml.compiled", "true"))) {
+            return null;
+        }
+        try {
+            return (Function<String, CompiledView>) Class.forName(INDEX_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Nie można wczytać skompilowanych widoków: " + e);
+            return null;
+        }
+    }
+}
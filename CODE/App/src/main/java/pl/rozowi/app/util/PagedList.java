@@ -0,0 +1,394 @@
+package pl.rozowi.app.util;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import pl.rozowi.app.dao.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Lista tylko do odczytu dla tabel z dużą liczbą wierszy, pobierająca dane stronami w miarę przewijania.
+ * Zamiast wczytywać wszystkie wiersze do pamięci, lista zna jedynie ich liczbę, a wiersz jest pobierany
+ * dopiero wtedy, gdy tabela o niego poprosi (TableView tworzy komórki tylko dla widocznych wierszy).
+ * Strony o stałym rozmiarze są ładowane w tle; do czasu ich wczytania tabela wyświetla wiersz zastępczy.
+ * Przechowywana jest ograniczona liczba stron, a najdawniej używana jest usuwana po przekroczeniu limitu.
+ * Filtrowanie i sortowanie są wykonywane w zapytaniu: zmiana kryteriów lub kolejności wczytuje listę od nowa.
+ * Strona, której nie udało się pobrać, pozostaje wyświetlana jako wiersze zastępcze do następnego odświeżenia.
+ * Po zapisie pojedynczego wiersza listę można poprawić w miejscu ({@link #replace}, {@link #append},
+ * {@link #removeRow}) zamiast wczytywać ją od nowa.
+ *
+ * @param <T> typ wiersza
+ * @param <Q> typ kryteriów filtrowania przekazywanych do zapytania
+ */
+public class PagedList<T, Q> extends ObservableListBase<T> {
+
+    /**
+     * Domyślny rozmiar strony.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Domyślna liczba przechowywanych stron.
+     */
+    public static final int DEFAULT_MAX_PAGES = 10;
+
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "paged-list-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Źródło danych listy: liczba wierszy spełniających kryteria i pobranie jednej strony.
+     * Obie metody są wywoływane w wątku tła.
+     *
+     * @param <T> typ wiersza
+     * @param <Q> typ kryteriów filtrowania
+     */
+    public interface PageSource<T, Q> {
+
+        /**
+         * Zwraca liczbę wierszy spełniających kryteria.
+         *
+         * @param query kryteria filtrowania
+         * @return liczba wierszy lub -1 w przypadku błędu
+         */
+        int count(Q query);
+
+        /**
+         * Pobiera jedną stronę wierszy.
+         *
+         * @param query kryteria filtrowania
+         * @param page przesunięcie, rozmiar strony i sortowanie
+         * @return wiersze strony lub null w przypadku błędu
+         */
+        List<T> fetch(Q query, PageRequest page);
+    }
+
+    private final PageSource<T, Q> source;
+    private final T placeholder;
+    private final int pageSize;
+    private final Executor background;
+    private final Executor fxThread;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+
+    private Q query;
+    private String sortKey;
+    private boolean ascending = true;
+    private int size;
+    private long generation;
+    private long layout;
+
+    /**
+     * Tworzy listę z domyślnym rozmiarem strony i limitem stron.
+     *
+     * @param source źródło danych
+     * @param placeholder wiersz wyświetlany do czasu wczytania strony
+     * @param query początkowe kryteria filtrowania
+     */
+    public PagedList(PageSource<T, Q> source, T placeholder, Q query) {
+        this(source, placeholder, query, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES, LOADER, Platform::runLater);
+    }
+
+    /**
+     * Tworzy listę o podanych parametrach. Zadania ładowania są wykonywane przez background,
+     * a ich wyniki stosowane przez fxThread (w aplikacji: wątek JavaFX).
+     */
+    PagedList(PageSource<T, Q> source, T placeholder, Q query, int pageSize, int maxPages,
+              Executor background, Executor fxThread) {
+        this.source = source;
+        this.placeholder = placeholder;
+        this.query = query;
+        this.pageSize = Math.max(1, pageSize);
+        this.background = background;
+        this.fxThread = fxThread;
+        int limit = Math.max(1, maxPages);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > limit;
+            }
+        };
+        refresh();
+    }
+
+    /**
+     * Zwraca wiersz o podanym indeksie. Jeśli jego strona nie jest wczytana, zleca jej pobranie
+     * i zwraca wiersz zastępczy; po wczytaniu lista zgłasza zamianę wierszy strony.
+     *
+     * @param index indeks wiersza
+     * @return wiersz lub wiersz zastępczy
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Indeks " + index + " poza zakresem 0.." + size);
+        }
+        int page = index / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            loadPage(page);
+            return placeholder;
+        }
+        int offset = index - page * pageSize;
+        return offset < rows.size() ? rows.get(offset) : placeholder;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sprawdza, czy wiersz jest wierszem zastępczym wyświetlanym w trakcie ładowania strony.
+     *
+     * @param row wiersz
+     * @return true dla wiersza zastępczego
+     */
+    public boolean isPlaceholder(T row) {
+        return row == placeholder;
+    }
+
+    /**
+     * Zwraca bieżące kryteria filtrowania.
+     *
+     * @return kryteria filtrowania
+     */
+    public Q getQuery() {
+        return query;
+    }
+
+    /**
+     * Ustawia kryteria filtrowania i wczytuje listę od nowa.
+     *
+     * @param query kryteria filtrowania
+     */
+    public void setQuery(Q query) {
+        this.query = query;
+        refresh();
+    }
+
+    /**
+     * Ustawia sortowanie i wczytuje listę od nowa.
+     *
+     * @param sortKey klucz sortowania rozpoznawany przez źródło danych lub null dla kolejności domyślnej
+     * @param ascending true dla sortowania rosnącego
+     */
+    public void setSort(String sortKey, boolean ascending) {
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        refresh();
+    }
+
+    /**
+     * Odrzuca wczytane strony, pobiera ponownie liczbę wierszy i zgłasza zmianę całej listy.
+     * Wyniki ładowań rozpoczętych przed odświeżeniem są ignorowane.
+     */
+    public void refresh() {
+        long current = ++generation;
+        pages.clear();
+        loading.clear();
+        Q currentQuery = query;
+        background.execute(() -> {
+            int count = source.count(currentQuery);
+            fxThread.execute(() -> {
+                if (current != generation) {
+                    return;
+                }
+                if (count < 0) {
+                    System.err.println("Nie udało się pobrać liczby wierszy");
+                }
+                resize(Math.max(0, count));
+            });
+        });
+    }
+
+    /**
+     * Sprawdza, czy lista jest w domyślnej kolejności źródła danych (bez sortowania według kolumny).
+     *
+     * @return true jeśli nie wybrano klucza sortowania
+     */
+    public boolean isDefaultOrder() {
+        return sortKey == null;
+    }
+
+    /**
+     * Zastępuje wczytany wiersz nową wersją, np. zwróconą przez DAO po aktualizacji.
+     * Pozostałe wiersze, zaznaczenie i położenie przewinięcia tabeli nie zmieniają się.
+     *
+     * @param match warunek wskazujący zastępowany wiersz
+     * @param row nowa wersja wiersza
+     * @return true jeśli wiersz był wczytany i został zastąpiony
+     */
+    public boolean replace(Predicate<? super T> match, T row) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (match.test(rows.get(i))) {
+                    T old = rows.set(i, row);
+                    beginChange();
+                    nextSet(entry.getKey() * pageSize + i, old);
+                    endChange();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dodaje wiersz na końcu listy. Należy używać tylko wtedy, gdy nowy wiersz spełnia bieżące kryteria
+     * i w kolejności źródła danych znajduje się na końcu (np. nowy rekord przy sortowaniu według identyfikatora).
+     *
+     * @param row dodawany wiersz
+     */
+    public void append(T row) {
+        int index = size;
+        int page = index / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows != null) {
+            if (rows.size() == index - page * pageSize) {
+                rows.add(row);
+            } else {
+                pages.remove(page);
+            }
+        }
+        size++;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    /**
+     * Usuwa wczytany wiersz, przesuwając kolejne wiersze o jedną pozycję.
+     * Strony, których nie da się uzupełnić z sąsiedniej wczytanej strony, są pobierane ponownie,
+     * a wyniki ładowań rozpoczętych przed usunięciem są ignorowane.
+     *
+     * @param match warunek wskazujący usuwany wiersz
+     * @return true jeśli wiersz był wczytany i został usunięty
+     */
+    public boolean removeRow(Predicate<? super T> match) {
+        int index = -1;
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> rows = entry.getValue();
+            for (int i = 0; i < rows.size() && index < 0; i++) {
+                if (match.test(rows.get(i))) {
+                    index = entry.getKey() * pageSize + i;
+                }
+            }
+        }
+        if (index < 0) {
+            return false;
+        }
+        int page = index / pageSize;
+        int lastPage = (size - 1) / pageSize;
+        T removed = pages.get(page).remove(index - page * pageSize);
+        for (int k = page + 1; k <= lastPage; k++) {
+            List<T> previous = pages.get(k - 1);
+            List<T> next = pages.get(k);
+            if (next != null && !next.isEmpty()) {
+                T first = next.remove(0);
+                if (previous != null) {
+                    previous.add(first);
+                }
+            } else if (previous != null) {
+                pages.remove(k - 1);
+            }
+        }
+        if (size - 1 <= lastPage * pageSize) {
+            pages.remove(lastPage);
+        }
+        size--;
+        layout++;
+        loading.clear();
+        beginChange();
+        nextRemove(index, removed);
+        endChange();
+        return true;
+    }
+
+    /**
+     * Ustawia sortowanie tabeli tak, aby było wykonywane w zapytaniu.
+     * Kolumny spoza odwzorowania są oznaczane jako niesortowalne.
+     *
+     * @param table tabela wyświetlająca listę
+     * @param sortKeys odwzorowanie kolumn na klucze sortowania źródła danych
+     */
+    public void bindSort(TableView<T> table, Map<TableColumn<T, ?>, String> sortKeys) {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            if (!sortKeys.containsKey(column)) {
+                column.setSortable(false);
+            }
+        }
+        table.setSortPolicy(t -> {
+            String key = null;
+            boolean asc = true;
+            if (!t.getSortOrder().isEmpty()) {
+                TableColumn<T, ?> column = t.getSortOrder().get(0);
+                key = sortKeys.get(column);
+                asc = column.getSortType() == TableColumn.SortType.ASCENDING;
+            }
+            if (!Objects.equals(key, sortKey) || asc != ascending) {
+                setSort(key, asc);
+            }
+            return true;
+        });
+    }
+
+    private void loadPage(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+        long current = generation;
+        long currentLayout = layout;
+        Q currentQuery = query;
+        PageRequest request = new PageRequest(page * pageSize, pageSize, sortKey, ascending);
+        background.execute(() -> {
+            List<T> rows = source.fetch(currentQuery, request);
+            fxThread.execute(() -> {
+                if (current != generation || currentLayout != layout) {
+                    return;
+                }
+                loading.remove(page);
+                if (rows == null) {
+                    System.err.println("Nie udało się pobrać strony " + page);
+                }
+                pages.put(page, rows != null ? new ArrayList<>(rows) : new ArrayList<>());
+                int from = page * pageSize;
+                int to = Math.min(size, from + pageSize);
+                if (from < to) {
+                    beginChange();
+                    nextReplace(from, to, Collections.nCopies(to - from, placeholder));
+                    endChange();
+                }
+            });
+        });
+    }
+
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, placeholder));
+        }
+        if (newSize > 0) {
+            nextAdd(0, newSize);
+        }
+        endChange();
+    }
+}
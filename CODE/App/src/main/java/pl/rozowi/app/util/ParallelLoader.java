@@ -0,0 +1,197 @@
+package pl.rozowi.app.util;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Równoległe ładowanie niezależnych danych widoku. Widok deklaruje zapytania metodą {@link #add(Callable)},
+ * a {@link #run(Runnable, Consumer)} wykonuje je jednocześnie w wątkach tła (każde zapytanie DAO otwiera
+ * własne połączenie) i po zakończeniu wszystkich wywołuje jedną aktualizację w wątku JavaFX.
+ * <p>
+ * Błąd jednego zapytania anuluje pozostałe, a widok otrzymuje tylko ten błąd. Wyniki ładowania
+ * anulowanego przez {@link #cancel()} (np. gdy widok zaczął ładować dane ponownie) są pomijane.
+ * Anulowanie nie przerywa wątków wykonujących zapytania, ponieważ przerwanie wątku w trakcie operacji JDBC
+ * może zamknąć połączenie (H2 zamyka plik bazy); zapytania, które jeszcze się nie rozpoczęły, nie są
+ * uruchamiane, a rozpoczęte kończą się normalnie i ich wyniki są odrzucane.
+ * Klasa pełni rolę StructuredTaskScope, który w JDK 21 jest dostępny tylko jako funkcja podglądowa.
+ */
+public class ParallelLoader {
+
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "parallel-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Wynik jednego zapytania, dostępny w akcji przekazanej do {@link #run(Runnable, Consumer)}.
+     *
+     * @param <T> typ wyniku
+     */
+    public static final class Result<T> {
+        private final Callable<T> query;
+        private volatile T value;
+        private volatile boolean loaded;
+
+        private Result(Callable<T> query) {
+            this.query = query;
+        }
+
+        /**
+         * Zwraca wynik zapytania.
+         *
+         * @return wynik zapytania
+         * @throws IllegalStateException jeśli ładowanie jeszcze się nie zakończyło
+         */
+        public T get() {
+            if (!loaded) {
+                throw new IllegalStateException("Wynik nie został jeszcze pobrany");
+            }
+            return value;
+        }
+    }
+
+    private final ExecutorService background;
+    private final Executor fxThread;
+    private final List<Result<?>> results = new ArrayList<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private boolean started;
+
+    /**
+     * Tworzy moduł ładujący korzystający ze wspólnej puli wątków tła.
+     */
+    public ParallelLoader() {
+        this(LOADER, Platform::runLater);
+    }
+
+    /**
+     * Konstruktor dla testów: zapytania są wykonywane przez background,
+     * a wynik przekazywany przez fxThread (w aplikacji: wątek JavaFX).
+     */
+    ParallelLoader(ExecutorService background, Executor fxThread) {
+        this.background = background;
+        this.fxThread = fxThread;
+    }
+
+    /**
+     * Dodaje zapytanie do wykonania.
+     *
+     * @param query zapytanie wykonywane w wątku tła
+     * @param <T> typ wyniku
+     * @return uchwyt wyniku, odczytywany po zakończeniu ładowania
+     */
+    public <T> Result<T> add(Callable<T> query) {
+        if (started) {
+            throw new IllegalStateException("Ładowanie zostało już uruchomione");
+        }
+        Result<T> result = new Result<>(query);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Uruchamia wszystkie zapytania jednocześnie.
+     *
+     * @param onSuccess akcja wywoływana w wątku JavaFX po pobraniu wszystkich wyników
+     * @param onFailure akcja wywoływana w wątku JavaFX z błędem pierwszego nieudanego zapytania
+     */
+    public void run(Runnable onSuccess, Consumer<Throwable> onFailure) {
+        if (started) {
+            throw new IllegalStateException("Ładowanie zostało już uruchomione");
+        }
+        started = true;
+        if (results.isEmpty()) {
+            finished.set(true);
+            fxThread.execute(() -> {
+                if (!cancelled) {
+                    onSuccess.run();
+                }
+            });
+            return;
+        }
+        AtomicInteger remaining = new AtomicInteger(results.size());
+        List<Object> values = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            values.add(null);
+        }
+        synchronized (futures) {
+            for (int i = 0; i < results.size(); i++) {
+                int index = i;
+                Callable<?> query = results.get(i).query;
+                futures.add(background.submit(() -> {
+                    if (finished.get()) {
+                        return;
+                    }
+                    try {
+                        Object value = query.call();
+                        if (finished.get()) {
+                            return;
+                        }
+                        synchronized (values) {
+                            values.set(index, value);
+                        }
+                    } catch (Throwable e) {
+                        if (finished.compareAndSet(false, true)) {
+                            cancelFutures();
+                            fxThread.execute(() -> {
+                                if (!cancelled) {
+                                    onFailure.accept(e);
+                                }
+                            });
+                        }
+                        return;
+                    }
+                    if (remaining.decrementAndGet() == 0 && finished.compareAndSet(false, true)) {
+                        fxThread.execute(() -> {
+                            if (cancelled) {
+                                return;
+                            }
+                            synchronized (values) {
+                                for (int j = 0; j < results.size(); j++) {
+                                    publish(results.get(j), values.get(j));
+                                }
+                            }
+                            onSuccess.run();
+                        });
+                    }
+                }));
+            }
+        }
+    }
+
+    /**
+     * Anuluje ładowanie; żadna z akcji przekazanych do {@link #run(Runnable, Consumer)} nie zostanie wywołana.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (finished.compareAndSet(false, true)) {
+            cancelFutures();
+        }
+    }
+
+    private void cancelFutures() {
+        synchronized (futures) {
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void publish(Result<T> result, Object value) {
+        result.value = (T) value;
+        result.loaded = true;
+    }
+}
@@ -0,0 +1,159 @@
+package pl.rozowi.app.util;
+
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.input.MouseButton;
+import pl.rozowi.app.reports.ReportJob;
+import pl.rozowi.app.reports.ReportJobQueue;
+
+import java.io.File;
+import java.util.function.Consumer;
+
+/**
+ * Obsługa zadań raportów w widoku raportów: pasek postępu, opis bieżącego kroku, przycisk anulowania
+ * i lista ostatnich zadań użytkownika. Dwukrotne kliknięcie zakończonego zadania otwiera zapisany plik PDF.
+ */
+public class ReportJobControls {
+
+    private final ProgressBar progressBar;
+    private final Label statusLabel;
+    private final Button cancelButton;
+    private final ListView<ReportJob> jobsList;
+    private final int userId;
+    private final ReportJobQueue queue = ReportJobQueue.getDefault();
+    private Node[] busyNodes = new Node[0];
+    private ReportJob current;
+
+    /**
+     * @param progressBar  pasek postępu bieżącego zadania
+     * @param statusLabel  etykieta z opisem bieżącego kroku
+     * @param cancelButton przycisk anulowania bieżącego zadania
+     * @param jobsList     lista ostatnich zadań użytkownika
+     * @param userId       ID zalogowanego użytkownika
+     */
+    public ReportJobControls(ProgressBar progressBar, Label statusLabel, Button cancelButton,
+                             ListView<ReportJob> jobsList, int userId) {
+        this.progressBar = progressBar;
+        this.statusLabel = statusLabel;
+        this.cancelButton = cancelButton;
+        this.jobsList = jobsList;
+        this.userId = userId;
+
+        progressBar.setProgress(0);
+        cancelButton.setDisable(true);
+        jobsList.setOnMouseClicked(event -> {
+            ReportJob job = jobsList.getSelectionModel().getSelectedItem();
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2 && job != null
+                    && job.getState() == ReportJob.State.COMPLETED && job.getOutputFile() != null) {
+                openFile(job.getOutputFile());
+            }
+        });
+        refreshJobs();
+    }
+
+    /**
+     * Ustawia kontrolki blokowane na czas wykonywania zadania, np. przyciski generowania i zapisu.
+     */
+    public void setBusyNodes(Node... nodes) {
+        this.busyNodes = nodes;
+    }
+
+    /**
+     * Dodaje zadanie do kolejki i śledzi jego postęp.
+     *
+     * @param job         zadanie raportu
+     * @param onCompleted akcja wywoływana po poprawnym zakończeniu zadania
+     * @param onFinished  akcja wywoływana po zakończeniu zadania niezależnie od wyniku; może być null
+     */
+    public void submit(ReportJob job, Consumer<ReportJob> onCompleted, Runnable onFinished) {
+        current = job;
+        setBusy(true);
+        job.onUpdate(updated -> {
+            if (updated == current) {
+                showProgress(updated);
+            }
+            refreshJobs();
+            if (!updated.isFinished()) {
+                return;
+            }
+            if (updated == current) {
+                current = null;
+                setBusy(false);
+            }
+            switch (updated.getState()) {
+                case COMPLETED -> onCompleted.accept(updated);
+                case FAILED -> showError(updated);
+                default -> {
+                }
+            }
+            if (onFinished != null) {
+                onFinished.run();
+            }
+        });
+        queue.submit(job);
+        showProgress(job);
+        refreshJobs();
+    }
+
+    /**
+     * Anuluje bieżące zadanie.
+     */
+    public void cancelCurrent() {
+        if (current != null) {
+            queue.cancel(current);
+        }
+    }
+
+    private void setBusy(boolean busy) {
+        cancelButton.setDisable(!busy);
+        for (Node node : busyNodes) {
+            node.setDisable(busy);
+        }
+    }
+
+    private void showProgress(ReportJob job) {
+        switch (job.getState()) {
+            case QUEUED -> {
+                progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+                statusLabel.setText(job.getName() + ": oczekuje w kolejce");
+            }
+            case RUNNING -> {
+                progressBar.setProgress(job.getProgress());
+                statusLabel.setText(job.getName() + (job.getStep().isEmpty() ? "" : ": " + job.getStep()));
+            }
+            case COMPLETED -> {
+                progressBar.setProgress(1);
+                statusLabel.setText(job.getName() + ": gotowe");
+            }
+            case FAILED, CANCELLED -> {
+                progressBar.setProgress(0);
+                statusLabel.setText(job.getName() + ": " + job.getState().getLabel().toLowerCase());
+            }
+        }
+    }
+
+    private void refreshJobs() {
+        jobsList.setItems(FXCollections.observableArrayList(queue.getJobs(userId)));
+    }
+
+    private void showError(ReportJob job) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Błąd generowania raportu");
+        alert.setHeaderText(null);
+        alert.setContentText(job.getError() != null ? job.getError().getMessage() : "Nieznany błąd");
+        alert.showAndWait();
+    }
+
+    private static void openFile(String path) {
+        try {
+            java.awt.Desktop.getDesktop().open(new File(path));
+        } catch (Exception e) {
+            System.out.println("Nie można automatycznie otworzyć pliku PDF: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package pl.rozowi.app.util;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+
+/**
+ * Komórka tabeli wyświetlająca numer porządkowy wiersza.
+ * Numer wyznaczany jest z indeksu komórki, więc nie wymaga przeszukiwania
+ * listy elementów tabeli przy każdym odświeżeniu komórki.
+ *
+ * @param <S> typ elementów tabeli
+ * @param <T> typ wartości kolumny
+ */
+public class RowNumberCell<S, T> extends TableCell<S, T> {
+
+    /**
+     * Ustawia w kolumnie komórki z numerami wierszy.
+     * Numeracja zależy od bieżącej kolejności wierszy, dlatego kolumna nie jest sortowalna.
+     *
+     * @param column kolumna, w której mają być wyświetlane numery wierszy
+     * @param <S> typ elementów tabeli
+     * @param <T> typ wartości kolumny
+     */
+    public static <S, T> void install(TableColumn<S, T> column) {
+        column.setCellValueFactory(null);
+        column.setCellFactory(col -> new RowNumberCell<>());
+        column.setSortable(false);
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || getIndex() < 0 || getTableView() == null || getIndex() >= getTableView().getItems().size()) {
+            setText(null);
+        } else {
+            setText(String.valueOf(getIndex() + 1));
+        }
+    }
+}
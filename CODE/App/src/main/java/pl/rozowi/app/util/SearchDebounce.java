@@ -0,0 +1,48 @@
+package pl.rozowi.app.util;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.TextInputControl;
+import javafx.util.Duration;
+
+import java.util.function.Consumer;
+
+/**
+ * Opóźnione wyszukiwanie w polu tekstowym: akcja jest wywoływana dopiero wtedy, gdy użytkownik
+ * przestanie pisać na czas opóźnienia, a nie po każdym wpisanym znaku.
+ */
+public final class SearchDebounce {
+
+    /**
+     * Domyślne opóźnienie od ostatniej zmiany tekstu.
+     */
+    public static final Duration DEFAULT_DELAY = Duration.millis(250);
+
+    private SearchDebounce() {
+    }
+
+    /**
+     * Wywołuje akcję z bieżącym tekstem pola po upływie domyślnego opóźnienia od ostatniej zmiany.
+     *
+     * @param field pole wyszukiwania
+     * @param action akcja otrzymująca tekst bez początkowych i końcowych spacji
+     */
+    public static void install(TextInputControl field, Consumer<String> action) {
+        install(field, DEFAULT_DELAY, action);
+    }
+
+    /**
+     * Wywołuje akcję z bieżącym tekstem pola po upływie opóźnienia od ostatniej zmiany.
+     *
+     * @param field pole wyszukiwania
+     * @param delay opóźnienie
+     * @param action akcja otrzymująca tekst bez początkowych i końcowych spacji
+     */
+    public static void install(TextInputControl field, Duration delay, Consumer<String> action) {
+        PauseTransition pause = new PauseTransition(delay);
+        pause.setOnFinished(event -> {
+            String text = field.getText();
+            action.accept(text != null ? text.trim() : "");
+        });
+        field.textProperty().addListener((obs, oldVal, newVal) -> pause.playFromStart());
+    }
+}
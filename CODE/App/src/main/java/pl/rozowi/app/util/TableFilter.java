@@ -0,0 +1,187 @@
+package pl.rozowi.app.util;
+
+import javafx.beans.Observable;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextInputControl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Filtrowanie tabeli przechowującej wiersze w pamięci. Tabela wyświetla stałą listę
+ * (FilteredList opakowana w SortedList), więc zmiana filtra nie podmienia jej elementów,
+ * a zaznaczenie i sortowanie kolumn są zachowywane.
+ * <p>
+ * Warunek wyszukiwania jest łączony z kryteriami z pól filtrów (np. list rozwijanych).
+ * Tekst przeszukiwany w wierszu jest wyznaczany raz i zapamiętywany. Gdy użytkownik dopisuje
+ * znaki do wyszukiwanego tekstu, sprawdzane są tylko wiersze pasujące do poprzedniego tekstu;
+ * pozostałe są odrzucane bez porównywania tekstu.
+ *
+ * @param <T> typ wiersza
+ */
+public class TableFilter<T> {
+
+    private final FilteredList<T> filtered;
+    private final SortedList<T> sorted;
+    private final Function<? super T, String> searchKey;
+    private final List<Supplier<Predicate<? super T>>> criteria = new ArrayList<>();
+    private final Map<T, String> keys = new IdentityHashMap<>();
+
+    private String searchText = "";
+    private Predicate<? super T> criteriaPredicate = row -> true;
+    private Set<T> narrowFrom;
+
+    /**
+     * Tworzy filtr dla listy wierszy.
+     *
+     * @param source wszystkie wiersze; zmiany tej listy są od razu odzwierciedlane w tabeli
+     * @param searchKey tekst przeszukiwany w wierszu (np. połączone wartości kolumn)
+     */
+    public TableFilter(ObservableList<T> source, Function<? super T, String> searchKey) {
+        this.searchKey = searchKey;
+        // Nasłuchiwanie musi być dodane przed utworzeniem FilteredList, aby nowe wiersze
+        // były sprawdzane pełnym warunkiem, a nie zawężeniem z poprzedniego wyszukiwania.
+        source.addListener((ListChangeListener<T>) change -> {
+            narrowFrom = null;
+            keys.clear();
+        });
+        this.filtered = new FilteredList<>(source, row -> true);
+        this.sorted = new SortedList<>(filtered);
+    }
+
+    /**
+     * Ustawia listę filtra jako elementy tabeli i wiąże sortowanie listy z sortowaniem kolumn tabeli.
+     *
+     * @param table tabela
+     */
+    public void bind(TableView<T> table) {
+        table.setItems(sorted);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+    }
+
+    /**
+     * Filtruje tabelę w miarę wpisywania tekstu w pole wyszukiwania, z opóźnieniem {@link SearchDebounce}.
+     *
+     * @param field pole wyszukiwania
+     */
+    public void bindSearch(TextInputControl field) {
+        SearchDebounce.install(field, this::setSearchText);
+    }
+
+    /**
+     * Dodaje kryterium filtrowania. Kryterium jest wyznaczane ponownie przy każdej zmianie
+     * którejkolwiek z obserwowanych wartości.
+     *
+     * @param criterion dostawca warunku; null oznacza brak ograniczenia
+     * @param triggers wartości, których zmiana wymaga ponownego filtrowania (np. wartość listy rozwijanej)
+     * @return ten filtr
+     */
+    public TableFilter<T> addCriterion(Supplier<Predicate<? super T>> criterion, Observable... triggers) {
+        criteria.add(criterion);
+        for (Observable trigger : triggers) {
+            trigger.addListener(obs -> refilter());
+        }
+        return this;
+    }
+
+    /**
+     * Ustawia wyszukiwany tekst. Jeśli nowy tekst jest rozszerzeniem poprzedniego,
+     * sprawdzane są tylko wiersze widoczne dotychczas.
+     *
+     * @param text wyszukiwany tekst
+     */
+    public void setSearchText(String text) {
+        String normalized = text != null ? text.trim().toLowerCase(Locale.ROOT) : "";
+        if (normalized.equals(searchText)) {
+            return;
+        }
+        if (normalized.startsWith(searchText)) {
+            Set<T> visible = Collections.newSetFromMap(new IdentityHashMap<>(filtered.size()));
+            visible.addAll(filtered);
+            narrowFrom = visible;
+        } else {
+            narrowFrom = null;
+        }
+        searchText = normalized;
+        applyPredicate();
+    }
+
+    /**
+     * Wyznacza ponownie kryteria i sprawdza wszystkie wiersze.
+     * Należy wywołać po zmianie wartości wierszy wpływającej na wynik filtrowania.
+     */
+    public void refilter() {
+        narrowFrom = null;
+        keys.clear();
+        List<Predicate<? super T>> active = new ArrayList<>();
+        for (Supplier<Predicate<? super T>> criterion : criteria) {
+            Predicate<? super T> predicate = criterion.get();
+            if (predicate != null) {
+                active.add(predicate);
+            }
+        }
+        criteriaPredicate = row -> {
+            for (Predicate<? super T> predicate : active) {
+                if (!predicate.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+        applyPredicate();
+    }
+
+    /**
+     * Zwraca wiersze spełniające filtr w kolejności wyświetlania w tabeli.
+     *
+     * @return lista wyświetlanych wierszy
+     */
+    public SortedList<T> getSorted() {
+        return sorted;
+    }
+
+    /**
+     * Zwraca wiersze spełniające filtr w kolejności listy źródłowej.
+     *
+     * @return lista przefiltrowanych wierszy
+     */
+    public FilteredList<T> getFiltered() {
+        return filtered;
+    }
+
+    private void applyPredicate() {
+        String text = searchText;
+        filtered.setPredicate(row -> {
+            Set<T> candidates = narrowFrom;
+            if (candidates != null) {
+                return candidates.contains(row) && matches(row, text);
+            }
+            return criteriaPredicate.test(row) && matches(row, text);
+        });
+    }
+
+    private boolean matches(T row, String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        String key = keys.get(row);
+        if (key == null) {
+            String value = searchKey.apply(row);
+            key = value != null ? value.toLowerCase(Locale.ROOT) : "";
+            keys.put(row, key);
+        }
+        return key.contains(text);
+    }
+}
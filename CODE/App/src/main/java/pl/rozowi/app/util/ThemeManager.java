@@ -1,14 +1,21 @@
 package pl.rozowi.app.util;
 
+import javafx.collections.ObservableList;
 import javafx.scene.Scene;
 import pl.rozowi.app.dao.SettingsDAO;
 import pl.rozowi.app.models.Settings;
 import pl.rozowi.app.models.User;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Klasa zarządzająca motywami (skórkami) aplikacji.
  * Umożliwia aplikowanie, zmianę oraz zapis motywów dla użytkowników.
  * Obsługuje dwa podstawowe motywy: Light (domyślny) i Dark.
+ * Adresy arkuszy stylów są wyznaczane raz, a arkusz sceny jest podmieniany tylko wtedy,
+ * gdy motyw faktycznie się zmienia, dzięki czemu JavaFX nie parsuje i nie stosuje go ponownie
+ * przy każdym przejściu między ekranami.
  */
 public class ThemeManager {
 
@@ -17,10 +24,12 @@ public class ThemeManager {
 
     private static final String DEFAULT_THEME = "Light";
 
+    private static final Map<String, String> STYLESHEET_URLS = new ConcurrentHashMap<>();
+
     /**
      * Stosuje odpowiedni motyw dla podanej sceny na podstawie preferencji użytkownika.
      * Jeśli użytkownik jest null lub nie ma ustawionego motywu, stosuje motyw domyślny.
-     * Czyści wszystkie istniejące style przed zastosowaniem nowego motywu.
+     * Zastępuje istniejące style, chyba że scena ma już ustawiony ten sam motyw.
      *
      * @param scene Scena, do której ma zostać zastosowany motyw
      * @param user Użytkownik, którego preferencje motywu mają zostać użyte (może być null)
@@ -30,20 +39,13 @@ public class ThemeManager {
             return;
         }
 
-        scene.getStylesheets().clear();
-
         String themeName = (user != null && user.getTheme() != null) ? user.getTheme() : DEFAULT_THEME;
-
-        if ("Dark".equalsIgnoreCase(themeName)) {
-            scene.getStylesheets().add(ThemeManager.class.getResource(DARK_THEME_PATH).toExternalForm());
-        } else {
-            scene.getStylesheets().add(ThemeManager.class.getResource(LIGHT_THEME_PATH).toExternalForm());
-        }
+        setStylesheet(scene, stylesheetFor(themeName));
     }
 
     /**
      * Zmienia motyw dla podanej sceny na określony.
-     * Czyści wszystkie istniejące style przed zastosowaniem nowego motywu.
+     * Zastępuje istniejące style, chyba że scena ma już ustawiony ten sam motyw.
      *
      * @param scene Scena, do której ma zostać zastosowany motyw
      * @param themeName Nazwa motywu do zastosowania ("Dark" lub cokolwiek innego dla motywu jasnego)
@@ -52,13 +54,32 @@ public class ThemeManager {
         if (scene == null) {
             return;
         }
-        scene.getStylesheets().clear();
+        setStylesheet(scene, stylesheetFor(themeName));
+    }
 
-        if ("Dark".equalsIgnoreCase(themeName)) {
-            scene.getStylesheets().add(ThemeManager.class.getResource(DARK_THEME_PATH).toExternalForm());
-        } else {
-            scene.getStylesheets().add(ThemeManager.class.getResource(LIGHT_THEME_PATH).toExternalForm());
+    /**
+     * Zwraca adres arkusza stylów motywu. Adres zasobu jest wyznaczany tylko przy pierwszym użyciu.
+     *
+     * @param themeName nazwa motywu ("Dark" lub cokolwiek innego dla motywu jasnego)
+     * @return zewnętrzny adres arkusza stylów
+     */
+    private static String stylesheetFor(String themeName) {
+        String path = "Dark".equalsIgnoreCase(themeName) ? DARK_THEME_PATH : LIGHT_THEME_PATH;
+        return STYLESHEET_URLS.computeIfAbsent(path, p -> ThemeManager.class.getResource(p).toExternalForm());
+    }
+
+    /**
+     * Ustawia arkusz stylów sceny, pomijając zmianę jeśli scena używa już tego arkusza.
+     *
+     * @param scene scena
+     * @param stylesheetUrl adres arkusza stylów
+     */
+    private static void setStylesheet(Scene scene, String stylesheetUrl) {
+        ObservableList<String> stylesheets = scene.getStylesheets();
+        if (stylesheets.size() == 1 && stylesheets.get(0).equals(stylesheetUrl)) {
+            return;
         }
+        stylesheets.setAll(stylesheetUrl);
     }
 
     /**
@@ -0,0 +1,176 @@
+package pl.rozowi.app.util;
+
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.cache.WorkingSet;
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wstępne ładowanie domyślnego widoku użytkownika (ustawienie default_view) i ekranów,
+ * do których użytkownik najpewniej przejdzie w następnej kolejności.
+ * Ładowanie rozpoczyna się zaraz po poprawnym uwierzytelnieniu, więc zbiega się z komunikatem
+ * o udanym logowaniu i przełączaniem sceny. Najpierw przygotowywany jest widok domyślny,
+ * a następnie, z niskim priorytetem wątku, kolejne ekrany z paska bocznego.
+ * <p>
+ * Dane trafiają do zwykłych pamięci podręcznych ({@link ReferenceDataCache}, {@link WorkingSet}),
+ * z których korzystają kontrolery widoków. Widoki zadań załadowane z wyprzedzeniem, których użytkownik
+ * nie otworzył, są usuwane przez {@link WorkingSet}.
+ */
+public final class ViewPrefetcher {
+
+    /**
+     * Maksymalna liczba ekranów ładowanych z wyprzedzeniem poza widokiem domyślnym.
+     */
+    static final int MAX_NEXT_VIEWS = 2;
+
+    private static final ExecutorService PREFETCH = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private ViewPrefetcher() {
+    }
+
+    /**
+     * Ekran panelu: plik FXML i dane, z których korzysta jego kontroler.
+     */
+    private record Target(String fxmlPath, Runnable data) {
+    }
+
+    /**
+     * Rozpoczyna wstępne ładowanie dla zalogowanego użytkownika.
+     * Wymaga otwartego zbioru roboczego i ustawionej sesji (ID użytkownika i zespołu).
+     *
+     * @param user zalogowany użytkownik
+     */
+    public static void start(User user) {
+        if (user == null) {
+            return;
+        }
+        int generation = GENERATION.incrementAndGet();
+        Map<String, Target> targets = targetsForRole(user.getRoleId(), user.getId());
+        String defaultView = user.getDefaultView();
+        if (defaultView == null || !targets.containsKey(defaultView)) {
+            defaultView = targets.keySet().iterator().next();
+        }
+        Target first = targets.get(defaultView);
+        List<Target> next = new ArrayList<>();
+        for (Map.Entry<String, Target> entry : targets.entrySet()) {
+            if (!entry.getKey().equals(defaultView) && entry.getValue().data() != null && next.size() < MAX_NEXT_VIEWS) {
+                next.add(entry.getValue());
+            }
+        }
+
+        PREFETCH.execute(() -> {
+            Thread thread = Thread.currentThread();
+            load(first, generation);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            try {
+                for (Target target : next) {
+                    load(target, generation);
+                }
+            } finally {
+                thread.setPriority(Thread.NORM_PRIORITY);
+            }
+        });
+    }
+
+    /**
+     * Przerywa wstępne ładowanie, np. przy wylogowaniu. Rozpoczęte zapytanie jest kończone,
+     * ale kolejne ekrany nie są już ładowane.
+     */
+    public static void cancel() {
+        GENERATION.incrementAndGet();
+    }
+
+    private static void load(Target target, int generation) {
+        if (GENERATION.get() != generation) {
+            return;
+        }
+        try {
+            FxmlViews.preload(target.fxmlPath());
+            if (target.data() != null && GENERATION.get() == generation) {
+                WorkingSet.prefetch(target.data());
+            }
+        } catch (Exception e) {
+            System.err.println("Nie udało się wstępnie załadować widoku " + target.fxmlPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Zwraca ekrany panelu danej roli w kolejności paska bocznego, z widokiem używanym
+     * przy braku ustawienia default_view na pierwszym miejscu.
+     */
+    private static Map<String, Target> targetsForRole(int roleId, int userId) {
+        Map<String, Target> targets = new LinkedHashMap<>();
+        switch (roleId) {
+            case 1 -> {
+                targets.put("Użytkownicy", new Target("/fxml/admin/adminUsers.fxml", () -> {
+                    ReferenceDataCache.getRoleNames();
+                    ReferenceDataCache.getTeams();
+                }));
+                targets.put("Zadania", new Target("/fxml/admin/adminTasks.fxml", () -> {
+                    ReferenceDataCache.getProjects();
+                    ReferenceDataCache.getTeams();
+                }));
+                targets.put("Zespoły", new Target("/fxml/admin/adminTeams.fxml", () -> {
+                    ReferenceDataCache.getProjects();
+                    ReferenceDataCache.getRoleNames();
+                }));
+                targets.put("Projekty", new Target("/fxml/admin/adminProjects.fxml", null));
+                targets.put("Raporty", new Target("/fxml/admin/adminReports.fxml", null));
+                targets.put("Aktywność", new Target("/fxml/admin/adminActivities.fxml", null));
+                targets.put("System", new Target("/fxml/admin/adminSystem.fxml", null));
+                targets.put("Ustawienia", new Target("/fxml/user/settings.fxml", null));
+            }
+            case 2 -> {
+                targets.put("Projekty", new Target("/fxml/manager/managerProjects.fxml", () -> managerProjectTasks(userId)));
+                targets.put("Zadania", new Target("/fxml/manager/managerTasks.fxml", () -> managerProjectTasks(userId)));
+                targets.put("Zespoły", new Target("/fxml/manager/managerTeams.fxml", ReferenceDataCache::getRoleNames));
+                targets.put("Pracownicy", new Target("/fxml/manager/managerEmployees.fxml", ReferenceDataCache::getTeams));
+                targets.put("Raporty", new Target("/fxml/manager/managerReports.fxml", null));
+                targets.put("Ustawienia", new Target("/fxml/user/settings.fxml", null));
+            }
+            case 3 -> {
+                targets.put("Moje zadania", new Target("/fxml/teamleader/teamLeaderMyTasks.fxml", WorkingSet::getMyTasks));
+                targets.put("Zadania zespołu", new Target("/fxml/teamleader/teamLeaderTasks.fxml", WorkingSet::getLeaderTasks));
+                targets.put("Pracownicy", new Target("/fxml/teamleader/teamLeaderEmployees.fxml", ReferenceDataCache::getTeams));
+                targets.put("Raporty", new Target("/fxml/teamleader/teamLeaderReports.fxml", null));
+                targets.put("Ustawienia", new Target("/fxml/user/settings.fxml", null));
+            }
+            default -> {
+                targets.put("Moje zadania", new Target("/fxml/user/myTasks.fxml", WorkingSet::getMyTasks));
+                targets.put("Zadania", new Target("/fxml/user/tasks.fxml", () -> {
+                    try {
+                        WorkingSet.getColleagueTasks(Integer.parseInt(Session.currentUserTeam));
+                    } catch (NumberFormatException e) {
+                        // Użytkownik bez zespołu: widok zadań zespołu nie ma czego pokazać.
+                    }
+                }));
+                targets.put("Ustawienia", new Target("/fxml/user/settings.fxml", null));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Ładuje zadania wszystkich projektów kierownika, z których korzystają widoki projektów i zadań.
+     */
+    private static void managerProjectTasks(int managerId) {
+        for (Project project : new ProjectDAO().getProjectsForManager(managerId)) {
+            WorkingSet.getProjectTasks(project.getId());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package pl.rozowi.app.util;
+
+import javafx.scene.Parent;
+import pl.rozowi.app.cache.WorkingSet;
+import pl.rozowi.app.controllers.RefreshableView;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rejestr widoków wyświetlanych w głównym panelu dashboardu.
+ * Widok, którego kontroler implementuje {@link RefreshableView}, jest wczytywany z pliku FXML tylko raz,
+ * a przy kolejnym wyświetleniu jego kontroler otrzymuje wywołanie onShow z informacją,
+ * czy od ostatniego wyświetlenia zmieniły się tabele, z których widok korzysta. Pozostałe widoki są wczytywane za każdym razem.
+ * Liczba przechowywanych widoków jest ograniczona; po przekroczeniu limitu usuwany jest najdawniej używany.
+ * Rejestr należy do kontrolera dashboardu, więc jego zawartość żyje tylko przez czas sesji użytkownika.
+ * Widoki są wczytywane przez {@link FxmlViews}, czyli z klas wygenerowanych z FXML, jeśli są dostępne.
+ */
+public class ViewRegistry {
+
+    /**
+     * Domyślna maksymalna liczba przechowywanych widoków.
+     */
+    public static final int DEFAULT_MAX_VIEWS = 6;
+
+    private final Map<String, CachedView> views;
+
+    /**
+     * Tworzy rejestr z limitem z właściwości systemowej taskapp.viewCache.maxSize lub limitem domyślnym.
+     */
+    public ViewRegistry() {
+        this(Integer.getInteger("taskapp.viewCache.maxSize", DEFAULT_MAX_VIEWS));
+    }
+
+    /**
+     * Tworzy rejestr o podanym limicie widoków.
+     *
+     * @param maxViews maksymalna liczba przechowywanych widoków
+     */
+    public ViewRegistry(int maxViews) {
+        int limit = Math.max(1, maxViews);
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedView> eldest) {
+                return size() > limit;
+            }
+        };
+    }
+
+    /**
+     * Zwraca widok dla podanego pliku FXML. Przechowywany widok jest zwracany bez ponownego
+     * wczytywania, a jego kontroler jest informowany o ponownym wyświetleniu.
+     *
+     * @param fxmlPath ścieżka do pliku FXML
+     * @return widok wraz z kontrolerem
+     * @throws IOException jeśli wystąpi błąd podczas ładowania pliku FXML
+     */
+    public LoadedView load(String fxmlPath) throws IOException {
+        CachedView cached = views.get(fxmlPath);
+        if (cached != null) {
+            RefreshableView controller = (RefreshableView) cached.view.getController();
+            long version = WorkingSet.getVersion(controller.getWatchedTables());
+            boolean dataChanged = version < 0 || version != cached.version;
+            cached.version = version;
+            controller.onShow(dataChanged);
+            return cached.view;
+        }
+
+        LoadedView view = FxmlViews.load(fxmlPath);
+        if (view.getController() instanceof RefreshableView controller) {
+            views.put(fxmlPath, new CachedView(view, WorkingSet.getVersion(controller.getWatchedTables())));
+        }
+        return view;
+    }
+
+    /**
+     * Usuwa wszystkie przechowywane widoki.
+     */
+    public void clear() {
+        views.clear();
+    }
+
+    /**
+     * Zwraca liczbę przechowywanych widoków.
+     *
+     * @return liczba widoków
+     */
+    public int size() {
+        return views.size();
+    }
+
+    /**
+     * Wczytany widok: korzeń drzewa węzłów i jego kontroler.
+     */
+    public static final class LoadedView {
+        private final Parent root;
+        private final Object controller;
+
+        LoadedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+    }
+
+    /**
+     * Przechowywany widok wraz z wersją obserwowanych tabel z chwili ostatniego wyświetlenia.
+     */
+    private static final class CachedView {
+        private final LoadedView view;
+        private long version;
+
+        CachedView(LoadedView view, long version) {
+            this.view = view;
+            this.version = version;
+        }
+    }
+}
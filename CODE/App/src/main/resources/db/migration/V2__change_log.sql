@@ -0,0 +1,17 @@
+-- --------------------------------------------------------
+
+--
+-- Struktura tabeli dla tabeli `change_log`
+-- Dziennik zmian zapisywany przez warstwę DAO po każdej udanej modyfikacji.
+-- Pamięć podręczna sesji odczytuje tylko wpisy o ID większym niż ostatnio przetworzone.
+--
+
+CREATE TABLE IF NOT EXISTS `change_log` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `table_name` varchar(64) NOT NULL,
+  `row_id` int(11) NOT NULL,
+  `operation` varchar(10) NOT NULL,
+  `changed_at` timestamp NOT NULL DEFAULT current_timestamp(),
+  PRIMARY KEY (`id`),
+  KEY `table_name` (`table_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
@@ -0,0 +1,22 @@
+-- --------------------------------------------------------
+
+--
+-- Struktura tabeli dla tabeli `report_schedules`
+-- Harmonogram raportów generowanych cyklicznie do pliku PDF.
+-- Opcje raportu są zapisane tekstowo jako pary klucz=wartość rozdzielone średnikiem, np. "teams=1,2" i "no-tasks=true".
+--
+
+CREATE TABLE IF NOT EXISTS `report_schedules` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `report_type` varchar(50) NOT NULL,
+  `report_options` text DEFAULT NULL,
+  `output_directory` varchar(255) NOT NULL,
+  `interval_days` int(11) NOT NULL DEFAULT 7,
+  `next_run_at` datetime NOT NULL,
+  `last_run_at` datetime DEFAULT NULL,
+  `failed_attempts` int(11) NOT NULL DEFAULT 0,
+  `created_by` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `next_run_at` (`next_run_at`),
+  KEY `created_by` (`created_by`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
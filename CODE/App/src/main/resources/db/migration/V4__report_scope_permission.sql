@@ -0,0 +1,9 @@
+-- --------------------------------------------------------
+
+--
+-- Uprawnienie VIEW_ALL_REPORTS dla roli administratora
+-- Raporty obejmujące cały system były wcześniej dostępne dla ról z uprawnieniem EDIT_USERS.
+--
+
+UPDATE `roles` SET `permissions` = CONCAT(`permissions`, ',VIEW_ALL_REPORTS')
+WHERE `id` = 1 AND `permissions` NOT LIKE '%VIEW_ALL_REPORTS%' AND `permissions` <> 'ALL';
@@ -0,0 +1,12 @@
+-- --------------------------------------------------------
+
+--
+-- Struktura tabeli dla tabeli `schema_migrations`
+-- Wersje skryptów migracji, które mają być wykonane tylko raz, np. V4 nadający uprawnienie.
+--
+
+CREATE TABLE IF NOT EXISTS `schema_migrations` (
+  `version` varchar(50) NOT NULL,
+  `applied_at` timestamp NOT NULL DEFAULT current_timestamp(),
+  PRIMARY KEY (`version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
@@ -0,0 +1,28 @@
+-- --------------------------------------------------------
+
+--
+-- Struktura tabeli dla tabeli `table_versions`
+-- Licznik zmian każdej tabeli zwiększany w tej samej transakcji co wpis w change_log.
+-- Wartości początkowe to liczby wpisów dziennika, więc wersje nadal tylko rosną.
+--
+
+CREATE TABLE IF NOT EXISTS `table_versions` (
+  `table_name` varchar(64) NOT NULL,
+  `version` bigint NOT NULL DEFAULT 0,
+  PRIMARY KEY (`table_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+INSERT INTO `table_versions` (`table_name`, `version`)
+SELECT `table_name`, COUNT(*) FROM `change_log` GROUP BY `table_name`;
+
+INSERT INTO `table_versions` (`table_name`, `version`)
+SELECT t.`table_name`, 0 FROM (
+  SELECT 'users' AS `table_name` UNION ALL
+  SELECT 'roles' UNION ALL
+  SELECT 'projects' UNION ALL
+  SELECT 'teams' UNION ALL
+  SELECT 'team_members' UNION ALL
+  SELECT 'tasks' UNION ALL
+  SELECT 'task_assignments'
+) t
+WHERE NOT EXISTS (SELECT 1 FROM `table_versions` v WHERE v.`table_name` = t.`table_name`);
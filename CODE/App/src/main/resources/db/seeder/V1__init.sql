@@ -1,6 +1,6 @@
 -- Tabela roles
 INSERT INTO roles (id, role_name, permissions) VALUES
-  (1, 'Administrator', 'VIEW_TASKS,CREATE_TASKS,UPDATE_TASKS,DELETE_TASKS,MANAGE_USERS,MANAGE_TEAMS,MANAGE_PROJECTS,VIEW_REPORTS'),
+  (1, 'Administrator', 'VIEW_TASKS,CREATE_TASKS,UPDATE_TASKS,DELETE_TASKS,MANAGE_USERS,MANAGE_TEAMS,MANAGE_PROJECTS,VIEW_REPORTS,VIEW_ALL_REPORTS'),
   (2, 'Kierownik', 'VIEW_TASKS,UPDATE_TASKS,MANAGE_TEAMS,MANAGE_PROJECTS,VIEW_REPORTS'),
   (3, 'Team Lider', 'VIEW_TASKS,CREATE_TASKS,ASSIGN_TASKS,UPDATE_TASKS'),
   (4, 'Pracownik', 'VIEW_TASKS,UPDATE_OWN_TASKS');
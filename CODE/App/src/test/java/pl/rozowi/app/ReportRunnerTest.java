@@ -0,0 +1,102 @@
+package pl.rozowi.app;
+
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.reports.SystemReportGenerator;
+import pl.rozowi.app.reports.TeamLeaderReportGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportRunnerTest {
+
+    @Test
+    void parse_resolvesTypeAliasUserAndOutput() {
+        ReportRunner.Arguments arguments = ReportRunner.parse(new String[]{
+                "--type", "projects", "--user", "admin@example.com", "--output", "raporty/projekty.pdf",
+                "--from", "2025-01-01", "--no-tasks"});
+
+        assertEquals(SystemReportGenerator.PROJECTS_OVERVIEW, arguments.reportType());
+        assertEquals("admin@example.com", arguments.user());
+        assertEquals(Path.of("raporty/projekty.pdf"), arguments.output());
+        assertTrue(arguments.isPdf());
+        assertTrue(arguments.flag("no-tasks"));
+        assertEquals("2025-01-01", arguments.options().get("from"));
+    }
+
+    @Test
+    void parse_acceptsFullReportNames() {
+        ReportRunner.Arguments arguments = ReportRunner.parse(new String[]{"--type", "Zadania Zespołu", "--user", "3"});
+
+        assertEquals(TeamLeaderReportGenerator.TEAM_TASKS, arguments.reportType());
+        assertTrue(arguments.isTeamLeaderReport());
+        assertNull(arguments.output());
+        assertFalse(arguments.isPdf());
+    }
+
+    @Test
+    void parse_rejectsMissingOrUnknownArguments() {
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.parse(new String[]{"--user", "1"}));
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.parse(new String[]{"--type", "teams"}));
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.parse(new String[]{"--type", "faktury", "--user", "1"}));
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.parse(new String[]{"--type", "teams", "--user", "1", "--verbose"}));
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.parse(new String[]{"--type", "teams", "--user"}));
+    }
+
+    @Test
+    void filterOptions_usersReportMapsRolesDatesAndFlags() {
+        ReportRunner.Arguments arguments = ReportRunner.parse(new String[]{
+                "--type", "users", "--user", "1", "--roles", "admin,user", "--group", "Backend",
+                "--no-members", "--to", "2025-06-30"});
+
+        Map<String, Object> filterOptions = ReportRunner.filterOptions(arguments);
+
+        assertEquals(true, filterOptions.get("showAdmins"));
+        assertEquals(false, filterOptions.get("showManagers"));
+        assertEquals(false, filterOptions.get("showTeamLeaders"));
+        assertEquals(true, filterOptions.get("showUsers"));
+        assertEquals(false, filterOptions.get("showMembers"));
+        assertEquals(true, filterOptions.get("showTasks"));
+        assertEquals("Backend", filterOptions.get("selectedGroup"));
+        assertNull(filterOptions.get("startDate"));
+        assertEquals(LocalDate.of(2025, 6, 30), filterOptions.get("endDate"));
+        assertEquals(List.of(), filterOptions.get("selectedTeams"));
+        assertEquals(List.of(), filterOptions.get("selectedProjects"));
+        assertFalse(filterOptions.containsKey(SystemReportGenerator.STREAM_TASKS));
+    }
+
+    @Test
+    void filterOptions_projectsPdfStreamsTasks() {
+        ReportRunner.Arguments arguments = ReportRunner.parse(new String[]{
+                "--type", "projects", "--user", "1", "--output", "projekty.pdf"});
+
+        assertEquals(true, ReportRunner.filterOptions(arguments).get(SystemReportGenerator.STREAM_TASKS));
+    }
+
+    @Test
+    void filterOptions_rejectsInvalidDate() {
+        ReportRunner.Arguments arguments = ReportRunner.parse(new String[]{
+                "--type", "projects", "--user", "1", "--from", "01.01.2025"});
+
+        assertThrows(IllegalArgumentException.class, () -> ReportRunner.filterOptions(arguments));
+    }
+
+    @Test
+    void run_withInvalidArguments_printsUsageAndReturnsTwo() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = ReportRunner.run(new String[]{"--type", "faktury"}, System.out,
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(2, exitCode);
+        String message = err.toString(StandardCharsets.UTF_8);
+        assertTrue(message.startsWith("Nieznany typ raportu: faktury"), message);
+        assertTrue(message.contains("Użycie: ReportRunner"), message);
+    }
+}
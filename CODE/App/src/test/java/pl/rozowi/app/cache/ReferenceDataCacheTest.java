@@ -0,0 +1,85 @@
+package pl.rozowi.app.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.models.Project;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataCacheTest {
+
+    private MockedConstruction<ProjectDAO> projectDaoConstruction;
+
+    /**
+     * Podmienia ProjectDAO na mock zwracający dwa projekty i czyści pamięć podręczną.
+     */
+    @BeforeEach
+    void setUp() {
+        ReferenceDataCache.clear();
+        projectDaoConstruction = mockConstruction(ProjectDAO.class,
+                (mock, context) -> when(mock.getAllProjects()).thenReturn(List.of(project(1, "Alfa"), project(2, "Beta"))));
+    }
+
+    /**
+     * Zamyka mock konstrukcji i czyści pamięć podręczną po każdym teście.
+     */
+    @AfterEach
+    void tearDown() {
+        projectDaoConstruction.close();
+        ReferenceDataCache.clear();
+    }
+
+    /**
+     * Pierwszy odczyt ładuje projekty z DAO, kolejne są obsługiwane z pamięci.
+     */
+    @Test
+    void testGetProjectName_loadsOnceAndCountsHits() {
+        assertEquals("Alfa", ReferenceDataCache.getProjectName(1));
+        assertEquals("Beta", ReferenceDataCache.getProjectName(2));
+        assertNull(ReferenceDataCache.getProjectName(3));
+
+        assertEquals(1, projectDaoConstruction.constructed().size());
+        assertEquals(1, ReferenceDataCache.getMisses());
+        assertEquals(2, ReferenceDataCache.getHits());
+    }
+
+    /**
+     * Unieważnienie powoduje ponowne załadowanie danych przy następnym odczycie.
+     */
+    @Test
+    void testInvalidateProjects_reloadsOnNextRead() {
+        ReferenceDataCache.getProjects();
+        ReferenceDataCache.invalidateProjects();
+        ReferenceDataCache.getProjects();
+
+        assertEquals(2, projectDaoConstruction.constructed().size());
+        assertEquals(2, ReferenceDataCache.getMisses());
+    }
+
+    /**
+     * Zwracane obiekty są kopiami – ich modyfikacja nie zmienia zawartości pamięci podręcznej.
+     */
+    @Test
+    void testGetProject_returnsCopy() {
+        Project project = ReferenceDataCache.getProject(1);
+        project.setName("Zmieniony");
+
+        assertEquals("Alfa", ReferenceDataCache.getProjectName(1));
+    }
+
+    private static Project project(int id, String name) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName(name);
+        project.setStartDate(LocalDate.of(2025, 1, 1));
+        project.setEndDate(LocalDate.of(2025, 12, 31));
+        return project;
+    }
+}
@@ -0,0 +1,144 @@
+package pl.rozowi.app.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.User;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+
+    private MockedConstruction<UserDAO> userDaoConstruction;
+    private AtomicLong now;
+
+    /**
+     * Podmienia UserDAO na mock zwracający użytkownika o dowolnym ID oraz ustawia sterowany zegar.
+     */
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000);
+        UserCache.configure(3, 10_000, now::get);
+        userDaoConstruction = mockConstruction(UserDAO.class, (mock, context) -> {
+            when(mock.getUserById(anyInt())).thenAnswer(inv -> user(inv.getArgument(0)));
+            when(mock.getUserByEmail(anyString())).thenAnswer(inv -> {
+                String email = inv.getArgument(0);
+                return user(Integer.parseInt(email.substring(4, email.indexOf('@'))));
+            });
+        });
+    }
+
+    /**
+     * Przywraca domyślną konfigurację po każdym teście.
+     */
+    @AfterEach
+    void tearDown() {
+        userDaoConstruction.close();
+        UserCache.configure(UserCache.DEFAULT_MAX_SIZE, UserCache.DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Użytkownik załadowany po ID jest dostępny również po adresie email, bez ponownego zapytania.
+     */
+    @Test
+    void testGetUser_sharedIdAndEmailKeys() {
+        assertEquals("user1@test.pl", UserCache.getUserById(1).getEmail());
+        assertEquals(1, UserCache.getUserById(1).getId());
+        assertEquals(1, UserCache.getUserByEmail("USER1@test.pl").getId());
+
+        assertEquals(1, UserCache.getMisses());
+        assertEquals(2, UserCache.getHits());
+        assertEquals(2.0 / 3, UserCache.getHitRatio(), 1e-9);
+    }
+
+    /**
+     * Wpis po upływie czasu życia jest ładowany ponownie.
+     */
+    @Test
+    void testGetUserById_expiresAfterTtl() {
+        UserCache.getUserById(1);
+        now.addAndGet(10_000);
+        UserCache.getUserById(1);
+
+        assertEquals(2, UserCache.getMisses());
+        assertEquals(0, UserCache.getHits());
+    }
+
+    /**
+     * Po przekroczeniu limitu usuwany jest najdawniej używany wpis.
+     */
+    @Test
+    void testStore_evictsLeastRecentlyUsed() {
+        UserCache.getUserById(1);
+        UserCache.getUserById(2);
+        UserCache.getUserById(3);
+        UserCache.getUserById(1);
+        UserCache.getUserById(4);
+
+        assertTrue(UserCache.size() <= 3);
+        long misses = UserCache.getMisses();
+        UserCache.getUserById(1);
+        assertEquals(misses, UserCache.getMisses());
+        UserCache.getUserById(2);
+        assertEquals(misses + 1, UserCache.getMisses());
+    }
+
+    /**
+     * Unieważnienie usuwa wpis z obu indeksów, a zwracane obiekty są kopiami.
+     */
+    @Test
+    void testInvalidate_removesIdAndEmailEntries() {
+        User user = UserCache.getUserById(5);
+        user.setName("Zmieniony");
+        assertEquals("Imię5", UserCache.getUserById(5).getName());
+
+        UserCache.invalidate(5);
+        UserCache.getUserByEmail("user5@test.pl");
+
+        assertEquals(2, UserCache.getMisses());
+    }
+
+    /**
+     * Odczyt, w trakcie którego użytkownik został unieważniony, nie jest zapamiętywany.
+     */
+    @Test
+    void testGetUserById_lateLoadDoesNotOverwriteInvalidate() {
+        userDaoConstruction.close();
+        userDaoConstruction = mockConstruction(UserDAO.class, (mock, context) ->
+                when(mock.getUserById(anyInt())).thenAnswer(inv -> {
+                    UserCache.invalidate(inv.getArgument(0));
+                    return user(inv.getArgument(0));
+                }));
+
+        assertEquals("Imię6", UserCache.getUserById(6).getName());
+
+        assertEquals(0, UserCache.size());
+    }
+
+    /**
+     * Hasło nie jest przechowywane ani zwracane przez pamięć podręczną.
+     */
+    @Test
+    void testGetUserById_doesNotKeepPassword() {
+        assertNull(UserCache.getUserById(7).getPassword());
+        assertNull(UserCache.getUserById(7).getPassword());
+        assertEquals(1, UserCache.getHits());
+    }
+
+    private static User user(int id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Imię" + id);
+        user.setLastName("Nazwisko" + id);
+        user.setEmail("user" + id + "@test.pl");
+        user.setPassword("hash" + id);
+        return user;
+    }
+}
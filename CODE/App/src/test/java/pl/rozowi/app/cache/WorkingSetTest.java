@@ -0,0 +1,334 @@
+package pl.rozowi.app.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import pl.rozowi.app.dao.ChangeLogDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.models.ChangeLogEntry;
+import pl.rozowi.app.models.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WorkingSetTest {
+
+    private final List<ChangeLogEntry> journal = new ArrayList<>();
+    private final Map<Integer, Task> database = new LinkedHashMap<>();
+    private final AtomicInteger fullLoads = new AtomicInteger();
+    private final AtomicInteger rowsFetched = new AtomicInteger();
+    private final AtomicLong latestChangeId = new AtomicLong();
+    private Runnable duringLoad;
+
+    private MockedConstruction<ChangeLogDAO> changeLogConstruction;
+    private MockedConstruction<TaskDAO> taskDaoConstruction;
+
+    /**
+     * Podmienia dziennik zmian i TaskDAO na mocki operujące na liście wpisów i mapie zadań w pamięci.
+     */
+    @BeforeEach
+    void setUp() {
+        database.put(1, task(1, 10, "Nowe"));
+        database.put(2, task(2, 10, "W toku"));
+        database.put(3, task(3, 20, "Nowe"));
+
+        changeLogConstruction = mockConstruction(ChangeLogDAO.class, (mock, context) -> {
+            when(mock.getLatestChangeId()).thenAnswer(inv -> latestChangeId.get());
+            when(mock.getChangesSince(anyLong(), anyInt())).thenAnswer(inv -> {
+                long lastId = inv.getArgument(0);
+                int limit = inv.getArgument(1);
+                return journal.stream().filter(e -> e.getId() > lastId).limit(limit).toList();
+            });
+        });
+        taskDaoConstruction = mockConstruction(TaskDAO.class, (mock, context) -> {
+            when(mock.getTasksByProjectId(anyInt())).thenAnswer(inv -> {
+                fullLoads.incrementAndGet();
+                Runnable hook = duringLoad;
+                duringLoad = null;
+                if (hook != null) {
+                    hook.run();
+                }
+                int projectId = inv.getArgument(0);
+                return database.values().stream().filter(t -> t.getProjectId() == projectId).map(WorkingSetTest::copy).toList();
+            });
+            when(mock.getTasksByIds(anyCollection())).thenAnswer(inv -> {
+                Collection<Integer> ids = inv.getArgument(0);
+                rowsFetched.addAndGet(ids.size());
+                Map<Integer, Task> result = new LinkedHashMap<>();
+                for (Integer id : ids) {
+                    if (database.containsKey(id)) {
+                        result.put(id, copy(database.get(id)));
+                    }
+                }
+                return result;
+            });
+        });
+        WorkingSet.open(7);
+    }
+
+    /**
+     * Zamyka mocki konstrukcji i zbiór roboczy po każdym teście.
+     */
+    @AfterEach
+    void tearDown() {
+        WorkingSet.prefetchTtlMillis = WorkingSet.PREFETCH_TTL_MILLIS;
+        WorkingSet.gapTimeoutMillis = WorkingSet.GAP_TIMEOUT_MILLIS;
+        WorkingSet.close();
+        taskDaoConstruction.close();
+        changeLogConstruction.close();
+    }
+
+    /**
+     * Bez nowych wpisów w dzienniku ponowny odczyt widoku nie ładuje zadań z bazy.
+     */
+    @Test
+    void testGetProjectTasks_servedFromMemoryWithoutChanges() {
+        assertEquals(2, WorkingSet.getProjectTasks(10).size());
+        List<Task> again = WorkingSet.getProjectTasks(10);
+
+        assertEquals(2, again.size());
+        assertEquals(1, fullLoads.get());
+
+        again.get(0).setStatus("Zmienione");
+        assertEquals("Nowe", WorkingSet.getProjectTasks(10).get(0).getStatus());
+    }
+
+    /**
+     * Zmiany zadań pobierane są pojedynczo: zmiana statusu, przeniesienie do innego projektu i usunięcie.
+     */
+    @Test
+    void testGetProjectTasks_appliesTaskDelta() {
+        WorkingSet.getProjectTasks(10);
+        WorkingSet.getProjectTasks(20);
+
+        database.get(1).setStatus("Zakończone");
+        database.get(2).setProjectId(20);
+        database.put(4, task(4, 10, "Nowe"));
+        database.remove(3);
+        change(1, "tasks", 1);
+        change(2, "tasks", 2);
+        change(3, "tasks", 4);
+        change(4, "tasks", 3);
+
+        List<Task> first = WorkingSet.getProjectTasks(10);
+        List<Task> second = WorkingSet.getProjectTasks(20);
+
+        assertEquals(List.of(1, 4), first.stream().map(Task::getId).toList());
+        assertEquals("Zakończone", first.get(0).getStatus());
+        assertEquals(List.of(2), second.stream().map(Task::getId).toList());
+        assertEquals(2, fullLoads.get());
+        assertEquals(4, rowsFetched.get());
+    }
+
+    /**
+     * Zmiana w tabelach zespołów lub projektów unieważnia widoki.
+     */
+    @Test
+    void testGetProjectTasks_structuralChangeReloads() {
+        WorkingSet.getProjectTasks(10);
+        change(1, "team_members", 5);
+
+        WorkingSet.getProjectTasks(10);
+
+        assertEquals(2, fullLoads.get());
+        assertEquals(0, rowsFetched.get());
+    }
+
+    /**
+     * Bez dostępnego dziennika zmian każdy odczyt trafia do bazy.
+     */
+    @Test
+    void testGetProjectTasks_withoutJournalPassesThrough() {
+        WorkingSet.close();
+        latestChangeId.set(-1);
+        WorkingSet.open(7);
+
+        WorkingSet.getProjectTasks(10);
+        WorkingSet.getProjectTasks(10);
+
+        assertEquals(2, fullLoads.get());
+    }
+
+    /**
+     * Wersja zbioru tabel rośnie tylko po zmianie jednej z nich.
+     */
+    @Test
+    void testGetVersion_perTable() {
+        Set<String> taskTables = Set.of("tasks", "task_assignments");
+        long before = WorkingSet.getVersion(taskTables);
+
+        change(1, "teams", 5);
+        assertEquals(before, WorkingSet.getVersion(taskTables));
+        assertEquals(1, WorkingSet.getVersion(Set.of("teams")));
+
+        change(2, "task_assignments", 1);
+        assertEquals(1, WorkingSet.getVersion(taskTables));
+        assertEquals(2, WorkingSet.getVersion(Set.of()));
+    }
+
+    /**
+     * Wpis zatwierdzony po wpisie o wyższym ID jest przetwarzany przy kolejnym odczycie,
+     * a wpis przetworzony wcześniej nie jest stosowany ponownie.
+     */
+    @Test
+    void testGetProjectTasks_lateLowerIdEntryApplied() {
+        WorkingSet.getProjectTasks(10);
+
+        database.get(2).setStatus("Zakończone");
+        change(2, "tasks", 2);
+        assertEquals("Zakończone", WorkingSet.getProjectTasks(10).get(1).getStatus());
+        long version = WorkingSet.getVersion();
+
+        database.get(1).setStatus("W toku");
+        change(1, "tasks", 1);
+        List<Task> tasks = WorkingSet.getProjectTasks(10);
+
+        assertEquals("W toku", tasks.get(0).getStatus());
+        assertEquals(version + 1, WorkingSet.getVersion());
+        assertEquals(2, rowsFetched.get());
+        assertEquals(1, fullLoads.get());
+    }
+
+    /**
+     * Luka w ID dziennika (wycofana transakcja) jest pomijana po upływie limitu czasu,
+     * więc wpisy powyżej niej nie są odczytywane w nieskończoność.
+     */
+    @Test
+    void testGetVersion_gapSkippedAfterTimeout() {
+        AtomicLong since = new AtomicLong(-1);
+        changeLogConstruction.close();
+        changeLogConstruction = mockConstruction(ChangeLogDAO.class, (mock, context) -> {
+            when(mock.getChangesSince(anyLong(), anyInt())).thenAnswer(inv -> {
+                long lastId = inv.getArgument(0);
+                since.set(lastId);
+                return journal.stream().filter(e -> e.getId() > lastId).toList();
+            });
+        });
+
+        change(2, "tasks", 1);
+        WorkingSet.getVersion();
+        WorkingSet.getVersion();
+        assertEquals(0, since.get());
+
+        WorkingSet.gapTimeoutMillis = 0;
+        WorkingSet.getVersion();
+        WorkingSet.getVersion();
+        assertEquals(2, since.get());
+        assertEquals(1, WorkingSet.getVersion(Set.of("tasks")));
+    }
+
+    /**
+     * Widok załadowany z wyprzedzeniem jest zwracany przy pierwszym otwarciu ekranu bez zapytania do bazy.
+     */
+    @Test
+    void testPrefetch_viewServedWithoutFullLoad() {
+        WorkingSet.prefetch(() -> WorkingSet.getProjectTasks(10));
+        assertEquals(1, fullLoads.get());
+
+        assertEquals(2, WorkingSet.getProjectTasks(10).size());
+        assertEquals(1, fullLoads.get());
+    }
+
+    /**
+     * Widok załadowany z wyprzedzeniem, którego nikt nie odczytał w wyznaczonym czasie, jest usuwany;
+     * widok odczytany przez ekran pozostaje.
+     */
+    @Test
+    void testPrefetch_unusedViewDropped() {
+        WorkingSet.prefetch(() -> {
+            WorkingSet.getProjectTasks(10);
+            WorkingSet.getProjectTasks(20);
+        });
+        WorkingSet.getProjectTasks(20);
+        WorkingSet.prefetchTtlMillis = 0;
+
+        WorkingSet.getProjectTasks(20);
+        assertEquals(2, fullLoads.get());
+        WorkingSet.getProjectTasks(10);
+        assertEquals(3, fullLoads.get());
+    }
+
+    /**
+     * Bez dziennika zmian odczyty z wyprzedzeniem nie trafiają do bazy, bo wynik nie byłby przechowany.
+     */
+    @Test
+    void testPrefetch_withoutJournalSkipsLoad() {
+        WorkingSet.close();
+        latestChangeId.set(-1);
+        WorkingSet.open(7);
+
+        WorkingSet.prefetch(() -> WorkingSet.getProjectTasks(10));
+
+        assertEquals(0, fullLoads.get());
+    }
+
+    /**
+     * Podczas pełnego ładowania widoku blokada klasy jest zwolniona, więc inny wątek
+     * (np. wątek JavaFX w trakcie ładowania z wyprzedzeniem) może odczytywać zbiór roboczy.
+     */
+    @Test
+    void testPrefetch_loadRunsOutsideLock() {
+        AtomicReference<String> statistics = new AtomicReference<>();
+        duringLoad = () -> statistics.set(CompletableFuture.supplyAsync(WorkingSet::getStatistics)
+                .completeOnTimeout(null, 2, TimeUnit.SECONDS).join());
+
+        WorkingSet.prefetch(() -> WorkingSet.getProjectTasks(10));
+
+        assertNotNull(statistics.get(), "Odczyt z innego wątku czekał na zakończenie ładowania");
+        assertEquals(2, WorkingSet.getProjectTasks(10).size());
+        assertEquals(1, fullLoads.get());
+    }
+
+    /**
+     * Widok, podczas którego ładowania przetworzono wpis dziennika, nie jest zapamiętywany,
+     * bo mógłby nie zawierać tej zmiany.
+     */
+    @Test
+    void testGetProjectTasks_changeDuringLoadNotPublished() {
+        duringLoad = () -> {
+            change(1, "tasks", 1);
+            WorkingSet.getVersion();
+        };
+
+        assertEquals(2, WorkingSet.getProjectTasks(10).size());
+        WorkingSet.getProjectTasks(10);
+
+        assertEquals(2, fullLoads.get());
+    }
+
+    private void change(long id, String table, int rowId) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setId(id);
+        entry.setTableName(table);
+        entry.setRowId(rowId);
+        entry.setOperation(ChangeLogDAO.UPDATE);
+        journal.add(entry);
+    }
+
+    private static Task task(int id, int projectId, String status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(projectId);
+        task.setTitle("Zadanie " + id);
+        task.setStatus(status);
+        return task;
+    }
+
+    private static Task copy(Task task) {
+        return task(task.getId(), task.getProjectId(), task.getStatus());
+    }
+}
@@ -1,6 +1,9 @@
 package pl.rozowi.app.dao;
 
-import org.junit.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
@@ -11,8 +14,9 @@ import pl.rozowi.app.models.User;
 import java.sql.*;
 import java.util.List;
 
-import static org.junit.Assert.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +34,8 @@ public class TeamDAOTest {
     private ResultSet mockResultSet;
     @Mock
     private Statement mockStatement;
+    @Mock
+    private PreparedStatement mockChangeLogStatement;
 
     private static MockedStatic<DatabaseManager> mockStaticDatabaseManager;
 
@@ -40,7 +46,7 @@ public class TeamDAOTest {
      * Tworzy statyczny mock dla klasy DatabaseManager, który będzie używany
      * we wszystkich testach.
      */
-    @BeforeClass
+    @BeforeAll
     public static void initStaticMock() throws SQLException {
         mockStaticDatabaseManager = mockStatic(DatabaseManager.class);
     }
@@ -49,7 +55,7 @@ public class TeamDAOTest {
      * Czyszczenie statycznych mocków po zakończeniu wszystkich testów.
      * Zamyka statyczny mock DatabaseManager, aby uniknąć wycieków pamięci.
      */
-    @AfterClass
+    @AfterAll
     public static void closeStaticMock() {
         mockStaticDatabaseManager.close();
     }
@@ -59,7 +65,7 @@ public class TeamDAOTest {
      * Inicjalizuje mocki, konfiguruje ich zachowanie i tworzy
      * instancję testowanej klasy TeamDAO.
      */
-    @Before
+    @BeforeEach
     public void setUp() throws SQLException {
         MockitoAnnotations.initMocks(this);
 
@@ -67,6 +73,9 @@ public class TeamDAOTest {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
         when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO change_log"))).thenReturn(mockChangeLogStatement);
+        when(mockConnection.prepareStatement(startsWith("UPDATE table_versions"))).thenReturn(mockChangeLogStatement);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO table_versions"))).thenReturn(mockChangeLogStatement);
 
         teamDAO = new TeamDAO();
     }
@@ -95,6 +104,31 @@ public class TeamDAOTest {
         verify(mockPreparedStatement).executeQuery();
     }
 
+    /**
+     * Test sprawdzający metodę getAllTeamsWithSummary.
+     * Symuluje zwrócenie dwóch zespołów z liczbą członków i liderem
+     * i weryfikuje, czy pola podsumowania zostały poprawnie uzupełnione.
+     */
+    @Test
+    public void testGetAllTeamsWithSummary() throws SQLException {
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getInt("id")).thenReturn(1, 2);
+        when(mockResultSet.getString("team_name")).thenReturn("Team A", "Team B");
+        when(mockResultSet.getInt("project_id")).thenReturn(1, 2);
+        when(mockResultSet.getInt("member_count")).thenReturn(3, 0);
+        when(mockResultSet.getString("leader_name")).thenReturn("Jan Kowalski", (String) null);
+
+        List<Team> results = teamDAO.getAllTeamsWithSummary();
+
+        assertEquals(2, results.size());
+        assertEquals(3, results.get(0).getMemberCount());
+        assertEquals("Jan Kowalski", results.get(0).getLeaderName());
+        assertEquals(0, results.get(1).getMemberCount());
+        assertNull(results.get(1).getLeaderName());
+
+        verify(mockPreparedStatement).executeQuery();
+    }
+
     /**
      * Test sprawdzający metodę getTeamById dla istniejącego zespołu.
      * Symuluje znalezienie zespołu o podanym ID i weryfikuje,
@@ -0,0 +1,138 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchReportExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ReportDocument report = new ReportDocument("Struktura Zespołów", LocalDateTime.of(2025, 3, 31, 18, 0))
+            .addFilter("Wszystkie zespoły")
+            .add(new ReportBlock.Section("ZESPÓŁ: Alfa (ID: 1)").add(new ReportBlock.Text("Projekt: Sklep")))
+            .add(new ReportBlock.Section("ZESPÓŁ: Beta (ID: 2)").add(new ReportBlock.Text("Projekt: Magazyn")))
+            .add(new ReportBlock.Section("ZESPÓŁ: Gamma (ID: 3)").add(new ReportBlock.Text("Brak przypisania")));
+
+    @Test
+    void export_writesOnePdfPerSectionAndReportsProgress() throws Exception {
+        List<String> steps = new CopyOnWriteArrayList<>();
+        BatchReportExporter exporter = new BatchReportExporter(null, new ReportService(), 2);
+
+        BatchReportExporter.Result result = exporter.export(report, tempDir, false,
+                (done, total, step) -> steps.add(done + "/" + total));
+
+        assertEquals(List.of(
+                tempDir.resolve("raport_struktura_zespolow_20250331_180000_zespol_alfa_id_1.pdf"),
+                tempDir.resolve("raport_struktura_zespolow_20250331_180000_zespol_beta_id_2.pdf"),
+                tempDir.resolve("raport_struktura_zespolow_20250331_180000_zespol_gamma_id_3.pdf")), result.files());
+        for (Path file : result.files()) {
+            assertTrue(Files.size(file) > 0);
+        }
+        assertTrue(result.failures().isEmpty());
+        assertEquals(List.of("0/3", "1/3", "2/3", "3/3"), steps);
+    }
+
+    @Test
+    void export_failingSectionDoesNotStopOthers() throws Exception {
+        ReportService failingBeta = new ReportService() {
+            @Override
+            public void generatePdf(String filename, ReportDocument document) throws IOException {
+                if (filename.contains("beta")) {
+                    throw new IOException("Brak miejsca na dysku");
+                }
+                super.generatePdf(filename, document);
+            }
+        };
+        BatchReportExporter exporter = new BatchReportExporter(null, failingBeta, 3);
+
+        BatchReportExporter.Result result = exporter.export(report, tempDir, false, ReportProgress.NONE);
+
+        assertEquals(2, result.files().size());
+        assertEquals("Brak miejsca na dysku", result.failures().get("ZESPÓŁ: Beta (ID: 2)"));
+        assertTrue(BatchReportExporter.summary(SystemReportGenerator.TEAMS_STRUCTURE, tempDir, result)
+                .getBlocks().stream().anyMatch(block -> block instanceof ReportBlock.Items items
+                        && items.getItems().contains("ZESPÓŁ: Beta (ID: 2): Brak miejsca na dysku")));
+    }
+
+    @Test
+    void export_withZip_bundlesPdfsIntoSingleArchive() throws Exception {
+        BatchReportExporter exporter = new BatchReportExporter(null, new ReportService(), 2);
+
+        BatchReportExporter.Result result = exporter.export(report, tempDir, true, ReportProgress.NONE);
+
+        Path archive = tempDir.resolve("raport_struktura_zespolow_20250331_180000.zip");
+        assertEquals(List.of(archive), result.files());
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+        }
+        assertEquals(3, entries.size());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(archive), files.toList());
+        }
+    }
+
+    @Test
+    void export_cancelledProgress_propagatesCancellationAndRemovesFiles() throws Exception {
+        BatchReportExporter exporter = new BatchReportExporter(null, new ReportService(), 1);
+
+        assertThrows(CancellationException.class, () -> exporter.export(report, tempDir, false, (done, total, step) -> {
+            if (done > 0) {
+                throw new CancellationException();
+            }
+        }));
+
+        List<Path> remaining = List.of();
+        for (int attempt = 0; attempt < 50; attempt++) {
+            try (var files = Files.list(tempDir)) {
+                remaining = files.toList();
+            }
+            if (remaining.isEmpty()) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertEquals(List.of(), remaining);
+    }
+
+    @Test
+    void export_failedWrite_leavesNoPartialFile() throws Exception {
+        ReportService truncating = new ReportService() {
+            @Override
+            public void generatePdf(String filename, ReportDocument document) throws IOException {
+                Files.writeString(Path.of(filename), "%PDF-1.4 niekompletny");
+                throw new IOException("Przerwany zapis");
+            }
+        };
+        BatchReportExporter exporter = new BatchReportExporter(null, truncating, 2);
+
+        BatchReportExporter.Result result = exporter.export(report, tempDir, false, ReportProgress.NONE);
+
+        assertEquals(3, result.failures().size());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(), files.toList());
+        }
+    }
+
+    @Test
+    void fileName_stripsPolishCharactersAndPunctuation() {
+        assertEquals("projekt_zolta_lodz_id_7", BatchReportExporter.fileName("PROJEKT: Żółta łódź (ID: 7)"));
+    }
+}
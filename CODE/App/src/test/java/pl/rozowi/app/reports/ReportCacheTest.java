@@ -0,0 +1,114 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import pl.rozowi.app.dao.ChangeLogDAO;
+import pl.rozowi.app.dao.ReportDAO;
+import pl.rozowi.app.models.Report;
+import pl.rozowi.app.models.Team;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ChangeLogDAO changeLogDAO;
+    private ReportDAO reportDAO;
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        changeLogDAO = mock(ChangeLogDAO.class);
+        reportDAO = mock(ReportDAO.class);
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("users", 1L, "teams", 2L));
+        when(reportDAO.insertReport(any())).thenReturn(true);
+        cache = new ReportCache(tempDir, ReportCache.DEFAULT_MAX_BYTES, changeLogDAO, reportDAO);
+    }
+
+    @Test
+    void fingerprint_ignoresKeyAndSelectionOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("showAdmins", true);
+        first.put("selectedTeams", List.of(team(2), team(1)));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("selectedTeams", List.of(team(1), team(2)));
+        second.put("showAdmins", true);
+
+        assertEquals(ReportCache.fingerprint(first), ReportCache.fingerprint(second));
+        assertEquals("selectedTeams=[zespół#1, zespół#2], showAdmins=true", ReportCache.fingerprint(first));
+    }
+
+    @Test
+    void putText_isReadBackAndRecordedInReports() {
+        ReportCache.Key key = cache.key(SystemReportGenerator.USERS, "kierownik:5", Map.of("showAdmins", true));
+        assertNull(cache.getText(key));
+
+        cache.putText(key, "RAPORT", 5);
+
+        assertEquals("RAPORT", cache.getText(key));
+        ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
+        verify(reportDAO).insertReport(captor.capture());
+        Report entry = captor.getValue();
+        assertEquals(SystemReportGenerator.USERS, entry.getReportType());
+        assertEquals("Pamięć podręczna: kierownik:5; showAdmins=true", entry.getReportScope());
+        assertEquals(5, entry.getCreatedBy());
+        assertEquals(tempDir.resolve(key.id() + ".txt").toString(), entry.getExportedFile());
+    }
+
+    @Test
+    void key_changesWithScopeFiltersAndTableVersions() {
+        Map<String, Object> filters = new HashMap<>(Map.of("showAdmins", true));
+        ReportCache.Key key = cache.key(SystemReportGenerator.USERS, "", filters);
+
+        assertEquals(key, cache.key(SystemReportGenerator.USERS, "", filters));
+        assertNotEquals(key.id(), cache.key(SystemReportGenerator.USERS, "kierownik:5", filters).id());
+        assertNotEquals(key.id(), cache.key(SystemReportGenerator.USERS, "", Map.of("showAdmins", false)).id());
+
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("users", 2L, "teams", 2L));
+        assertNotEquals(key.id(), cache.key(SystemReportGenerator.USERS, "", filters).id());
+    }
+
+    @Test
+    void key_isNullWhenChangeLogUnavailable() {
+        when(changeLogDAO.getTableVersions(any())).thenReturn(null);
+
+        assertNull(cache.key(SystemReportGenerator.USERS, "", Map.of()));
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedEntriesOverLimit() throws Exception {
+        cache = new ReportCache(tempDir, 25, changeLogDAO, reportDAO);
+        ReportCache.Key older = cache.key(SystemReportGenerator.USERS, "", Map.of("n", 1));
+        ReportCache.Key newer = cache.key(SystemReportGenerator.USERS, "", Map.of("n", 2));
+        cache.putText(older, "0123456789", 1);
+        cache.putText(newer, "0123456789", 1);
+        Files.setLastModifiedTime(tempDir.resolve(older.id() + ".txt"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(tempDir.resolve(newer.id() + ".txt"), FileTime.fromMillis(2_000));
+
+        cache.putText(cache.key(SystemReportGenerator.USERS, "", Map.of("n", 3)), "0123456789", 1);
+
+        assertNull(cache.getText(older));
+        assertEquals("0123456789", cache.getText(newer));
+        verify(reportDAO, times(2)).deleteReportsByExportedFile(tempDir.resolve(older.id() + ".txt").toString());
+    }
+
+    private static Team team(int id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+}
@@ -0,0 +1,235 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import pl.rozowi.app.dao.ChangeLogDAO;
+import pl.rozowi.app.dao.ReportDAO;
+import pl.rozowi.app.models.Report;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportJobQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService workers;
+    private ReportDAO reportDAO;
+    private ReportJobQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newSingleThreadExecutor();
+        reportDAO = mock(ReportDAO.class);
+        when(reportDAO.insertReport(any())).thenReturn(true);
+        queue = new ReportJobQueue(workers, Runnable::run, reportDAO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    void submit_reportsProgressAndCompletes() throws Exception {
+        List<String> steps = new CopyOnWriteArrayList<>();
+        ReportDocument report = new ReportDocument("Struktura Zespołów");
+        ReportJob job = new ReportJob("Struktura Zespołów", 1, progress -> {
+            progress.update(0, 2, "Alfa");
+            progress.update(1, 2, "Beta");
+            return report;
+        }).onUpdate(updated -> steps.add(updated.getState() + ":" + updated.getStep()));
+
+        queue.submit(job);
+        awaitIdle();
+
+        assertEquals(ReportJob.State.COMPLETED, job.getState());
+        assertSame(report, job.getResult());
+        assertEquals(1.0, job.getProgress());
+        assertTrue(steps.contains("RUNNING:Alfa"), steps.toString());
+        assertTrue(steps.contains("RUNNING:Beta"), steps.toString());
+        assertEquals("COMPLETED:", steps.get(steps.size() - 1));
+        verify(reportDAO, never()).insertReport(any());
+    }
+
+    @Test
+    void submit_withExport_writesPdfAndRecordsReport() throws Exception {
+        Path file = tempDir.resolve("raport.pdf");
+        ReportDocument report = new ReportDocument("Użytkownicy Systemu", LocalDateTime.of(2025, 3, 1, 12, 0))
+                .addFilter("Pokaż administratorów: Tak");
+        ReportJob job = new ReportJob("Użytkownicy Systemu", 7, progress -> report).exportTo(file.toString());
+
+        queue.submit(job);
+        awaitIdle();
+
+        assertEquals(ReportJob.State.COMPLETED, job.getState());
+        assertTrue(Files.size(file) > 0);
+        ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
+        verify(reportDAO).insertReport(captor.capture());
+        Report entry = captor.getValue();
+        assertEquals("raport.pdf", entry.getReportName());
+        assertEquals("Użytkownicy Systemu", entry.getReportType());
+        assertEquals("Pokaż administratorów: Tak", entry.getReportScope());
+        assertEquals(7, entry.getCreatedBy());
+        assertEquals(file.toString(), entry.getExportedFile());
+    }
+
+    @Test
+    void cancel_runningJob_stopsAtNextProgressUpdate() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Path file = tempDir.resolve("anulowany.pdf");
+        ReportJob job = new ReportJob("Przegląd Projektów", 1, progress -> {
+            progress.update(0, 2, "Sklep");
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            progress.update(1, 2, "Magazyn");
+            return new ReportDocument("Przegląd Projektów");
+        }).exportTo(file.toString());
+
+        queue.submit(job);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.cancel(job);
+        cancelled.countDown();
+        awaitIdle();
+
+        assertEquals(ReportJob.State.CANCELLED, job.getState());
+        assertNull(job.getResult());
+        assertFalse(Files.exists(file));
+        verify(reportDAO, never()).insertReport(any());
+    }
+
+    @Test
+    void cancel_queuedJob_isCancelledWithoutRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJob blocking = new ReportJob("Członkowie Zespołu", 1, progress -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new ReportDocument("Członkowie Zespołu");
+        });
+        ReportJob queued = new ReportJob("Zadania Zespołu", 1, progress -> {
+            fail("Anulowane zadanie nie powinno zostać uruchomione");
+            return null;
+        });
+
+        queue.submit(blocking);
+        queue.submit(queued);
+        queue.cancel(queued);
+
+        assertEquals(ReportJob.State.CANCELLED, queued.getState());
+        release.countDown();
+        awaitIdle();
+        assertEquals(ReportJob.State.COMPLETED, blocking.getState());
+        assertEquals(ReportJob.State.CANCELLED, queued.getState());
+    }
+
+    @Test
+    void submit_failingBuilder_marksJobFailed() throws Exception {
+        ReportJob job = new ReportJob("Zadania Zespołu", 3, progress -> {
+            throw new IllegalStateException("Brak połączenia z bazą");
+        });
+
+        queue.submit(job);
+        awaitIdle();
+
+        assertEquals(ReportJob.State.FAILED, job.getState());
+        assertEquals("Brak połączenia z bazą", job.getError().getMessage());
+        assertTrue(job.toString().contains("Błąd: Brak połączenia z bazą"), job.toString());
+    }
+
+    @Test
+    void getJobs_returnsUserJobsNewestFirst() throws Exception {
+        ReportJob first = queue.submit(new ReportJob("A", 1, progress -> new ReportDocument("A")));
+        queue.submit(new ReportJob("B", 2, progress -> new ReportDocument("B")));
+        ReportJob third = queue.submit(new ReportJob("C", 1, progress -> new ReportDocument("C")));
+        awaitIdle();
+
+        assertEquals(List.of(third, first), queue.getJobs(1));
+    }
+
+    @Test
+    void submit_cachedJob_isServedFromCacheUntilTablesChange() throws Exception {
+        ChangeLogDAO changeLogDAO = mock(ChangeLogDAO.class);
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("teams", 4L));
+        ReportCache cache = new ReportCache(tempDir.resolve("cache"), ReportCache.DEFAULT_MAX_BYTES, changeLogDAO, reportDAO);
+        AtomicInteger builds = new AtomicInteger();
+        ReportJob.Builder builder = progress -> {
+            builds.incrementAndGet();
+            return new ReportDocument("Struktura Zespołów").add(new ReportBlock.Text("Alfa"));
+        };
+        Map<String, Object> filterOptions = Map.of("showMembers", true);
+
+        ReportJob first = queue.submit(new ReportJob("Struktura Zespołów", 1, builder).cached(cache, "", filterOptions));
+        ReportJob second = queue.submit(new ReportJob("Struktura Zespołów", 1, builder).cached(cache, "", filterOptions));
+        Path file = tempDir.resolve("z_pamieci.pdf");
+        ReportJob export = queue.submit(new ReportJob("Struktura Zespołów", 1, builder)
+                .exportTo(file.toString()).cached(cache, "", filterOptions));
+        awaitIdle();
+
+        assertFalse(first.isFromCache());
+        assertTrue(second.isFromCache());
+        assertEquals(first.getText(), second.getText());
+        assertNull(second.getResult());
+        assertFalse(export.isFromCache());
+        assertEquals(2, builds.get());
+
+        ReportJob exportAgain = queue.submit(new ReportJob("Struktura Zespołów", 1, builder)
+                .exportTo(tempDir.resolve("kopia.pdf").toString()).cached(cache, "", filterOptions));
+        awaitIdle();
+        assertTrue(exportAgain.isFromCache());
+        assertEquals(Files.size(file), Files.size(tempDir.resolve("kopia.pdf")));
+        assertEquals(2, builds.get());
+
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("teams", 5L));
+        ReportJob afterChange = queue.submit(new ReportJob("Struktura Zespołów", 1, builder).cached(cache, "", filterOptions));
+        awaitIdle();
+        assertFalse(afterChange.isFromCache());
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void submit_prebuiltReport_isCachedUnderKeyFromPreview() throws Exception {
+        ChangeLogDAO changeLogDAO = mock(ChangeLogDAO.class);
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("teams", 4L));
+        ReportCache cache = new ReportCache(tempDir.resolve("cache"), ReportCache.DEFAULT_MAX_BYTES, changeLogDAO, reportDAO);
+        Map<String, Object> filterOptions = Map.of("showMembers", true);
+        ReportDocument report = new ReportDocument("Struktura Zespołów").add(new ReportBlock.Text("Alfa"));
+
+        ReportJob preview = queue.submit(new ReportJob("Struktura Zespołów", 1, progress -> report)
+                .cached(cache, "", filterOptions));
+        awaitIdle();
+        ReportCache.Key previewKey = preview.getCacheKey();
+        assertNotNull(previewKey);
+
+        when(changeLogDAO.getTableVersions(any())).thenReturn(Map.of("teams", 5L));
+        ReportJob save = queue.submit(new ReportJob("Struktura Zespołów", 1, progress -> preview.getResult())
+                .exportTo(tempDir.resolve("podglad.pdf").toString()).cached(cache, previewKey));
+        awaitIdle();
+
+        assertEquals(ReportJob.State.COMPLETED, save.getState());
+        assertEquals(previewKey, save.getCacheKey());
+        assertNotNull(cache.getPdf(previewKey));
+        assertNull(cache.getPdf(cache.key("Struktura Zespołów", "", filterOptions)));
+    }
+
+    private void awaitIdle() throws Exception {
+        workers.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+    }
+}
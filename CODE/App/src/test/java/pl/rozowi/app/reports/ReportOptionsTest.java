@@ -0,0 +1,65 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.models.Team;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportOptionsTest {
+
+    @Test
+    void formatAndParse_roundTripInKeyOrder() {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("to", "2025-06-30");
+        options.put("no-tasks", "true");
+        options.put("teams", "1,2");
+
+        String text = ReportOptions.format(options);
+
+        assertEquals("no-tasks=true;teams=1,2;to=2025-06-30", text);
+        assertEquals(options, ReportOptions.parse(text));
+        assertTrue(ReportOptions.parse("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ReportOptions.parse("teams"));
+    }
+
+    @Test
+    void fromFilterOptions_keepsOnlyNonDefaultFilters() {
+        Team team = new Team();
+        team.setId(3);
+        Map<String, Object> filterOptions = new HashMap<>();
+        filterOptions.put("selectedTeams", List.of(team));
+        filterOptions.put("selectedProjects", List.of());
+        filterOptions.put("startDate", LocalDate.of(2025, 1, 1));
+        filterOptions.put("selectedGroup", "");
+        filterOptions.put("showTasks", true);
+        filterOptions.put("showMembers", false);
+        filterOptions.put("showStatistics", true);
+        filterOptions.put("showAdmins", true);
+        filterOptions.put("showManagers", false);
+        filterOptions.put("showTeamLeaders", true);
+        filterOptions.put("showUsers", true);
+
+        Map<String, String> options = ReportOptions.fromFilterOptions(filterOptions);
+
+        assertEquals(Map.of("teams", "3", "from", "2025-01-01", "no-members", "true",
+                "roles", "admin,leader,user"), options);
+    }
+
+    @Test
+    void toFilterOptions_restoresFlagsRolesAndDates() {
+        Map<String, Object> filterOptions = ReportOptions.toFilterOptions(SystemReportGenerator.USERS,
+                ReportOptions.parse("from=2025-01-01;no-members=true;roles=admin,leader,user"), false);
+
+        assertEquals(LocalDate.of(2025, 1, 1), filterOptions.get("startDate"));
+        assertEquals(false, filterOptions.get("showMembers"));
+        assertEquals(false, filterOptions.get("showManagers"));
+        assertEquals(true, filterOptions.get("showTeamLeaders"));
+        assertEquals(List.of(), filterOptions.get("selectedTeams"));
+    }
+}
@@ -0,0 +1,240 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import pl.rozowi.app.dao.ReportScheduleDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.ReportSchedule;
+import pl.rozowi.app.models.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 31, 1, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private ReportScheduleDAO scheduleDAO;
+    private UserDAO userDAO;
+    private ReportPdfWriter writer;
+    private ReportCache cache;
+    private ReportScheduler scheduler;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        scheduleDAO = mock(ReportScheduleDAO.class);
+        userDAO = mock(UserDAO.class);
+        writer = mock(ReportPdfWriter.class);
+        cache = mock(ReportCache.class);
+        ZoneId zone = ZoneId.systemDefault();
+        Clock clock = Clock.fixed(NOW.atZone(zone).toInstant(), zone);
+        scheduler = new ReportScheduler(scheduleDAO, userDAO, writer, cache, clock);
+
+        user = new User();
+        user.setId(5);
+        when(userDAO.getUserById(5)).thenReturn(user);
+    }
+
+    @Test
+    void nextRun_coalescesMissedRunsIntoOne() {
+        LocalDateTime scheduled = LocalDateTime.of(2025, 3, 3, 0, 40);
+
+        assertEquals(LocalDateTime.of(2025, 4, 7, 0, 40), ReportScheduler.nextRun(scheduled, 7, NOW));
+        assertEquals(LocalDateTime.of(2025, 4, 1, 0, 40),
+                ReportScheduler.nextRun(LocalDateTime.of(2025, 3, 31, 0, 40), 1, NOW));
+        assertEquals(LocalDateTime.of(2025, 4, 7, 1, 30),
+                ReportScheduler.nextRun(LocalDateTime.of(2025, 3, 24, 1, 30), 7, NOW));
+    }
+
+    @Test
+    void spreadMinutes_isStableAndWithinRange() {
+        ReportSchedule first = schedule(1, SystemReportGenerator.TEAMS_STRUCTURE, NOW);
+        ReportSchedule second = schedule(2, SystemReportGenerator.USERS, NOW);
+
+        assertEquals(ReportScheduler.spreadMinutes(first), ReportScheduler.spreadMinutes(first));
+        for (ReportSchedule schedule : List.of(first, second)) {
+            int spread = ReportScheduler.spreadMinutes(schedule);
+            assertTrue(spread >= 0 && spread < ReportScheduler.SPREAD_MINUTES, String.valueOf(spread));
+        }
+    }
+
+    @Test
+    void schedule_firstRunIsNextMidnightPlusSpread() {
+        when(scheduleDAO.insertSchedule(any())).thenReturn(true);
+
+        ReportSchedule schedule = scheduler.schedule(SystemReportGenerator.USERS, 5, Map.of("no-tasks", "true"),
+                tempDir, 7);
+
+        assertNotNull(schedule);
+        assertEquals("no-tasks=true", schedule.getReportOptions());
+        assertEquals(tempDir.toAbsolutePath().toString(), schedule.getOutputDirectory());
+        assertEquals(LocalDateTime.of(2025, 4, 1, 0, 0).plusMinutes(ReportScheduler.spreadMinutes(schedule)),
+                schedule.getNextRunAt().toLocalDateTime());
+        verify(scheduleDAO).insertSchedule(schedule);
+    }
+
+    @Test
+    void schedule_returnsNullWhenInsertFails() {
+        when(scheduleDAO.insertSchedule(any())).thenReturn(false);
+
+        assertNull(scheduler.schedule(SystemReportGenerator.USERS, 5, Map.of(), tempDir, 7));
+    }
+
+    @Test
+    void runDue_claimsScheduleAndWritesReportOnce() throws Exception {
+        ReportSchedule due = schedule(1, SystemReportGenerator.TEAMS_STRUCTURE, LocalDateTime.of(2025, 3, 17, 0, 40));
+        when(scheduleDAO.getDueSchedules(Timestamp.valueOf(NOW))).thenReturn(List.of(due));
+        when(scheduleDAO.claimRun(eq(1), eq(due.getNextRunAt()), any(), any())).thenReturn(true);
+
+        assertEquals(1, scheduler.runDue());
+
+        verify(scheduleDAO).claimRun(1, due.getNextRunAt(), Timestamp.valueOf(LocalDateTime.of(2025, 4, 7, 0, 40)),
+                Timestamp.valueOf(NOW));
+        ArgumentCaptor<Path> output = ArgumentCaptor.forClass(Path.class);
+        verify(writer).write(eq(SystemReportGenerator.TEAMS_STRUCTURE), eq(user), anyMap(), output.capture(),
+                same(cache));
+        assertEquals(tempDir.resolve("raport_struktura_zespolow_20250331_0130.pdf"), output.getValue());
+    }
+
+    @Test
+    void runDue_skipsScheduleClaimedByAnotherInstance() throws Exception {
+        ReportSchedule due = schedule(1, SystemReportGenerator.TEAMS_STRUCTURE, LocalDateTime.of(2025, 3, 31, 0, 40));
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(due));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(false);
+
+        assertEquals(0, scheduler.runDue());
+
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void runDue_failureOfOneScheduleDoesNotStopOthers() throws Exception {
+        ReportSchedule failing = schedule(1, SystemReportGenerator.USERS, LocalDateTime.of(2025, 3, 31, 0, 10));
+        ReportSchedule working = schedule(2, SystemReportGenerator.TEAMS_STRUCTURE, LocalDateTime.of(2025, 3, 31, 0, 40));
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(failing, working));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+        when(writer.write(eq(SystemReportGenerator.USERS), any(), anyMap(), any(), any()))
+                .thenThrow(new SQLException("brak połączenia"));
+
+        assertEquals(1, scheduler.runDue());
+
+        verify(writer).write(eq(SystemReportGenerator.TEAMS_STRUCTURE), eq(user), anyMap(), any(), same(cache));
+        verify(scheduleDAO).releaseRun(1, Timestamp.valueOf(LocalDateTime.of(2025, 4, 7, 0, 10)),
+                Timestamp.valueOf(NOW.plus(ReportScheduler.RETRY_DELAY)), 1);
+        verify(scheduleDAO, never()).releaseRun(eq(2), any(), any(), anyInt());
+    }
+
+    @Test
+    void runDue_repeatedTransientFailureDoublesRetryDelay() throws Exception {
+        ReportSchedule failing = schedule(1, SystemReportGenerator.USERS, NOW.minusMinutes(15));
+        failing.setFailedAttempts(1);
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(failing));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+        when(writer.write(any(), any(), anyMap(), any(), any())).thenThrow(new IOException("brak miejsca na dysku"));
+
+        assertEquals(0, scheduler.runDue());
+
+        verify(scheduleDAO).releaseRun(eq(1), any(),
+                eq(Timestamp.valueOf(NOW.plus(ReportScheduler.RETRY_DELAY.multipliedBy(2)))), eq(2));
+    }
+
+    @Test
+    void runDue_stopsRetryingAfterMaxAttempts() throws Exception {
+        ReportSchedule failing = schedule(1, SystemReportGenerator.USERS, NOW.minusMinutes(30));
+        failing.setFailedAttempts(ReportScheduler.MAX_ATTEMPTS - 1);
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(failing));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+        when(writer.write(any(), any(), anyMap(), any(), any())).thenThrow(new SQLException("brak połączenia"));
+
+        assertEquals(0, scheduler.runDue());
+
+        verify(scheduleDAO, never()).releaseRun(anyInt(), any(), any(), anyInt());
+        verify(scheduleDAO).updateFailedAttempts(1, 0);
+    }
+
+    @Test
+    void runDue_optionsThatNoLongerResolveWaitForNextRun() throws Exception {
+        ReportSchedule stale = schedule(1, SystemReportGenerator.USERS, LocalDateTime.of(2025, 3, 31, 0, 10));
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(stale));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+        when(writer.write(any(), any(), anyMap(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Nie znaleziono zespołu o ID 4"));
+
+        assertEquals(0, scheduler.runDue());
+
+        verify(scheduleDAO, never()).releaseRun(anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void runDue_successResetsFailedAttempts() throws Exception {
+        ReportSchedule due = schedule(1, SystemReportGenerator.TEAMS_STRUCTURE, NOW.minusMinutes(15));
+        due.setFailedAttempts(1);
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(due));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+
+        assertEquals(1, scheduler.runDue());
+
+        verify(scheduleDAO).updateFailedAttempts(1, 0);
+    }
+
+    @Test
+    void isTransient_recognisesWrappedDatabaseErrors() {
+        assertTrue(ReportScheduler.isTransient(new SQLException("brak połączenia")));
+        assertTrue(ReportScheduler.isTransient(new RuntimeException("kursor", new SQLException("zerwane"))));
+        assertFalse(ReportScheduler.isTransient(new IllegalArgumentException("Nie znaleziono projektu o ID 3")));
+    }
+
+    @Test
+    void runDue_missingUserKeepsClaimWithoutWriting() throws Exception {
+        ReportSchedule orphaned = schedule(1, SystemReportGenerator.USERS, LocalDateTime.of(2025, 3, 31, 0, 10));
+        orphaned.setCreatedBy(9);
+        when(scheduleDAO.getDueSchedules(any())).thenReturn(List.of(orphaned));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+
+        assertEquals(0, scheduler.runDue());
+
+        verifyNoInteractions(writer);
+        verify(scheduleDAO, never()).releaseRun(anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void runDueForUser_runsOnlyThatUsersSchedules() throws Exception {
+        ReportSchedule due = schedule(1, SystemReportGenerator.TEAMS_STRUCTURE, LocalDateTime.of(2025, 3, 31, 0, 40));
+        when(scheduleDAO.getDueSchedulesByUser(Timestamp.valueOf(NOW), 5)).thenReturn(List.of(due));
+        when(scheduleDAO.claimRun(anyInt(), any(), any(), any())).thenReturn(true);
+
+        assertEquals(1, scheduler.runDue(5));
+
+        verify(scheduleDAO, never()).getDueSchedules(any());
+        verify(writer).write(eq(SystemReportGenerator.TEAMS_STRUCTURE), eq(user), anyMap(), any(), same(cache));
+    }
+
+    private ReportSchedule schedule(int id, String reportType, LocalDateTime nextRun) {
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setId(id);
+        schedule.setReportType(reportType);
+        schedule.setReportOptions("");
+        schedule.setOutputDirectory(tempDir.toString());
+        schedule.setIntervalDays(7);
+        schedule.setNextRunAt(Timestamp.valueOf(nextRun));
+        schedule.setCreatedBy(5);
+        return schedule;
+    }
+}
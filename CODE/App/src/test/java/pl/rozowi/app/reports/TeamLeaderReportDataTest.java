@@ -0,0 +1,128 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TaskDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Task;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TeamLeaderReportDataTest {
+
+    private TeamDAO teamDAO;
+    private ProjectDAO projectDAO;
+    private TaskDAO taskDAO;
+    private UserDAO userDAO;
+
+    private final Team alfa = team(10, "Alfa", 100);
+    private final Team beta = team(11, "Beta", 0);
+    private final User worker = user(2, 4);
+    private final User otherWorker = user(3, 4);
+    private final User leader = user(1, 3);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        teamDAO = mock(TeamDAO.class);
+        projectDAO = mock(ProjectDAO.class);
+        taskDAO = mock(TaskDAO.class);
+        userDAO = mock(UserDAO.class);
+
+        when(teamDAO.getTeamsByLeaderIdAsList(1)).thenReturn(List.of(alfa, beta));
+        when(projectDAO.getProjectNamesByIds(any())).thenReturn(Map.of(100, "Sklep"));
+        when(teamDAO.getTeamMembersByTeamIds(any())).thenReturn(Map.of(
+                10, List.of(leader, worker, otherWorker),
+                11, List.of(leader)));
+        when(userDAO.getUsersByGroupName("Frontend")).thenReturn(List.of(2));
+        when(taskDAO.getTasksForLeader(1)).thenReturn(List.of(task(1, 10, 2), task(2, 10, 0), task(3, 11, 3)));
+        when(userDAO.getUsersByIds(Set.of(2, 3))).thenReturn(Map.of(2, worker, 3, otherWorker));
+    }
+
+    @Test
+    void load_fetchesAllTeamsWithConstantNumberOfQueries() throws Exception {
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                1, null, true, "Frontend", true);
+
+        assertEquals(List.of(alfa, beta), data.getTeams());
+        verify(teamDAO).getTeamsByLeaderIdAsList(1);
+        verify(projectDAO).getProjectNamesByIds(Set.of(100, 0));
+        verify(teamDAO).getTeamMembersByTeamIds(Set.of(10, 11));
+        verify(userDAO).getUsersByGroupName("Frontend");
+        verify(taskDAO).getTasksForLeader(1);
+        verify(userDAO).getUsersByIds(Set.of(2, 3));
+        verify(teamDAO, never()).getTeamMembers(anyInt());
+        verify(projectDAO, never()).getProjectById(anyInt());
+        verify(userDAO, never()).getUserById(anyInt());
+    }
+
+    @Test
+    void getters_resolveProjectsMembersTasksAndAssignees() throws Exception {
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                1, null, true, null, true);
+
+        assertEquals("Sklep", data.getProjectName(alfa));
+        assertNull(data.getProjectName(beta));
+        assertEquals(List.of(worker, otherWorker), data.getMembers(alfa));
+        assertEquals(List.of(), data.getMembers(beta));
+        assertEquals(2, data.getTasks(alfa).size());
+        assertSame(worker, data.getAssignee(data.getTasks(alfa).get(0)));
+        assertNull(data.getAssignee(data.getTasks(alfa).get(1)));
+    }
+
+    @Test
+    void load_selectedTeamsAndGroupNarrowTheData() throws Exception {
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                1, List.of(team(10, "Alfa", 100)), true, "Frontend", true);
+
+        assertEquals(List.of(alfa), data.getTeams());
+        assertEquals(List.of(worker), data.getMembers(alfa));
+        verify(teamDAO).getTeamMembersByTeamIds(Set.of(10));
+        verify(userDAO).getUsersByIds(Set.of(2));
+    }
+
+    @Test
+    void load_skipsMembersAndTasksWhenNotNeeded() throws Exception {
+        TeamLeaderReportData data = TeamLeaderReportData.load(teamDAO, projectDAO, taskDAO, userDAO,
+                1, null, false, "Frontend", false);
+
+        assertEquals(List.of(), data.getMembers(alfa));
+        assertEquals(List.of(), data.getTasks(alfa));
+        verify(teamDAO, never()).getTeamMembersByTeamIds(any());
+        verify(userDAO, never()).getUsersByGroupName(any());
+        verify(taskDAO, never()).getTasksForLeader(anyInt());
+    }
+
+    private static Team team(int id, String name, int projectId) {
+        Team team = new Team();
+        team.setId(id);
+        team.setTeamName(name);
+        team.setProjectId(projectId);
+        return team;
+    }
+
+    private static User user(int id, int roleId) {
+        User user = new User();
+        user.setId(id);
+        user.setRoleId(roleId);
+        return user;
+    }
+
+    private static Task task(int id, int teamId, int assignedTo) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTeamId(teamId);
+        task.setAssignedTo(assignedTo);
+        return task;
+    }
+}
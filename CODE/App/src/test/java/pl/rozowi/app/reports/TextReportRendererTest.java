@@ -0,0 +1,97 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextReportRendererTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2025, 3, 1, 12, 30, 0);
+
+    @Test
+    void rendersHeaderFiltersAndSections() {
+        ReportDocument report = new ReportDocument("Struktura Zespołów", GENERATED_AT)
+                .addFilter("Wszystkie zespoły")
+                .add(new ReportBlock.Section("ZESPÓŁ: Alfa (ID: 1)")
+                        .add(new ReportBlock.KeyValues(null).put("Projekt", "Sklep").put("Liczba członków", 1))
+                        .add(new ReportBlock.Items("Członkowie zespołu").add("Jan Kowalski (jan@example.com)")));
+
+        String text = TextReportRenderer.render(report);
+
+        assertEquals("""
+                RAPORT: STRUKTURA ZESPOŁÓW
+                Data wygenerowania: 2025-03-01 12:30:00
+
+                Zastosowane filtry:
+                - Wszystkie zespoły
+
+                === ZESPÓŁ: Alfa (ID: 1) ===
+                Projekt: Sklep
+                Liczba członków: 1
+
+                CZŁONKOWIE ZESPOŁU:
+                - Jan Kowalski (jan@example.com)
+
+
+                """, text);
+    }
+
+    @Test
+    void alignsTableColumnsAndSplitsMultiLineCells() {
+        ReportBlock.Table table = new ReportBlock.Table(null, List.of("Użytkownik", "Zespół"), new float[]{50, 50})
+                .row("Anna Nowak", "Alfa\nBeta")
+                .row("Ola", "Gamma");
+        ReportDocument report = new ReportDocument("Użytkownicy Systemu", GENERATED_AT).add(table);
+
+        String text = TextReportRenderer.render(report);
+
+        assertTrue(text.endsWith("""
+                Użytkownik | Zespół
+                -------------------
+                Anna Nowak | Alfa
+                           | Beta
+                Ola        | Gamma
+                """), text);
+    }
+
+    @Test
+    void titledKeyValuesAreRenderedAsList() {
+        ReportDocument report = new ReportDocument("Zadania Zespołu", GENERATED_AT)
+                .add(new ReportBlock.KeyValues("Podsumowanie statusów").put("Nowe", 2).put("Zakończone", 1));
+
+        String text = TextReportRenderer.render(report);
+
+        assertTrue(text.contains("\nPODSUMOWANIE STATUSÓW:\n- Nowe: 2\n- Zakończone: 1\n"), text);
+        assertFalse(text.contains("Zastosowane filtry"));
+    }
+
+    @Test
+    void tableRejectsRowWithWrongNumberOfCells() {
+        ReportBlock.Table table = new ReportBlock.Table(null, List.of("A", "B"), new float[]{50, 50});
+        assertThrows(IllegalArgumentException.class, () -> table.row("tylko jedna"));
+    }
+
+    @Test
+    void streamedTableReadsRowsFromSource() {
+        ReportBlock.Table table = new ReportBlock.Table(null, List.of("Zadanie", "Status"), new float[]{50, 50})
+                .streamRows(row -> {
+                    row.accept(new String[]{"Koszyk", "Nowe"});
+                    row.accept(new String[]{"Płatności", null});
+                });
+        ReportDocument report = new ReportDocument("Przegląd Projektów", GENERATED_AT).add(table);
+
+        String text = TextReportRenderer.render(report);
+
+        assertTrue(text.endsWith("""
+                Zadanie   | Status
+                ------------------
+                Koszyk    | Nowe
+                Płatności |
+                """), text);
+        assertTrue(table.getRows().isEmpty());
+        assertThrows(IllegalStateException.class, () -> table.row("A", "B"));
+    }
+}
@@ -0,0 +1,122 @@
+package pl.rozowi.app.reports;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.dao.ProjectDAO;
+import pl.rozowi.app.dao.TeamDAO;
+import pl.rozowi.app.dao.TeamMemberDAO;
+import pl.rozowi.app.dao.UserDAO;
+import pl.rozowi.app.models.Project;
+import pl.rozowi.app.models.Team;
+import pl.rozowi.app.models.TeamMember;
+import pl.rozowi.app.models.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class UsersReportDataTest {
+
+    private UserDAO userDAO;
+    private TeamDAO teamDAO;
+    private TeamMemberDAO teamMemberDAO;
+    private ProjectDAO projectDAO;
+
+    private final User leader = user(1, 3);
+    private final User worker = user(2, 4);
+    private final User outsider = user(3, 4);
+    private final User unassigned = user(4, 4);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userDAO = mock(UserDAO.class);
+        teamDAO = mock(TeamDAO.class);
+        teamMemberDAO = mock(TeamMemberDAO.class);
+        projectDAO = mock(ProjectDAO.class);
+
+        when(userDAO.getAllUsers()).thenReturn(List.of(leader, worker, outsider, unassigned));
+        when(teamDAO.getAllTeams()).thenReturn(List.of(team(10, "Alfa", 100), team(11, "Beta", 100), team(12, "Gamma", 200)));
+        when(teamMemberDAO.getAllTeamMembers()).thenReturn(List.of(
+                membership(10, 1, true), membership(11, 1, true),
+                membership(10, 2, false), membership(12, 3, false)));
+        when(userDAO.getUsersByGroupName("Frontend")).thenReturn(List.of(1, 3));
+        when(projectDAO.getProjectsForManager(50)).thenReturn(List.of(project(100)));
+    }
+
+    @Test
+    void load_usesOneQueryPerTableInsteadOfPerUser() throws Exception {
+        UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO, 50, "Frontend");
+
+        verify(userDAO).getAllUsers();
+        verify(userDAO).getUsersByGroupName("Frontend");
+        verify(teamDAO).getAllTeams();
+        verify(teamMemberDAO).getAllTeamMembers();
+        verify(projectDAO).getProjectsForManager(50);
+        verify(teamMemberDAO, never()).getTeamIdForUser(anyInt());
+        verify(teamMemberDAO, never()).getTeamIdsForTeamLeader(anyInt());
+        verify(teamDAO, never()).getTeamById(anyInt());
+    }
+
+    @Test
+    void getTeamNames_returnsLedTeamsForLeadersAndOwnTeamForOthers() throws Exception {
+        UsersReportData data = UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO, null, null);
+
+        assertEquals(List.of("Alfa", "Beta"), data.getTeamNames(leader));
+        assertEquals(List.of("Alfa"), data.getTeamNames(worker));
+        assertEquals(List.of(), data.getTeamNames(unassigned));
+    }
+
+    @Test
+    void isInManagerProjects_checksTeamProjects() throws Exception {
+        UsersReportData data = UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO, 50, null);
+
+        assertTrue(data.isInManagerProjects(leader));
+        assertTrue(data.isInManagerProjects(worker));
+        assertFalse(data.isInManagerProjects(outsider));
+        assertFalse(data.isInManagerProjects(unassigned));
+        verify(userDAO, never()).getUsersByGroupName(any());
+    }
+
+    @Test
+    void isInSelectedGroup_withoutGroupAcceptsEveryone() throws Exception {
+        UsersReportData all = UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO, null, null);
+        UsersReportData group = UsersReportData.load(userDAO, teamDAO, teamMemberDAO, projectDAO, null, "Frontend");
+
+        assertTrue(all.isInSelectedGroup(worker));
+        assertTrue(all.isInManagerProjects(outsider));
+        assertTrue(group.isInSelectedGroup(outsider));
+        assertFalse(group.isInSelectedGroup(worker));
+    }
+
+    private static User user(int id, int roleId) {
+        User user = new User();
+        user.setId(id);
+        user.setRoleId(roleId);
+        return user;
+    }
+
+    private static Team team(int id, String name, int projectId) {
+        Team team = new Team();
+        team.setId(id);
+        team.setTeamName(name);
+        team.setProjectId(projectId);
+        return team;
+    }
+
+    private static TeamMember membership(int teamId, int userId, boolean leader) {
+        TeamMember member = new TeamMember();
+        member.setTeamId(teamId);
+        member.setUserId(userId);
+        member.setLeader(leader);
+        return member;
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        return project;
+    }
+}
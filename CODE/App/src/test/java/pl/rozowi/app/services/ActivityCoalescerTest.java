@@ -0,0 +1,139 @@
+package pl.rozowi.app.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.dao.TaskActivityDAO;
+import pl.rozowi.app.models.TaskActivity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ActivityCoalescerTest {
+
+    private static final BinaryOperator<String> DESCRIBER = (from, to) -> from + "->" + to;
+
+    private TaskActivityDAO activityDaoMock;
+    private AtomicLong now;
+    private ActivityCoalescer coalescer;
+
+    /**
+     * Przygotowuje mock DAO nadający kolejne ID wstawianym aktywnościom oraz sterowany zegar.
+     */
+    @BeforeEach
+    void setUp() {
+        activityDaoMock = mock(TaskActivityDAO.class);
+        AtomicLong ids = new AtomicLong(100);
+        when(activityDaoMock.insertTaskActivity(any(TaskActivity.class))).thenAnswer(inv -> {
+            inv.<TaskActivity>getArgument(0).setId((int) ids.incrementAndGet());
+            return true;
+        });
+        when(activityDaoMock.updateActivityDescription(anyInt(), anyString())).thenReturn(true);
+
+        now = new AtomicLong(1_000);
+        coalescer = new ActivityCoalescer(activityDaoMock, 10_000, now::get);
+    }
+
+    /**
+     * Kolejne zmiany tego samego pola w oknie czasowym aktualizują jeden wpis
+     * z pierwszą starą i ostatnią nową wartością.
+     */
+    @Test
+    void testRecord_mergesWithinWindow() {
+        assertTrue(coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER));
+        now.addAndGet(2_000);
+        assertTrue(coalescer.record(activity(1, 7), "status", "W toku", "Zakończone", DESCRIBER));
+        now.addAndGet(2_000);
+        assertTrue(coalescer.record(activity(1, 7), "status", "Zakończone", "W toku", DESCRIBER));
+
+        verify(activityDaoMock, times(1)).insertTaskActivity(any(TaskActivity.class));
+        verify(activityDaoMock).updateActivityDescription(101, "Nowe->Zakończone");
+        verify(activityDaoMock).updateActivityDescription(101, "Nowe->W toku");
+    }
+
+    /**
+     * Seria zmian, która przywraca pierwotną wartość, usuwa scalony wpis,
+     * a kolejna zmiana tworzy nowy.
+     */
+    @Test
+    void testRecord_revertToOriginalValueDeletesEntry() {
+        when(activityDaoMock.deleteActivity(anyInt())).thenReturn(true);
+
+        coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER);
+        now.addAndGet(1_000);
+        assertTrue(coalescer.record(activity(1, 7), "status", "W toku", "Nowe", DESCRIBER));
+        now.addAndGet(1_000);
+        coalescer.record(activity(1, 7), "status", "Nowe", "Zakończone", DESCRIBER);
+
+        verify(activityDaoMock).deleteActivity(101);
+        verify(activityDaoMock, never()).updateActivityDescription(anyInt(), anyString());
+        verify(activityDaoMock, times(2)).insertTaskActivity(any(TaskActivity.class));
+    }
+
+    /**
+     * Zdarzenie po upływie okna tworzy nowy wpis.
+     */
+    @Test
+    void testRecord_newRowAfterWindow() {
+        coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER);
+        now.addAndGet(10_000);
+        coalescer.record(activity(1, 7), "status", "W toku", "Zakończone", DESCRIBER);
+
+        verify(activityDaoMock, times(2)).insertTaskActivity(any(TaskActivity.class));
+        verify(activityDaoMock, never()).updateActivityDescription(anyInt(), anyString());
+    }
+
+    /**
+     * Zmiany innego pola, zadania lub użytkownika nie są scalane.
+     */
+    @Test
+    void testRecord_differentKeysAreSeparate() {
+        coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER);
+        coalescer.record(activity(1, 7), "Tytuł", "A", "B", DESCRIBER);
+        coalescer.record(activity(2, 7), "status", "Nowe", "W toku", DESCRIBER);
+        coalescer.record(activity(1, 8), "status", "Nowe", "W toku", DESCRIBER);
+
+        verify(activityDaoMock, times(4)).insertTaskActivity(any(TaskActivity.class));
+        verify(activityDaoMock, never()).updateActivityDescription(anyInt(), anyString());
+    }
+
+    /**
+     * Jeśli scalany wiersz zniknął z bazy, zdarzenie zapisywane jest jako nowy wpis.
+     */
+    @Test
+    void testRecord_fallsBackToInsertWhenUpdateFails() {
+        coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER);
+        when(activityDaoMock.updateActivityDescription(anyInt(), anyString())).thenReturn(false);
+
+        TaskActivity second = activity(1, 7);
+        assertTrue(coalescer.record(second, "status", "W toku", "Zakończone", DESCRIBER));
+
+        assertEquals("W toku->Zakończone", second.getDescription());
+        verify(activityDaoMock, times(2)).insertTaskActivity(any(TaskActivity.class));
+    }
+
+    /**
+     * Okno równe zero wyłącza scalanie.
+     */
+    @Test
+    void testRecord_zeroWindowDisablesMerging() {
+        coalescer.setWindowMillis(0);
+        coalescer.record(activity(1, 7), "status", "Nowe", "W toku", DESCRIBER);
+        coalescer.record(activity(1, 7), "status", "W toku", "Zakończone", DESCRIBER);
+
+        verify(activityDaoMock, times(2)).insertTaskActivity(any(TaskActivity.class));
+    }
+
+    private static TaskActivity activity(int taskId, int userId) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setUserId(userId);
+        activity.setActivityType("STATUS");
+        return activity;
+    }
+}
@@ -0,0 +1,119 @@
+package pl.rozowi.app.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import pl.rozowi.app.cache.ReferenceDataCache;
+import pl.rozowi.app.dao.RoleDAO;
+import pl.rozowi.app.models.Permission;
+import pl.rozowi.app.models.Role;
+import pl.rozowi.app.models.User;
+import pl.rozowi.app.reports.SystemReportGenerator;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PermissionServiceTest {
+
+    private MockedConstruction<RoleDAO> roleDaoConstruction;
+
+    /**
+     * Podmienia RoleDAO na mock zwracający role z danych początkowych.
+     */
+    @BeforeEach
+    void setUp() {
+        ReferenceDataCache.clear();
+        roleDaoConstruction = mockConstruction(RoleDAO.class, (mock, context) -> when(mock.getAllRoles()).thenReturn(List.of(
+                role(1, "VIEW_TASKS,CREATE_TASKS,UPDATE_TASKS,DELETE_TASKS,MANAGE_USERS,MANAGE_TEAMS,MANAGE_PROJECTS,VIEW_REPORTS,VIEW_ALL_REPORTS"),
+                role(2, "VIEW_TASKS,UPDATE_TASKS,MANAGE_TEAMS,MANAGE_PROJECTS,VIEW_REPORTS"),
+                role(3, "VIEW_TASKS,CREATE_TASKS,ASSIGN_TASKS,UPDATE_TASKS"),
+                role(4, "VIEW_TASKS,UPDATE_OWN_TASKS"),
+                role(5, "MANAGE_USERS,VIEW_REPORTS"))));
+    }
+
+    /**
+     * Zamyka mock konstrukcji i czyści pamięć podręczną po każdym teście.
+     */
+    @AfterEach
+    void tearDown() {
+        roleDaoConstruction.close();
+        ReferenceDataCache.clear();
+    }
+
+    /**
+     * Kody zbiorcze z danych początkowych są rozwijane na pojedyncze uprawnienia.
+     */
+    @Test
+    void testHasPermission_expandsSeedCodes() {
+        assertTrue(PermissionService.hasPermission(user(2), Permission.EDIT_PROJECTS));
+        assertTrue(PermissionService.hasPermission(user(2), Permission.ASSIGN_TASKS));
+        assertFalse(PermissionService.hasPermission(user(2), Permission.EDIT_USERS));
+
+        assertTrue(PermissionService.hasPermission(user(3), Permission.ASSIGN_TASKS));
+        assertFalse(PermissionService.hasPermission(user(3), Permission.EDIT_PROJECTS));
+
+        assertTrue(PermissionService.hasPermission(user(4), Permission.EDIT_OWN_TASKS));
+        assertFalse(PermissionService.hasPermission(user(4), Permission.EDIT_TASKS));
+
+        assertTrue(PermissionService.hasPermission(user(1), Permission.EDIT_USERS));
+    }
+
+    /**
+     * Role są ładowane raz, a nieznana rola lub brak użytkownika nie daje uprawnień.
+     */
+    @Test
+    void testHasPermission_loadsRolesOnce() {
+        PermissionService.hasPermission(user(1), Permission.VIEW_TASKS);
+        PermissionService.hasPermission(user(4), Permission.VIEW_TASKS);
+        assertFalse(PermissionService.hasPermission(user(99), Permission.VIEW_TASKS));
+        assertFalse(PermissionService.hasPermission(null, Permission.VIEW_TASKS));
+
+        assertEquals(1, roleDaoConstruction.constructed().size());
+    }
+
+    /**
+     * Zakres raportów zależy tylko od uprawnienia VIEW_ALL_REPORTS, a nie od zarządzania użytkownikami.
+     */
+    @Test
+    void testIsScopedToOwnProjects_usesReportScopePermission() {
+        assertFalse(SystemReportGenerator.isScopedToOwnProjects(user(1)));
+        assertTrue(SystemReportGenerator.isScopedToOwnProjects(user(2)));
+        assertTrue(SystemReportGenerator.isScopedToOwnProjects(user(5)));
+        assertFalse(SystemReportGenerator.isScopedToOwnProjects(null));
+    }
+
+    /**
+     * Zapis zbioru uprawnień i ponowne odczytanie daje ten sam zbiór, a pełny zbiór zapisywany jest jako ALL.
+     */
+    @Test
+    void testFormatAndParse_roundTrip() {
+        EnumSet<Permission> permissions = EnumSet.of(Permission.VIEW_TASKS, Permission.ASSIGN_TASKS, Permission.VIEW_USERS);
+
+        String codes = Permission.format(permissions);
+
+        assertEquals("VIEW_USERS,VIEW_TASKS,ASSIGN_TASKS", codes);
+        assertEquals(permissions, Permission.parse(codes));
+        assertEquals(Permission.ALL_CODE, Permission.format(EnumSet.allOf(Permission.class)));
+        assertEquals(EnumSet.allOf(Permission.class), Permission.parse("ALL"));
+        assertTrue(Permission.parse("UNKNOWN, ,").isEmpty());
+    }
+
+    private static Role role(int id, String permissions) {
+        Role role = new Role();
+        role.setId(id);
+        role.setRoleName("Rola " + id);
+        role.setPermissions(permissions);
+        return role;
+    }
+
+    private static User user(int roleId) {
+        User user = new User();
+        user.setId(roleId * 10);
+        user.setRoleId(roleId);
+        return user;
+    }
+}
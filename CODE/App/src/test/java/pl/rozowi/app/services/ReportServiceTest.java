@@ -0,0 +1,165 @@
+package pl.rozowi.app.services;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.rozowi.app.reports.DefaultReportStyle;
+import pl.rozowi.app.reports.ReportBlock;
+import pl.rozowi.app.reports.ReportDocument;
+import pl.rozowi.app.reports.ReportStyle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generatePdf_rendersDocumentBlocks() throws Exception {
+        ReportDocument report = new ReportDocument("Przegląd Projektów", LocalDateTime.of(2025, 3, 1, 12, 30, 0))
+                .addFilter("Pokaż zadania projektów: Tak")
+                .add(new ReportBlock.Section("PROJEKT: Sklep (ID: 7)")
+                        .add(new ReportBlock.KeyValues(null).put("Kierownik", "Anna Nowak"))
+                        .add(new ReportBlock.Table("Zadania projektu (1)",
+                                List.of("Nazwa zadania", "Status i priorytet"), new float[]{50, 50})
+                                .row("Koszyk", "Status: Nowe, Priorytet: Wysoki")));
+        Path file = tempDir.resolve("raport.pdf");
+
+        new ReportService().generatePdf(file.toString(), report);
+
+        PdfReader reader = new PdfReader(file.toString());
+        try {
+            String text = PdfTextExtractor.getTextFromPage(reader, 1);
+            assertTrue(text.contains("Raport: Przegląd Projektów"), text);
+            assertTrue(text.contains("Wygenerowano: 2025-03-01 12:30:00"), text);
+            assertTrue(text.contains("Pokaż zadania projektów: Tak"), text);
+            assertTrue(text.contains("PROJEKT: Sklep (ID: 7)"), text);
+            assertTrue(text.contains("Anna Nowak"), text);
+            assertTrue(text.contains("Nazwa zadania"), text);
+            assertTrue(text.contains("Koszyk"), text);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void generatePdf_takesFooterAndPageNumberFromStyle() throws Exception {
+        ReportStyle style = new DefaultReportStyle() {
+            @Override
+            public String getReportFooterText() {
+                return "Wydruk wewnętrzny";
+            }
+
+            @Override
+            public String getPageNumberPrefix() {
+                return "Strona nr ";
+            }
+        };
+        ReportDocument report = new ReportDocument("Przegląd Projektów", LocalDateTime.of(2025, 3, 1, 12, 30, 0))
+                .add(new ReportBlock.Items("Zespoły").add("Zespół A"));
+        Path file = tempDir.resolve("styl.pdf");
+
+        new ReportService(style).generatePdf(file.toString(), report);
+
+        PdfReader reader = new PdfReader(file.toString());
+        try {
+            String text = PdfTextExtractor.getTextFromPage(reader, 1);
+            assertTrue(text.contains("Wydruk wewnętrzny"), text);
+            assertTrue(text.contains("Strona nr 1"), text);
+            assertFalse(text.contains("TaskApp - Strona"), text);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void generatePdf_streamsLargeTableAcrossPages() throws Exception {
+        int rows = ReportService.FLUSH_ROWS * 3 + 7;
+        int[] reads = {0};
+        ReportDocument report = new ReportDocument("Przegląd Projektów", LocalDateTime.of(2025, 3, 1, 12, 30, 0))
+                .add(new ReportBlock.Table("Zadania projektu (" + rows + ")",
+                        List.of("Nazwa zadania", "Status i priorytet"), new float[]{50, 50})
+                        .streamRows(row -> {
+                            reads[0]++;
+                            for (int i = 1; i <= rows; i++) {
+                                row.accept(new String[]{"Zadanie " + i, "Status: Nowe, Priorytet: Niski"});
+                            }
+                        }));
+        Path file = tempDir.resolve("duzy.pdf");
+
+        new ReportService().generatePdf(file.toString(), report);
+
+        assertEquals(1, reads[0]);
+        PdfReader reader = new PdfReader(file.toString());
+        try {
+            assertTrue(reader.getNumberOfPages() > 1);
+            String first = PdfTextExtractor.getTextFromPage(reader, 1);
+            String last = PdfTextExtractor.getTextFromPage(reader, reader.getNumberOfPages());
+            assertTrue(first.contains("Zadanie 1\n") || first.contains("Zadanie 1 "), first);
+            assertTrue(last.contains("Zadanie " + rows), last);
+            assertTrue(last.contains("Nazwa zadania"), last);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void generatePdf_failureLeavesNoPartialFile() throws Exception {
+        ReportDocument report = new ReportDocument("Przegląd Projektów", LocalDateTime.of(2025, 3, 1, 12, 30, 0))
+                .add(new ReportBlock.Table("Zadania projektu",
+                        List.of("Nazwa zadania", "Status i priorytet"), new float[]{50, 50})
+                        .streamRows(row -> {
+                            for (int i = 1; i <= ReportService.FLUSH_ROWS * 2; i++) {
+                                row.accept(new String[]{"Zadanie " + i, "Status: Nowe"});
+                            }
+                            throw new RuntimeException("Połączenie z bazą zostało zerwane");
+                        }));
+        Path file = tempDir.resolve("przerwany.pdf");
+        Files.writeString(file, "poprzedni raport");
+
+        assertThrows(RuntimeException.class, () -> new ReportService().generatePdf(file.toString(), report));
+
+        assertEquals("poprzedni raport", Files.readString(file));
+        assertFalse(Files.exists(tempDir.resolve("przerwany.pdf" + ReportService.PARTIAL_SUFFIX)));
+    }
+
+    @Test
+    void generatePdf_concurrentReportsShareDefaultStyle() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Path>> files = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int index = i;
+                files.add(pool.submit(() -> {
+                    ReportDocument report = new ReportDocument("Raport " + index)
+                            .add(new ReportBlock.Items("Zespoły").add("Zespół żółty " + index));
+                    Path file = tempDir.resolve("raport" + index + ".pdf");
+                    new ReportService().generatePdf(file.toString(), report);
+                    return file;
+                }));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                PdfReader reader = new PdfReader(files.get(i).get().toString());
+                try {
+                    String text = PdfTextExtractor.getTextFromPage(reader, 1);
+                    assertTrue(text.contains("Zespół żółty " + i), text);
+                } finally {
+                    reader.close();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package pl.rozowi.app.util;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.rozowi.app.dao.PageRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedListTest {
+
+    private static final String PLACEHOLDER = "…";
+
+    private final Queue<Runnable> background = new ArrayDeque<>();
+    private final List<PageRequest> fetched = new ArrayList<>();
+    private List<String> rows;
+
+    /**
+     * Źródło danych operuje na liście w pamięci; zadania tła są kolejkowane i wykonywane jawnie przez {@link #runBackground()}.
+     */
+    private PagedList<String, String> list(int pageSize, int maxPages) {
+        PagedList.PageSource<String, String> source = new PagedList.PageSource<>() {
+            @Override
+            public int count(String query) {
+                return (int) rows.stream().filter(r -> r.contains(query)).count();
+            }
+
+            @Override
+            public List<String> fetch(String query, PageRequest page) {
+                fetched.add(page);
+                List<String> matching = rows.stream().filter(r -> r.contains(query)).toList();
+                int from = Math.min(page.getOffset(), matching.size());
+                int to = Math.min(from + page.getLimit(), matching.size());
+                return matching.subList(from, to);
+            }
+        };
+        return new PagedList<>(source, PLACEHOLDER, "", pageSize, maxPages, background::add, Runnable::run);
+    }
+
+    private void runBackground() {
+        while (!background.isEmpty()) {
+            background.poll().run();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        rows = IntStream.range(0, 25).mapToObj(i -> "row" + i).toList();
+    }
+
+    @Test
+    void loadsOnlyRequestedPagesAndReturnsPlaceholdersUntilLoaded() {
+        PagedList<String, String> list = list(10, 5);
+        assertEquals(0, list.size());
+        runBackground();
+        assertEquals(25, list.size());
+        assertTrue(fetched.isEmpty());
+
+        assertEquals(PLACEHOLDER, list.get(12));
+        assertTrue(list.isPlaceholder(list.get(13)));
+        runBackground();
+
+        assertEquals(1, fetched.size());
+        assertEquals(10, fetched.get(0).getOffset());
+        assertEquals("row12", list.get(12));
+        assertEquals("row19", list.get(19));
+        assertEquals(1, fetched.size());
+    }
+
+    @Test
+    void firesReplaceChangeWhenPageArrives() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + (c.wasReplaced() ? " replaced" : ""));
+            }
+        });
+
+        list.get(21);
+        runBackground();
+
+        assertEquals(List.of("20-25 replaced"), changes);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPage() {
+        PagedList<String, String> list = list(10, 2);
+        runBackground();
+        list.get(0);
+        list.get(10);
+        runBackground();
+        list.get(0);
+        list.get(20);
+        runBackground();
+        assertEquals(3, fetched.size());
+
+        assertEquals("row0", list.get(0));
+        assertTrue(list.isPlaceholder(list.get(10)));
+        runBackground();
+        assertEquals(4, fetched.size());
+        assertEquals("row10", list.get(10));
+    }
+
+    @Test
+    void ignoresResultsStartedBeforeQueryOrSortChange() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        list.get(0);
+        list.setQuery("row1");
+        runBackground();
+
+        assertEquals(11, list.size());
+        assertTrue(list.isPlaceholder(list.get(0)));
+        list.setSort("title", false);
+        runBackground();
+        list.get(0);
+        runBackground();
+
+        assertEquals("row1", list.get(0));
+        PageRequest last = fetched.get(fetched.size() - 1);
+        assertEquals("title", last.getSortKey());
+        assertFalse(last.isAscending());
+    }
+
+    @Test
+    void replacesLoadedRowInPlace() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        list.get(3);
+        runBackground();
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + (c.wasReplaced() ? " replaced" : ""));
+            }
+        });
+
+        assertTrue(list.replace(row -> row.equals("row3"), "row3*"));
+        assertFalse(list.replace(row -> row.equals("row15"), "row15*"));
+
+        assertEquals("row3*", list.get(3));
+        assertEquals(List.of("3-4 replaced"), changes);
+    }
+
+    @Test
+    void removeRowShiftsFollowingLoadedPages() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        list.get(0);
+        list.get(10);
+        list.get(20);
+        runBackground();
+        int fetches = fetched.size();
+
+        assertTrue(list.removeRow(row -> row.equals("row5")));
+
+        assertEquals(24, list.size());
+        assertEquals("row4", list.get(4));
+        assertEquals("row6", list.get(5));
+        assertEquals("row10", list.get(9));
+        assertEquals("row11", list.get(10));
+        assertEquals("row20", list.get(19));
+        assertEquals("row24", list.get(23));
+        assertEquals(fetches, fetched.size());
+    }
+
+    @Test
+    void removeRowReloadsPageThatCannotBeRefilled() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        list.get(0);
+        runBackground();
+        rows = rows.stream().filter(row -> !row.equals("row5")).toList();
+
+        assertTrue(list.removeRow(row -> row.equals("row5")));
+
+        assertTrue(list.isPlaceholder(list.get(9)));
+        runBackground();
+        assertEquals("row10", list.get(9));
+    }
+
+    @Test
+    void appendAddsRowAtEnd() {
+        PagedList<String, String> list = list(10, 5);
+        runBackground();
+        list.get(24);
+        runBackground();
+
+        list.append("row25");
+
+        assertEquals(26, list.size());
+        assertEquals("row25", list.get(25));
+        assertEquals("row24", list.get(24));
+    }
+}
@@ -0,0 +1,154 @@
+package pl.rozowi.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLoaderTest {
+
+    private final ExecutorService background = Executors.newFixedThreadPool(4);
+    private final BlockingQueue<Runnable> fxThread = new LinkedBlockingQueue<>();
+
+    @AfterEach
+    void tearDown() {
+        background.shutdownNow();
+    }
+
+    /**
+     * Wykonuje pierwsze zadanie przekazane do „wątku JavaFX”.
+     */
+    private void runFxTask() throws InterruptedException {
+        Runnable task = fxThread.poll(5, TimeUnit.SECONDS);
+        assertNotNull(task, "Brak aktualizacji w wątku JavaFX");
+        task.run();
+    }
+
+    @Test
+    void runsQueriesConcurrentlyAndJoinsResultsInOneUpdate() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        ParallelLoader loader = new ParallelLoader(background, fxThread::add);
+        List<ParallelLoader.Result<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            results.add(loader.add(() -> {
+                allStarted.countDown();
+                assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+                return value * 10;
+            }));
+        }
+        AtomicInteger updates = new AtomicInteger();
+        List<Integer> joined = new ArrayList<>();
+
+        loader.run(() -> {
+            updates.incrementAndGet();
+            results.forEach(result -> joined.add(result.get()));
+        }, e -> fail(e));
+        runFxTask();
+
+        assertEquals(List.of(0, 10, 20), joined);
+        assertEquals(1, updates.get());
+        assertNull(fxThread.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void failureCancelsSiblingsAndReportsOnlyFirstError() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch slowFinished = new CountDownLatch(1);
+        ParallelLoader loader = new ParallelLoader(background, fxThread::add);
+        ParallelLoader.Result<String> slow = loader.add(() -> {
+            slowStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            } finally {
+                slowFinished.countDown();
+            }
+            return "wolne";
+        });
+        loader.add(() -> {
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+            throw new SQLException("brak połączenia");
+        });
+        List<Throwable> errors = new ArrayList<>();
+
+        loader.run(() -> fail("Akcja sukcesu nie powinna zostać wywołana"), errors::add);
+        runFxTask();
+
+        assertEquals(1, errors.size());
+        assertEquals("brak połączenia", errors.get(0).getMessage());
+        release.countDown();
+        assertTrue(slowFinished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get(), "Wątek zapytania JDBC nie może być przerywany");
+        assertThrows(IllegalStateException.class, slow::get);
+        assertNull(fxThread.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cancelledLoadDoesNotUpdateView() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ParallelLoader loader = new ParallelLoader(background, fxThread::add);
+        loader.add(() -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        AtomicBoolean updated = new AtomicBoolean();
+
+        loader.run(() -> updated.set(true), e -> updated.set(true));
+        loader.cancel();
+        release.countDown();
+
+        Runnable task = fxThread.poll(200, TimeUnit.MILLISECONDS);
+        if (task != null) {
+            task.run();
+        }
+        assertFalse(updated.get());
+    }
+
+    @Test
+    void cancelSkipsQueriesThatHaveNotStarted() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch firstStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicBoolean secondRan = new AtomicBoolean();
+            ParallelLoader loader = new ParallelLoader(single, fxThread::add);
+            loader.add(() -> {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return 1;
+            });
+            loader.add(() -> {
+                secondRan.set(true);
+                return 2;
+            });
+
+            loader.run(() -> fail("Akcja sukcesu nie powinna zostać wywołana"), e -> fail(e));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            loader.cancel();
+            release.countDown();
+            single.shutdown();
+            assertTrue(single.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertFalse(secondRan.get());
+            assertNull(fxThread.poll(100, TimeUnit.MILLISECONDS));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+}
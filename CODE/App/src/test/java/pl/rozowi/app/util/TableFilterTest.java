@@ -0,0 +1,87 @@
+package pl.rozowi.app.util;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableFilterTest {
+
+    private final AtomicInteger keysComputed = new AtomicInteger();
+    private final SimpleStringProperty parity = new SimpleStringProperty("Wszystkie");
+    private ObservableList<Row> rows;
+    private TableFilter<Row> filter;
+
+    private record Row(int id, String name) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        rows = FXCollections.observableArrayList(
+                IntStream.range(0, 50_000).mapToObj(i -> new Row(i, "Zadanie " + i)).toList());
+        filter = new TableFilter<>(rows, row -> {
+            keysComputed.incrementAndGet();
+            return row.name();
+        });
+        filter.addCriterion(() -> switch (parity.get()) {
+            case "Parzyste" -> row -> row.id() % 2 == 0;
+            case "Nieparzyste" -> row -> row.id() % 2 == 1;
+            default -> null;
+        }, parity);
+    }
+
+    @Test
+    void narrowingReusesSearchKeysAndMatchesFullEvaluation() {
+        filter.setSearchText("zadanie 1");
+        int afterFirst = keysComputed.get();
+        assertEquals(50_000, afterFirst);
+        assertEquals(11_111, filter.getFiltered().size());
+
+        filter.setSearchText("Zadanie 12");
+        filter.setSearchText("zadanie 123");
+        assertEquals(afterFirst, keysComputed.get());
+        assertEquals(List.of(123, 1230, 1231), filter.getFiltered().stream().map(Row::id).limit(3).toList());
+        assertEquals(111, filter.getFiltered().size());
+    }
+
+    @Test
+    void wideningSearchEvaluatesAllRowsAgain() {
+        filter.setSearchText("zadanie 49999");
+        assertEquals(1, filter.getFiltered().size());
+
+        filter.setSearchText("zadanie 4999");
+        assertEquals(11, filter.getFiltered().size());
+        filter.setSearchText("");
+        assertEquals(50_000, filter.getFiltered().size());
+    }
+
+    @Test
+    void criteriaAreComposedWithSearchAndReappliedOnChange() {
+        filter.setSearchText("zadanie 1");
+        parity.set("Parzyste");
+        assertTrue(filter.getFiltered().stream().allMatch(row -> row.id() % 2 == 0 && row.name().startsWith("Zadanie 1")));
+        assertEquals(5_555, filter.getFiltered().size());
+
+        parity.set("Wszystkie");
+        assertEquals(11_111, filter.getFiltered().size());
+    }
+
+    @Test
+    void rowsAddedWhileNarrowedAreCheckedAgainstFullPredicate() {
+        filter.setSearchText("zadanie 1");
+        filter.setSearchText("zadanie 12");
+
+        rows.add(new Row(50_000, "Zadanie 12 nowe"));
+        rows.add(new Row(50_001, "Inne"));
+
+        assertTrue(filter.getFiltered().stream().anyMatch(row -> row.id() == 50_000));
+        assertFalse(filter.getFiltered().stream().anyMatch(row -> row.id() == 50_001));
+    }
+}
@@ -0,0 +1,675 @@
+package pl.rozowi.app.tools;
+
+import javafx.beans.DefaultProperty;
+import javafx.beans.NamedArg;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Kompilator plików FXML do klas Javy, uruchamiany podczas budowania (profil Maven aot-fxml).
+ * Dla każdego pliku z katalogu resources/fxml generuje klasę implementującą CompiledView,
+ * która tworzy drzewo węzłów bezpośrednio, wstrzykuje pola kontrolera i podpina obsługę zdarzeń,
+ * oraz klasę CompiledViewIndex odwzorowującą ścieżki plików na wygenerowane klasy.
+ * Typy właściwości i konstruktorów są ustalane przez refleksję na klasach JavaFX podczas generowania,
+ * więc w czasie działania aplikacji nie jest potrzebne ani parsowanie XML, ani wyszukiwanie setterów.
+ * Obsługiwany jest podzbiór FXML używany w aplikacji; elementy takie jak fx:include, fx:define
+ * czy wyrażenia $ i % powodują błąd budowania, a taki plik należy wczytywać przez FXMLLoader.
+ *
+ * <p>Uruchomienie: {@code java -cp <classpath z JavaFX> FxmlCompiler.java <katalog fxml> <katalog wyjściowy>}</p>
+ */
+public final class FxmlCompiler {
+
+    private static final String PACKAGE = "pl.rozowi.app.fxml.compiled";
+    private static final String SUPPORT = "pl.rozowi.app.util.FxmlSupport";
+    private static final String RESOURCE_ROOT = "/fxml/";
+
+    private final String fxmlPath;
+    private final String className;
+    private final List<String> imports = new ArrayList<>();
+    private final Map<String, Class<?>> resolved = new HashMap<>();
+    private final StringBuilder body = new StringBuilder();
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    private final Set<String> handlers = new LinkedHashSet<>();
+    private String controllerName;
+    private int variables;
+
+    private FxmlCompiler(String fxmlPath, String className) {
+        this.fxmlPath = fxmlPath;
+        this.className = className;
+    }
+
+    /**
+     * Generuje klasy widoków dla wszystkich plików FXML w podanym katalogu.
+     *
+     * @param args katalog z plikami FXML i katalog, do którego zapisywane są źródła
+     * @throws Exception jeśli pliku nie da się przetworzyć
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Użycie: FxmlCompiler <katalog fxml> <katalog wyjściowy>");
+            System.exit(2);
+        }
+        Path fxmlRoot = Path.of(args[0]);
+        Path packageDir = Path.of(args[1]).resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(fxmlRoot)) {
+            files = walk.filter(p -> p.toString().endsWith(".fxml")).sorted().toList();
+        }
+
+        Map<String, String> views = new TreeMap<>();
+        Map<String, String> classNames = classNames(fxmlRoot, files);
+        for (Path file : files) {
+            String path = RESOURCE_ROOT + fxmlRoot.relativize(file).toString().replace('\\', '/');
+            String name = classNames.get(path);
+            FxmlCompiler compiler = new FxmlCompiler(path, name);
+            String source;
+            try {
+                source = compiler.compile(parse(file));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(path + ": " + e.getMessage(), e);
+            }
+            Files.writeString(packageDir.resolve(name + ".java"), source, StandardCharsets.UTF_8);
+            views.put(path, name);
+        }
+        Files.writeString(packageDir.resolve("CompiledViewIndex.java"), index(views), StandardCharsets.UTF_8);
+        System.out.println("FxmlCompiler: wygenerowano " + views.size() + " widoków w " + packageDir);
+    }
+
+    /**
+     * Wyznacza nazwy klas: nazwa pliku z przyrostkiem View, poprzedzona nazwą katalogu,
+     * jeśli ta sama nazwa pliku występuje w kilku katalogach.
+     */
+    private static Map<String, String> classNames(Path fxmlRoot, List<Path> files) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Path file : files) {
+            counts.merge(baseName(file), 1, Integer::sum);
+        }
+        Map<String, String> names = new HashMap<>();
+        for (Path file : files) {
+            Path relative = fxmlRoot.relativize(file);
+            String name = capitalize(baseName(file)) + "View";
+            if (counts.get(baseName(file)) > 1 && relative.getParent() != null) {
+                name = capitalize(relative.getParent().toString().replace('\\', '/').replace("/", "_")) + name;
+            }
+            names.put(RESOURCE_ROOT + relative.toString().replace('\\', '/'), name);
+        }
+        return names;
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - ".fxml".length());
+    }
+
+    private static Document parse(Path file) throws ParserConfigurationException, IOException, SAXException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(false);
+        factory.setIgnoringComments(true);
+        return factory.newDocumentBuilder().parse(file.toFile());
+    }
+
+    private String compile(Document document) {
+        for (Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof ProcessingInstruction pi && pi.getTarget().equals("import")) {
+                imports.add(pi.getData().trim());
+            }
+        }
+
+        Element root = document.getDocumentElement();
+        String controller = root.getAttribute("fx:controller");
+        if (!controller.isEmpty()) {
+            controllerName = controller;
+        }
+        String rootVariable = instance(root);
+        return source(rootVariable);
+    }
+
+    /**
+     * Generuje kod tworzący obiekt opisany elementem i zwraca wyrażenie, które go reprezentuje.
+     */
+    private String instance(Element element) {
+        Class<?> type = resolve(element.getTagName());
+        Map<String, String> attributes = attributes(element);
+
+        if (attributes.containsKey("fx:constant")) {
+            requireOnly(element, attributes, "fx:constant");
+            String constant = attributes.get("fx:constant");
+            field(type, constant);
+            return type.getCanonicalName() + "." + constant;
+        }
+        if (attributes.containsKey("fx:value")) {
+            requireOnly(element, attributes, "fx:value");
+            String value = attributes.get("fx:value");
+            if (type == String.class) {
+                return literal(value);
+            }
+            return type.getCanonicalName() + ".valueOf(" + literal(value) + ")";
+        }
+
+        String variable = "v" + variables++;
+        Class<?> valueType = type;
+        if (attributes.containsKey("fx:factory")) {
+            String factory = attributes.remove("fx:factory");
+            Method method = method(type, factory, 0);
+            if (method == null || !Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalArgumentException("Brak metody fabrykującej " + type.getName() + "." + factory);
+            }
+            valueType = method.getReturnType();
+            line(valueType.getCanonicalName() + " " + variable + " = " + type.getCanonicalName() + "." + factory + "();");
+        } else {
+            line(type.getCanonicalName() + " " + variable + " = new " + type.getCanonicalName()
+                    + "(" + constructorArguments(type, attributes) + ");");
+        }
+
+        String fxId = attributes.remove("fx:id");
+        attributes.remove("fx:controller");
+        attributes.keySet().removeIf(name -> name.equals("xmlns") || name.startsWith("xmlns:"));
+
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            attribute(valueType, variable, attribute.getKey(), attribute.getValue());
+        }
+        children(element, valueType, variable);
+
+        if (fxId != null) {
+            if (setter(type, "id") != null && !attributes.containsKey("id")) {
+                line(variable + ".setId(" + literal(fxId) + ");");
+            }
+            if (controllerName != null) {
+                fields.put(fxId, "F_" + fxId);
+                line(SUPPORT + ".inject(F_" + fxId + ", controller, " + variable + ");");
+            }
+        }
+        return variable;
+    }
+
+    /**
+     * Przetwarza elementy potomne: elementy właściwości (np. children, padding), właściwości statyczne
+     * (np. GridPane.margin) oraz obiekty trafiające do właściwości domyślnej.
+     */
+    private void children(Element element, Class<?> type, String variable) {
+        List<String> defaultValues = new ArrayList<>();
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.CDATA_SECTION_NODE) {
+                if (!node.getNodeValue().isBlank()) {
+                    throw new IllegalArgumentException("Tekst wewnątrz elementu " + element.getTagName() + " nie jest obsługiwany");
+                }
+                continue;
+            }
+            if (!(node instanceof Element child)) {
+                continue;
+            }
+            String tag = child.getTagName();
+            if (tag.startsWith("fx:")) {
+                throw new IllegalArgumentException("Element " + tag + " nie jest obsługiwany");
+            }
+            int dot = tag.lastIndexOf('.');
+            String localName = tag.substring(dot + 1);
+            if (Character.isUpperCase(localName.charAt(0))) {
+                defaultValues.add(instance(child));
+            } else if (dot > 0) {
+                List<String> values = values(child);
+                if (values.size() != 1) {
+                    throw new IllegalArgumentException("Właściwość " + tag + " wymaga jednej wartości");
+                }
+                Class<?> owner = resolve(tag.substring(0, dot));
+                staticSetter(owner, localName);
+                line(owner.getCanonicalName() + ".set" + capitalize(localName) + "(" + variable + ", " + values.get(0) + ");");
+            } else {
+                property(type, variable, tag, values(child));
+            }
+        }
+        if (defaultValues.isEmpty()) {
+            return;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            line(variable + ".addAll(" + String.join(", ", defaultValues) + ");");
+            return;
+        }
+        DefaultProperty defaultProperty = type.getAnnotation(DefaultProperty.class);
+        if (defaultProperty == null) {
+            throw new IllegalArgumentException("Klasa " + type.getName() + " nie ma właściwości domyślnej");
+        }
+        property(type, variable, defaultProperty.value(), defaultValues);
+    }
+
+    /**
+     * Przypisuje wartości do właściwości: przez setter, a dla list tylko do odczytu przez addAll.
+     */
+    private void property(Class<?> type, String variable, String name, List<String> values) {
+        Method setter = setter(type, name);
+        if (setter != null) {
+            if (values.size() != 1) {
+                throw new IllegalArgumentException("Właściwość " + name + " wymaga jednej wartości");
+            }
+            line(variable + "." + setter.getName() + "(" + values.get(0) + ");");
+            return;
+        }
+        Method getter = getter(type, name);
+        if (getter == null || !Collection.class.isAssignableFrom(getter.getReturnType())) {
+            throw new IllegalArgumentException("Brak właściwości " + name + " w " + type.getName());
+        }
+        line(variable + "." + getter.getName() + "().addAll(" + String.join(", ", values) + ");");
+    }
+
+    private List<String> values(Element propertyElement) {
+        List<String> values = new ArrayList<>();
+        if (propertyElement.getAttributes().getLength() > 0) {
+            throw new IllegalArgumentException("Atrybuty elementu właściwości " + propertyElement.getTagName() + " nie są obsługiwane");
+        }
+        for (Node node = propertyElement.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element child) {
+                values.add(instance(child));
+            } else if (node.getNodeType() == Node.TEXT_NODE && !node.getNodeValue().isBlank()) {
+                throw new IllegalArgumentException("Tekst wewnątrz " + propertyElement.getTagName() + " nie jest obsługiwany");
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Generuje kod dla atrybutu: właściwości statycznej, obsługi zdarzenia lub zwykłej właściwości.
+     */
+    private void attribute(Class<?> type, String variable, String name, String value) {
+        if (name.startsWith("fx:")) {
+            throw new IllegalArgumentException("Atrybut " + name + " nie jest obsługiwany");
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            Class<?> owner = resolve(name.substring(0, dot));
+            String property = name.substring(dot + 1);
+            Method setter = staticSetter(owner, property);
+            line(owner.getCanonicalName() + "." + setter.getName() + "(" + variable + ", "
+                    + coerce(value, setter.getParameterTypes()[1]) + ");");
+            return;
+        }
+        if (name.startsWith("on") && value.startsWith("#")) {
+            if (controllerName == null) {
+                throw new IllegalArgumentException("Obsługa zdarzenia " + value + " bez fx:controller");
+            }
+            Method setter = setter(type, name);
+            if (setter == null) {
+                throw new IllegalArgumentException("Brak zdarzenia " + name + " w " + type.getName());
+            }
+            String method = value.substring(1);
+            handlers.add(method);
+            line(variable + "." + setter.getName() + "(" + SUPPORT + ".handler(H_" + method + ", controller));");
+            return;
+        }
+
+        Method setter = setter(type, name);
+        if (setter != null) {
+            line(variable + "." + setter.getName() + "(" + coerce(value, setter.getParameterTypes()[0]) + ");");
+            return;
+        }
+        Method getter = getter(type, name);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            List<String> items = new ArrayList<>();
+            for (String item : value.split(",")) {
+                items.add(coerce(item.trim(), String.class));
+            }
+            line(variable + "." + getter.getName() + "().addAll(" + String.join(", ", items) + ");");
+            return;
+        }
+        throw new IllegalArgumentException("Brak właściwości " + name + " w " + type.getName());
+    }
+
+    /**
+     * Wybiera konstruktor. Klasy z konstruktorem bezparametrowym są tworzone nim, a pozostałe
+     * (np. Insets, Image) konstruktorem z adnotacjami @NamedArg, do którego trafiają pasujące atrybuty.
+     */
+    private String constructorArguments(Class<?> type, Map<String, String> attributes) {
+        try {
+            type.getConstructor();
+            return "";
+        } catch (NoSuchMethodException e) {
+            // klasa wymaga konstruktora z nazwanymi argumentami
+        }
+        Constructor<?> best = null;
+        int bestMatches = -1;
+        for (Constructor<?> constructor : type.getConstructors()) {
+            Parameter[] parameters = constructor.getParameters();
+            int matches = 0;
+            boolean named = parameters.length > 0;
+            for (Parameter parameter : parameters) {
+                NamedArg namedArg = parameter.getAnnotation(NamedArg.class);
+                if (namedArg == null) {
+                    named = false;
+                    break;
+                }
+                if (attributes.containsKey(namedArg.value())) {
+                    matches++;
+                }
+            }
+            if (named && matches > bestMatches
+                    || named && matches == bestMatches && parameters.length < best.getParameterCount()) {
+                best = constructor;
+                bestMatches = matches;
+            }
+        }
+        if (best == null) {
+            throw new IllegalArgumentException("Brak konstruktora dla " + type.getName());
+        }
+
+        List<String> arguments = new ArrayList<>();
+        for (Parameter parameter : best.getParameters()) {
+            NamedArg namedArg = parameter.getAnnotation(NamedArg.class);
+            String value = attributes.remove(namedArg.value());
+            if (value == null) {
+                value = namedArg.defaultValue();
+            }
+            arguments.add(value.isEmpty() && parameter.getType().isPrimitive()
+                    ? defaultLiteral(parameter.getType())
+                    : coerce(value, parameter.getType()));
+        }
+        return String.join(", ", arguments);
+    }
+
+    /**
+     * Zamienia wartość atrybutu na literał Javy odpowiedniego typu.
+     */
+    private String coerce(String value, Class<?> target) {
+        if (value.startsWith("$") || value.startsWith("%")) {
+            throw new IllegalArgumentException("Wyrażenie " + value + " nie jest obsługiwane");
+        }
+        if (value.startsWith("\\")) {
+            value = value.substring(1);
+        } else if (value.startsWith("@") && target == String.class) {
+            return SUPPORT + ".resource(" + literal(resolveLocation(value.substring(1))) + ")";
+        }
+
+        if (target == String.class || target == Object.class || target == CharSequence.class) {
+            return literal(value);
+        }
+        if (target == boolean.class || target == Boolean.class) {
+            return Boolean.toString(Boolean.parseBoolean(value));
+        }
+        if (target == int.class || target == Integer.class) {
+            return Integer.toString(Integer.parseInt(value));
+        }
+        if (target == long.class || target == Long.class) {
+            return Long.parseLong(value) + "L";
+        }
+        if (target == double.class || target == Double.class) {
+            return doubleLiteral(Double.parseDouble(value));
+        }
+        if (target == float.class || target == Float.class) {
+            return "(float) " + doubleLiteral(Double.parseDouble(value));
+        }
+        if (target.isArray()) {
+            List<String> items = new ArrayList<>();
+            for (String item : value.split(",")) {
+                items.add(coerce(item.trim(), target.getComponentType()));
+            }
+            return "new " + target.getComponentType().getCanonicalName() + "[]{" + String.join(", ", items) + "}";
+        }
+        if (target.isEnum()) {
+            String constant = value.toUpperCase(Locale.ROOT);
+            field(target, constant);
+            return target.getCanonicalName() + "." + constant;
+        }
+        Method valueOf = method(target, "valueOf", 1);
+        if (valueOf != null && Modifier.isStatic(valueOf.getModifiers()) && valueOf.getParameterTypes()[0] == String.class) {
+            return target.getCanonicalName() + ".valueOf(" + literal(value) + ")";
+        }
+        throw new IllegalArgumentException("Nie można zamienić \"" + value + "\" na " + target.getName());
+    }
+
+    private static String doubleLiteral(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "Double.POSITIVE_INFINITY";
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return "Double.NEGATIVE_INFINITY";
+        }
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        }
+        return Double.toString(value);
+    }
+
+    private static String defaultLiteral(Class<?> type) {
+        if (type == boolean.class) {
+            return "false";
+        }
+        return type == double.class || type == float.class ? "0.0" : "0";
+    }
+
+    private String resolveLocation(String relative) {
+        return URI.create(fxmlPath).resolve(relative).getPath();
+    }
+
+    private Class<?> resolve(String simpleName) {
+        return resolved.computeIfAbsent(simpleName, name -> {
+            if (name.contains(".")) {
+                return load(name);
+            }
+            for (String entry : imports) {
+                if (entry.equals(name) || entry.endsWith("." + name)) {
+                    return load(entry);
+                }
+            }
+            for (String entry : imports) {
+                if (entry.endsWith(".*")) {
+                    Class<?> type = tryLoad(entry.substring(0, entry.length() - 1) + name);
+                    if (type != null) {
+                        return type;
+                    }
+                }
+            }
+            Class<?> type = tryLoad("java.lang." + name);
+            if (type == null) {
+                throw new IllegalArgumentException("Nieznana klasa " + name);
+            }
+            return type;
+        });
+    }
+
+    private static Class<?> load(String name) {
+        Class<?> type = tryLoad(name);
+        if (type == null) {
+            throw new IllegalArgumentException("Nieznana klasa " + name);
+        }
+        return type;
+    }
+
+    private static Class<?> tryLoad(String name) {
+        try {
+            return Class.forName(name, false, FxmlCompiler.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method setter(Class<?> type, String property) {
+        String name = "set" + capitalize(property);
+        Method getter = getter(type, property);
+        Method candidate = null;
+        for (Method method : type.getMethods()) {
+            if (!method.getName().equals(name) || method.getParameterCount() != 1
+                    || Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+            if (getter != null && method.getParameterTypes()[0] == getter.getReturnType()) {
+                return method;
+            }
+            if (candidate == null) {
+                candidate = method;
+            }
+        }
+        return candidate;
+    }
+
+    private static Method getter(Class<?> type, String property) {
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = type.getMethod(prefix + capitalize(property));
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // sprawdź kolejny przedrostek
+            }
+        }
+        return null;
+    }
+
+    private static Method staticSetter(Class<?> owner, String property) {
+        String name = "set" + capitalize(property);
+        for (Method method : owner.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 2 && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("Brak właściwości statycznej " + owner.getName() + "." + property);
+    }
+
+    private static Method method(Class<?> type, String name, int parameters) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == parameters) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static void field(Class<?> type, String name) {
+        try {
+            Field field = type.getField(name);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                throw new IllegalArgumentException("Pole " + type.getName() + "." + name + " nie jest statyczne");
+            }
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("Brak stałej " + type.getName() + "." + name);
+        }
+    }
+
+    private static Map<String, String> attributes(Element element) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        NamedNodeMap map = element.getAttributes();
+        for (int i = 0; i < map.getLength(); i++) {
+            Node attribute = map.item(i);
+            attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+        }
+        return attributes;
+    }
+
+    private static void requireOnly(Element element, Map<String, String> attributes, String allowed) {
+        for (String name : attributes.keySet()) {
+            if (!name.equals(allowed)) {
+                throw new IllegalArgumentException("Atrybut " + name + " przy " + allowed + " w elemencie "
+                        + element.getTagName() + " nie jest obsługiwany");
+            }
+        }
+    }
+
+    private void line(String code) {
+        body.append("        ").append(code).append('\n');
+    }
+
+    private String source(String rootVariable) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Wygenerowano przez FxmlCompiler z ").append(fxmlPath).append(". Nie edytować.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\"})\n");
+        out.append("public final class ").append(className).append(" implements pl.rozowi.app.util.CompiledView {\n\n");
+        if (controllerName != null) {
+            out.append("    private static final Class<?> CONTROLLER = ").append(controllerName).append(".class;\n");
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                out.append("    private static final java.lang.invoke.VarHandle ").append(field.getValue())
+                        .append(" = ").append(SUPPORT).append(".findField(CONTROLLER, ").append(literal(field.getKey())).append(");\n");
+            }
+            for (String handler : handlers) {
+                out.append("    private static final java.lang.invoke.MethodHandle H_").append(handler)
+                        .append(" = ").append(SUPPORT).append(".findHandler(CONTROLLER, ").append(literal(handler)).append(");\n");
+            }
+            out.append("    private static final java.lang.invoke.MethodHandle INITIALIZE = ")
+                    .append(SUPPORT).append(".findInitializer(CONTROLLER);\n\n");
+        }
+        out.append("    private Object controller;\n\n");
+        out.append("    @Override\n");
+        out.append("    public javafx.scene.Parent build() throws java.io.IOException {\n");
+        if (controllerName != null) {
+            out.append("        ").append(controllerName).append(" controller = new ").append(controllerName).append("();\n");
+            out.append("        this.controller = controller;\n");
+        }
+        out.append(body);
+        if (controllerName != null) {
+            out.append("        ").append(SUPPORT).append(".initialize(INITIALIZE, controller);\n");
+        }
+        out.append("        return ").append(rootVariable).append(";\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public Object getController() {\n");
+        out.append("        return controller;\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static String index(Map<String, String> views) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Wygenerowano przez FxmlCompiler. Nie edytować.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("public final class CompiledViewIndex implements java.util.function.Function<String, pl.rozowi.app.util.CompiledView> {\n\n");
+        out.append("    @Override\n");
+        out.append("    public pl.rozowi.app.util.CompiledView apply(String fxmlPath) {\n");
+        out.append("        return switch (fxmlPath) {\n");
+        for (Map.Entry<String, String> view : views.entrySet()) {
+            out.append("            case ").append(literal(view.getKey())).append(" -> new ").append(view.getValue()).append("();\n");
+        }
+        out.append("            default -> null;\n");
+        out.append("        };\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,107 @@
+package pl.rozowi.app.tools;
+
+import pl.rozowi.app.reports.ReportBlock;
+import pl.rozowi.app.reports.ReportDocument;
+import pl.rozowi.app.services.ReportService;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Porównuje zapis do PDF dużego raportu z tabelą zbudowaną w pamięci i z tabelą, której wiersze
+ * są odczytywane ze źródła przy renderowaniu ({@link ReportBlock.Table#streamRows}). Dla każdej
+ * liczby wierszy wypisywany jest czas zapisu i szczytowe zużycie sterty (próbkowane w trakcie zapisu,
+ * od stanu po odśmiecaniu). Dane są generowane syntetycznie, tak jak zadania projektu w przeglądzie projektów.
+ *
+ * <p>Uruchomienie (z katalogu CODE/App, po zbudowaniu):</p>
+ * <pre>
+ * mvn compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -Xmx512m -cp target/classes:$(cat target/classpath.txt) src/tools/java/pl/rozowi/app/tools/ReportPdfBenchmark.java 10000 50000 100000
+ * </pre>
+ */
+public final class ReportPdfBenchmark {
+
+    private static final List<String> HEADERS = List.of("Nazwa zadania", "Status i priorytet");
+    private static final float[] WIDTHS = {50, 50};
+    private static final String[] STATUSES = {"Nowe", "W toku", "Zakończone"};
+    private static final String[] PRIORITIES = {"Niski", "Średni", "Wysoki"};
+
+    private ReportPdfBenchmark() {
+    }
+
+    /**
+     * Uruchamia pomiar.
+     *
+     * @param args liczby wierszy tabeli do zmierzenia (domyślnie 10000 i 50000)
+     * @throws Exception jeśli nie uda się zapisać pliku PDF
+     */
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000, 50_000};
+        ReportService service = new ReportService();
+        File file = File.createTempFile("raport-benchmark", ".pdf");
+        file.deleteOnExit();
+
+        measure(service, file, 1_000, false);
+        measure(service, file, 1_000, true);
+
+        System.out.printf("%10s %12s %10s %16s%n", "wiersze", "tryb", "czas [ms]", "szczyt sterty [MB]");
+        for (int size : sizes) {
+            for (boolean streamed : new boolean[]{false, true}) {
+                long[] result = measure(service, file, size, streamed);
+                System.out.printf("%10d %12s %10d %16.1f%n", size, streamed ? "strumień" : "w pamięci",
+                        result[0], result[1] / (1024.0 * 1024.0));
+            }
+        }
+    }
+
+    private static long[] measure(ReportService service, File file, int rows, boolean streamed) throws Exception {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+        AtomicLong peak = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+
+        long start = System.nanoTime();
+        sampler.start();
+        ReportBlock.Table table = new ReportBlock.Table("Zadania projektu (" + rows + ")", HEADERS, WIDTHS);
+        if (streamed) {
+            table.streamRows(row -> {
+                for (int i = 0; i < rows; i++) {
+                    row.accept(cells(i));
+                }
+            });
+        } else {
+            for (int i = 0; i < rows; i++) {
+                table.row(cells(i));
+            }
+        }
+        ReportDocument report = new ReportDocument("Przegląd Projektów")
+                .add(new ReportBlock.Section("PROJEKT: Benchmark (ID: 1)").add(table));
+        service.generatePdf(file.getAbsolutePath(), report);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        sampler.interrupt();
+        sampler.join();
+        return new long[]{elapsed, Math.max(0, peak.get() - baseline)};
+    }
+
+    private static String[] cells(int i) {
+        return new String[]{
+                "Zadanie " + i + " – przygotowanie modułu " + (i % 97),
+                "Status: " + STATUSES[i % STATUSES.length] + ", Priorytet: " + PRIORITIES[i % PRIORITIES.length]
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package pl.rozowi.app.tools;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import pl.rozowi.app.MainApplication;
+import pl.rozowi.app.util.FxmlViews;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Porównuje czas budowania każdego widoku przez FXMLLoader i przez klasę wygenerowaną przez {@link FxmlCompiler}.
+ * Dla każdego pliku FXML wykonywana jest rozgrzewka, a następnie naprzemienne pomiary obu wariantów;
+ * wypisywana jest mediana czasu jednego wczytania. Pomiar obejmuje metodę initialize kontrolera,
+ * która w obu wariantach wykonuje tę samą pracę (w tym odczyt danych), więc najlepiej uruchamiać go
+ * przy skonfigurowanej bazie danych. Błąd wczytania widoku jest wypisywany, a pomiar przechodzi do następnego.
+ *
+ * <p>Uruchomienie (z katalogu CODE/App, po zbudowaniu z profilem aot-fxml):</p>
+ * <pre>
+ * mvn -Paot-fxml compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:$(cat target/classpath.txt) src/tools/java/pl/rozowi/app/tools/ViewLoadBenchmark.java src/main/resources/fxml 50
+ * </pre>
+ */
+public final class ViewLoadBenchmark {
+
+    private static final int WARMUP = 10;
+
+    private ViewLoadBenchmark() {
+    }
+
+    /**
+     * Uruchamia pomiar.
+     *
+     * @param args katalog z plikami FXML i opcjonalnie liczba pomiarów na widok (domyślnie 30)
+     * @throws Exception jeśli nie uda się uruchomić JavaFX
+     */
+    public static void main(String[] args) throws Exception {
+        Path fxmlRoot = Path.of(args.length > 0 ? args[0] : "src/main/resources/fxml");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        List<String> paths;
+        try (Stream<Path> walk = Files.walk(fxmlRoot)) {
+            paths = walk.filter(p -> p.toString().endsWith(".fxml")).sorted()
+                    .map(p -> "/fxml/" + fxmlRoot.relativize(p).toString().replace('\\', '/'))
+                    .toList();
+        }
+
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Platform.startup(() -> started.complete(null));
+        started.get();
+
+        System.out.printf("%-40s %16s %16s %10s%n", "widok", "FXMLLoader [ms]", "kompilowany [ms]", "krotność");
+        for (String path : paths) {
+            CompletableFuture<String> row = new CompletableFuture<>();
+            Platform.runLater(() -> {
+                try {
+                    row.complete(measure(path, iterations));
+                } catch (Throwable e) {
+                    row.complete(String.format("%-40s błąd: %s", path, e));
+                }
+            });
+            System.out.println(row.get());
+        }
+        Platform.exit();
+    }
+
+    private static String measure(String path, int iterations) throws Exception {
+        if (!FxmlViews.isCompiled(path)) {
+            return String.format("%-40s brak klasy wygenerowanej (zbuduj z -Paot-fxml)", path);
+        }
+        for (int i = 0; i < WARMUP; i++) {
+            loadWithFxmlLoader(path);
+            FxmlViews.load(path);
+        }
+
+        long[] loader = new long[iterations];
+        long[] compiled = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            loadWithFxmlLoader(path);
+            loader[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            FxmlViews.load(path);
+            compiled[i] = System.nanoTime() - start;
+        }
+        double loaderMs = median(loader) / 1_000_000.0;
+        double compiledMs = median(compiled) / 1_000_000.0;
+        return String.format("%-40s %16.3f %16.3f %9.1fx", path, loaderMs, compiledMs, loaderMs / compiledMs);
+    }
+
+    private static void loadWithFxmlLoader(String path) throws Exception {
+        new FXMLLoader(MainApplication.class.getResource(path)).load();
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}